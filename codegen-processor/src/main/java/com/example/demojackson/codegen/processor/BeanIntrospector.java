@@ -0,0 +1,969 @@
+package com.example.demojackson.codegen.processor;
+
+import com.example.demojackson.codegen.processor.BeanModel.DeserProperty;
+import com.example.demojackson.codegen.processor.BeanModel.SerProperty;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * DTO 의 필드 / 메서드 / creator 를 Jackson 2.12 POJOPropertiesCollector 와 같은 순서와 규칙으로 프로퍼티로 묶는다
+ *
+ * 기본 visibility (필드, getter 는 public 만, setter 와 creator 는 모두), legacy 이름 규칙 (getURL -> url),
+ * @JsonProperty 이름 변경 후 뒤로 보내기, @JsonPropertyOrder -> creator 인자 -> 나머지 순서까지 맞춘다
+ * 생성 코드가 Jackson 과 다르게 동작할 수 있는 경우 (지원하지 않는 annotation, private 접근, 순서가 JVM 에 따라 다른 경우 등)
+ * 는 {@link Unsupported} 로 이유를 남기고 만들지 않는다
+ */
+final class BeanIntrospector {
+    private static final String JACKSON = "com.fasterxml.jackson.annotation.";
+    private static final String DATABIND = "com.fasterxml.jackson.databind.annotation.";
+
+    static final String JSON_PROPERTY = JACKSON + "JsonProperty";
+    static final String JSON_IGNORE = JACKSON + "JsonIgnore";
+    static final String JSON_INCLUDE = JACKSON + "JsonInclude";
+    static final String JSON_ALIAS = JACKSON + "JsonAlias";
+    static final String JSON_CREATOR = JACKSON + "JsonCreator";
+    static final String JSON_PROPERTY_ORDER = JACKSON + "JsonPropertyOrder";
+    static final String JSON_ROOT_NAME = JACKSON + "JsonRootName";
+    static final String JSON_IGNORE_PROPERTIES = JACKSON + "JsonIgnoreProperties";
+    static final String JSON_IGNORE_TYPE = JACKSON + "JsonIgnoreType";
+    private static final String JACKSON_ANNOTATIONS_INSIDE = JACKSON + "JacksonAnnotationsInside";
+
+    private static final Set<String> SUPPORTED = Set.of(JSON_PROPERTY, JSON_IGNORE, JSON_INCLUDE, JSON_ALIAS,
+            JSON_CREATOR, JSON_PROPERTY_ORDER, JSON_ROOT_NAME, JSON_IGNORE_PROPERTIES);
+
+    /**
+     * Jackson 이 annotation 처럼 취급하는 JDK annotation
+     */
+    private static final Set<String> JDK_MARKERS = Set.of("java.beans.Transient", "java.beans.ConstructorProperties");
+
+    /**
+     * NON_ABSENT / NON_EMPTY 가 내용까지 보는 참조 타입
+     */
+    private static final Set<String> REFERENCE_TYPES = Set.of("java.util.Optional", "java.util.OptionalInt",
+            "java.util.OptionalLong", "java.util.OptionalDouble", "java.util.concurrent.atomic.AtomicReference");
+
+    private static final Set<String> INCLUSIONS = Set.of("ALWAYS", "NON_NULL", "NON_ABSENT", "NON_EMPTY", "USE_DEFAULTS");
+
+    /**
+     * content 기본값은 ALWAYS, Map 값은 ObjectMapper 의 content inclusion 으로 쓰므로 (GeneratedCodecModule 에서 확인) 같은 결과
+     */
+    private static final Set<String> CONTENT_INCLUSIONS = Set.of("ALWAYS", "USE_DEFAULTS");
+
+    private final Elements elements;
+    private final Types types;
+
+    BeanIntrospector(Elements elements, Types types) {
+        this.elements = elements;
+        this.types = types;
+    }
+
+    /**
+     * @throws Unsupported 양방향 모두 만들 수 없는 타입
+     */
+    BeanModel introspect(TypeElement type) throws Unsupported {
+        checkType(type);
+        checkLombok(type);
+
+        String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+        String typeName = type.getQualifiedName().toString();
+        String simpleNames = packageName.isEmpty() ? typeName : typeName.substring(packageName.length() + 1);
+        BeanModel model = new BeanModel(type, packageName, typeName, simpleNames.replace('.', '_') + "_JsonCodec");
+
+        Collected collected = collect(type);
+        try {
+            model.serProperties = serProperties(type, collected);
+        } catch (Unsupported e) {
+            model.serRejection = e.getMessage();
+        }
+        try {
+            deserProperties(model, type, collected);
+        } catch (Unsupported e) {
+            model.deserProperties = null;
+            model.creatorProperties = null;
+            model.deserRejection = e.getMessage();
+        }
+        if (!model.hasSerializer() && !model.hasDeserializer()) {
+            throw new Unsupported(model.serRejection + "; " + model.deserRejection);
+        }
+        return model;
+    }
+
+    // 타입 단위 검사
+
+    private void checkType(TypeElement type) throws Unsupported {
+        if (type.getKind() != ElementKind.CLASS) {
+            throw new Unsupported("not a class");
+        }
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+            throw new Unsupported("abstract class");
+        }
+        if (!type.getTypeParameters().isEmpty()) {
+            throw new Unsupported("generic class");
+        }
+        for (Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            TypeElement t = (TypeElement) e;
+            if (t.getModifiers().contains(Modifier.PRIVATE)) {
+                throw new Unsupported("private class");
+            }
+            if (t.getNestingKind() == NestingKind.LOCAL || t.getNestingKind() == NestingKind.ANONYMOUS
+                    || (t.getNestingKind() == NestingKind.MEMBER && !t.getModifiers().contains(Modifier.STATIC)
+                    && t.getKind() == ElementKind.CLASS)) {
+                throw new Unsupported("inner class");
+            }
+        }
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED
+                || !qualifiedName(superclass).equals("java.lang.Object")) {
+            throw new Unsupported("superclass " + superclass);
+        }
+        if (find(type, JSON_IGNORE_TYPE) != null) {
+            throw new Unsupported("@JsonIgnoreType");
+        }
+        checkAnnotations(type, true);
+        for (Element member : type.getEnclosedElements()) {
+            if (member.getKind() == ElementKind.FIELD || member.getKind() == ElementKind.METHOD
+                    || member.getKind() == ElementKind.CONSTRUCTOR) {
+                checkAnnotations(member, false);
+            }
+            if (member instanceof ExecutableElement) {
+                for (VariableElement param : ((ExecutableElement) member).getParameters()) {
+                    checkAnnotations(param, false);
+                }
+            }
+        }
+    }
+
+    private void checkAnnotations(Element element, boolean onType) throws Unsupported {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            String name = annotationType.getQualifiedName().toString();
+            if (JDK_MARKERS.contains(name) || find(annotationType, JACKSON_ANNOTATIONS_INSIDE) != null) {
+                throw new Unsupported("@" + annotationType.getSimpleName() + " on " + element);
+            }
+            if (!name.startsWith(JACKSON) && !name.startsWith(DATABIND)) {
+                continue;
+            }
+            if (!SUPPORTED.contains(name)) {
+                throw new Unsupported("@" + annotationType.getSimpleName() + " on " + element);
+            }
+            Map<String, Object> values = values(mirror);
+            switch (name) {
+                case JSON_PROPERTY:
+                    if (!"AUTO".equals(values.get("access")) || !Integer.valueOf(-1).equals(values.get("index"))) {
+                        throw new Unsupported("@JsonProperty access / index on " + element);
+                    }
+                    break;
+                case JSON_INCLUDE:
+                    if (!INCLUSIONS.contains((String) values.get("value"))
+                            || !CONTENT_INCLUSIONS.contains((String) values.get("content"))
+                            || !"java.lang.Void".equals(values.get("valueFilter"))
+                            || !"java.lang.Void".equals(values.get("contentFilter"))) {
+                        throw new Unsupported("@JsonInclude" + values + " on " + element);
+                    }
+                    break;
+                case JSON_CREATOR:
+                    if (!"DEFAULT".equals(values.get("mode")) && !"PROPERTIES".equals(values.get("mode"))) {
+                        throw new Unsupported("@JsonCreator(mode = " + values.get("mode") + ")");
+                    }
+                    break;
+                case JSON_IGNORE_PROPERTIES:
+                    if (!onType || Boolean.TRUE.equals(values.get("allowGetters"))
+                            || Boolean.TRUE.equals(values.get("allowSetters"))) {
+                        throw new Unsupported("@JsonIgnoreProperties on " + element);
+                    }
+                    break;
+                case JSON_PROPERTY_ORDER:
+                case JSON_ROOT_NAME:
+                    if (!onType) {
+                        throw new Unsupported("@" + annotationType.getSimpleName() + " on " + element);
+                    }
+                    break;
+                default:
+            }
+        }
+    }
+
+    /**
+     * Lombok 이 먼저 돌지 않았으면 (processor 순서) getter / setter 가 없어서 Jackson 과 다른 프로퍼티가 된다
+     */
+    private void checkLombok(TypeElement type) throws Unsupported {
+        Set<String> methods = new HashSet<>();
+        for (ExecutableElement m : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            methods.add(m.getSimpleName() + "/" + m.getParameters().size());
+        }
+        boolean classGetters = hasLombok(type, "lombok.Getter") || hasLombok(type, "lombok.Data")
+                || hasLombok(type, "lombok.Value");
+        boolean classSetters = hasLombok(type, "lombok.Setter") || hasLombok(type, "lombok.Data");
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (field.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+            String name = field.getSimpleName().toString();
+            String capitalized = Character.toTitleCase(name.charAt(0)) + name.substring(1);
+            if ((classGetters || hasLombok(field, "lombok.Getter"))
+                    && !methods.contains("get" + capitalized + "/0") && !methods.contains("is" + capitalized + "/0")
+                    && !methods.contains(name + "/0")) {
+                throw new Unsupported("Lombok getter for " + name + " is not generated yet");
+            }
+            if ((classSetters || hasLombok(field, "lombok.Setter")) && !field.getModifiers().contains(Modifier.FINAL)
+                    && !methods.contains("set" + capitalized + "/1")
+                    && !(name.startsWith("is") && methods.contains("set" + name.substring(2) + "/1"))) {
+                throw new Unsupported("Lombok setter for " + name + " is not generated yet");
+            }
+        }
+    }
+
+    private boolean hasLombok(Element element, String annotation) {
+        AnnotationMirror mirror = find(element, annotation);
+        return mirror != null && !"NONE".equals(values(mirror).get("value"));
+    }
+
+    // POJOPropertiesCollector#collectAll
+
+    private Collected collect(TypeElement type) throws Unsupported {
+        Collected c = new Collected();
+        addFields(type, c.props);
+        addMethods(type, c.props);
+        addCreators(type, c);
+        removeUnwanted(c);
+        for (Prop prop : c.props.values()) {
+            prop.removeNonVisible();
+        }
+        rename(c);
+        c.ordered = sort(type, c);
+        return c;
+    }
+
+    private void addFields(TypeElement type, Map<String, Prop> props) {
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (field.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+            AnnotationMirror jp = find(field, JSON_PROPERTY);
+            boolean visible = jp != null || field.getModifiers().contains(Modifier.PUBLIC);
+            if (jp == null && field.getModifiers().contains(Modifier.TRANSIENT)) {
+                visible = false;
+            }
+            prop(props, field.getSimpleName().toString(), false)
+                    .fields.add(new Member(field, explicitName(jp), jp != null, visible, isIgnored(field)));
+        }
+    }
+
+    private void addMethods(TypeElement type, Map<String, Prop> props) {
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (method.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+            String methodName = method.getSimpleName().toString();
+            AnnotationMirror jp = find(method, JSON_PROPERTY);
+            if (method.getParameters().isEmpty()) {
+                TypeMirror returnType = method.getReturnType();
+                if (returnType.getKind() == TypeKind.VOID
+                        || (returnType.getKind() == TypeKind.DECLARED && qualifiedName(returnType).equals("java.lang.Void"))) {
+                    continue;
+                }
+                String implName = regularGetterName(methodName);
+                boolean visible;
+                if (jp == null) {
+                    if (implName == null) {
+                        implName = isGetterName(methodName, returnType);
+                        if (implName == null) {
+                            continue;
+                        }
+                    }
+                    visible = method.getModifiers().contains(Modifier.PUBLIC);
+                } else {
+                    if (implName == null) {
+                        implName = methodName;
+                    }
+                    visible = true;
+                }
+                prop(props, implName, true)
+                        .getters.add(new Member(method, explicitName(jp), jp != null, visible, isIgnored(method)));
+            } else if (method.getParameters().size() == 1) {
+                String implName = methodName.startsWith("set") ? legacyMangle(methodName, 3) : null;
+                if (implName == null) {
+                    if (jp == null) {
+                        continue;
+                    }
+                    implName = methodName;
+                }
+                prop(props, implName, true)
+                        .setters.add(new Member(method, explicitName(jp), jp != null, true, isIgnored(method)));
+            }
+        }
+    }
+
+    /**
+     * 이름이 붙은 (@JsonProperty("x")) creator 인자만 프로퍼티가 된다 (ParameterNamesModule 없이)
+     * 여러 creator 후보나 이름 없는 인자가 섞인 경우는 Jackson 의 creator 선택 규칙까지 따라야 하므로 지원하지 않는다
+     */
+    private void addCreators(TypeElement type, Collected c) throws Unsupported {
+        List<ExecutableElement> candidates = new ArrayList<>(ElementFilter.constructorsIn(type.getEnclosedElements()));
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (method.getModifiers().contains(Modifier.STATIC)) {
+                candidates.add(method);
+            }
+        }
+        for (ExecutableElement candidate : candidates) {
+            boolean annotated = find(candidate, JSON_CREATOR) != null;
+            int named = 0;
+            for (VariableElement param : candidate.getParameters()) {
+                if (explicitName(find(param, JSON_PROPERTY)) != null) {
+                    named++;
+                }
+            }
+            if (!annotated && named == 0) {
+                continue;
+            }
+            if (!annotated || named != candidate.getParameters().size() || named == 0) {
+                throw new Unsupported("creator " + candidate + " needs @JsonCreator and @JsonProperty names on every parameter");
+            }
+            if (c.creator != null) {
+                throw new Unsupported("multiple creators");
+            }
+            if (candidate.getKind() == ElementKind.METHOD
+                    && !types.isSameType(candidate.getReturnType(), type.asType())) {
+                throw new Unsupported("factory " + candidate + " does not return " + type);
+            }
+            c.creator = candidate;
+        }
+        if (c.creator == null) {
+            return;
+        }
+        for (VariableElement param : c.creator.getParameters()) {
+            AnnotationMirror jp = find(param, JSON_PROPERTY);
+            if (Boolean.TRUE.equals(values(jp).get("required")) || isIgnored(param)) {
+                throw new Unsupported("required / ignored creator parameter " + param);
+            }
+            String name = explicitName(jp);
+            prop(c.props, name, false).params.add(new Member(param, name, true, true, false));
+            c.creatorNames.add(name);
+        }
+    }
+
+    private void removeUnwanted(Collected c) {
+        for (Iterator<Prop> it = c.props.values().iterator(); it.hasNext(); ) {
+            Prop prop = it.next();
+            if (!prop.anyVisible()) {
+                it.remove();
+                continue;
+            }
+            if (prop.anyIgnored()) {
+                if (!prop.isExplicitlyIncluded()) {
+                    it.remove();
+                    c.ignorals.add(prop.name);
+                    continue;
+                }
+                prop.removeIgnored();
+                if (!prop.couldDeserialize()) {
+                    c.ignorals.add(prop.name);
+                }
+            }
+        }
+    }
+
+    /**
+     * @JsonProperty 로 이름이 바뀐 프로퍼티는 빠졌다가 뒤에 다시 들어간다 (같은 이름이 있으면 합쳐짐)
+     */
+    private void rename(Collected c) throws Unsupported {
+        List<Prop> renamed = new ArrayList<>();
+        for (Iterator<Prop> it = c.props.values().iterator(); it.hasNext(); ) {
+            Prop prop = it.next();
+            Set<String> names = prop.explicitNames();
+            if (names.isEmpty()) {
+                continue;
+            }
+            if (names.size() > 1) {
+                throw new Unsupported("property " + prop.name + " has several explicit names " + names);
+            }
+            it.remove();
+            prop.name = names.iterator().next();
+            renamed.add(prop);
+        }
+        for (Prop prop : renamed) {
+            Prop old = c.props.get(prop.name);
+            if (old == null) {
+                prop.renamedGroup = true;
+                c.props.put(prop.name, prop);
+            } else {
+                old.addAll(prop);
+            }
+            if (c.creatorNames.contains(prop.internalName)) {
+                c.ignorals.remove(prop.name);
+            }
+        }
+    }
+
+    private List<Prop> sort(TypeElement type, Collected c) {
+        AnnotationMirror order = find(type, JSON_PROPERTY_ORDER);
+        List<String> explicitOrder = order == null ? List.of() : strings(values(order).get("value"));
+        c.alphabetic = order != null && Boolean.TRUE.equals(values(order).get("alphabetic"));
+
+        Map<String, Prop> all = c.alphabetic ? new TreeMap<>() : new LinkedHashMap<>();
+        for (Prop prop : c.props.values()) {
+            all.put(prop.name, prop);
+        }
+        Map<String, Prop> ordered = new LinkedHashMap<>();
+        for (String name : explicitOrder) {
+            Prop prop = all.remove(name);
+            if (prop == null) {
+                // 내부 (바뀌기 전) 이름으로도 찾는다
+                for (Prop p : c.props.values()) {
+                    if (name.equals(p.internalName)) {
+                        prop = p;
+                        name = p.name;
+                        break;
+                    }
+                }
+            }
+            if (prop != null) {
+                prop.fixedPosition = true;
+                ordered.put(name, prop);
+            }
+        }
+        Collection<String> creatorNames = c.alphabetic ? new TreeSet<>(c.creatorNames) : c.creatorNames;
+        for (String name : creatorNames) {
+            Prop prop = all.get(name);
+            if (prop != null && !ordered.containsKey(name)) {
+                prop.fixedPosition = true;
+                ordered.put(name, prop);
+            }
+        }
+        ordered.putAll(all);
+        return new ArrayList<>(ordered.values());
+    }
+
+    // serialization: BeanSerializerFactory#findBeanProperties
+
+    private List<SerProperty> serProperties(TypeElement type, Collected c) throws Unsupported {
+        Set<String> classIgnored = classIgnoredNames(type);
+        String classInclusion = inclusion(find(type, JSON_INCLUDE));
+
+        List<SerProperty> properties = new ArrayList<>();
+        List<Prop> positioned = new ArrayList<>();
+        for (Prop prop : c.ordered) {
+            if (prop.getters.size() > 1) {
+                throw new Unsupported("property " + prop.name + " has several getters");
+            }
+            Member accessor = !prop.getters.isEmpty() ? prop.getters.get(0)
+                    : !prop.fields.isEmpty() ? prop.fields.get(0) : null;
+            if (accessor == null || classIgnored.contains(prop.name)) {
+                continue;
+            }
+            TypeMirror valueType = accessor.element.getKind() == ElementKind.METHOD
+                    ? ((ExecutableElement) accessor.element).getReturnType() : accessor.element.asType();
+            if (isIgnoredType(valueType)) {
+                continue;
+            }
+            checkAccess(accessor.element);
+            checkValueType(valueType, prop.name);
+            String inclusion = inclusion(prop.findAnnotation(JSON_INCLUDE, prop.getters, prop.fields, prop.params, prop.setters));
+            if (inclusion == null) {
+                inclusion = classInclusion;
+            }
+            String expression = accessor.element.getKind() == ElementKind.METHOD
+                    ? accessor.element.getSimpleName() + "()" : accessor.element.getSimpleName().toString();
+            properties.add(new SerProperty(prop.name, valueType, expression, inclusion));
+            positioned.add(prop);
+        }
+        if (properties.isEmpty()) {
+            throw new Unsupported("no serializable properties");
+        }
+        checkStableOrder(c, positioned);
+        return properties;
+    }
+
+    /**
+     * 메서드에서 처음 생긴 프로퍼티끼리의 순서는 Class#getDeclaredMethods 순서 (JVM 마다 다름) 를 따르므로 소스 순서로 고정할 수 없다
+     */
+    private static void checkStableOrder(Collected c, List<Prop> properties) throws Unsupported {
+        if (c.alphabetic) {
+            return;
+        }
+        int[] fromMethods = new int[2];
+        for (Prop prop : properties) {
+            if (!prop.fixedPosition && prop.fromMethod && ++fromMethods[prop.renamedGroup ? 1 : 0] > 1) {
+                throw new Unsupported("order of getter-only properties depends on Class#getDeclaredMethods;"
+                        + " add @JsonPropertyOrder");
+            }
+        }
+    }
+
+    // deserialization: BeanDeserializerFactory#addBeanProps
+
+    private void deserProperties(BeanModel model, TypeElement type, Collected c) throws Unsupported {
+        Set<String> classIgnored = classIgnoredNames(type);
+        Set<String> ignorable = new LinkedHashSet<>(c.ignorals);
+        ignorable.addAll(classIgnored);
+
+        Map<String, DeserProperty> byName = new LinkedHashMap<>();
+        for (Prop prop : c.ordered) {
+            if (prop.setters.size() > 1) {
+                throw new Unsupported("property " + prop.name + " has several setters");
+            }
+            Member mutator = !prop.params.isEmpty() ? prop.params.get(0)
+                    : !prop.setters.isEmpty() ? prop.setters.get(0)
+                    : !prop.fields.isEmpty() ? prop.fields.get(0) : null;
+            TypeMirror valueType;
+            if (mutator == null) {
+                if (classIgnored.contains(prop.name)) {
+                    continue;
+                }
+                valueType = ((ExecutableElement) prop.getters.get(0).element).getReturnType();
+                if (isIgnoredType(valueType)) {
+                    ignorable.add(prop.name);
+                    continue;
+                }
+                throw new Unsupported("read-only property " + prop.name);
+            }
+            valueType = mutator.element.getKind() == ElementKind.METHOD
+                    ? ((ExecutableElement) mutator.element).getParameters().get(0).asType() : mutator.element.asType();
+            if (classIgnored.contains(prop.name) || isIgnoredType(valueType)) {
+                if (!prop.params.isEmpty()) {
+                    throw new Unsupported("ignored creator property " + prop.name);
+                }
+                ignorable.add(prop.name);
+                continue;
+            }
+            checkValueType(valueType, prop.name);
+            List<String> aliases = strings(values(prop.findAnnotation(JSON_ALIAS,
+                    prop.params, prop.setters, prop.fields, prop.getters)).get("value"));
+            DeserProperty property;
+            if (!prop.params.isEmpty()) {
+                property = new DeserProperty(prop.name, aliases, valueType, null, false);
+            } else {
+                checkAccess(mutator.element);
+                if (mutator.element.getKind() == ElementKind.FIELD && mutator.element.getModifiers().contains(Modifier.FINAL)) {
+                    throw new Unsupported("final field " + mutator.element);
+                }
+                property = new DeserProperty(prop.name, aliases, valueType, mutator.element.getSimpleName().toString(),
+                        mutator.element.getKind() == ElementKind.METHOD);
+            }
+            byName.put(prop.name, property);
+        }
+
+        Set<String> seen = new HashSet<>(byName.keySet());
+        for (DeserProperty property : byName.values()) {
+            for (String alias : property.aliases) {
+                if (!seen.add(alias)) {
+                    throw new Unsupported("alias " + alias + " conflicts with another property");
+                }
+            }
+        }
+
+        if (c.creator != null) {
+            checkAccess(c.creator);
+            List<DeserProperty> creatorProperties = new ArrayList<>();
+            for (String name : c.creatorNames) {
+                creatorProperties.add(byName.get(name));
+            }
+            model.creatorProperties = creatorProperties;
+            model.factoryName = c.creator.getKind() == ElementKind.METHOD ? c.creator.getSimpleName().toString() : null;
+        } else {
+            ExecutableElement defaultConstructor = null;
+            for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+                if (constructor.getParameters().isEmpty()) {
+                    defaultConstructor = constructor;
+                }
+            }
+            if (defaultConstructor == null) {
+                throw new Unsupported("no default constructor");
+            }
+            checkAccess(defaultConstructor);
+            if (byName.isEmpty()) {
+                throw new Unsupported("no deserializable properties");
+            }
+        }
+        // 프로퍼티 (alias 포함) 를 먼저 찾으므로 ignorable 에서 뺀다
+        ignorable.removeAll(seen);
+        model.deserProperties = new ArrayList<>(byName.values());
+        model.ignorable = new ArrayList<>(ignorable);
+        AnnotationMirror ignoreProperties = find(type, JSON_IGNORE_PROPERTIES);
+        model.ignoreUnknown = ignoreProperties != null && Boolean.TRUE.equals(values(ignoreProperties).get("ignoreUnknown"));
+    }
+
+    // 공통
+
+    private Set<String> classIgnoredNames(TypeElement type) {
+        AnnotationMirror mirror = find(type, JSON_IGNORE_PROPERTIES);
+        return mirror == null ? Set.of() : new LinkedHashSet<>(strings(values(mirror).get("value")));
+    }
+
+    /**
+     * @return USE_DEFAULTS 이거나 annotation 이 없으면 null
+     */
+    private String inclusion(AnnotationMirror include) {
+        if (include == null) {
+            return null;
+        }
+        String value = (String) values(include).get("value");
+        return "USE_DEFAULTS".equals(value) ? null : value;
+    }
+
+    private boolean isIgnoredType(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        AnnotationMirror mirror = find(types.asElement(type), JSON_IGNORE_TYPE);
+        return mirror != null && !Boolean.FALSE.equals(values(mirror).get("value"));
+    }
+
+    private static void checkAccess(Element element) throws Unsupported {
+        if (element.getModifiers().contains(Modifier.PRIVATE)) {
+            throw new Unsupported("private " + element);
+        }
+    }
+
+    /**
+     * 생성 코드 (같은 패키지) 에서 쓸 수 있고 Jackson 이 특별히 다루지 않는 값 타입인지
+     */
+    private void checkValueType(TypeMirror type, String property) throws Unsupported {
+        switch (type.getKind()) {
+            case BOOLEAN:
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+            case CHAR:
+            case FLOAT:
+            case DOUBLE:
+                return;
+            case ARRAY:
+                checkValueType(((ArrayType) type).getComponentType(), property);
+                return;
+            case WILDCARD:
+                WildcardType wildcard = (WildcardType) type;
+                if (wildcard.getExtendsBound() != null) {
+                    checkValueType(wildcard.getExtendsBound(), property);
+                }
+                if (wildcard.getSuperBound() != null) {
+                    checkValueType(wildcard.getSuperBound(), property);
+                }
+                return;
+            case DECLARED:
+                DeclaredType declared = (DeclaredType) type;
+                if (REFERENCE_TYPES.contains(qualifiedName(type))) {
+                    throw new Unsupported("reference type " + type + " of " + property);
+                }
+                if (declared.getEnclosingType().getKind() == TypeKind.DECLARED
+                        && !((DeclaredType) declared.getEnclosingType()).getTypeArguments().isEmpty()) {
+                    throw new Unsupported("inner type of generic class " + type + " of " + property);
+                }
+                for (Element e = declared.asElement(); e instanceof TypeElement; e = e.getEnclosingElement()) {
+                    if (e.getModifiers().contains(Modifier.PRIVATE)) {
+                        throw new Unsupported("private type " + type + " of " + property);
+                    }
+                }
+                for (TypeMirror argument : declared.getTypeArguments()) {
+                    checkValueType(argument, property);
+                }
+                return;
+            default:
+                throw new Unsupported("type " + type + " of " + property);
+        }
+    }
+
+    /**
+     * 타입 annotation 없이 소스에 쓸 수 있는 이름
+     */
+    static String source(TypeMirror type) {
+        switch (type.getKind()) {
+            case ARRAY:
+                return source(((ArrayType) type).getComponentType()) + "[]";
+            case WILDCARD:
+                WildcardType wildcard = (WildcardType) type;
+                if (wildcard.getExtendsBound() != null) {
+                    return "? extends " + source(wildcard.getExtendsBound());
+                }
+                return wildcard.getSuperBound() != null ? "? super " + source(wildcard.getSuperBound()) : "?";
+            case DECLARED:
+                DeclaredType declared = (DeclaredType) type;
+                StringBuilder sb = new StringBuilder(((TypeElement) declared.asElement()).getQualifiedName());
+                if (!declared.getTypeArguments().isEmpty()) {
+                    sb.append('<');
+                    for (int i = 0; i < declared.getTypeArguments().size(); i++) {
+                        sb.append(i == 0 ? "" : ", ").append(source(declared.getTypeArguments().get(i)));
+                    }
+                    sb.append('>');
+                }
+                return sb.toString();
+            default:
+                return type.getKind().name().toLowerCase();
+        }
+    }
+
+    static boolean isGeneric(TypeMirror type) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            return isGeneric(((ArrayType) type).getComponentType());
+        }
+        return type.getKind() == TypeKind.DECLARED && !((DeclaredType) type).getTypeArguments().isEmpty();
+    }
+
+    static String qualifiedName(TypeMirror type) {
+        return ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+    }
+
+    /**
+     * DefaultAccessorNamingStrategy#legacyManglePropertyName
+     */
+    static String legacyMangle(String name, int offset) {
+        int end = name.length();
+        if (end == offset) {
+            return null;
+        }
+        char c = name.charAt(offset);
+        char d = Character.toLowerCase(c);
+        if (c == d) {
+            return name.substring(offset);
+        }
+        StringBuilder sb = new StringBuilder(end - offset);
+        sb.append(d);
+        for (int i = offset + 1; i < end; i++) {
+            c = name.charAt(i);
+            d = Character.toLowerCase(c);
+            if (c == d) {
+                sb.append(name, i, end);
+                break;
+            }
+            sb.append(d);
+        }
+        return sb.toString();
+    }
+
+    private static String regularGetterName(String methodName) {
+        if (!methodName.startsWith("get") || methodName.equals("getCallbacks") || methodName.equals("getMetaClass")) {
+            return null;
+        }
+        return legacyMangle(methodName, 3);
+    }
+
+    private static String isGetterName(String methodName, TypeMirror returnType) {
+        boolean bool = returnType.getKind() == TypeKind.BOOLEAN
+                || (returnType.getKind() == TypeKind.DECLARED && qualifiedName(returnType).equals("java.lang.Boolean"));
+        return bool && methodName.startsWith("is") ? legacyMangle(methodName, 2) : null;
+    }
+
+    private String explicitName(AnnotationMirror jp) {
+        if (jp == null) {
+            return null;
+        }
+        String value = (String) values(jp).get("value");
+        return value.isEmpty() ? null : value;
+    }
+
+    private boolean isIgnored(Element element) {
+        AnnotationMirror mirror = find(element, JSON_IGNORE);
+        return mirror != null && Boolean.TRUE.equals(values(mirror).get("value"));
+    }
+
+    static AnnotationMirror find(Element element, String annotation) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 기본값을 포함한 annotation 값 (enum 은 상수 이름, Class 는 이름, 배열은 List)
+     */
+    Map<String, Object> values(AnnotationMirror mirror) {
+        Map<String, Object> values = new HashMap<>();
+        if (mirror == null) {
+            return values;
+        }
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> e
+                : elements.getElementValuesWithDefaults(mirror).entrySet()) {
+            values.put(e.getKey().getSimpleName().toString(), unwrap(e.getValue().getValue()));
+        }
+        return values;
+    }
+
+    private static Object unwrap(Object value) {
+        if (value instanceof VariableElement) {
+            return ((VariableElement) value).getSimpleName().toString();
+        }
+        if (value instanceof TypeMirror) {
+            return value.toString();
+        }
+        if (value instanceof List) {
+            List<Object> list = new ArrayList<>();
+            for (Object item : (List<?>) value) {
+                list.add(unwrap(((AnnotationValue) item).getValue()));
+            }
+            return list;
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> strings(Object value) {
+        return value == null ? List.of() : (List<String>) value;
+    }
+
+    private static Prop prop(Map<String, Prop> props, String implName, boolean fromMethod) {
+        return props.computeIfAbsent(implName, name -> new Prop(name, fromMethod));
+    }
+
+    private static final class Collected {
+        final Map<String, Prop> props = new LinkedHashMap<>();
+        final Set<String> ignorals = new LinkedHashSet<>();
+        final List<String> creatorNames = new ArrayList<>();
+        ExecutableElement creator;
+        boolean alphabetic;
+        List<Prop> ordered;
+    }
+
+    /**
+     * POJOPropertyBuilder
+     */
+    private static final class Prop {
+        String name;
+        final String internalName;
+        /**
+         * 메서드 (getter / setter) 에서 처음 생겼는지 (필드, creator 인자가 아니라)
+         */
+        final boolean fromMethod;
+        boolean renamedGroup;
+        boolean fixedPosition;
+        final List<Member> fields = new ArrayList<>();
+        final List<Member> getters = new ArrayList<>();
+        final List<Member> setters = new ArrayList<>();
+        final List<Member> params = new ArrayList<>();
+
+        Prop(String name, boolean fromMethod) {
+            this.name = name;
+            this.internalName = name;
+            this.fromMethod = fromMethod;
+        }
+
+        private List<List<Member>> all() {
+            return List.of(fields, getters, setters, params);
+        }
+
+        boolean anyVisible() {
+            return all().stream().flatMap(List::stream).anyMatch(m -> m.visible);
+        }
+
+        boolean anyIgnored() {
+            return all().stream().flatMap(List::stream).anyMatch(m -> m.ignored);
+        }
+
+        boolean isExplicitlyIncluded() {
+            return all().stream().flatMap(List::stream).anyMatch(m -> m.annotated);
+        }
+
+        boolean couldDeserialize() {
+            return !params.isEmpty() || !setters.isEmpty() || !fields.isEmpty();
+        }
+
+        void removeIgnored() {
+            all().forEach(members -> members.removeIf(m -> m.ignored));
+        }
+
+        /**
+         * INFER_PROPERTY_MUTATORS: 보이는 getter 가 있으면 보이지 않는 필드 / setter 도 mutator 로 남긴다
+         */
+        void removeNonVisible() {
+            getters.removeIf(m -> !m.visible);
+            params.removeIf(m -> !m.visible);
+            if (getters.isEmpty()) {
+                fields.removeIf(m -> !m.visible);
+                setters.removeIf(m -> !m.visible);
+            }
+        }
+
+        Set<String> explicitNames() {
+            Set<String> names = new LinkedHashSet<>();
+            all().forEach(members -> members.forEach(m -> {
+                if (m.explicitName != null) {
+                    names.add(m.explicitName);
+                }
+            }));
+            return names;
+        }
+
+        void addAll(Prop other) {
+            fields.addAll(other.fields);
+            getters.addAll(other.getters);
+            setters.addAll(other.setters);
+            params.addAll(other.params);
+        }
+
+        /**
+         * 멤버 annotation 병합 (POJOPropertyBuilder#mergeAnnotations) 순서대로 처음 찾은 annotation
+         */
+        @SafeVarargs
+        final AnnotationMirror findAnnotation(String annotation, List<Member>... precedence) {
+            for (List<Member> members : precedence) {
+                for (Member member : members) {
+                    AnnotationMirror mirror = find(member.element, annotation);
+                    if (mirror != null) {
+                        return mirror;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class Member {
+        final Element element;
+        /**
+         * 비어 있지 않은 @JsonProperty 값
+         */
+        final String explicitName;
+        /**
+         * @JsonProperty 가 있는지 (이름이 비어 있어도)
+         */
+        final boolean annotated;
+        final boolean visible;
+        final boolean ignored;
+
+        Member(Element element, String explicitName, boolean annotated, boolean visible, boolean ignored) {
+            this.element = element;
+            this.explicitName = explicitName;
+            this.annotated = annotated;
+            this.visible = visible;
+            this.ignored = ignored;
+        }
+    }
+
+    static final class Unsupported extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        Unsupported(String message) {
+            super(message, null, false, false);
+        }
+    }
+}
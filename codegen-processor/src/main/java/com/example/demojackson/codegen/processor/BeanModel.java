@@ -0,0 +1,97 @@
+package com.example.demojackson.codegen.processor;
+
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import java.util.List;
+
+/**
+ * {@link BeanIntrospector} 가 Jackson 규칙으로 해석한 DTO 하나
+ *
+ * serialize / deserialize 중 만들 수 없는 쪽은 프로퍼티 목록 대신 이유 (rejection) 를 가진다
+ */
+final class BeanModel {
+    final TypeElement type;
+    final String packageName;
+    /**
+     * 소스에 쓰는 이름 (예: com.example.demojackson.ex.Ex3.MyBean)
+     */
+    final String typeName;
+    /**
+     * 생성 클래스 이름 (예: Ex3_MyBean_JsonCodec)
+     */
+    final String codecName;
+
+    List<SerProperty> serProperties;
+    String serRejection;
+
+    List<DeserProperty> deserProperties;
+    /**
+     * creator 인자 순서의 프로퍼티, 기본 생성자를 쓰면 null
+     */
+    List<DeserProperty> creatorProperties;
+    /**
+     * 정적 factory creator 이름, 생성자면 null
+     */
+    String factoryName;
+    List<String> ignorable;
+    boolean ignoreUnknown;
+    String deserRejection;
+
+    BeanModel(TypeElement type, String packageName, String typeName, String codecName) {
+        this.type = type;
+        this.packageName = packageName;
+        this.typeName = typeName;
+        this.codecName = codecName;
+    }
+
+    boolean hasSerializer() {
+        return serProperties != null;
+    }
+
+    boolean hasDeserializer() {
+        return deserProperties != null;
+    }
+
+    static final class SerProperty {
+        final String name;
+        final TypeMirror type;
+        /**
+         * bean 에서 값을 읽는 식 (예: getName(), name)
+         */
+        final String accessor;
+        /**
+         * ALWAYS, NON_NULL, NON_ABSENT, NON_EMPTY 또는 null (실행 시 ObjectMapper 설정)
+         */
+        final String inclusion;
+
+        SerProperty(String name, TypeMirror type, String accessor, String inclusion) {
+            this.name = name;
+            this.type = type;
+            this.accessor = accessor;
+            this.inclusion = inclusion;
+        }
+    }
+
+    static final class DeserProperty {
+        final String name;
+        final List<String> aliases;
+        final TypeMirror type;
+        /**
+         * setter 이름 또는 필드 이름 (creator 인자면 null)
+         */
+        final String mutator;
+        final boolean setter;
+
+        DeserProperty(String name, List<String> aliases, TypeMirror type, String mutator, boolean setter) {
+            this.name = name;
+            this.aliases = aliases;
+            this.type = type;
+            this.mutator = mutator;
+            this.setter = setter;
+        }
+
+        boolean isCreatorProperty() {
+            return mutator == null;
+        }
+    }
+}
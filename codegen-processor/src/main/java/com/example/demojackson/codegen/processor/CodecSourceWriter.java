@@ -0,0 +1,568 @@
+package com.example.demojackson.codegen.processor;
+
+import com.example.demojackson.codegen.processor.BeanModel.DeserProperty;
+import com.example.demojackson.codegen.processor.BeanModel.SerProperty;
+
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.demojackson.codegen.processor.BeanIntrospector.isGeneric;
+import static com.example.demojackson.codegen.processor.BeanIntrospector.source;
+
+/**
+ * {@link BeanModel} 하나를 GeneratedCodec 구현 소스로 쓴다
+ *
+ * String / 숫자 / boolean 은 JsonGenerator, JsonParser 를 바로 호출하고
+ * 나머지 타입은 ValueWriter / ValueReader (Jackson 이 찾은 serializer / deserializer) 에 맡긴다
+ */
+final class CodecSourceWriter {
+    private static final String CODEGEN = "com.example.demojackson.codegen.";
+
+    /**
+     * 바로 쓰는 타입 -> JsonGenerator 메서드
+     */
+    private static final Map<String, String> WRITE = Map.ofEntries(
+            Map.entry("int", "writeNumber"), Map.entry("java.lang.Integer", "writeNumber"),
+            Map.entry("long", "writeNumber"), Map.entry("java.lang.Long", "writeNumber"),
+            Map.entry("double", "writeNumber"), Map.entry("java.lang.Double", "writeNumber"),
+            Map.entry("float", "writeNumber"), Map.entry("java.lang.Float", "writeNumber"),
+            Map.entry("short", "writeNumber"), Map.entry("java.lang.Short", "writeNumber"),
+            Map.entry("boolean", "writeBoolean"), Map.entry("java.lang.Boolean", "writeBoolean"),
+            Map.entry("java.lang.String", "writeString"));
+
+    /**
+     * 바로 읽는 타입 -> GeneratedDeserializer 의 read 메서드
+     */
+    private static final Map<String, String> READ = Map.of(
+            "int", "readInt", "java.lang.Integer", "readInteger",
+            "long", "readLong", "java.lang.Long", "readLongObject",
+            "double", "readDouble", "java.lang.Double", "readDoubleObject",
+            "boolean", "readBoolean", "java.lang.Boolean", "readBooleanObject",
+            "java.lang.String", "readString");
+
+    private final BeanModel model;
+    private final StringBuilder out = new StringBuilder();
+    private int indent;
+
+    CodecSourceWriter(BeanModel model) {
+        this.model = model;
+    }
+
+    String write() {
+        if (!model.packageName.isEmpty()) {
+            line("package " + model.packageName + ";");
+            line("");
+        }
+        line("import " + CODEGEN + "GeneratedCodec;");
+        line("import " + CODEGEN + "GeneratedDeserializer;");
+        line("import " + CODEGEN + "GeneratedSerializer;");
+        if (model.hasSerializer() && model.serProperties.stream().anyMatch(CodecSourceWriter::usesInclusion)) {
+            line("import com.fasterxml.jackson.annotation.JsonInclude;");
+        }
+        line("import com.fasterxml.jackson.core.JsonGenerator;");
+        line("import com.fasterxml.jackson.core.JsonParser;");
+        line("import com.fasterxml.jackson.databind.DeserializationContext;");
+        line("import com.fasterxml.jackson.databind.SerializerProvider;");
+        line("import com.fasterxml.jackson.databind.util.NameTransformer;");
+        if (model.hasDeserializer() && model.creatorProperties != null) {
+            line("import com.fasterxml.jackson.databind.util.TokenBuffer;");
+        }
+        line("");
+        line("import java.io.IOException;");
+        line("");
+        line("/**");
+        // 생성 소스는 컴파일 인코딩에 상관없도록 ASCII 로만 쓴다
+        line(" * Jackson serializer / deserializer for {@link " + model.typeName + "}");
+        if (!model.hasSerializer()) {
+            line(" * serializer not generated: " + javadoc(model.serRejection));
+        }
+        if (!model.hasDeserializer()) {
+            line(" * deserializer not generated: " + javadoc(model.deserRejection));
+        }
+        line(" */");
+        line("@javax.annotation.processing.Generated(\"" + JsonCodecProcessor.class.getName() + "\")");
+        open("public final class " + model.codecName + " implements GeneratedCodec {");
+        line("@Override");
+        open("public Class<?> type() {");
+        line("return " + model.typeName + ".class;");
+        close();
+        line("");
+        line("@Override");
+        open("public GeneratedSerializer<?> serializer() {");
+        line("return " + (model.hasSerializer() ? "new Serializer()" : "null") + ";");
+        close();
+        line("");
+        line("@Override");
+        open("public GeneratedDeserializer<?> deserializer() {");
+        line("return " + (model.hasDeserializer() ? "new Deserializer()" : "null") + ";");
+        close();
+        if (model.hasSerializer()) {
+            line("");
+            writeSerializer();
+        }
+        if (model.hasDeserializer()) {
+            line("");
+            writeDeserializer();
+        }
+        close();
+        return out.toString();
+    }
+
+    // serializer
+
+    private void writeSerializer() {
+        String t = model.typeName;
+        List<SerProperty> properties = model.serProperties;
+        open("static final class Serializer extends GeneratedSerializer<" + t + "> {");
+        line("private static final long serialVersionUID = 1L;");
+        line("");
+        boolean runtimeInclusion = false;
+        boolean writers = false;
+        for (int i = 0; i < properties.size(); i++) {
+            SerProperty property = properties.get(i);
+            if (writeMethod(property.type) == null) {
+                line("private final ValueWriter w" + i + " = new ValueWriter(" + typeLiteral(property.type) + ");");
+                writers = true;
+            }
+            runtimeInclusion |= property.inclusion == null && !property.type.getKind().isPrimitive();
+        }
+        if (writers) {
+            line("");
+        }
+        StringBuilder names = new StringBuilder();
+        for (SerProperty property : properties) {
+            names.append(", ").append(literal(property.name));
+        }
+        open("Serializer() {");
+        line("super(" + t + ".class" + names + ");");
+        close();
+        line("");
+        open("private Serializer(Serializer src, NameTransformer transformer) {");
+        line("super(src, transformer);");
+        close();
+        line("");
+        line("@Override");
+        open("protected GeneratedSerializer<" + t + "> withNames(NameTransformer transformer) {");
+        line("return new Serializer(this, transformer);");
+        close();
+        line("");
+        line("@Override");
+        open("protected void serializeFields(" + t + " bean, JsonGenerator gen, SerializerProvider provider) throws IOException {");
+        if (runtimeInclusion) {
+            line("JsonInclude.Include inclusion = defaultInclusion(provider);");
+        }
+        line("int current = 0;");
+        open("try {");
+        for (int i = 0; i < properties.size(); i++) {
+            writeProperty(i, properties.get(i));
+        }
+        reopen("} catch (StackOverflowError e) {");
+        line("throw infiniteRecursion(gen, e, bean, current);");
+        reopen("} catch (Exception e) {");
+        line("wrapAndThrow(provider, e, bean, current);");
+        close();
+        close();
+        close();
+    }
+
+    private void writeProperty(int i, SerProperty property) {
+        String v = "v" + i;
+        String method = writeMethod(property.type);
+        boolean primitive = property.type.getKind().isPrimitive();
+        line("current = " + i + ";");
+        line(source(property.type) + " " + v + " = bean." + property.accessor + ";");
+
+        // BeanPropertyWriter 처럼 포함 여부를 먼저 보고 이름을 쓴다
+        String condition = null;
+        boolean nonNull = false;
+        if (!primitive) {
+            String inclusion = property.inclusion;
+            if (inclusion == null) {
+                condition = "include(inclusion, " + v + ", " + (method == null ? "w" + i : "null") + ", provider)";
+            } else if (inclusion.equals("NON_NULL") || inclusion.equals("NON_ABSENT")
+                    || (inclusion.equals("NON_EMPTY") && method != null && !isString(property.type))) {
+                condition = v + " != null";
+                nonNull = true;
+            } else if (inclusion.equals("NON_EMPTY")) {
+                condition = isString(property.type) ? v + " != null && !" + v + ".isEmpty()"
+                        : "include(JsonInclude.Include.NON_EMPTY, " + v + ", w" + i + ", provider)";
+                nonNull = true;
+            }
+        }
+        if (condition != null) {
+            open("if (" + condition + ") {");
+        }
+        line("gen.writeFieldName(names[" + i + "]);");
+        if (method == null) {
+            line("w" + i + ".write(" + v + ", gen, provider);");
+        } else if (primitive || nonNull) {
+            line("gen." + method + "(" + v + ");");
+        } else {
+            open("if (" + v + " == null) {");
+            line("provider.defaultSerializeNull(gen);");
+            reopen("} else {");
+            line("gen." + method + "(" + v + ");");
+            close();
+        }
+        if (condition != null) {
+            close();
+        }
+    }
+
+    /**
+     * JsonInclude.Include 를 소스에 쓰는지 (실행 시 기본값 또는 String 이외의 NON_EMPTY)
+     */
+    private static boolean usesInclusion(SerProperty property) {
+        if (property.type.getKind().isPrimitive()) {
+            return false;
+        }
+        return property.inclusion == null
+                || (property.inclusion.equals("NON_EMPTY") && writeMethod(property.type) == null);
+    }
+
+    private static String writeMethod(TypeMirror type) {
+        return type.getKind().isPrimitive() || type.getKind() == TypeKind.DECLARED ? WRITE.get(source(type)) : null;
+    }
+
+    // deserializer
+
+    private void writeDeserializer() {
+        String t = model.typeName;
+        List<DeserProperty> properties = model.deserProperties;
+        boolean creator = model.creatorProperties != null;
+        open("static final class Deserializer extends GeneratedDeserializer<" + t + "> {");
+        line("private static final long serialVersionUID = 1L;");
+        line("");
+        for (int i = 0; i < properties.size(); i++) {
+            line("private final ValueReader r" + i + " = new ValueReader(" + typeLiteral(properties.get(i).type) + ");");
+        }
+        line("");
+        StringBuilder names = new StringBuilder();
+        for (DeserProperty property : properties) {
+            names.append(names.length() == 0 ? "" : ", ").append(literal(property.name));
+        }
+        StringBuilder ignorable = new StringBuilder();
+        for (String name : model.ignorable) {
+            ignorable.append(ignorable.length() == 0 ? "" : ", ").append(literal(name));
+        }
+        open("Deserializer() {");
+        line("super(" + t + ".class, new String[] {" + names + "}, new String[] {" + ignorable + "});");
+        close();
+        line("");
+        open("private Deserializer(Deserializer src, NameTransformer transformer) {");
+        line("super(src, transformer);");
+        close();
+        line("");
+        line("@Override");
+        open("protected GeneratedDeserializer<" + t + "> withNames(NameTransformer transformer) {");
+        line("return new Deserializer(this, transformer);");
+        close();
+        line("");
+        line("@Override");
+        open("protected int propertyIndex(String name) {");
+        open("switch (name) {");
+        for (int i = 0; i < properties.size(); i++) {
+            DeserProperty property = properties.get(i);
+            for (String alias : property.aliases) {
+                line("case " + literal(alias) + ":");
+            }
+            line("case " + literal(property.name) + ":");
+            line("    return " + i + ";");
+        }
+        for (String name : model.ignorable) {
+            line("case " + literal(name) + ":");
+        }
+        if (!model.ignorable.isEmpty()) {
+            line("    return IGNORED;");
+        }
+        line("default:");
+        line("    return UNKNOWN;");
+        close();
+        close();
+        line("");
+        line("@Override");
+        if (properties.stream().anyMatch(property -> isGeneric(property.type))) {
+            line("@SuppressWarnings(\"unchecked\")");
+        }
+        open("protected " + t + " deserializeFields(JsonParser p, DeserializationContext ctxt, String name, " + t
+                + " bean) throws IOException {");
+        if (creator) {
+            writeCreatorFields();
+        } else {
+            writeVanillaFields();
+        }
+        close();
+        close();
+    }
+
+    /**
+     * BeanDeserializer#vanillaDeserialize
+     */
+    private void writeVanillaFields() {
+        open("if (bean == null) {");
+        open("try {");
+        line("bean = new " + model.typeName + "();");
+        reopen("} catch (Exception e) {");
+        line("throw instantiationProblem(e, ctxt);");
+        close();
+        close();
+        writeFieldLoop();
+    }
+
+    /**
+     * 만든 (또는 받은) 인스턴스에 바로 넣는다, creator 인자는 Jackson 의 fallback setter 처리에 맡긴다
+     */
+    private void writeFieldLoop() {
+        List<DeserProperty> properties = model.deserProperties;
+        line("p.setCurrentValue(bean);");
+        open("for (; name != null; name = p.nextFieldName()) {");
+        line("p.nextToken();");
+        open("switch (index(name)) {");
+        for (int i = 0; i < properties.size(); i++) {
+            DeserProperty property = properties.get(i);
+            open("case " + i + ":");
+            if (property.isCreatorProperty()) {
+                line("setCreatorProperty(p, ctxt, bean, " + literal(property.name) + ", name);");
+                line("break;");
+                indent--;
+                continue;
+            }
+            open("try {");
+            if (property.setter) {
+                line(source(property.type) + " value = " + read(i, property) + ";");
+                open("try {");
+                line("bean." + property.mutator + "(value);");
+                reopen("} catch (Exception e) {");
+                line("throw setterProblem(p, e);");
+                close();
+            } else {
+                line("bean." + property.mutator + " = " + read(i, property) + ";");
+            }
+            reopen("} catch (Exception e) {");
+            line("wrapAndThrow(e, bean, name, ctxt);");
+            close();
+            line("break;");
+            indent--;
+        }
+        writeOtherCases("bean", false);
+        close();
+        close();
+        line("return bean;");
+    }
+
+    /**
+     * BeanDeserializer#_deserializeUsingPropertyBased 처럼 마지막 creator 인자까지 모았다가 바로 만들고,
+     * 남은 필드는 만든 인스턴스에 바로 넣는다
+     */
+    private void writeCreatorFields() {
+        List<DeserProperty> properties = model.deserProperties;
+        open("if (bean == null) {");
+        for (int i = 0; i < properties.size(); i++) {
+            DeserProperty property = properties.get(i);
+            if (property.isCreatorProperty()) {
+                line("Object v" + i + " = null;");
+            } else {
+                line(source(property.type) + " v" + i + " = " + defaultValue(property.type) + ";");
+            }
+            line("boolean s" + i + " = false;");
+        }
+        line("int needed = " + model.creatorProperties.size() + ";");
+        line("TokenBuffer unknown = null;");
+        open("for (; name != null; name = p.nextFieldName()) {");
+        line("p.nextToken();");
+        open("switch (index(name)) {");
+        for (int i = 0; i < properties.size(); i++) {
+            DeserProperty property = properties.get(i);
+            open("case " + i + ":");
+            open("try {");
+            line("v" + i + " = " + read(i, property) + ";");
+            reopen("} catch (Exception e) {");
+            // _deserializeWithErrorWrapping 은 alias 가 아닌 프로퍼티 이름을 경로에 쓴다
+            line("wrapAndThrow(e, handledType(), propertyName(" + i + "), ctxt);");
+            close();
+            if (property.isCreatorProperty()) {
+                open("if (!s" + i + ") {");
+                line("s" + i + " = true;");
+                line("needed--;");
+                close();
+            } else {
+                line("s" + i + " = true;");
+            }
+            line("break;");
+            indent--;
+        }
+        writeOtherCases("handledType()", true);
+        close();
+        open("if (needed == 0) {");
+        line("name = p.nextFieldName();");
+        line("break;");
+        close();
+        close();
+
+        StringBuilder args = new StringBuilder();
+        for (int k = 0; k < model.creatorProperties.size(); k++) {
+            DeserProperty property = model.creatorProperties.get(k);
+            int i = properties.indexOf(property);
+            line("Object a" + k + " = creatorValue(ctxt, r" + i + ", s" + i + ", v" + i + ", "
+                    + literal(property.name) + ", " + k + ");");
+            args.append(k == 0 ? "" : ", ").append(cast(property.type, "a" + k));
+        }
+        open("try {");
+        line("bean = " + (model.factoryName == null ? "new " + model.typeName
+                : model.typeName + "." + model.factoryName) + "(" + args + ");");
+        reopen("} catch (Exception e) {");
+        line("throw instantiationProblem(e, ctxt);");
+        close();
+        for (int i = 0; i < properties.size(); i++) {
+            DeserProperty property = properties.get(i);
+            if (property.isCreatorProperty()) {
+                continue;
+            }
+            open("if (s" + i + ") {");
+            if (property.setter) {
+                // PropertyValue#assign 는 경로 없이 setter 예외만 감싼다
+                open("try {");
+                line("bean." + property.mutator + "(v" + i + ");");
+                reopen("} catch (Exception e) {");
+                line("throw setterProblem(null, e);");
+                close();
+            } else {
+                line("bean." + property.mutator + " = v" + i + ";");
+            }
+            close();
+        }
+        line("bean = handleUnknown(ctxt, bean, unknown);");
+        close();
+        writeFieldLoop();
+    }
+
+    private void writeOtherCases(String beanOrClass, boolean buffer) {
+        if (!model.ignorable.isEmpty()) {
+            open("case IGNORED:");
+            line("handleIgnored(p, ctxt, " + beanOrClass + ", name);");
+            line("break;");
+            indent--;
+        }
+        open("default:");
+        if (model.ignoreUnknown) {
+            line("p.skipChildren();");
+        } else if (buffer) {
+            line("unknown = bufferUnknown(p, ctxt, unknown, name);");
+        } else {
+            line("handleUnknown(p, ctxt, " + beanOrClass + ", name);");
+        }
+        indent--;
+    }
+
+    private static String read(int i, DeserProperty property) {
+        String method = READ.get(source(property.type));
+        if (method != null) {
+            return method + "(p, ctxt, r" + i + ")";
+        }
+        return cast(property.type, "r" + i + ".read(p, ctxt)");
+    }
+
+    /**
+     * Object 로 읽은 값을 프로퍼티 타입으로, 프로퍼티가 Object 면 cast 하지 않는다 (-Xlint:cast)
+     */
+    private static String cast(TypeMirror type, String expression) {
+        String source = source(type);
+        return source.equals("java.lang.Object") ? expression : "(" + source + ") " + expression;
+    }
+
+    private static String defaultValue(TypeMirror type) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return "false";
+            case CHAR:
+                return "'\\0'";
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+            case FLOAT:
+            case DOUBLE:
+                return "(" + source(type) + ") 0";
+            default:
+                return "null";
+        }
+    }
+
+    // 공통
+
+    /**
+     * ValueWriter / ValueReader 에 넘기는 java.lang.reflect.Type (제네릭이면 TypeReference 로 인자까지)
+     */
+    private static String typeLiteral(TypeMirror type) {
+        if (isGeneric(type)) {
+            return "new com.fasterxml.jackson.core.type.TypeReference<" + source(type) + ">() {}.getType()";
+        }
+        return source(type) + ".class";
+    }
+
+    private static boolean isString(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED && source(type).equals("java.lang.String");
+    }
+
+    static String literal(String value) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20 || c > 0x7e) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    private static String javadoc(String text) {
+        StringBuilder sb = new StringBuilder();
+        for (char c : text.replace("*/", "*&#47;").replace("@", "{@literal @}").toCharArray()) {
+            sb.append(c < 0x20 || c > 0x7e ? '?' : c);
+        }
+        return sb.toString();
+    }
+
+    private void line(String text) {
+        if (!text.isEmpty()) {
+            out.append("    ".repeat(indent));
+        }
+        out.append(text).append('\n');
+    }
+
+    private void open(String text) {
+        line(text);
+        indent++;
+    }
+
+    private void reopen(String text) {
+        indent--;
+        open(text);
+    }
+
+    private void close() {
+        indent--;
+        line("}");
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.demojackson.codegen.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 지정한 패키지의 DTO 마다 Jackson serializer / deserializer 소스 (&lt;Outer&gt;_&lt;Inner&gt;_JsonCodec) 를 만든다
+ *
+ * <pre>
+ * testAnnotationProcessor project(':codegen-processor')
+ * compileTestJava {
+ *     options.compilerArgs += ['-Acodegen.packages=com.example.demojackson.ex']
+ * }
+ * </pre>
+ *
+ * 하위 패키지와 static nested 클래스도 포함한다, 생성한 클래스는 META-INF/services 에 등록해서 GeneratedCodecModule 이 찾는다
+ * Jackson 과 다르게 동작할 수 있는 타입은 만들지 않으며 -Acodegen.verbose=true 면 이유를 note 로 남긴다
+ * Lombok 이 만든 getter / setter 를 봐야 하므로 processor path 에서 Lombok 뒤에 둔다
+ */
+@SupportedOptions({JsonCodecProcessor.PACKAGES, JsonCodecProcessor.VERBOSE})
+public class JsonCodecProcessor extends AbstractProcessor {
+    static final String PACKAGES = "codegen.packages";
+    static final String VERBOSE = "codegen.verbose";
+
+    private static final String SERVICES = "META-INF/services/com.example.demojackson.codegen.GeneratedCodec";
+    private static final Set<String> GENERATED = Set.of("javax.annotation.processing.Generated", "javax.annotation.Generated");
+
+    private final List<String> codecs = new ArrayList<>();
+    private List<String> packages;
+    private boolean verbose;
+    private BeanIntrospector introspector;
+    private Filer filer;
+    private Messager messager;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        packages = new ArrayList<>();
+        String option = processingEnv.getOptions().get(PACKAGES);
+        if (option != null) {
+            for (String name : option.split(",")) {
+                if (!name.isBlank()) {
+                    packages.add(name.trim());
+                }
+            }
+        }
+        verbose = Boolean.parseBoolean(processingEnv.getOptions().get(VERBOSE));
+        introspector = new BeanIntrospector(processingEnv.getElementUtils(), processingEnv.getTypeUtils());
+        filer = processingEnv.getFiler();
+        messager = processingEnv.getMessager();
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Set.of("*");
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (packages.isEmpty()) {
+            return false;
+        }
+        if (roundEnv.processingOver()) {
+            writeServices();
+            return false;
+        }
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            if (isTarget(type)) {
+                visit(type);
+            }
+        }
+        // 다른 processor 의 annotation 을 가로채지 않는다
+        return false;
+    }
+
+    private boolean isTarget(TypeElement type) {
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        for (String target : packages) {
+            if (packageName.equals(target) || packageName.startsWith(target + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void visit(TypeElement type) {
+        for (Element annotated = type; annotated instanceof TypeElement; annotated = annotated.getEnclosingElement()) {
+            if (annotated.getAnnotationMirrors().stream().anyMatch(mirror ->
+                    GENERATED.contains(((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString()))) {
+                return;
+            }
+        }
+        generate(type);
+        for (TypeElement nested : ElementFilter.typesIn(type.getEnclosedElements())) {
+            visit(nested);
+        }
+    }
+
+    private void generate(TypeElement type) {
+        BeanModel model;
+        try {
+            model = introspector.introspect(type);
+        } catch (BeanIntrospector.Unsupported e) {
+            note(type, "skipped: " + e.getMessage());
+            return;
+        }
+        String name = model.packageName.isEmpty() ? model.codecName : model.packageName + "." + model.codecName;
+        try {
+            JavaFileObject file = filer.createSourceFile(name, type);
+            try (Writer writer = file.openWriter()) {
+                writer.write(new CodecSourceWriter(model).write());
+            }
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "cannot write " + name + ": " + e, type);
+            return;
+        }
+        codecs.add(name);
+        if (!model.hasSerializer()) {
+            note(type, "serializer skipped: " + model.serRejection);
+        }
+        if (!model.hasDeserializer()) {
+            note(type, "deserializer skipped: " + model.deserRejection);
+        }
+    }
+
+    private void writeServices() {
+        if (codecs.isEmpty()) {
+            return;
+        }
+        try {
+            FileObject file = filer.createResource(StandardLocation.CLASS_OUTPUT, "", SERVICES);
+            try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (String codec : codecs) {
+                    writer.write(codec);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "cannot write " + SERVICES + ": " + e);
+        }
+    }
+
+    private void note(Element element, String message) {
+        if (verbose) {
+            messager.printMessage(Diagnostic.Kind.NOTE, message, element);
+        }
+    }
+}
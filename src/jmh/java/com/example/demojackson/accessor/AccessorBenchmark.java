@@ -0,0 +1,98 @@
+package com.example.demojackson.accessor;
+
+import com.example.demojackson.bench.Fixture;
+import com.example.demojackson.bench.PayloadSize;
+import com.example.demojackson.ex.Ex3;
+import com.example.demojackson.ex.Ex4;
+import com.example.demojackson.ex.JsonAutoDetectEx;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+    리플렉션 (accessors = false) 과 AccessorModule (accessors = true) 비교
+    대상은 flat bean: Ex3.BeanWithIgnoreProperties, Ex3.MyBean, Ex4.MyBean, JsonAutoDetectEx.SomeDto
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccessorBenchmark {
+
+    @Param
+    PayloadSize size;
+
+    @Param({"false", "true"})
+    boolean accessors;
+
+    Fixture<Ex3.BeanWithIgnoreProperties> ignoreProperties;
+    Fixture<Ex3.MyBean> include;
+    Fixture<Ex4.MyBean> setterGetter;
+    Fixture<JsonAutoDetectEx.SomeDto> privateFields;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        if (accessors) {
+            objectMapper.registerModule(new AccessorModule());
+        }
+        ignoreProperties = Fixture.of(objectMapper, Ex3.BeanWithIgnoreProperties.class, size,
+                i -> new Ex3.BeanWithIgnoreProperties(i, "bean" + i),
+                i -> "{\"name\":\"bean" + i + "\"}");
+        include = Fixture.of(objectMapper, Ex3.MyBean.class, size,
+                i -> new Ex3.MyBean(i, i % 2 == 0 ? null : "bean" + i),
+                i -> "{\"id\":" + i + ",\"name\":\"bean" + i + "\"}");
+        setterGetter = Fixture.of(objectMapper, Ex4.MyBean.class, size,
+                i -> new Ex4.MyBean(i, "bean" + i),
+                i -> "{\"id\":" + i + ",\"name\":\"bean" + i + "\"}");
+        privateFields = Fixture.of(objectMapper, JsonAutoDetectEx.SomeDto.class, size,
+                i -> new JsonAutoDetectEx.SomeDto("a" + i, "b" + i, "c" + i, "d" + i),
+                i -> "{\"privateValue\":\"a" + i + "\",\"packagePrivateValue\":\"b" + i
+                        + "\",\"protectedValue\":\"c" + i + "\",\"publicValue\":\"d" + i + "\"}");
+    }
+
+    @Benchmark
+    public byte[] serializeBeanWithIgnoreProperties() throws IOException {
+        return ignoreProperties.serialize();
+    }
+
+    @Benchmark
+    public List<Ex3.BeanWithIgnoreProperties> deserializeBeanWithIgnoreProperties() throws IOException {
+        return ignoreProperties.deserialize();
+    }
+
+    @Benchmark
+    public byte[] serializeMyBeanWithInclude() throws IOException {
+        return include.serialize();
+    }
+
+    @Benchmark
+    public List<Ex3.MyBean> deserializeMyBeanWithInclude() throws IOException {
+        return include.deserialize();
+    }
+
+    @Benchmark
+    public byte[] serializeMyBeanWithSetterGetter() throws IOException {
+        return setterGetter.serialize();
+    }
+
+    @Benchmark
+    public List<Ex4.MyBean> deserializeMyBeanWithSetterGetter() throws IOException {
+        return setterGetter.deserialize();
+    }
+
+    @Benchmark
+    public byte[] serializeSomeDtoWithPrivateFields() throws IOException {
+        return privateFields.serialize();
+    }
+
+    @Benchmark
+    public List<JsonAutoDetectEx.SomeDto> deserializeSomeDtoWithPrivateFields() throws IOException {
+        return privateFields.deserialize();
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.demojackson.asyncbody;
+
+import com.example.demojackson.DemoJacksonApplication;
+import com.example.demojackson.asyncbody.AsyncRequestBodyTests.SlowClient;
+import com.example.demojackson.asyncbody.AsyncRequestBodyTests.SlowClientController;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+    느린 클라이언트가 붙어 있을 때 일반 요청 처리량 (@RequestBody vs @AsyncRequestBody)
+    Tomcat 스레드 8개, slowClients 개의 연결이 body 앞부분만 보낸 상태로 측정 내내 붙어 있다
+    blocking 은 slowClients = 7 이면 스레드 하나로 나머지 요청을 처리한다 (8 이상이면 멈추므로 측정하지 않음, AsyncRequestBodyTests 참고)
+    4개 스레드가 같은 엔드포인트로 JsonTypeEx.Cat 을 보낸다
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class AsyncBodyBenchmark {
+    static final int THREADS = 8;
+
+    @Param({"blocking", "async"})
+    String mode;
+
+    @Param({"0", "7"})
+    int slowClients;
+
+    ConfigurableApplicationContext context;
+    HttpClient client;
+    HttpRequest request;
+    List<SlowClient> slow = new ArrayList<>();
+
+    @Setup
+    public void setUp() throws Exception {
+        context = SpringApplication.run(new Class<?>[]{DemoJacksonApplication.class, SlowClientController.class}, new String[]{
+                "--server.port=0",
+                "--server.tomcat.threads.max=" + THREADS,
+                "--server.tomcat.threads.min-spare=" + THREADS,
+                "--server.tomcat.connection-timeout=10m",
+                "--demo.jackson.async-body.timeout=10m",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=warn"});
+        int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        String path = "/slow/" + mode + "/animal";
+        for (int i = 0; i < slowClients; i++) {
+            slow.add(new SlowClient(port, path, AsyncRequestBodyTests.CAT, 10));
+        }
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(AsyncRequestBodyTests.CAT))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        for (SlowClient client : slow) {
+            client.sendRest();
+        }
+        for (SlowClient client : slow) {
+            client.readResponse();
+        }
+        context.close();
+    }
+
+    @Benchmark
+    public String fastClient() throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.demojackson.bench;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * fixture 타입 하나에 대한 serialize / deserialize 입력값 묶음
+ * 입력은 List&lt;T&gt; 와 그 JSON 배열 bytes 로 미리 만들어 두고, 벤치마크에서는 변환만 측정한다
+ */
+public final class Fixture<T> {
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+    private final List<T> values;
+    private final byte[] json;
+
+    private Fixture(ObjectWriter writer, ObjectReader reader, List<T> values, byte[] json) {
+        this.writer = writer;
+        this.reader = reader;
+        this.values = values;
+        this.json = json;
+    }
+
+    /**
+     * @param values  i 번째 serialize 입력 (null 이면 serialize 미지원)
+     * @param element i 번째 JSON 원소 (null 이면 deserialize 미지원)
+     */
+    public static <T> Fixture<T> of(ObjectMapper objectMapper, Class<T> type, PayloadSize size,
+                                    IntFunction<T> values, IntFunction<String> element) {
+        return of(objectMapper, type, size, values, element, UnaryOperator.identity());
+    }
+
+    public static <T> Fixture<T> of(ObjectMapper objectMapper, Class<T> type, PayloadSize size,
+                                    IntFunction<T> values, IntFunction<String> element,
+                                    UnaryOperator<ObjectReader> readerCustomizer) {
+        JavaType listType = objectMapper.getTypeFactory().constructCollectionType(List.class, type);
+
+        List<T> list = null;
+        if (values != null) {
+            list = new ArrayList<>(size.getCount());
+            for (int i = 0; i < size.getCount(); i++) {
+                list.add(values.apply(i));
+            }
+        }
+
+        byte[] json = null;
+        if (element != null) {
+            StringBuilder sb = new StringBuilder("[");
+            for (int i = 0; i < size.getCount(); i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                sb.append(element.apply(i));
+            }
+            json = sb.append(']').toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        return new Fixture<>(objectMapper.writerFor(listType),
+                readerCustomizer.apply(objectMapper.readerFor(listType)), list, json);
+    }
+
+    /**
+     * 생성자나 setter 로 값을 채울 수 없는 fixture 용
+     * JSON 을 한 번 deserialize 한 결과를 serialize 입력으로 사용한다
+     */
+    public static <T> Fixture<T> parsed(ObjectMapper objectMapper, Class<T> type, PayloadSize size,
+                                        IntFunction<String> element) throws IOException {
+        Fixture<T> fixture = of(objectMapper, type, size, null, element);
+        return new Fixture<>(fixture.writer, fixture.reader, fixture.deserialize(), fixture.json);
+    }
+
+    /**
+     * JSON 이 아닌 format (Smile, CBOR 등) 용
+     * deserialize 입력은 objectMapper 로 serialize 입력을 한 번 serialize 한 결과를 사용한다
+     */
+    public static <T> Fixture<T> encoded(ObjectMapper objectMapper, Class<T> type, PayloadSize size,
+                                         IntFunction<T> values) throws IOException {
+        Fixture<T> fixture = of(objectMapper, type, size, values, null);
+        return new Fixture<>(fixture.writer, fixture.reader, fixture.values, fixture.serialize());
+    }
+
+    public byte[] serialize() throws IOException {
+        if (values == null) {
+            throw new UnsupportedOperationException("serialize not supported");
+        }
+        return writer.writeValueAsBytes(values);
+    }
+
+    public List<T> deserialize() throws IOException {
+        if (json == null) {
+            throw new UnsupportedOperationException("deserialize not supported");
+        }
+        return reader.readValue(json);
+    }
+
+    public List<T> getValues() {
+        return values;
+    }
+
+    public byte[] getJson() {
+        return json;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.demojackson.bench;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 벤치마크 payload 크기
+ * 하나의 JSON 배열에 들어가는 fixture 개수
+ */
+@Getter
+@AllArgsConstructor
+public enum PayloadSize {
+    SMALL(1),
+    MEDIUM(100),
+    LARGE(10_000);
+
+    private final int count;
+}
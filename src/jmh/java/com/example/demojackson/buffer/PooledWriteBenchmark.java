@@ -0,0 +1,114 @@
+package com.example.demojackson.buffer;
+
+import com.example.demojackson.bench.PayloadSize;
+import com.example.demojackson.ex.JsonTypeEx.Animal;
+import com.example.demojackson.ex.JsonTypeEx.Cat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+    응답 하나를 만들어 보내는 비용 (JsonTypeEx.Animal 목록, B/op 가 응답당 할당량)
+    - writeValueAsString: 예제 코드 방식 (String -> getBytes -> 전송)
+    - writeValueAsBytes: 결과 크기의 byte[] 복사본
+    - jacksonConverter / pooledConverter: HttpMessageConverter 로 응답 body 에 쓰기
+    - pooledWriter: PooledJsonWriter 로 pool buffer 에 쓴 뒤 전송
+    응답 body 는 OutputStream.nullOutputStream() 으로 대신한다
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PooledWriteBenchmark {
+    final ObjectMapper objectMapper = new ObjectMapper();
+    final OutputStream sink = OutputStream.nullOutputStream();
+
+    @Param
+    PayloadSize size;
+
+    List<Animal> values;
+    Type type;
+    ObjectWriter writer;
+    MappingJackson2HttpMessageConverter jacksonConverter;
+    PooledJsonHttpMessageConverter pooledConverter;
+    PooledJsonWriter pooledWriter;
+
+    @Setup
+    public void setUp() throws Exception {
+        values = new ArrayList<>();
+        for (int i = 0; i < size.getCount(); i++) {
+            Cat cat = new Cat();
+            cat.name = "lacy" + i;
+            cat.likesCream = i % 2 == 0;
+            cat.lives = i % 9;
+            values.add(cat);
+        }
+        type = PooledWriteBenchmark.class.getDeclaredField("values").getGenericType();
+        writer = objectMapper.writerFor(objectMapper.constructType(type));
+        ByteBufferPool pool = new ByteBufferPool(false, 32);
+        jacksonConverter = new MappingJackson2HttpMessageConverter(objectMapper);
+        pooledConverter = new PooledJsonHttpMessageConverter(objectMapper, pool, 1 << 20);
+        pooledWriter = new PooledJsonWriter(pool);
+    }
+
+    @Benchmark
+    public void writeValueAsString() throws IOException {
+        sink.write(writer.writeValueAsString(values).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public void writeValueAsBytes() throws IOException {
+        sink.write(writer.writeValueAsBytes(values));
+    }
+
+    @Benchmark
+    public void jacksonConverter() throws IOException {
+        jacksonConverter.write(values, type, MediaType.APPLICATION_JSON, new SinkOutputMessage(sink));
+    }
+
+    @Benchmark
+    public void pooledConverter() throws IOException {
+        pooledConverter.write(values, type, MediaType.APPLICATION_JSON, new SinkOutputMessage(sink));
+    }
+
+    @Benchmark
+    public long pooledWriter() throws IOException {
+        return pooledWriter.writeTo(writer, values, sink);
+    }
+
+    /**
+     * 응답마다 새 헤더 (실제 요청과 같음)
+     */
+    static class SinkOutputMessage implements HttpOutputMessage {
+        final HttpHeaders headers = new HttpHeaders();
+        final OutputStream body;
+
+        SinkOutputMessage(OutputStream body) {
+            this.body = body;
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.demojackson.codegen;
+
+import com.example.demojackson.bench.Fixture;
+import com.example.demojackson.bench.PayloadSize;
+import com.example.demojackson.codegen.GeneratedCodecConformanceTests.Accessors;
+import com.example.demojackson.codegen.GeneratedCodecConformanceTests.Created;
+import com.example.demojackson.codegen.GeneratedCodecConformanceTests.Scalars;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+    Jackson 기본 (reflection, generated = false) 과 컴파일 시점 생성 codec (GeneratedCodecModule, generated = true) 비교
+    Accessors: getter / setter 3개, Created: @JsonCreator 인자 2개 + 필드 / setter, Scalars: 숫자 / 문자열 16개
+    -prof gc 로 gc.alloc.rate.norm 도 같이 본다
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneratedCodecBenchmark {
+
+    @Param
+    PayloadSize size;
+
+    @Param({"false", "true"})
+    boolean generated;
+
+    Fixture<Accessors> accessors;
+    Fixture<Created> created;
+    Fixture<Scalars> scalars;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        if (generated) {
+            objectMapper.registerModule(new GeneratedCodecModule());
+        }
+        accessors = Fixture.of(objectMapper, Accessors.class, size, GeneratedCodecConformanceTests::accessors,
+                i -> "{\"count\":" + i + ",\"full_name\":\"name" + i + "\",\"active\":" + (i % 2 == 0) + "}");
+        created = Fixture.of(objectMapper, Created.class, size, GeneratedCodecBenchmark::created,
+                i -> "{\"note\":\"note\",\"id\":\"id" + i + "\",\"size\":" + i + ",\"tags\":[\"a\",\"b\"]}");
+        String scalarsJson = new ObjectMapper().writeValueAsString(GeneratedCodecConformanceTests.scalars());
+        scalars = Fixture.of(objectMapper, Scalars.class, size, i -> GeneratedCodecConformanceTests.scalars(),
+                i -> scalarsJson);
+    }
+
+    private static Created created(int i) {
+        Created created = new Created("id" + i, i);
+        created.note = "note";
+        created.setTags(List.of("a", "b"));
+        return created;
+    }
+
+    @Benchmark
+    public byte[] serializeAccessors() throws IOException {
+        return accessors.serialize();
+    }
+
+    @Benchmark
+    public List<Accessors> deserializeAccessors() throws IOException {
+        return accessors.deserialize();
+    }
+
+    @Benchmark
+    public byte[] serializeCreated() throws IOException {
+        return created.serialize();
+    }
+
+    @Benchmark
+    public List<Created> deserializeCreated() throws IOException {
+        return created.deserialize();
+    }
+
+    @Benchmark
+    public byte[] serializeScalars() throws IOException {
+        return scalars.serialize();
+    }
+
+    @Benchmark
+    public List<Scalars> deserializeScalars() throws IOException {
+        return scalars.deserialize();
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.demojackson.datetime;
+
+import com.example.demojackson.bench.Fixture;
+import com.example.demojackson.bench.PayloadSize;
+import com.example.demojackson.ex.Ex2.EventWithSerializer;
+import com.example.demojackson.ex.Ex4.EventWithFormat;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+    Ex2.CustomDateDeserializer (static SimpleDateFormat) / JavaTimeModule 대비 FastDateTimeModule 벤치마크
+    CustomDateDeserializer 는 thread-safe 하지 않아 단일 스레드로만 측정
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateTimeCodecBenchmark {
+    final ObjectMapper stockMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule());
+    final ObjectMapper fastMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .registerModule(new FastDateTimeModule());
+
+    @Param
+    PayloadSize size;
+
+    Fixture<EventWithSerializer> customDate;
+    Fixture<FastEvent> fastDate;
+    Fixture<EventWithFormat> stockLocalDateTime;
+    Fixture<EventWithFormat> fastLocalDateTime;
+
+    @Setup
+    public void setUp() {
+        customDate = Fixture.of(stockMapper, EventWithSerializer.class, size, null, DateTimeCodecBenchmark::dateJson);
+        fastDate = Fixture.of(fastMapper, FastEvent.class, size, i -> {
+            FastEvent o = new FastEvent();
+            o.name = "party" + i;
+            o.eventDate = new Date(1635787800000L + i * 1000L);
+            return o;
+        }, DateTimeCodecBenchmark::dateJson);
+        stockLocalDateTime = Fixture.of(stockMapper, EventWithFormat.class, size,
+                DateTimeCodecBenchmark::localDateTimeEvent, null);
+        fastLocalDateTime = Fixture.of(fastMapper, EventWithFormat.class, size,
+                DateTimeCodecBenchmark::localDateTimeEvent, null);
+    }
+
+    static String dateJson(int i) {
+        return "{\"name\":\"party" + i + "\",\"eventDate\":\"2021-11-02 02:30:" + (10 + i % 50) + "\"}";
+    }
+
+    static EventWithFormat localDateTimeEvent(int i) {
+        return new EventWithFormat("party" + i, LocalDateTime.of(2021, 11, 5, 2, 30, i % 60));
+    }
+
+    public static class FastEvent {
+        public String name;
+
+        @JsonFormat(pattern = "yyyy-MM-dd hh:mm:ss")
+        public Date eventDate;
+    }
+
+    @Benchmark
+    public List<EventWithSerializer> deserializeDateWithCustomDateDeserializer() throws IOException {
+        return customDate.deserialize();
+    }
+
+    @Benchmark
+    public List<FastEvent> deserializeDateWithFastDateTimeModule() throws IOException {
+        return fastDate.deserialize();
+    }
+
+    @Benchmark
+    public byte[] serializeDateWithFastDateTimeModule() throws IOException {
+        return fastDate.serialize();
+    }
+
+    @Benchmark
+    public byte[] serializeLocalDateTimeWithJavaTimeModule() throws IOException {
+        return stockLocalDateTime.serialize();
+    }
+
+    @Benchmark
+    public byte[] serializeLocalDateTimeWithFastDateTimeModule() throws IOException {
+        return fastLocalDateTime.serialize();
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.demojackson.enumcodec;
+
+import com.example.demojackson.bench.Fixture;
+import com.example.demojackson.bench.PayloadSize;
+import com.example.demojackson.ex.Ex1.TypeEnumWithValue;
+import com.example.demojackson.ex.Ex2.MultiplePropertyEnumWithCreator;
+import com.example.demojackson.ex.Ex2.SinglePropertyEnumWithCreator;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+    @JsonValue enum (Ex1.TypeEnumWithValue) 읽기 / 쓰기, @JsonCreator enum (Ex2, values() 를 훑는 Status) 읽기
+    precomputed = false: Jackson 기본 (JsonValueSerializer, EnumDeserializer, FactoryBasedEnumDeserializer)
+    precomputed = true: EnumCodecModule (creator 인자 기억 켬)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnumCodecBenchmark {
+
+    @Param
+    PayloadSize size;
+
+    @Param({"false", "true"})
+    boolean precomputed;
+
+    Fixture<TypeEnumWithValue> valueEnums;
+    Fixture<SinglePropertyEnumWithCreator> singlePropertyEnums;
+    Fixture<MultiplePropertyEnumWithCreator> multiplePropertyEnums;
+    Fixture<Status> statuses;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        if (precomputed) {
+            objectMapper.registerModule(new EnumCodecModule(64));
+        }
+        valueEnums = Fixture.of(objectMapper, TypeEnumWithValue.class, size,
+                i -> TypeEnumWithValue.values()[i % 2],
+                i -> i % 2 == 0 ? "\"Type A\"" : "\"Type 2\"");
+        singlePropertyEnums = Fixture.of(objectMapper, SinglePropertyEnumWithCreator.class, size,
+                i -> SinglePropertyEnumWithCreator.TYPE1,
+                i -> "{\"theName\":\"name" + i % 4 + "\"}");
+        multiplePropertyEnums = Fixture.of(objectMapper, MultiplePropertyEnumWithCreator.class, size,
+                i -> MultiplePropertyEnumWithCreator.TYPE1,
+                i -> "{\"id\":" + i % 4 + ",\"theName\":\"name\"}");
+        statuses = Fixture.of(objectMapper, Status.class, size, null,
+                i -> "{\"code\":\"S" + i % Status.values().length + "\"}");
+    }
+
+    @Benchmark
+    public byte[] serializeJsonValue() throws IOException {
+        return valueEnums.serialize();
+    }
+
+    @Benchmark
+    public List<TypeEnumWithValue> deserializeJsonValue() throws IOException {
+        return valueEnums.deserialize();
+    }
+
+    @Benchmark
+    public List<SinglePropertyEnumWithCreator> deserializeSinglePropertyCreator() throws IOException {
+        return singlePropertyEnums.deserialize();
+    }
+
+    @Benchmark
+    public List<MultiplePropertyEnumWithCreator> deserializeMultiplePropertyCreator() throws IOException {
+        return multiplePropertyEnums.deserialize();
+    }
+
+    @Benchmark
+    public List<Status> deserializeLookupCreator() throws IOException {
+        return statuses.deserialize();
+    }
+
+    /**
+     * 흔한 형태의 creator (values() 를 훑어서 code 로 찾는다)
+     */
+    public enum Status {
+        S0, S1, S2, S3, S4, S5, S6, S7, S8, S9, S10, S11, S12, S13, S14, S15;
+
+        @JsonCreator(mode = JsonCreator.Mode.PROPERTIES)
+        public static Status of(@JsonProperty("code") String code) {
+            for (Status status : values()) {
+                if (status.name().equals(code)) {
+                    return status;
+                }
+            }
+            throw new IllegalArgumentException("Unknown status code: " + code);
+        }
+    }
+}
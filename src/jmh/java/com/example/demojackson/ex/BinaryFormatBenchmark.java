@@ -0,0 +1,138 @@
+package com.example.demojackson.ex;
+
+import com.example.demojackson.bench.Fixture;
+import com.example.demojackson.bench.PayloadSize;
+import com.example.demojackson.ex.Ex1.JsonAnyGetterObject;
+import com.example.demojackson.ex.Ex2.MultiplePropertyBeanWithCreator;
+import com.example.demojackson.ex.Ex4.ItemWithIdentity;
+import com.example.demojackson.ex.Ex4.Money;
+import com.example.demojackson.ex.Ex4.UnwrapObject;
+import com.example.demojackson.ex.Ex4.UserWithIdentity;
+import com.example.demojackson.ex.JsonTypeEx.Animal;
+import com.example.demojackson.ex.JsonTypeEx.Cat;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.AllArgsConstructor;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/*
+    같은 ex fixture 를 JSON / Smile / CBOR 로 serialize / deserialize
+    (Polymorphic: JsonTypeEx.Animal, Identity: Ex4.ItemWithIdentity, Unwrapped: Ex4.UnwrapObject,
+     Creator: Ex2.MultiplePropertyBeanWithCreator, AnyGetter: Ex1.JsonAnyGetterObject - any setter 가 없어서 serialize 만)
+    payload 크기는 setUp 에서 출력한다
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryFormatBenchmark {
+
+    @AllArgsConstructor
+    public enum Format {
+        JSON(JsonFactory::new),
+        SMILE(SmileFactory::new),
+        CBOR(CBORFactory::new);
+
+        private final Supplier<JsonFactory> factory;
+    }
+
+    @Param
+    Format format;
+
+    @Param
+    PayloadSize size;
+
+    Fixture<Animal> polymorphic;
+    Fixture<ItemWithIdentity> identity;
+    Fixture<UnwrapObject> unwrapped;
+    Fixture<MultiplePropertyBeanWithCreator> creator;
+    Fixture<JsonAnyGetterObject> anyGetter;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper(format.factory.get());
+        polymorphic = Fixture.encoded(objectMapper, Animal.class, size, i -> {
+            Cat cat = new Cat();
+            cat.name = "lacy" + i;
+            cat.likesCream = i % 2 == 0;
+            cat.lives = i % 9;
+            return cat;
+        });
+        // identity 는 배열 전체에서 id 가 공유되므로 원소마다 다른 id 를 사용
+        identity = Fixture.encoded(objectMapper, ItemWithIdentity.class, size, i -> {
+            UserWithIdentity user = new UserWithIdentity(2 * i + 1, "John");
+            ItemWithIdentity item = new ItemWithIdentity(2 * i, "book", user);
+            user.addItem(item);
+            return item;
+        });
+        unwrapped = Fixture.encoded(objectMapper, UnwrapObject.class, size,
+                i -> new UnwrapObject(new Money(1000L + i)));
+        creator = Fixture.encoded(objectMapper, MultiplePropertyBeanWithCreator.class, size,
+                i -> new MultiplePropertyBeanWithCreator(i, "bean" + i));
+        anyGetter = Fixture.of(objectMapper, JsonAnyGetterObject.class, size, i -> {
+            JsonAnyGetterObject o = new JsonAnyGetterObject();
+            o.name = "name" + i;
+            o.add("key1", "value" + i);
+            o.add("key2", "value" + (i + 1));
+            return o;
+        }, null);
+
+        System.out.printf("%n%s %s payload bytes: polymorphic=%d identity=%d unwrapped=%d creator=%d anyGetter=%d%n",
+                format, size, polymorphic.getJson().length, identity.getJson().length,
+                unwrapped.getJson().length, creator.getJson().length, anyGetter.serialize().length);
+    }
+
+    @Benchmark
+    public byte[] serializePolymorphic() throws IOException {
+        return polymorphic.serialize();
+    }
+
+    @Benchmark
+    public List<Animal> deserializePolymorphic() throws IOException {
+        return polymorphic.deserialize();
+    }
+
+    @Benchmark
+    public byte[] serializeIdentity() throws IOException {
+        return identity.serialize();
+    }
+
+    @Benchmark
+    public List<ItemWithIdentity> deserializeIdentity() throws IOException {
+        return identity.deserialize();
+    }
+
+    @Benchmark
+    public byte[] serializeUnwrapped() throws IOException {
+        return unwrapped.serialize();
+    }
+
+    @Benchmark
+    public List<UnwrapObject> deserializeUnwrapped() throws IOException {
+        return unwrapped.deserialize();
+    }
+
+    @Benchmark
+    public byte[] serializeCreator() throws IOException {
+        return creator.serialize();
+    }
+
+    @Benchmark
+    public List<MultiplePropertyBeanWithCreator> deserializeCreator() throws IOException {
+        return creator.deserialize();
+    }
+
+    @Benchmark
+    public byte[] serializeAnyGetter() throws IOException {
+        return anyGetter.serialize();
+    }
+}
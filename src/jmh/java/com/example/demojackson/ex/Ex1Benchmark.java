@@ -0,0 +1,125 @@
+package com.example.demojackson.ex;
+
+import com.example.demojackson.bench.Fixture;
+import com.example.demojackson.bench.PayloadSize;
+import com.example.demojackson.ex.Ex1.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+    Ex1 (Getter Case) fixture 벤치마크
+    JsonAnyGetterObject 는 대응하는 setter 가 없어 serialize 만 측정
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Ex1Benchmark {
+    final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Param
+    PayloadSize size;
+
+    Fixture<JsonAnyGetterObject> anyGetter;
+    Fixture<JsonGetterObject> getter;
+    Fixture<JsonPropertyOrderObject> propertyOrder;
+    Fixture<TypeEnumWithValue> enumWithValue;
+    Fixture<JsonRootNameObject> rootName;
+    Fixture<JsonSerializeObject> customSerializer;
+
+    @Setup
+    public void setUp() throws IOException {
+        anyGetter = Fixture.of(objectMapper, JsonAnyGetterObject.class, size, i -> {
+            JsonAnyGetterObject o = new JsonAnyGetterObject();
+            o.name = "name" + i;
+            o.add("key1", "value1");
+            o.add("key2", "value2");
+            o.add("key3", "value3");
+            return o;
+        }, null);
+        getter = Fixture.parsed(objectMapper, JsonGetterObject.class, size,
+                i -> "{\"firstName\":\"first" + i + "\",\"lastName\":\"last" + i + "\"}");
+        propertyOrder = Fixture.of(objectMapper, JsonPropertyOrderObject.class, size, i -> {
+            JsonPropertyOrderObject o = new JsonPropertyOrderObject();
+            o.firstName = "first" + i;
+            o.lastName = "last" + i;
+            return o;
+        }, i -> "{\"lastName\":\"last" + i + "\",\"firstName\":\"first" + i + "\"}");
+        enumWithValue = Fixture.of(objectMapper, TypeEnumWithValue.class, size,
+                i -> TypeEnumWithValue.values()[i % 2],
+                i -> i % 2 == 0 ? "\"Type A\"" : "\"Type 2\"");
+        rootName = Fixture.of(objectMapper, JsonRootNameObject.class, size, i -> {
+            JsonRootNameObject o = new JsonRootNameObject();
+            o.id = i;
+            o.name = "name" + i;
+            return o;
+        }, i -> "{\"id\":" + i + ",\"name\":\"name" + i + "\"}");
+        customSerializer = Fixture.of(objectMapper, JsonSerializeObject.class, size, i -> {
+            JsonSerializeObject o = new JsonSerializeObject();
+            o.id = i;
+            o.name = "name" + i;
+            return o;
+        }, i -> "{\"id\":" + i + ",\"name\":\"name" + i + "\"}");
+    }
+
+    @Benchmark
+    public byte[] serializeJsonAnyGetterObject() throws IOException {
+        return anyGetter.serialize();
+    }
+
+    @Benchmark
+    public byte[] serializeJsonGetterObject() throws IOException {
+        return getter.serialize();
+    }
+
+    @Benchmark
+    public List<JsonGetterObject> deserializeJsonGetterObject() throws IOException {
+        return getter.deserialize();
+    }
+
+    @Benchmark
+    public byte[] serializeJsonPropertyOrderObject() throws IOException {
+        return propertyOrder.serialize();
+    }
+
+    @Benchmark
+    public List<JsonPropertyOrderObject> deserializeJsonPropertyOrderObject() throws IOException {
+        return propertyOrder.deserialize();
+    }
+
+    @Benchmark
+    public byte[] serializeTypeEnumWithValue() throws IOException {
+        return enumWithValue.serialize();
+    }
+
+    @Benchmark
+    public List<TypeEnumWithValue> deserializeTypeEnumWithValue() throws IOException {
+        return enumWithValue.deserialize();
+    }
+
+    @Benchmark
+    public byte[] serializeJsonRootNameObject() throws IOException {
+        return rootName.serialize();
+    }
+
+    @Benchmark
+    public List<JsonRootNameObject> deserializeJsonRootNameObject() throws IOException {
+        return rootName.deserialize();
+    }
+
+    @Benchmark
+    public byte[] serializeJsonSerializeObject() throws IOException {
+        return customSerializer.serialize();
+    }
+
+    @Benchmark
+    public List<JsonSerializeObject> deserializeJsonSerializeObject() throws IOException {
+        return customSerializer.deserialize();
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.demojackson.ex;
+
+import com.example.demojackson.bench.Fixture;
+import com.example.demojackson.bench.PayloadSize;
+import com.example.demojackson.ex.Ex2.*;
+import com.fasterxml.jackson.databind.InjectableValues;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+    Ex2 (Deserialize Case) fixture 벤치마크
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Ex2Benchmark {
+    final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Param
+    PayloadSize size;
+
+    Fixture<SinglePropertyBeanWithCreator> singlePropertyCreator;
+    Fixture<MultiplePropertyBeanWithCreator> multiplePropertyCreator;
+    Fixture<SinglePropertyEnumWithCreator> singlePropertyEnumCreator;
+    Fixture<MultiplePropertyEnumWithCreator> multiplePropertyEnumCreator;
+    Fixture<BeanWithInject> inject;
+    Fixture<ExtendableBean> anySetter;
+    Fixture<JsonSetterBean> setter;
+    Fixture<EventWithSerializer> customDeserializer;
+    Fixture<AliasBean> alias;
+
+    @Setup
+    public void setUp() throws IOException {
+        singlePropertyCreator = Fixture.of(objectMapper, SinglePropertyBeanWithCreator.class, size,
+                i -> new SinglePropertyBeanWithCreator("bean" + i),
+                i -> "{\"theName\":\"bean" + i + "\"}");
+        multiplePropertyCreator = Fixture.of(objectMapper, MultiplePropertyBeanWithCreator.class, size,
+                i -> new MultiplePropertyBeanWithCreator(i, "bean" + i),
+                i -> "{\"id\":" + i + ",\"theName\":\"bean" + i + "\"}");
+        singlePropertyEnumCreator = Fixture.of(objectMapper, SinglePropertyEnumWithCreator.class, size,
+                i -> SinglePropertyEnumWithCreator.TYPE1,
+                i -> "{\"theName\":\"name\"}");
+        multiplePropertyEnumCreator = Fixture.of(objectMapper, MultiplePropertyEnumWithCreator.class, size,
+                i -> MultiplePropertyEnumWithCreator.TYPE1,
+                i -> "{\"id\":1,\"theName\":\"name\"}");
+        inject = Fixture.of(objectMapper, BeanWithInject.class, size, i -> {
+            BeanWithInject o = new BeanWithInject();
+            o.id = 1;
+            o.name = "bean" + i;
+            return o;
+        }, i -> "{\"name\":\"bean" + i + "\"}",
+                reader -> reader.with(new InjectableValues.Std().addValue(int.class, 1)));
+        anySetter = Fixture.of(objectMapper, ExtendableBean.class, size, i -> {
+            ExtendableBean o = new ExtendableBean();
+            o.name = "bean" + i;
+            o.add("attr1", "val1");
+            o.add("attr2", "val2");
+            o.add("attr3", "val3");
+            return o;
+        }, i -> "{\"name\":\"bean" + i + "\",\"attr1\":\"val1\",\"attr2\":\"val2\",\"attr3\":\"val3\"}");
+        setter = Fixture.parsed(objectMapper, JsonSetterBean.class, size,
+                i -> "{\"id\":" + i + ",\"name\":\"bean" + i + "\"}");
+        customDeserializer = Fixture.of(objectMapper, EventWithSerializer.class, size, i -> {
+            EventWithSerializer o = new EventWithSerializer();
+            o.name = "party" + i;
+            o.eventDate = new Date(1635787800000L + i * 1000L);
+            return o;
+        }, i -> "{\"name\":\"party" + i + "\",\"eventDate\":\"2021-11-02 02:30:" + (10 + i % 50) + "\"}");
+        alias = Fixture.parsed(objectMapper, AliasBean.class, size,
+                i -> "{\"fName\":\"John" + i + "\",\"lastName\":\"Green\"}");
+    }
+
+    @Benchmark
+    public byte[] serializeSinglePropertyBeanWithCreator() throws IOException {
+        return singlePropertyCreator.serialize();
+    }
+
+    @Benchmark
+    public List<SinglePropertyBeanWithCreator> deserializeSinglePropertyBeanWithCreator() throws IOException {
+        return singlePropertyCreator.deserialize();
+    }
+
+    @Benchmark
+    public byte[] serializeMultiplePropertyBeanWithCreator() throws IOException {
+        return multiplePropertyCreator.serialize();
+    }
+
+    @Benchmark
+    public List<MultiplePropertyBeanWithCreator> deserializeMultiplePropertyBeanWithCreator() throws IOException {
+        return multiplePropertyCreator.deserialize();
+    }
+
+    @Benchmark
+    public byte[] serializeSinglePropertyEnumWithCreator() throws IOException {
+        return singlePropertyEnumCreator.serialize();
+    }
+
+    @Benchmark
+    public List<SinglePropertyEnumWithCreator> deserializeSinglePropertyEnumWithCreator() throws IOException {
+        return singlePropertyEnumCreator.deserialize();
+    }
+
+    @Benchmark
+    public byte[] serializeMultiplePropertyEnumWithCreator() throws IOException {
+        return multiplePropertyEnumCreator.serialize();
+    }
+
+    @Benchmark
+    public List<MultiplePropertyEnumWithCreator> deserializeMultiplePropertyEnumWithCreator() throws IOException {
+        return multiplePropertyEnumCreator.deserialize();
+    }
+
+    @Benchmark
+    public byte[] serializeBeanWithInject() throws IOException {
+        return inject.serialize();
+    }
+
+    @Benchmark
+    public List<BeanWithInject> deserializeBeanWithInject() throws IOException {
+        return inject.deserialize();
+    }
+
+    @Benchmark
+    public byte[] serializeExtendableBean() throws IOException {
+        return anySetter.serialize();
+    }
+
+    @Benchmark
+    public List<ExtendableBean> deserializeExtendableBean() throws IOException {
+        return anySetter.deserialize();
+    }
+
+    @Benchmark
+    public byte[] serializeJsonSetterBean() throws IOException {
+        return setter.serialize();
+    }
+
+    @Benchmark
+    public List<JsonSetterBean> deserializeJsonSetterBean() throws IOException {
+        return setter.deserialize();
+    }
+
+    @Benchmark
+    public byte[] serializeEventWithSerializer() throws IOException {
+        return customDeserializer.serialize();
+    }
+
+    @Benchmark
+    public List<EventWithSerializer> deserializeEventWithSerializer() throws IOException {
+        return customDeserializer.deserialize();
+    }
+
+    @Benchmark
+    public byte[] serializeAliasBean() throws IOException {
+        return alias.serialize();
+    }
+
+    @Benchmark
+    public List<AliasBean> deserializeAliasBean() throws IOException {
+        return alias.deserialize();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.demojackson.ex;
+
+import com.example.demojackson.bench.Fixture;
+import com.example.demojackson.bench.PayloadSize;
+import com.example.demojackson.ex.Ex3.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+    Ex3 (Ignore / Include) fixture 벤치마크
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Ex3Benchmark {
+    final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Param
+    PayloadSize size;
+
+    Fixture<BeanWithIgnoreProperties> ignoreProperties;
+    Fixture<BeanWithIgnore> ignore;
+    Fixture<User> ignoreType;
+    Fixture<MyBean> include;
+
+    @Setup
+    public void setUp() {
+        ignoreProperties = Fixture.of(objectMapper, BeanWithIgnoreProperties.class, size,
+                i -> new BeanWithIgnoreProperties(i, "bean" + i),
+                i -> "{\"name\":\"bean" + i + "\",\"id\":\"" + i + "\"}");
+        ignore = Fixture.of(objectMapper, BeanWithIgnore.class, size,
+                i -> new BeanWithIgnore(i, "bean" + i),
+                i -> "{\"name\":\"bean" + i + "\",\"id\":\"" + i + "\"}");
+        ignoreType = Fixture.of(objectMapper, User.class, size,
+                i -> new User(i, new User.Name("John", "Doe")),
+                i -> "{\"name\":{\"firstName\":\"first\",\"lastName\":\"last\"},\"id\":" + i + "}");
+        include = Fixture.of(objectMapper, MyBean.class, size,
+                i -> new MyBean(i, i % 2 == 0 ? null : "bean" + i),
+                i -> "{\"name\":\"bean" + i + "\",\"id\":\"" + i + "\"}");
+    }
+
+    @Benchmark
+    public byte[] serializeBeanWithIgnoreProperties() throws IOException {
+        return ignoreProperties.serialize();
+    }
+
+    @Benchmark
+    public List<BeanWithIgnoreProperties> deserializeBeanWithIgnoreProperties() throws IOException {
+        return ignoreProperties.deserialize();
+    }
+
+    @Benchmark
+    public byte[] serializeBeanWithIgnore() throws IOException {
+        return ignore.serialize();
+    }
+
+    @Benchmark
+    public List<BeanWithIgnore> deserializeBeanWithIgnore() throws IOException {
+        return ignore.deserialize();
+    }
+
+    @Benchmark
+    public byte[] serializeUserWithIgnoreType() throws IOException {
+        return ignoreType.serialize();
+    }
+
+    @Benchmark
+    public List<User> deserializeUserWithIgnoreType() throws IOException {
+        return ignoreType.deserialize();
+    }
+
+    @Benchmark
+    public byte[] serializeMyBeanWithInclude() throws IOException {
+        return include.serialize();
+    }
+
+    @Benchmark
+    public List<MyBean> deserializeMyBeanWithInclude() throws IOException {
+        return include.deserialize();
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.demojackson.ex;
+
+import com.example.demojackson.bench.Fixture;
+import com.example.demojackson.bench.PayloadSize;
+import com.example.demojackson.ex.Ex4.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+    Ex4 (Property / Format / Unwrapped / Reference / Identity) fixture 벤치마크
+    ItemWithRef 는 @JsonBackReference 가 Collection 이라 serialize 만 측정
+    EventWithFormat 은 "hh" (AM/PM 없는 12시간제) 패턴이라 LocalDateTime 으로 읽을 수 없어 serialize 만 측정
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Ex4Benchmark {
+    final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Param
+    PayloadSize size;
+
+    Fixture<MyBean> property;
+    Fixture<EventWithFormat> format;
+    Fixture<UnwrapObject> unwrapped;
+    Fixture<ItemWithRef> reference;
+    Fixture<ItemWithIdentity> identity;
+
+    @Setup
+    public void setUp() {
+        property = Fixture.of(objectMapper, MyBean.class, size,
+                i -> new MyBean(i, "bean" + i),
+                i -> "{\"id\":" + i + ",\"name\":\"bean" + i + "\"}");
+        format = Fixture.of(objectMapper, EventWithFormat.class, size,
+                i -> new EventWithFormat("party" + i, LocalDateTime.of(2021, 11, 5, 2, 30, i % 60)),
+                null);
+        unwrapped = Fixture.of(objectMapper, UnwrapObject.class, size,
+                i -> new UnwrapObject(new Money(1000L + i)),
+                i -> "{\"money\":" + (1000 + i) + "}");
+        reference = Fixture.of(objectMapper, ItemWithRef.class, size, i -> {
+            UserWithRef user = new UserWithRef(i, "John");
+            ItemWithRef item = new ItemWithRef(i, "book", user);
+            user.addItem(item);
+            return item;
+        }, null);
+        // identity 는 배열 전체에서 id 가 공유되므로 원소마다 다른 id 를 사용
+        identity = Fixture.of(objectMapper, ItemWithIdentity.class, size, i -> {
+            UserWithIdentity user = new UserWithIdentity(2 * i + 1, "John");
+            ItemWithIdentity item = new ItemWithIdentity(2 * i, "book", user);
+            user.addItem(item);
+            return item;
+        }, i -> "{\"id\":" + 2 * i + ",\"itemName\":\"book\",\"owner\":{\"id\":" + (2 * i + 1)
+                + ",\"name\":\"John\",\"userItems\":[" + 2 * i + "]}}");
+    }
+
+    @Benchmark
+    public byte[] serializeMyBeanWithProperty() throws IOException {
+        return property.serialize();
+    }
+
+    @Benchmark
+    public List<MyBean> deserializeMyBeanWithProperty() throws IOException {
+        return property.deserialize();
+    }
+
+    @Benchmark
+    public byte[] serializeEventWithFormat() throws IOException {
+        return format.serialize();
+    }
+
+    @Benchmark
+    public byte[] serializeUnwrapObject() throws IOException {
+        return unwrapped.serialize();
+    }
+
+    @Benchmark
+    public List<UnwrapObject> deserializeUnwrapObject() throws IOException {
+        return unwrapped.deserialize();
+    }
+
+    @Benchmark
+    public byte[] serializeItemWithRef() throws IOException {
+        return reference.serialize();
+    }
+
+    @Benchmark
+    public byte[] serializeItemWithIdentity() throws IOException {
+        return identity.serialize();
+    }
+
+    @Benchmark
+    public List<ItemWithIdentity> deserializeItemWithIdentity() throws IOException {
+        return identity.deserialize();
+    }
+}
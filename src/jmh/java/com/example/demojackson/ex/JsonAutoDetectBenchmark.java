@@ -0,0 +1,47 @@
+package com.example.demojackson.ex;
+
+import com.example.demojackson.bench.Fixture;
+import com.example.demojackson.bench.PayloadSize;
+import com.example.demojackson.ex.JsonAutoDetectEx.SomeDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+    JsonAutoDetectEx (fieldVisibility = ANY) fixture 벤치마크
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonAutoDetectBenchmark {
+    final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Param
+    PayloadSize size;
+
+    Fixture<SomeDto> autoDetect;
+
+    @Setup
+    public void setUp() {
+        autoDetect = Fixture.of(objectMapper, SomeDto.class, size,
+                i -> new SomeDto("value1", "value2", "value3", "value" + i),
+                i -> "{\"privateValue\":\"value1\",\"packagePrivateValue\":\"value2\","
+                        + "\"protectedValue\":\"value3\",\"publicValue\":\"value" + i + "\"}");
+    }
+
+    @Benchmark
+    public byte[] serializeSomeDto() throws IOException {
+        return autoDetect.serialize();
+    }
+
+    @Benchmark
+    public List<SomeDto> deserializeSomeDto() throws IOException {
+        return autoDetect.deserialize();
+    }
+}
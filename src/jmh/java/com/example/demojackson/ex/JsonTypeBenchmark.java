@@ -0,0 +1,61 @@
+package com.example.demojackson.ex;
+
+import com.example.demojackson.bench.Fixture;
+import com.example.demojackson.bench.PayloadSize;
+import com.example.demojackson.ex.JsonTypeEx.Animal;
+import com.example.demojackson.ex.JsonTypeEx.Cat;
+import com.example.demojackson.ex.JsonTypeEx.Dog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+    JsonTypeEx (Polymorphic) fixture 벤치마크
+    Dog 는 기본 생성자가 없어 deserialize 입력은 Cat 으로만 구성
+    typeFirst=false 이면 type 이 마지막 필드라 TokenBuffer 로 앞 필드를 버퍼링하는 경로를 측정
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonTypeBenchmark {
+    final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Param
+    PayloadSize size;
+
+    @Param({"true", "false"})
+    boolean typeFirst;
+
+    Fixture<Animal> animal;
+
+    @Setup
+    public void setUp() {
+        animal = Fixture.of(objectMapper, Animal.class, size, i -> {
+            if (i % 2 == 0) {
+                return new Dog("lacy" + i, 10);
+            }
+            Cat cat = new Cat();
+            cat.name = "lacy" + i;
+            cat.lives = 9;
+            return cat;
+        }, i -> typeFirst
+                ? "{\"type\":\"cat\",\"name\":\"lacy" + i + "\",\"likesCream\":false,\"lives\":9}"
+                : "{\"name\":\"lacy" + i + "\",\"likesCream\":false,\"lives\":9,\"type\":\"cat\"}");
+    }
+
+    @Benchmark
+    public byte[] serializeAnimal() throws IOException {
+        return animal.serialize();
+    }
+
+    @Benchmark
+    public List<Animal> deserializeAnimal() throws IOException {
+        return animal.deserialize();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.demojackson.fieldname;
+
+import com.example.demojackson.bench.Fixture;
+import com.example.demojackson.bench.PayloadSize;
+import com.example.demojackson.ex.Ex1.JsonSerializeObject;
+import com.example.demojackson.fieldname.PreEncodedSerializerTests.PlainObjectMixIn;
+import com.example.demojackson.fieldname.PreEncodedSerializerTests.PlainWideMixIn;
+import com.example.demojackson.fieldname.PreEncodedSerializerTests.WideObject;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/*
+    손으로 짠 serializer 의 필드명 쓰기
+    preEncoded = false: gen.writeStringField("name", ...) 처럼 String 필드명 (mix-in 으로 바꾼 serializer)
+    preEncoded = true: PreEncodedSerializer 의 미리 encode 한 필드명 (Ex1.ObjectSerializer, WideSerializer)
+    small: 필드 2 개 (Ex1.JsonSerializeObject), wide: 필드 17 개 (PreEncodedSerializerTests.WideObject)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PreEncodedSerializerBenchmark {
+
+    @Param
+    PayloadSize size;
+
+    @Param({"false", "true"})
+    boolean preEncoded;
+
+    Fixture<JsonSerializeObject> small;
+    Fixture<WideObject> wide;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        if (!preEncoded) {
+            objectMapper.addMixIn(JsonSerializeObject.class, PlainObjectMixIn.class)
+                    .addMixIn(WideObject.class, PlainWideMixIn.class);
+        }
+        small = Fixture.of(objectMapper, JsonSerializeObject.class, size, i -> {
+            JsonSerializeObject o = new JsonSerializeObject();
+            o.id = i;
+            o.name = "name" + i;
+            return o;
+        }, null);
+        wide = Fixture.of(objectMapper, WideObject.class, size, WideObject::of, null);
+    }
+
+    @Benchmark
+    public byte[] serializeSmall() throws IOException {
+        return small.serialize();
+    }
+
+    @Benchmark
+    public byte[] serializeWide() throws IOException {
+        return wide.serialize();
+    }
+}
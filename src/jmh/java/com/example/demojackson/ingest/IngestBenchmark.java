@@ -0,0 +1,72 @@
+package com.example.demojackson.ingest;
+
+import com.example.demojackson.DemoJacksonApplication;
+import com.example.demojackson.ingest.BulkIngestServiceTests.CatStream;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/*
+    POST /ingest 처리량 (records/s)
+    애플리케이션을 임의 포트로 띄우고 같은 프로세스의 java.net.http.HttpClient 로 JsonTypeEx.Animal (Cat) NDJSON 을 스트리밍 업로드
+    요청 body 는 CatStream 이 필요한 만큼만 만들어 보내므로 클라이언트 / 서버 모두 전체 파일을 메모리에 올리지 않는다
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IngestBenchmark {
+    static final int RECORDS = 100_000;
+
+    @Param({"100", "1000"})
+    int batchSize;
+
+    @Param({"1", "4"})
+    int queueCapacity;
+
+    ConfigurableApplicationContext context;
+    HttpClient client;
+    URI uri;
+
+    @Setup
+    public void setUp() {
+        context = SpringApplication.run(DemoJacksonApplication.class,
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=warn",
+                "--demo.jackson.ingest.type=com.example.demojackson.ex.JsonTypeEx$Animal",
+                "--demo.jackson.ingest.batch-size=" + batchSize,
+                "--demo.jackson.ingest.queue-capacity=" + queueCapacity);
+        int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        uri = URI.create("http://localhost:" + port + "/ingest");
+        client = HttpClient.newHttpClient();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public String ingest() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Content-Type", IngestController.APPLICATION_NDJSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofInputStream(() -> new CatStream(RECORDS)))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(response.statusCode() + " " + response.body());
+        }
+        return response.body();
+    }
+}
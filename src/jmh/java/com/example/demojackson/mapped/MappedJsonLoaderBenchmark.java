@@ -0,0 +1,81 @@
+package com.example.demojackson.mapped;
+
+import com.example.demojackson.ex.JsonTypeEx.Animal;
+import com.example.demojackson.stringpool.StringPoolTests;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/*
+    megabytes 크기의 NDJSON Animal 파일 (StringPoolTests.animal 한 줄씩) 을 읽어 Blackhole 로 넘기기
+    mapped = false: Files.newInputStream + ObjectReader.readValues
+    mapped = true: MappedJsonLoader.readValues (256 MB window)
+    파일은 trial 마다 임시 디렉터리에 만들고 지운다, page cache 에 올라간 뒤의 CPU / 할당 비용을 잰다
+    (-p megabytes=10240 처럼 RAM 보다 큰 파일이면 디스크 읽기 속도가 섞인다)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappedJsonLoaderBenchmark {
+
+    @Param({"256"})
+    int megabytes;
+
+    @Param({"false", "true"})
+    boolean mapped;
+
+    Path file;
+    ObjectReader reader;
+    MappedJsonLoader loader;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("animals", ".ndjson");
+        long target = (long) megabytes << 20;
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 16)) {
+            long written = 0;
+            for (int i = 0; written < target; i++) {
+                byte[] line = (StringPoolTests.animal(i) + "\n").getBytes(StandardCharsets.UTF_8);
+                out.write(line);
+                written += line.length;
+            }
+        }
+        reader = new ObjectMapper().readerFor(Animal.class);
+        loader = new MappedJsonLoader();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long readValues(Blackhole blackhole) throws IOException {
+        if (mapped) {
+            return loader.readValues(file, reader, blackhole::consume);
+        }
+        long count = 0;
+        try (InputStream in = Files.newInputStream(file);
+             MappingIterator<Animal> it = reader.readValues(in)) {
+            while (it.hasNextValue()) {
+                blackhole.consume(it.nextValue());
+                count++;
+            }
+        }
+        return count;
+    }
+}
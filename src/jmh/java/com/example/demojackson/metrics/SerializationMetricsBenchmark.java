@@ -0,0 +1,60 @@
+package com.example.demojackson.metrics;
+
+import com.example.demojackson.bench.Fixture;
+import com.example.demojackson.bench.PayloadSize;
+import com.example.demojackson.metrics.SerializationMetricsTests.Customer;
+import com.example.demojackson.metrics.SerializationMetricsTests.Line;
+import com.example.demojackson.metrics.SerializationMetricsTests.Order;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+    SerializationMetricsModule 의 기록 비용
+    metered = false: 모듈 없음
+    metered = true: bean 마다 시간 / bytes 를 타입별로 기록 (Order 하나에 bean 4 개: Order, Customer, Line x 2)
+    기록 경로는 할당이 없어야 하므로 B/op 가 같아야 함
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationMetricsBenchmark {
+
+    @Param
+    PayloadSize size;
+
+    @Param({"false", "true"})
+    boolean metered;
+
+    Fixture<Order> orders;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        if (metered) {
+            objectMapper = new ObjectMapper(SerializationMetricsModule.countingFactory(new JsonFactory()))
+                    .registerModule(new SerializationMetricsModule(new SerializationMetrics(false)));
+        }
+        orders = Fixture.of(objectMapper, Order.class, size,
+                i -> new Order(i, new Customer("customer" + i), List.of(new Line("A-" + i, 2), new Line("B-" + i, 1))),
+                i -> "{\"id\":" + i + ",\"customer\":{\"name\":\"customer" + i + "\"},\"lines\":[{\"sku\":\"A-" + i
+                        + "\",\"quantity\":2},{\"sku\":\"B-" + i + "\",\"quantity\":1}]}");
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return orders.serialize();
+    }
+
+    @Benchmark
+    public List<Order> deserialize() throws IOException {
+        return orders.deserialize();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.demojackson.objectid;
+
+import com.example.demojackson.objectid.IntObjectIdTests.Catalog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/*
+    @JsonIdentityInfo 그래프 (Ex4.UserWithIdentity / ItemWithIdentity) deserialize
+    users 의 userItems 는 forward reference, items 의 owner 는 backward reference (IntObjectIdTests.catalogJson)
+    nodes = user + item 수
+
+    JACKSON: 기본 (IdKey -> ReadableObjectId LinkedHashMap + SimpleObjectIdResolver HashMap)
+    RESOLVER: IntObjectIdModule 만 등록 (resolver 테이블 primitive, forward reference 예외에 stack trace 없음)
+    PRIMITIVE: IntObjectIdModule + IntObjectIdDeserializationContext
+    -prof gc 의 gc.alloc.rate.norm 으로 id 당 allocation 차이를 확인
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ObjectIdBenchmark {
+
+    public enum Resolver {
+        JACKSON, RESOLVER, PRIMITIVE
+    }
+
+    @Param({"10000", "100000", "1000000"})
+    int nodes;
+
+    @Param
+    Resolver resolver;
+
+    ObjectReader reader;
+    byte[] json;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper;
+        switch (resolver) {
+            case RESOLVER:
+                objectMapper = new ObjectMapper().registerModule(new IntObjectIdModule());
+                break;
+            case PRIMITIVE:
+                objectMapper = new ObjectMapper(null, null, new IntObjectIdDeserializationContext())
+                        .registerModule(new IntObjectIdModule());
+                break;
+            default:
+                objectMapper = new ObjectMapper();
+        }
+        reader = objectMapper.readerFor(Catalog.class);
+        json = IntObjectIdTests.catalogJson(nodes / 2).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Catalog deserializeCatalog() throws IOException {
+        return reader.readValue(json);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.demojackson.parallel;
+
+import com.example.demojackson.ex.JsonTypeEx.Animal;
+import com.example.demojackson.stringpool.StringPoolTests;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/*
+    megabytes 크기의 Animal 배열 (StringPoolTests.animal, 약 70 bytes 씩) 을 한 번에 읽기
+    readValue: ObjectMapper.readValue(List<Animal>), 스레드 하나
+    parallelRead / parallelStream: ParallelArrayReader (threads 크기의 ForkJoinPool, 1 MiB chunk)
+    threads 에 따른 처리량 비교로 확장성을 본다 (threads 보다 core 가 적으면 의미 없음)
+    2 GB 를 넘는 파일은 byte[] 에 담을 수 없으므로 여기서는 수십 MB 로 잰다
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class ParallelArrayReaderBenchmark {
+
+    @Param({"64"})
+    int megabytes;
+
+    @Param({"1", "2", "4", "8"})
+    int threads;
+
+    byte[] json;
+    ObjectReader listReader;
+    ForkJoinPool pool;
+    ParallelArrayReader<Animal> reader;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(megabytes << 20);
+        out.write('[');
+        for (int i = 0; out.size() < megabytes << 20; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(StringPoolTests.animal(i).getBytes(StandardCharsets.UTF_8));
+        }
+        out.write(']');
+        json = out.toByteArray();
+        listReader = objectMapper.readerFor(objectMapper.getTypeFactory().constructCollectionType(List.class,
+                Animal.class));
+        pool = new ForkJoinPool(threads);
+        reader = new ParallelArrayReader<>(objectMapper.readerFor(Animal.class), pool,
+                ParallelArrayReader.DEFAULT_CHUNK_BYTES);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public List<Animal> readValue() throws IOException {
+        return listReader.readValue(json);
+    }
+
+    @Benchmark
+    public List<Animal> parallelRead() throws IOException {
+        return reader.read(json);
+    }
+
+    @Benchmark
+    public long parallelStream(Blackhole blackhole) throws IOException {
+        return reader.read(json, 0, json.length, blackhole::consume);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.demojackson.parallel;
+
+import com.example.demojackson.buffer.ByteBufferPool;
+import com.example.demojackson.ex.Ex3.MyBean;
+import com.example.demojackson.ex.JsonTypeEx.Dog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/*
+    count 개의 Ex3.MyBean / JsonTypeEx.Dog List 를 버리는 OutputStream 에 쓰기
+    sequential: ObjectWriter.writeValue, 스레드 하나
+    parallel: ParallelCollectionWriter (threads 크기의 ForkJoinPool, 4096 개씩 chunk, pool 의 buffer 를 거쳐 보냄)
+    threads 에 따른 처리량 비교로 확장성을 본다 (threads 보다 core 가 적으면 의미 없음)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class ParallelCollectionWriterBenchmark {
+
+    @Param({"1000000"})
+    int count;
+
+    @Param({"MyBean", "Dog"})
+    String type;
+
+    @Param({"1", "2", "4", "8"})
+    int threads;
+
+    List<?> values;
+    ObjectWriter writer;
+    ForkJoinPool pool;
+    ParallelCollectionWriter parallelWriter;
+
+    @Setup
+    public void setUp() {
+        values = IntStream.range(0, count)
+                .mapToObj(i -> type.equals("Dog") ? new Dog("dog-" + i, i / 10.0) : new MyBean(i, "bean-" + i))
+                .collect(Collectors.toList());
+        writer = new ObjectMapper().writer();
+        pool = new ForkJoinPool(threads);
+        parallelWriter = new ParallelCollectionWriter(new ByteBufferPool(false, 256), pool,
+                ParallelCollectionWriter.DEFAULT_CHUNK_SIZE);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public void sequential() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), values);
+    }
+
+    @Benchmark
+    public long parallel() throws IOException {
+        return parallelWriter.writeTo(writer, values, OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.demojackson.polymorphic;
+
+import com.example.demojackson.bench.Fixture;
+import com.example.demojackson.bench.PayloadSize;
+import com.example.demojackson.ex.JsonTypeEx.Animal;
+import com.example.demojackson.ex.JsonTypeEx.Cat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+    JsonTypeEx.Animal deserialize: Jackson 기본 (prescan = false) 과 PolymorphicTypeModule (prescan = true) 비교
+    typeFirst = false 이면 type 이 마지막 필드라 기본 처리는 앞 필드를 TokenBuffer 에 버퍼링한다
+    -prof gc 의 gc.alloc.rate.norm 으로 버퍼링 allocation 차이를 확인
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolymorphicTypeBenchmark {
+
+    @Param
+    PayloadSize size;
+
+    @Param({"true", "false"})
+    boolean typeFirst;
+
+    @Param({"false", "true"})
+    boolean prescan;
+
+    Fixture<Animal> animal;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        if (prescan) {
+            objectMapper.registerModule(new PolymorphicTypeModule());
+        }
+        animal = Fixture.of(objectMapper, Animal.class, size, i -> {
+            Cat cat = new Cat();
+            cat.name = "lacy" + i;
+            cat.lives = 9;
+            return cat;
+        }, i -> typeFirst
+                ? "{\"type\":\"cat\",\"name\":\"lacy" + i + "\",\"likesCream\":false,\"lives\":9}"
+                : "{\"name\":\"lacy" + i + "\",\"likesCream\":false,\"lives\":9,\"type\":\"cat\"}");
+    }
+
+    @Benchmark
+    public List<Animal> deserializeAnimal() throws IOException {
+        return animal.deserialize();
+    }
+}
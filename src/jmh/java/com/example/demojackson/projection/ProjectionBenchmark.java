@@ -0,0 +1,49 @@
+package com.example.demojackson.projection;
+
+import com.example.demojackson.bench.Fixture;
+import com.example.demojackson.bench.PayloadSize;
+import com.example.demojackson.projection.JsonProjectionTests.Summary;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+    필요한 부분이 10% 미만인 문서 (JsonProjectionTests.largeRecord, 약 3.9KB 중 128 bytes) 를 Summary 로 읽기
+    projected = false: Jackson 이 전체를 tokenize 하며 모르는 필드를 건너뜀 (FAIL_ON_UNKNOWN_PROPERTIES 끔)
+    projected = true: ProjectionReader (field mask 의 경로만 복사, 나머지는 raw byte skip) 후 Jackson
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectionBenchmark {
+
+    @Param
+    PayloadSize size;
+
+    @Param({"false", "true"})
+    boolean projected;
+
+    Fixture<Summary> summaries;
+    ProjectionReader<List<Summary>> reader;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        summaries = Fixture.of(objectMapper, Summary.class, size, null, JsonProjectionTests::largeRecord);
+        reader = new ProjectionReader<>(objectMapper,
+                objectMapper.getTypeFactory().constructCollectionType(List.class, Summary.class),
+                JsonProjection.fieldMask("id,customer.name,items.sku,items.qty"));
+    }
+
+    @Benchmark
+    public List<Summary> deserializeSummary() throws IOException {
+        return projected ? reader.read(summaries.getJson()) : summaries.deserialize();
+    }
+}
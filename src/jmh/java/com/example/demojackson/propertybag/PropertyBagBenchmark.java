@@ -0,0 +1,91 @@
+package com.example.demojackson.propertybag;
+
+import com.example.demojackson.bench.Fixture;
+import com.example.demojackson.bench.PayloadSize;
+import com.example.demojackson.ex.Ex1;
+import com.example.demojackson.ex.Ex2;
+import com.example.demojackson.propertybag.PropertyBagTests.CompactAnyGetterObject;
+import com.example.demojackson.propertybag.PropertyBagTests.CompactExtendableBean;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+    HashMap (Ex1.JsonAnyGetterObject, Ex2.ExtendableBean) 과 PropertyBag 비교
+    객체당 heap 사용량은 PropertyBagTests#whenHoldingManyBeans_thenPropertyBagUsesLessHeap 참고
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertyBagBenchmark {
+    final ObjectMapper objectMapper = new ObjectMapper().registerModule(new PropertyBagModule());
+
+    @Param
+    PayloadSize size;
+
+    @Param({"3", "10"})
+    int attributes;
+
+    Fixture<Ex1.JsonAnyGetterObject> hashMapGetter;
+    Fixture<CompactAnyGetterObject> propertyBagGetter;
+    Fixture<Ex2.ExtendableBean> hashMapSetter;
+    Fixture<CompactExtendableBean> propertyBagSetter;
+
+    @Setup
+    public void setUp() {
+        hashMapGetter = Fixture.of(objectMapper, Ex1.JsonAnyGetterObject.class, size, i -> {
+            Ex1.JsonAnyGetterObject o = new Ex1.JsonAnyGetterObject();
+            o.name = "bean" + i;
+            for (int j = 0; j < attributes; j++) {
+                o.add("attr" + j, "value" + i);
+            }
+            return o;
+        }, this::element);
+        propertyBagGetter = Fixture.of(objectMapper, CompactAnyGetterObject.class, size, i -> {
+            CompactAnyGetterObject o = new CompactAnyGetterObject();
+            o.name = "bean" + i;
+            for (int j = 0; j < attributes; j++) {
+                o.add("attr" + j, "value" + i);
+            }
+            return o;
+        }, this::element);
+        hashMapSetter = Fixture.of(objectMapper, Ex2.ExtendableBean.class, size, i -> new Ex2.ExtendableBean(),
+                this::element);
+        propertyBagSetter = Fixture.of(objectMapper, CompactExtendableBean.class, size, i -> new CompactExtendableBean(),
+                this::element);
+    }
+
+    private String element(int i) {
+        StringBuilder json = new StringBuilder("{\"name\":\"bean").append(i).append('"');
+        for (int j = 0; j < attributes; j++) {
+            json.append(",\"attr").append(j).append("\":\"value").append(i).append('"');
+        }
+        return json.append('}').toString();
+    }
+
+    @Benchmark
+    public byte[] serializeHashMapAnyGetter() throws IOException {
+        return hashMapGetter.serialize();
+    }
+
+    @Benchmark
+    public byte[] serializePropertyBagAnyGetter() throws IOException {
+        return propertyBagGetter.serialize();
+    }
+
+    @Benchmark
+    public List<Ex2.ExtendableBean> deserializeHashMapAnySetter() throws IOException {
+        return hashMapSetter.deserialize();
+    }
+
+    @Benchmark
+    public List<CompactExtendableBean> deserializePropertyBagAnySetter() throws IOException {
+        return propertyBagSetter.deserialize();
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.demojackson.responsecache;
+
+import com.example.demojackson.ex.Ex4.ItemWithIdentity;
+import com.example.demojackson.ex.Ex4.UserWithIdentity;
+import com.example.demojackson.registry.JsonCodecRegistry;
+import com.example.demojackson.registry.RegistryProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+    여러 스레드가 keys 개의 응답 (Ex4.UserWithIdentity 20 명, 각 3 개 item) 을 읽기
+    serializeEveryTime: 요청마다 ObjectWriter.writeValueAsBytes
+    cached: SerializedResponseCache.get, 캐시 예산은 keys 의 cachedPercent% 정도 (100 이면 모두 hit)
+    key 는 80% 를 상위 20% 에서 고른다 (hot set)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class SerializedResponseCacheBenchmark {
+
+    @Param({"1000"})
+    int keys;
+
+    @Param({"100", "25"})
+    int cachedPercent;
+
+    List<UserWithIdentity> catalog;
+    ObjectWriter writer;
+    SerializedResponseCache cache;
+    ResponseCacheKey[] cacheKeys;
+
+    @Setup
+    public void setUp() throws IOException {
+        catalog = new ArrayList<>();
+        for (int u = 0; u < 20; u++) {
+            UserWithIdentity user = new UserWithIdentity(u, "user-" + u);
+            for (int i = 0; i < 3; i++) {
+                user.addItem(new ItemWithIdentity(100 + u * 3 + i, "item-" + i, user));
+            }
+            catalog.add(user);
+        }
+        writer = new ObjectMapper().writerFor(List.class);
+        JsonCodecRegistry registry = new JsonCodecRegistry(new ObjectMapper(), new RegistryProperties());
+        cacheKeys = new ResponseCacheKey[keys];
+        for (int i = 0; i < keys; i++) {
+            cacheKeys[i] = ResponseCacheKey.of(List.class, "catalog-" + i);
+        }
+        long weight = CachedResponse.ENTRY_OVERHEAD + writer.writeValueAsBytes(catalog).length;
+        long maxBytes = weight * keys * cachedPercent / 100;
+        cache = new SerializedResponseCache(registry, maxBytes, 16, false, 0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.println();
+        System.out.println(cache.stats());
+    }
+
+    int nextKey() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int hot = Math.max(1, keys / 5);
+        return random.nextInt(10) < 8 ? random.nextInt(hot) : hot + random.nextInt(keys - hot);
+    }
+
+    @Benchmark
+    public int serializeEveryTime() throws IOException {
+        nextKey();
+        return writer.writeValueAsBytes(catalog).length;
+    }
+
+    @Benchmark
+    public int cached() throws IOException {
+        return cache.get(cacheKeys[nextKey()], () -> catalog).getBody().length;
+    }
+}
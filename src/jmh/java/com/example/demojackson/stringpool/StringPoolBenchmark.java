@@ -0,0 +1,48 @@
+package com.example.demojackson.stringpool;
+
+import com.example.demojackson.bench.Fixture;
+import com.example.demojackson.bench.PayloadSize;
+import com.example.demojackson.ex.JsonTypeEx.Animal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+    StringPoolModule 로 String 값을 모으는 비용
+    pooled = false: 기본 StringDeserializer
+    pooled = true: Animal 의 String 프로퍼티를 StringPool 로 모음 (이름 497 가지 반복, StringPoolTests.animal)
+    heap 절약은 StringPoolTests.whenReadingCorpus_thenDuplicatesShareInstances 에서 확인
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringPoolBenchmark {
+
+    @Param
+    PayloadSize size;
+
+    @Param({"false", "true"})
+    boolean pooled;
+
+    Fixture<Animal> animals;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        if (pooled) {
+            objectMapper.registerModule(new StringPoolModule(new StringPool(4096, 64), List.of(Animal.class)));
+        }
+        animals = Fixture.of(objectMapper, Animal.class, size, null, StringPoolTests::animal);
+    }
+
+    @Benchmark
+    public List<Animal> deserialize() throws IOException {
+        return animals.deserialize();
+    }
+}
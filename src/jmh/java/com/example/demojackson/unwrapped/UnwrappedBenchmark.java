@@ -0,0 +1,56 @@
+package com.example.demojackson.unwrapped;
+
+import com.example.demojackson.bench.Fixture;
+import com.example.demojackson.bench.PayloadSize;
+import com.example.demojackson.ex.Ex4.UnwrapObject;
+import com.example.demojackson.unwrapped.FlatUnwrappedModuleTests.Order;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+    @JsonUnwrapped deserialize: Jackson 기본 (flat = false, TokenBuffer) 과 FlatUnwrappedModule (flat = true) 비교
+    UnwrapObject: Ex4 fixture (Money 하나)
+    Order: Money 3개 (prefix) + Address, unwrapped 4개 (FlatUnwrappedModuleTests.orderJson)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnwrappedBenchmark {
+
+    @Param
+    PayloadSize size;
+
+    @Param({"false", "true"})
+    boolean flat;
+
+    Fixture<UnwrapObject> unwrapObject;
+    Fixture<Order> order;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        if (flat) {
+            objectMapper.registerModule(new FlatUnwrappedModule());
+        }
+        unwrapObject = Fixture.of(objectMapper, UnwrapObject.class, size, null,
+                i -> "{\"money\":" + (1000 + i) + "}");
+        order = Fixture.of(objectMapper, Order.class, size, null, FlatUnwrappedModuleTests::orderJson);
+    }
+
+    @Benchmark
+    public List<UnwrapObject> deserializeUnwrapObject() throws IOException {
+        return unwrapObject.deserialize();
+    }
+
+    @Benchmark
+    public List<Order> deserializeOrder() throws IOException {
+        return order.deserialize();
+    }
+}
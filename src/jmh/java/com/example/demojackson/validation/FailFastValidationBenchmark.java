@@ -0,0 +1,64 @@
+package com.example.demojackson.validation;
+
+import com.example.demojackson.validation.FailFastValidationTests.Order;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.*;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/*
+    FailFastValidationTests.Order (lines 개의 Line) 를 읽고 검증하기
+    readThenValidate: ObjectMapper 로 끝까지 읽은 뒤 Validator.validate (@Valid @RequestBody 와 같은 순서)
+    failFast: FailFastValidationModule 을 등록한 ObjectMapper 로 검사를 켠 읽기, 첫 위반에서 ConstraintViolationMappingException
+    valid = false 면 첫 프로퍼티 (id = 0) 가 @Min(1) 을 어긴다
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FailFastValidationBenchmark {
+
+    @Param({"10000"})
+    int lines;
+
+    @Param({"true", "false"})
+    boolean valid;
+
+    byte[] json;
+    ObjectReader plainReader;
+    ObjectReader failFastReader;
+    Validator validator;
+
+    @Setup
+    public void setUp() {
+        json = FailFastValidationTests.order(valid ? 1 : 0, "\"bean\"", lines).getBytes(StandardCharsets.UTF_8);
+        plainReader = new ObjectMapper().readerFor(Order.class);
+        failFastReader = new ObjectMapper().registerModule(new FailFastValidationModule()).readerFor(Order.class)
+                .withAttribute(FailFastValidationModule.ATTRIBUTE, Boolean.TRUE);
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+    }
+
+    @Benchmark
+    public int readThenValidate() throws IOException {
+        Order order = plainReader.readValue(json);
+        return validator.validate(order).size();
+    }
+
+    @Benchmark
+    public int failFast() throws IOException {
+        try {
+            Order order = failFastReader.readValue(json);
+            // 빠진 프로퍼티 등 나머지는 여전히 @Valid 검증이 본다
+            return validator.validate(order).size();
+        } catch (ConstraintViolationMappingException e) {
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.demojackson.accessor;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBuilder;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.deser.ValueInstantiator;
+import com.fasterxml.jackson.databind.deser.impl.FieldProperty;
+import com.fasterxml.jackson.databind.deser.impl.MethodProperty;
+import com.fasterxml.jackson.databind.deser.std.StdValueInstantiator;
+import com.fasterxml.jackson.databind.introspect.AnnotatedConstructor;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMethod;
+import com.fasterxml.jackson.databind.introspect.AnnotatedWithParams;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Member;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * 필드 / setter 로 값을 쓰는 프로퍼티를 {@link AccessorSettableProperty} 로,
+ * 기본 생성자를 사용하는 ValueInstantiator 를 {@link AccessorValueInstantiator} 로 교체
+ * setterless, creator, managed/back reference 등 다른 종류의 프로퍼티는 그대로 둔다
+ */
+public class AccessorDeserializerModifier extends BeanDeserializerModifier {
+
+    @Override
+    public BeanDeserializerBuilder updateBuilder(DeserializationConfig config, BeanDescription beanDesc,
+                                                 BeanDeserializerBuilder builder) {
+        List<SettableBeanProperty> properties = new ArrayList<>();
+        for (Iterator<SettableBeanProperty> it = builder.getProperties(); it.hasNext(); ) {
+            properties.add(it.next());
+        }
+        for (SettableBeanProperty property : properties) {
+            SettableBeanProperty optimized = optimize(property);
+            if (optimized != null) {
+                builder.addOrReplaceProperty(optimized, true);
+            }
+        }
+
+        ValueInstantiator instantiator = builder.getValueInstantiator();
+        if (instantiator != null && instantiator.getClass() == StdValueInstantiator.class
+                && instantiator.canCreateUsingDefault()) {
+            AnnotatedWithParams creator = instantiator.getDefaultCreator();
+            if (creator instanceof AnnotatedConstructor) {
+                Supplier<Object> constructor = Accessors.constructor((Constructor<?>) creator.getMember());
+                if (constructor != null) {
+                    builder.setValueInstantiator(
+                            new AccessorValueInstantiator((StdValueInstantiator) instantiator, constructor));
+                }
+            }
+        }
+        return builder;
+    }
+
+    private SettableBeanProperty optimize(SettableBeanProperty property) {
+        Class<?> type;
+        if (property.getClass() == FieldProperty.class) {
+            type = property.getMember().getRawType();
+        } else if (property.getClass() == MethodProperty.class) {
+            AnnotatedMethod method = (AnnotatedMethod) property.getMember();
+            if (method.getParameterCount() != 1) {
+                return null;
+            }
+            type = method.getRawParameterType(0);
+        } else {
+            return null;
+        }
+        AnnotatedMember member = property.getMember();
+        Member raw = member.getMember();
+
+        if (type == int.class) {
+            ObjIntConsumer<Object> setter = Accessors.intSetter(raw);
+            return setter == null ? null : new AccessorSettableProperty.IntProperty(property, setter);
+        }
+        if (type == long.class) {
+            ObjLongConsumer<Object> setter = Accessors.longSetter(raw);
+            return setter == null ? null : new AccessorSettableProperty.LongProperty(property, setter);
+        }
+        if (type.isPrimitive()) {
+            return null;
+        }
+        BiConsumer<Object, Object> setter = Accessors.setter(raw);
+        return setter == null ? null : new AccessorSettableProperty.ObjectProperty(property, setter);
+    }
+}
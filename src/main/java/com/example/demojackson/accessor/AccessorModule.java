@@ -0,0 +1,22 @@
+package com.example.demojackson.accessor;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+/**
+ * 필드 / getter / setter / 기본 생성자 접근을 리플렉션 대신 {@link Accessors} 가 만든 접근자로 처리하는 모듈
+ * ObjectMapper 마다 등록해서 사용한다 (opt-in)
+ *
+ * <pre>
+ * new ObjectMapper().registerModule(new AccessorModule());
+ * </pre>
+ *
+ * 접근자를 만들 수 없는 프로퍼티는 Jackson 기본 처리 (리플렉션) 를 그대로 사용하므로 결과는 등록 전과 같다
+ */
+public class AccessorModule extends SimpleModule {
+
+    public AccessorModule() {
+        super(AccessorModule.class.getSimpleName());
+        setSerializerModifier(new AccessorSerializerModifier());
+        setDeserializerModifier(new AccessorDeserializerModifier());
+    }
+}
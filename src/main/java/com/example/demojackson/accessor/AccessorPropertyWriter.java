@@ -0,0 +1,252 @@
+package com.example.demojackson.accessor;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.PropertySerializerMap;
+import com.fasterxml.jackson.databind.ser.std.BooleanSerializer;
+import com.fasterxml.jackson.databind.ser.std.NumberSerializers;
+import com.fasterxml.jackson.databind.ser.std.StringSerializer;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * 값을 리플렉션 대신 {@link Accessors} 로 읽는 BeanPropertyWriter
+ *
+ * int / long / boolean / String 은 Jackson 기본 serializer 가 지정된 경우 serializer 를 거치지 않고
+ * generator 에 직접 쓴다 (primitive 는 boxing 도 없음)
+ * @JsonFormat(shape = STRING) 처럼 다른 serializer 가 지정되거나 NON_DEFAULT 등 값 비교가 필요하면
+ * BeanPropertyWriter 와 같은 일반 경로로 처리한다
+ */
+abstract class AccessorPropertyWriter extends BeanPropertyWriter {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 기본 serializer 이고 값 비교 / 타입 정보가 없어서 generator 에 바로 쓸 수 있는지
+     */
+    protected transient boolean direct;
+
+    protected AccessorPropertyWriter(BeanPropertyWriter base) {
+        super(base);
+    }
+
+    @Override
+    public void assignSerializer(JsonSerializer<Object> ser) {
+        super.assignSerializer(ser);
+        direct = ser != null && ser.getClass() == directSerializerType()
+                && _suppressableValue == null && _typeSerializer == null;
+    }
+
+    /**
+     * 직접 쓰기를 허용하는 Jackson 기본 serializer 타입
+     */
+    protected abstract Class<?> directSerializerType();
+
+    protected abstract Object getValue(Object bean);
+
+    @Override
+    public void serializeAsField(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+        serializeValue(bean, getValue(bean), gen, prov, true);
+    }
+
+    @Override
+    public void serializeAsElement(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+        serializeValue(bean, getValue(bean), gen, prov, false);
+    }
+
+    /**
+     * BeanPropertyWriter#serializeAsField / serializeAsElement 와 같은 처리
+     */
+    protected void serializeValue(Object bean, Object value, JsonGenerator gen, SerializerProvider prov,
+                                  boolean asField) throws Exception {
+        if (value == null) {
+            if (_nullSerializer != null) {
+                if (asField) {
+                    gen.writeFieldName(_name);
+                }
+                _nullSerializer.serialize(null, gen, prov);
+            } else if (!asField) {
+                gen.writeNull();
+            }
+            return;
+        }
+        JsonSerializer<Object> ser = _serializer;
+        if (ser == null) {
+            Class<?> cls = value.getClass();
+            PropertySerializerMap map = _dynamicSerializers;
+            ser = map.serializerFor(cls);
+            if (ser == null) {
+                ser = _findAndAddDynamic(map, cls, prov);
+            }
+        }
+        if (_suppressableValue != null) {
+            boolean suppress = MARKER_FOR_EMPTY == _suppressableValue
+                    ? ser.isEmpty(prov, value) : _suppressableValue.equals(value);
+            if (suppress) {
+                if (!asField) {
+                    serializeAsPlaceholder(bean, gen, prov);
+                }
+                return;
+            }
+        }
+        if (value == bean && _handleSelfReference(bean, gen, prov, ser)) {
+            return;
+        }
+        if (asField) {
+            gen.writeFieldName(_name);
+        }
+        if (_typeSerializer == null) {
+            ser.serialize(value, gen, prov);
+        } else {
+            ser.serializeWithType(value, gen, prov, _typeSerializer);
+        }
+    }
+
+    static class ObjectWriter extends AccessorPropertyWriter {
+        private static final long serialVersionUID = 1L;
+        private final transient Function<Object, Object> getter;
+
+        ObjectWriter(BeanPropertyWriter base, Function<Object, Object> getter) {
+            super(base);
+            this.getter = getter;
+        }
+
+        @Override
+        protected Class<?> directSerializerType() {
+            return Void.class;
+        }
+
+        @Override
+        protected Object getValue(Object bean) {
+            return getter.apply(bean);
+        }
+    }
+
+    static class StringWriter extends AccessorPropertyWriter {
+        private static final long serialVersionUID = 1L;
+        private final transient Function<Object, Object> getter;
+
+        StringWriter(BeanPropertyWriter base, Function<Object, Object> getter) {
+            super(base);
+            this.getter = getter;
+        }
+
+        @Override
+        protected Class<?> directSerializerType() {
+            return StringSerializer.class;
+        }
+
+        @Override
+        protected Object getValue(Object bean) {
+            return getter.apply(bean);
+        }
+
+        @Override
+        public void serializeAsField(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+            Object value = getter.apply(bean);
+            if (direct && value != null) {
+                gen.writeFieldName(_name);
+                gen.writeString((String) value);
+                return;
+            }
+            serializeValue(bean, value, gen, prov, true);
+        }
+    }
+
+    static class IntWriter extends AccessorPropertyWriter {
+        private static final long serialVersionUID = 1L;
+        private final transient ToIntFunction<Object> getter;
+
+        IntWriter(BeanPropertyWriter base, ToIntFunction<Object> getter) {
+            super(base);
+            this.getter = getter;
+        }
+
+        @Override
+        protected Class<?> directSerializerType() {
+            return NumberSerializers.IntegerSerializer.class;
+        }
+
+        @Override
+        protected Object getValue(Object bean) {
+            return getter.applyAsInt(bean);
+        }
+
+        @Override
+        public void serializeAsField(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+            if (direct) {
+                int value = getter.applyAsInt(bean);
+                gen.writeFieldName(_name);
+                gen.writeNumber(value);
+                return;
+            }
+            super.serializeAsField(bean, gen, prov);
+        }
+    }
+
+    static class LongWriter extends AccessorPropertyWriter {
+        private static final long serialVersionUID = 1L;
+        private final transient ToLongFunction<Object> getter;
+
+        LongWriter(BeanPropertyWriter base, ToLongFunction<Object> getter) {
+            super(base);
+            this.getter = getter;
+        }
+
+        @Override
+        protected Class<?> directSerializerType() {
+            return NumberSerializers.LongSerializer.class;
+        }
+
+        @Override
+        protected Object getValue(Object bean) {
+            return getter.applyAsLong(bean);
+        }
+
+        @Override
+        public void serializeAsField(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+            if (direct) {
+                long value = getter.applyAsLong(bean);
+                gen.writeFieldName(_name);
+                gen.writeNumber(value);
+                return;
+            }
+            super.serializeAsField(bean, gen, prov);
+        }
+    }
+
+    static class BooleanWriter extends AccessorPropertyWriter {
+        private static final long serialVersionUID = 1L;
+        private final transient Predicate<Object> getter;
+
+        BooleanWriter(BeanPropertyWriter base, Predicate<Object> getter) {
+            super(base);
+            this.getter = getter;
+        }
+
+        @Override
+        protected Class<?> directSerializerType() {
+            return BooleanSerializer.class;
+        }
+
+        @Override
+        protected Object getValue(Object bean) {
+            return getter.test(bean);
+        }
+
+        @Override
+        public void serializeAsField(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+            if (direct) {
+                boolean value = getter.test(bean);
+                gen.writeFieldName(_name);
+                gen.writeBoolean(value);
+                return;
+            }
+            super.serializeAsField(bean, gen, prov);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.demojackson.accessor;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.introspect.AnnotatedField;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMethod;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+
+import java.lang.reflect.Member;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * 필드 / getter 로 값을 읽는 BeanPropertyWriter 를 {@link AccessorPropertyWriter} 로 교체
+ * 프로퍼티에 직접 지정한 serializer (@JsonSerialize(using = ...)) 가 있거나, 이미 다른 모듈이 바꾼 writer 는 그대로 둔다
+ */
+public class AccessorSerializerModifier extends BeanSerializerModifier {
+
+    @Override
+    public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc,
+                                                     List<BeanPropertyWriter> beanProperties) {
+        for (int i = 0; i < beanProperties.size(); i++) {
+            BeanPropertyWriter writer = beanProperties.get(i);
+            if (writer.getClass() != BeanPropertyWriter.class || writer.hasSerializer()) {
+                continue;
+            }
+            BeanPropertyWriter optimized = optimize(writer);
+            if (optimized != null) {
+                beanProperties.set(i, optimized);
+            }
+        }
+        return beanProperties;
+    }
+
+    private BeanPropertyWriter optimize(BeanPropertyWriter writer) {
+        AnnotatedMember member = writer.getMember();
+        if (!(member instanceof AnnotatedField) && !(member instanceof AnnotatedMethod)) {
+            return null;
+        }
+        Member raw = member.getMember();
+        Class<?> type = member.getRawType();
+
+        if (type == int.class) {
+            ToIntFunction<Object> getter = Accessors.intGetter(raw);
+            return getter == null ? null : new AccessorPropertyWriter.IntWriter(writer, getter);
+        }
+        if (type == long.class) {
+            ToLongFunction<Object> getter = Accessors.longGetter(raw);
+            return getter == null ? null : new AccessorPropertyWriter.LongWriter(writer, getter);
+        }
+        if (type == boolean.class) {
+            Predicate<Object> getter = Accessors.booleanGetter(raw);
+            return getter == null ? null : new AccessorPropertyWriter.BooleanWriter(writer, getter);
+        }
+        if (type.isPrimitive()) {
+            return null;
+        }
+        Function<Object, Object> getter = Accessors.getter(raw);
+        if (getter == null) {
+            return null;
+        }
+        return type == String.class
+                ? new AccessorPropertyWriter.StringWriter(writer, getter)
+                : new AccessorPropertyWriter.ObjectWriter(writer, getter);
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.demojackson.accessor;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.deser.impl.NullsConstantProvider;
+import com.fasterxml.jackson.databind.deser.std.NumberDeserializers;
+
+import java.io.IOException;
+import java.util.function.BiConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * 값을 리플렉션 대신 {@link Accessors} 로 쓰는 SettableBeanProperty
+ * 값을 읽는 부분 (null 처리, 타입 정보, custom deserializer) 은 원래 프로퍼티와 같고 set 만 바뀐다
+ *
+ * int / long 은 Jackson 기본 deserializer 이고 토큰이 정수면 deserializer 를 거치지 않고 boxing 없이 바로 쓴다
+ */
+abstract class AccessorSettableProperty extends SettableBeanProperty.Delegating {
+    private static final long serialVersionUID = 1L;
+
+    protected AccessorSettableProperty(SettableBeanProperty delegate) {
+        super(delegate);
+    }
+
+    protected abstract void setValue(Object instance, Object value);
+
+    @Override
+    public void deserializeAndSet(JsonParser p, DeserializationContext ctxt, Object instance) throws IOException {
+        Object value = delegate.deserialize(p, ctxt);
+        if (value == null) {
+            if (NullsConstantProvider.isSkipper(delegate.getNullValueProvider())) {
+                return;
+            }
+            if (delegate.getType().isPrimitive()) {
+                // primitive 에 null 을 넣는 경우의 예외는 원래 프로퍼티에 맡김
+                delegate.set(instance, null);
+                return;
+            }
+        }
+        try {
+            setValue(instance, value);
+        } catch (Exception e) {
+            _throwAsIOE(p, e, value);
+        }
+    }
+
+    @Override
+    public Object deserializeSetAndReturn(JsonParser p, DeserializationContext ctxt, Object instance) throws IOException {
+        deserializeAndSet(p, ctxt, instance);
+        return instance;
+    }
+
+    @Override
+    public void set(Object instance, Object value) throws IOException {
+        if (value == null && delegate.getType().isPrimitive()) {
+            delegate.set(instance, null);
+            return;
+        }
+        try {
+            setValue(instance, value);
+        } catch (Exception e) {
+            _throwAsIOE(e, value);
+        }
+    }
+
+    @Override
+    public Object setAndReturn(Object instance, Object value) throws IOException {
+        set(instance, value);
+        return instance;
+    }
+
+    static class ObjectProperty extends AccessorSettableProperty {
+        private static final long serialVersionUID = 1L;
+        private final transient BiConsumer<Object, Object> setter;
+
+        ObjectProperty(SettableBeanProperty delegate, BiConsumer<Object, Object> setter) {
+            super(delegate);
+            this.setter = setter;
+        }
+
+        @Override
+        protected SettableBeanProperty withDelegate(SettableBeanProperty d) {
+            return new ObjectProperty(d, setter);
+        }
+
+        @Override
+        protected void setValue(Object instance, Object value) {
+            setter.accept(instance, value);
+        }
+    }
+
+    static class IntProperty extends AccessorSettableProperty {
+        private static final long serialVersionUID = 1L;
+        private final transient ObjIntConsumer<Object> setter;
+        private final boolean direct;
+
+        IntProperty(SettableBeanProperty delegate, ObjIntConsumer<Object> setter) {
+            super(delegate);
+            this.setter = setter;
+            this.direct = delegate.hasValueDeserializer() && !delegate.hasValueTypeDeserializer()
+                    && delegate.getValueDeserializer().getClass() == NumberDeserializers.IntegerDeserializer.class;
+        }
+
+        @Override
+        protected SettableBeanProperty withDelegate(SettableBeanProperty d) {
+            return new IntProperty(d, setter);
+        }
+
+        @Override
+        public void deserializeAndSet(JsonParser p, DeserializationContext ctxt, Object instance) throws IOException {
+            if (direct && p.hasToken(JsonToken.VALUE_NUMBER_INT)) {
+                int value = p.getIntValue();
+                try {
+                    setter.accept(instance, value);
+                } catch (Exception e) {
+                    _throwAsIOE(p, e, value);
+                }
+                return;
+            }
+            super.deserializeAndSet(p, ctxt, instance);
+        }
+
+        @Override
+        protected void setValue(Object instance, Object value) {
+            setter.accept(instance, ((Number) value).intValue());
+        }
+    }
+
+    static class LongProperty extends AccessorSettableProperty {
+        private static final long serialVersionUID = 1L;
+        private final transient ObjLongConsumer<Object> setter;
+        private final boolean direct;
+
+        LongProperty(SettableBeanProperty delegate, ObjLongConsumer<Object> setter) {
+            super(delegate);
+            this.setter = setter;
+            this.direct = delegate.hasValueDeserializer() && !delegate.hasValueTypeDeserializer()
+                    && delegate.getValueDeserializer().getClass() == NumberDeserializers.LongDeserializer.class;
+        }
+
+        @Override
+        protected SettableBeanProperty withDelegate(SettableBeanProperty d) {
+            return new LongProperty(d, setter);
+        }
+
+        @Override
+        public void deserializeAndSet(JsonParser p, DeserializationContext ctxt, Object instance) throws IOException {
+            if (direct && p.hasToken(JsonToken.VALUE_NUMBER_INT)) {
+                long value = p.getLongValue();
+                try {
+                    setter.accept(instance, value);
+                } catch (Exception e) {
+                    _throwAsIOE(p, e, value);
+                }
+                return;
+            }
+            super.deserializeAndSet(p, ctxt, instance);
+        }
+
+        @Override
+        protected void setValue(Object instance, Object value) {
+            setter.accept(instance, ((Number) value).longValue());
+        }
+    }
+}
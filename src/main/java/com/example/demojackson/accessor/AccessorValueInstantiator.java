@@ -0,0 +1,31 @@
+package com.example.demojackson.accessor;
+
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdValueInstantiator;
+
+import java.io.IOException;
+import java.util.function.Supplier;
+
+/**
+ * 기본 생성자 호출만 {@link Accessors#constructor} 로 바꾼 StdValueInstantiator
+ * 나머지 creator (delegating, property-based 등) 는 원래 설정을 그대로 사용한다
+ */
+class AccessorValueInstantiator extends StdValueInstantiator {
+    private static final long serialVersionUID = 1L;
+
+    private final transient Supplier<Object> constructor;
+
+    AccessorValueInstantiator(StdValueInstantiator src, Supplier<Object> constructor) {
+        super(src);
+        this.constructor = constructor;
+    }
+
+    @Override
+    public Object createUsingDefault(DeserializationContext ctxt) throws IOException {
+        try {
+            return constructor.get();
+        } catch (Exception e) {
+            return ctxt.handleInstantiationProblem(_valueClass, null, rewrapCtorProblem(ctxt, e));
+        }
+    }
+}
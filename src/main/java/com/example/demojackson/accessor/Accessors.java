@@ -0,0 +1,255 @@
+package com.example.demojackson.accessor;
+
+import lombok.extern.log4j.Log4j2;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * 리플렉션 대신 사용할 접근자 생성
+ *
+ * - getter / setter / 기본 생성자: LambdaMetafactory 로 Function, BiConsumer, Supplier 등을 직접 구현한 클래스를 만든다
+ *   (javac 가 메서드 참조를 컴파일하는 방식과 같아서 JIT 가 일반 메서드 호출처럼 inline 할 수 있다)
+ * - 필드: LambdaMetafactory 는 필드 접근을 지원하지 않으므로 MethodHandle 을 (Object) 시그니처로 맞춰 감싼다
+ *   primitive 필드는 boxing 없이 읽고 쓴다
+ *
+ * 대상 클래스 기준 private lookup 을 사용하므로 private 필드 (@JsonAutoDetect(fieldVisibility = ANY)) 도 다룰 수 있다
+ * 만들 수 없는 경우 (접근 불가, static, final 필드 쓰기 등) null 을 돌려주고 호출한 쪽에서 리플렉션을 그대로 쓴다
+ */
+@Log4j2
+final class Accessors {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private Accessors() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static Function<Object, Object> getter(Member member) {
+        if (member instanceof Method) {
+            return (Function<Object, Object>) lambda(member, Function.class, "apply",
+                    MethodType.methodType(Object.class, Object.class));
+        }
+        MethodHandle handle = fieldGetter(member, Object.class);
+        return handle == null ? null : bean -> invoke(handle, bean);
+    }
+
+    @SuppressWarnings("unchecked")
+    static ToIntFunction<Object> intGetter(Member member) {
+        if (member instanceof Method) {
+            return (ToIntFunction<Object>) lambda(member, ToIntFunction.class, "applyAsInt",
+                    MethodType.methodType(int.class, Object.class));
+        }
+        MethodHandle handle = fieldGetter(member, int.class);
+        return handle == null ? null : bean -> {
+            try {
+                return (int) handle.invokeExact(bean);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    static ToLongFunction<Object> longGetter(Member member) {
+        if (member instanceof Method) {
+            return (ToLongFunction<Object>) lambda(member, ToLongFunction.class, "applyAsLong",
+                    MethodType.methodType(long.class, Object.class));
+        }
+        MethodHandle handle = fieldGetter(member, long.class);
+        return handle == null ? null : bean -> {
+            try {
+                return (long) handle.invokeExact(bean);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    static Predicate<Object> booleanGetter(Member member) {
+        if (member instanceof Method) {
+            return (Predicate<Object>) lambda(member, Predicate.class, "test",
+                    MethodType.methodType(boolean.class, Object.class));
+        }
+        MethodHandle handle = fieldGetter(member, boolean.class);
+        return handle == null ? null : bean -> {
+            try {
+                return (boolean) handle.invokeExact(bean);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    static BiConsumer<Object, Object> setter(Member member) {
+        if (member instanceof Method) {
+            return (BiConsumer<Object, Object>) lambda(member, BiConsumer.class, "accept",
+                    MethodType.methodType(void.class, Object.class, Object.class));
+        }
+        MethodHandle handle = fieldSetter(member, Object.class);
+        return handle == null ? null : (bean, value) -> {
+            try {
+                handle.invokeExact(bean, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    static ObjIntConsumer<Object> intSetter(Member member) {
+        if (member instanceof Method) {
+            return (ObjIntConsumer<Object>) lambda(member, ObjIntConsumer.class, "accept",
+                    MethodType.methodType(void.class, Object.class, int.class));
+        }
+        MethodHandle handle = fieldSetter(member, int.class);
+        return handle == null ? null : (bean, value) -> {
+            try {
+                handle.invokeExact(bean, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    static ObjLongConsumer<Object> longSetter(Member member) {
+        if (member instanceof Method) {
+            return (ObjLongConsumer<Object>) lambda(member, ObjLongConsumer.class, "accept",
+                    MethodType.methodType(void.class, Object.class, long.class));
+        }
+        MethodHandle handle = fieldSetter(member, long.class);
+        return handle == null ? null : (bean, value) -> {
+            try {
+                handle.invokeExact(bean, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+
+    /**
+     * 인자 없는 생성자 (Lombok @NoArgsConstructor 등) 를 Supplier 로 감싼다
+     */
+    @SuppressWarnings("unchecked")
+    static Supplier<Object> constructor(Constructor<?> constructor) {
+        if (constructor.getParameterCount() != 0 || Modifier.isAbstract(constructor.getDeclaringClass().getModifiers())) {
+            return null;
+        }
+        return (Supplier<Object>) lambda(constructor, Supplier.class, "get", MethodType.methodType(Object.class));
+    }
+
+    private static Object lambda(Member member, Class<?> samType, String samName, MethodType samMethodType) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(member.getDeclaringClass(), LOOKUP);
+            MethodHandle target;
+            if (member instanceof Method) {
+                Method method = (Method) member;
+                if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() + 1 != samMethodType.parameterCount()) {
+                    return null;
+                }
+                target = lookup.unreflect(method);
+            } else {
+                target = lookup.unreflectConstructor((Constructor<?>) member);
+            }
+            MethodType instantiated = target.type();
+            if (samMethodType.returnType() == void.class) {
+                // setter 가 this 를 돌려주는 (fluent) 경우에도 void 로 맞춤
+                instantiated = instantiated.changeReturnType(void.class);
+            }
+            if (!compatible(instantiated, samMethodType)) {
+                return null;
+            }
+            CallSite site = LambdaMetafactory.metafactory(lookup, samName, MethodType.methodType(samType),
+                    samMethodType, target, instantiated);
+            return site.getTarget().invoke();
+        } catch (Throwable t) {
+            log.debug("fall back to reflection for {}: {}", member, t.toString());
+            return null;
+        }
+    }
+
+    /**
+     * primitive 자리에는 같은 primitive 만 허용 (boxing / widening 으로 의미가 바뀌지 않게)
+     */
+    private static boolean compatible(MethodType instantiated, MethodType sam) {
+        if (instantiated.returnType().isPrimitive() != sam.returnType().isPrimitive()
+                || (sam.returnType().isPrimitive() && instantiated.returnType() != sam.returnType())) {
+            return false;
+        }
+        for (int i = 1; i < sam.parameterCount(); i++) {
+            Class<?> actual = instantiated.parameterType(i);
+            Class<?> expected = sam.parameterType(i);
+            if (actual.isPrimitive() != expected.isPrimitive() || (expected.isPrimitive() && actual != expected)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static MethodHandle fieldGetter(Member member, Class<?> type) {
+        Field field = (Field) member;
+        if (Modifier.isStatic(field.getModifiers()) || field.getType().isPrimitive() != type.isPrimitive()
+                || (type.isPrimitive() && field.getType() != type)) {
+            return null;
+        }
+        try {
+            return MethodHandles.privateLookupIn(field.getDeclaringClass(), LOOKUP)
+                    .unreflectGetter(field)
+                    .asType(MethodType.methodType(type, Object.class));
+        } catch (Exception e) {
+            log.debug("fall back to reflection for {}: {}", field, e.toString());
+            return null;
+        }
+    }
+
+    private static MethodHandle fieldSetter(Member member, Class<?> type) {
+        Field field = (Field) member;
+        if (Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())
+                || field.getType().isPrimitive() != type.isPrimitive()
+                || (type.isPrimitive() && field.getType() != type)) {
+            return null;
+        }
+        try {
+            return MethodHandles.privateLookupIn(field.getDeclaringClass(), LOOKUP)
+                    .unreflectSetter(field)
+                    .asType(MethodType.methodType(void.class, Object.class, type));
+        } catch (Exception e) {
+            log.debug("fall back to reflection for {}: {}", field, e.toString());
+            return null;
+        }
+    }
+
+    private static Object invoke(MethodHandle handle, Object bean) {
+        try {
+            return (Object) handle.invokeExact(bean);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * checked exception 을 감싸지 않고 그대로 던짐 (Jackson 이 원래 예외로 wrap 하도록)
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends Throwable> RuntimeException rethrow(Throwable t) throws T {
+        throw (T) t;
+    }
+}
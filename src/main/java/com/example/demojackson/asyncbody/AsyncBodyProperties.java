@@ -0,0 +1,25 @@
+package com.example.demojackson.asyncbody;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * @AsyncRequestBody 비동기 body 읽기 설정
+ */
+@Getter
+@Setter
+@ConfigurationProperties("demo.jackson.async-body")
+public class AsyncBodyProperties {
+    /**
+     * body 전체를 받을 때까지 기다리는 최대 시간, 넘으면 408
+     */
+    private Duration timeout = Duration.ofSeconds(30);
+
+    /**
+     * 요청마다 할당하는 읽기 버퍼 크기 (byte)
+     */
+    private int bufferSize = 4_096;
+}
@@ -0,0 +1,120 @@
+package com.example.demojackson.asyncbody;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @AsyncRequestBody 파라미터가 있는 핸들러로 가는 JSON 요청의 body 를 servlet 비동기 I/O 로 먼저 받는다
+ *
+ * 1. 요청 스레드는 비동기 모드를 시작하고 ReadListener 를 등록한 뒤 바로 반환된다
+ * 2. 데이터가 도착할 때마다 container 가 {@link JsonBodyReadListener} 를 호출해서 non-blocking parser 에 넣는다
+ * 3. body 를 모두 받으면 같은 요청을 ASYNC 로 다시 dispatch 하고, 이때는 이 필터를 건너뛰어 DispatcherServlet 으로 간다
+ *
+ * 느린 클라이언트가 body 를 보내는 동안 스레드를 잡고 있지 않으므로 동시에 받을 수 있는 연결 수가 스레드 수에 묶이지 않는다
+ */
+@Log4j2
+public class AsyncJsonBodyFilter extends OncePerRequestFilter {
+    static final String BODY_ATTRIBUTE = AsyncJsonBodyFilter.class.getName() + ".BODY";
+    static final String ERROR_ATTRIBUTE = AsyncJsonBodyFilter.class.getName() + ".ERROR";
+
+    private final JsonFactory jsonFactory;
+    private final AsyncBodyProperties properties;
+    private final ObjectProvider<RequestMappingHandlerMapping> handlerMapping;
+    private final Map<Method, Boolean> asyncBodyMethods = new ConcurrentHashMap<>();
+
+    public AsyncJsonBodyFilter(JsonFactory jsonFactory, AsyncBodyProperties properties,
+                               ObjectProvider<RequestMappingHandlerMapping> handlerMapping) {
+        this.jsonFactory = jsonFactory;
+        this.properties = properties;
+        this.handlerMapping = handlerMapping;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!request.isAsyncSupported() || !isUtf8Json(request) || !hasAsyncRequestBody(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        AsyncContext asyncContext = request.startAsync();
+        asyncContext.setTimeout(properties.getTimeout().toMillis());
+        JsonBodyReadListener listener = new JsonBodyReadListener(asyncContext, request.getInputStream(),
+                jsonFactory.createNonBlockingByteArrayParser(), properties.getBufferSize());
+        asyncContext.addListener(listener);
+        request.getInputStream().setReadListener(listener);
+    }
+
+    /**
+     * non-blocking parser 는 UTF-8 만 읽는다
+     */
+    private static boolean isUtf8Json(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            boolean json = MediaType.APPLICATION_JSON.isCompatibleWith(mediaType)
+                    || "json".equals(mediaType.getSubtypeSuffix());
+            return json && (mediaType.getCharset() == null || StandardCharsets.UTF_8.equals(mediaType.getCharset()));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private boolean hasAsyncRequestBody(HttpServletRequest request) {
+        RequestMappingHandlerMapping mapping = handlerMapping.getIfAvailable();
+        if (mapping == null) {
+            return false;
+        }
+        boolean parsedPath = false;
+        try {
+            if (mapping.usesPathPatterns() && !ServletRequestPathUtils.hasParsedRequestPath(request)) {
+                ServletRequestPathUtils.parseAndCache(request);
+                parsedPath = true;
+            }
+            HandlerExecutionChain chain = mapping.getHandler(request);
+            if (chain == null || !(chain.getHandler() instanceof HandlerMethod)) {
+                return false;
+            }
+            HandlerMethod handlerMethod = (HandlerMethod) chain.getHandler();
+            return asyncBodyMethods.computeIfAbsent(handlerMethod.getMethod(), m -> hasAsyncRequestBody(handlerMethod));
+        } catch (Exception e) {
+            // 매핑 실패 (405, 415 등) 는 DispatcherServlet 이 원래대로 처리하도록 넘긴다
+            log.trace("no handler for async request body: {}", e.toString());
+            return false;
+        } finally {
+            if (parsedPath) {
+                ServletRequestPathUtils.clearParsedRequestPath(request);
+            }
+        }
+    }
+
+    private static boolean hasAsyncRequestBody(HandlerMethod handlerMethod) {
+        for (MethodParameter parameter : handlerMethod.getMethodParameters()) {
+            if (parameter.hasParameterAnnotation(AsyncRequestBody.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.demojackson.asyncbody;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @RequestBody 대신 사용, JSON body 를 servlet 비동기 I/O 로 받은 뒤 컨트롤러를 호출한다
+ * body 가 도착하기를 기다리는 동안 Tomcat 스레드를 잡고 있지 않는다 ({@link AsyncJsonBodyFilter})
+ *
+ * 비동기로 받을 수 없는 요청 (async 미지원, UTF-8 이 아닌 charset) 은 @RequestBody 처럼 blocking 으로 읽는다
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface AsyncRequestBody {
+    /**
+     * body 가 없을 때 400 으로 처리할지 (false 면 null)
+     */
+    boolean required() default true;
+}
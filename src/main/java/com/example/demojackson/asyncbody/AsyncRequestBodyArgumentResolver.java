@@ -0,0 +1,97 @@
+package com.example.demojackson.asyncbody;
+
+import com.example.demojackson.registry.JsonCodecRegistry;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import javax.servlet.http.HttpServletRequest;
+import java.lang.reflect.Type;
+import java.util.Collections;
+
+/**
+ * {@link AsyncJsonBodyFilter} 가 받아 둔 TokenBuffer 를 파라미터 타입으로 읽는다
+ * 필터를 거치지 않은 요청은 @RequestBody 처럼 요청 InputStream 을 blocking 으로 읽는다
+ *
+ * 오류는 @RequestBody 와 같은 예외로 던진다 (잘못된 JSON / body 없음: HttpMessageNotReadableException -> 400)
+ */
+public class AsyncRequestBodyArgumentResolver implements HandlerMethodArgumentResolver {
+    private final JsonCodecRegistry registry;
+
+    public AsyncRequestBodyArgumentResolver(JsonCodecRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(AsyncRequestBody.class);
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        ServletServerHttpRequest inputMessage = new ServletServerHttpRequest(request);
+        Object error = request.getAttribute(AsyncJsonBodyFilter.ERROR_ATTRIBUTE);
+        if (error instanceof JsonProcessingException) {
+            throw notReadable((JsonProcessingException) error, inputMessage);
+        }
+        if (error instanceof Exception) {
+            throw (Exception) error;
+        }
+
+        try (JsonParser parser = parser(request, inputMessage)) {
+            if (parser.nextToken() == null) {
+                if (parameter.getParameterAnnotation(AsyncRequestBody.class).required()) {
+                    throw new HttpMessageNotReadableException("Required request body is missing: "
+                            + parameter.getExecutable().toGenericString(), inputMessage);
+                }
+                return null;
+            }
+            return reader(parameter).readValue(parser);
+        } catch (JsonProcessingException e) {
+            throw notReadable(e, inputMessage);
+        }
+    }
+
+    /**
+     * @RequestBody 처럼 generic 타입 (List&lt;Animal&gt;, Map&lt;String, Dto&gt;, 상위 controller 의 T) 을 그대로 읽는다
+     * 타입 인자가 없으면 registry 가 캐시한 reader
+     */
+    private ObjectReader reader(MethodParameter parameter) {
+        Type type = GenericTypeResolver.resolveType(parameter.getGenericParameterType(), parameter.getContainingClass());
+        if (type instanceof Class) {
+            return registry.reader((Class<?>) type);
+        }
+        ObjectReader reader = registry.reader(Object.class);
+        return reader.forType(reader.getTypeFactory().constructType(type));
+    }
+
+    private JsonParser parser(HttpServletRequest request, ServletServerHttpRequest inputMessage) throws Exception {
+        Object body = request.getAttribute(AsyncJsonBodyFilter.BODY_ATTRIBUTE);
+        if (body instanceof TokenBuffer) {
+            return ((TokenBuffer) body).asParser();
+        }
+        MediaType contentType = inputMessage.getHeaders().getContentType();
+        if (contentType == null || !(MediaType.APPLICATION_JSON.isCompatibleWith(contentType)
+                || "json".equals(contentType.getSubtypeSuffix()))) {
+            throw new HttpMediaTypeNotSupportedException(contentType, Collections.singletonList(MediaType.APPLICATION_JSON));
+        }
+        return registry.reader(Object.class).getFactory().createParser(request.getInputStream());
+    }
+
+    private static HttpMessageNotReadableException notReadable(JsonProcessingException e, ServletServerHttpRequest inputMessage) {
+        return new HttpMessageNotReadableException("JSON parse error: " + e.getOriginalMessage(), e, inputMessage);
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.demojackson.asyncbody;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.ServletRequest;
+import java.io.IOException;
+
+/**
+ * 도착한 byte 를 바로 non-blocking parser 에 넣고 token 을 TokenBuffer 에 모은다
+ * root 값이 끝나고 body 를 모두 받으면 원래 요청을 다시 dispatch 한다 (컨트롤러는 그때 호출)
+ *
+ * 실제 객체 변환은 {@link AsyncRequestBodyArgumentResolver} 가 파라미터 타입으로 TokenBuffer 를 읽어서 한다
+ * root 값 뒤의 내용은 @RequestBody (MappingJackson2HttpMessageConverter) 와 같게 무시한다
+ */
+@Log4j2
+class JsonBodyReadListener implements ReadListener, AsyncListener {
+    private final AsyncContext asyncContext;
+    private final ServletInputStream in;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final TokenBuffer tokens;
+    private final byte[] buffer;
+
+    private int depth;
+    private boolean rootDone;
+    private boolean finished;
+
+    JsonBodyReadListener(AsyncContext asyncContext, ServletInputStream in, JsonParser parser, int bufferSize) {
+        this.asyncContext = asyncContext;
+        this.in = in;
+        this.parser = parser;
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        this.tokens = new TokenBuffer(parser);
+        this.buffer = new byte[bufferSize];
+    }
+
+    @Override
+    public synchronized void onDataAvailable() throws IOException {
+        try {
+            // isReady() 가 false 면 다음 데이터가 오기 전까지 스레드를 반납한다
+            while (!finished && in.isReady()) {
+                int n = in.read(buffer);
+                if (n == -1) {
+                    return;
+                }
+                if (!rootDone) {
+                    feeder.feedInput(buffer, 0, n);
+                    drain();
+                }
+            }
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    @Override
+    public synchronized void onAllDataRead() {
+        if (finished) {
+            return;
+        }
+        try {
+            if (!rootDone) {
+                // 숫자 같은 scalar root 는 입력 끝을 알아야 완성된다
+                feeder.endOfInput();
+                drain();
+            }
+            parser.close();
+            finish(AsyncJsonBodyFilter.BODY_ATTRIBUTE, tokens);
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    @Override
+    public synchronized void onError(Throwable t) {
+        // 대부분 클라이언트 연결 끊김, 응답할 곳이 없으므로 정리만 한다
+        log.debug("async request body read failed: {}", t.toString());
+        if (!finished) {
+            finished = true;
+            complete();
+        }
+    }
+
+    @Override
+    public synchronized void onTimeout(AsyncEvent event) {
+        if (!finished) {
+            finish(AsyncJsonBodyFilter.ERROR_ATTRIBUTE,
+                    new ResponseStatusException(HttpStatus.REQUEST_TIMEOUT, "request body was not received in time"));
+        }
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+        onError(event.getThrowable());
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+    }
+
+    private void drain() throws IOException {
+        JsonToken token;
+        while (!rootDone && (token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            tokens.copyCurrentEvent(parser);
+            if (token.isStructStart()) {
+                depth++;
+            } else if (token.isStructEnd()) {
+                depth--;
+            }
+            rootDone = depth == 0;
+        }
+    }
+
+    /**
+     * 잘못된 JSON 은 body 를 끝까지 받지 않고 바로 dispatch 해서 400 을 돌려준다
+     */
+    private void fail(IOException e) {
+        if (!finished) {
+            finish(AsyncJsonBodyFilter.ERROR_ATTRIBUTE, e);
+        }
+    }
+
+    private void finish(String attribute, Object value) {
+        finished = true;
+        ServletRequest request = asyncContext.getRequest();
+        request.setAttribute(attribute, value);
+        try {
+            asyncContext.dispatch();
+        } catch (IllegalStateException e) {
+            // 이미 완료된 요청 (연결 끊김 등)
+            log.debug("async request already completed: {}", e.toString());
+        }
+    }
+
+    private void complete() {
+        try {
+            asyncContext.complete();
+        } catch (IllegalStateException e) {
+            log.debug("async request already completed: {}", e.toString());
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.demojackson.buffer;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * 응답 serialize 용 buffer pool 설정
+ */
+@Getter
+@Setter
+@ConfigurationProperties("demo.jackson.buffer-pool")
+public class BufferPoolProperties {
+    /**
+     * true 면 JSON 응답을 pool 의 buffer 에 모은 뒤 보낸다 (기본은 MappingJackson2HttpMessageConverter 가 바로 쓴다)
+     * Spring converter 보다 할당이 많고 buffer → stream 복사가 하나 더 있으므로 Content-Length 가 필요할 때만 켠다
+     */
+    private boolean enabled = false;
+
+    /**
+     * off-heap (direct) ByteBuffer 사용 여부, NIO channel 로 보낼 때만 이득이고 servlet 응답은 heap 이 낫다
+     */
+    private boolean direct = false;
+
+    /**
+     * 크기 등급 (4 / 16 / 64 / 256 KB) 마다 보관할 buffer 수
+     */
+    private int maxPooledPerClass = 32;
+
+    /**
+     * 응답이 이 크기를 넘으면 더 모으지 않고 바로 (chunked) 내보낸다
+     */
+    private DataSize maxBufferedSize = DataSize.ofMegabytes(1);
+}
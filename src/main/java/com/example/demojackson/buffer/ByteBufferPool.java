@@ -0,0 +1,95 @@
+package com.example.demojackson.buffer;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 크기 등급별로 ByteBuffer 를 재사용하는 pool
+ *
+ * 등급은 4 KB, 16 KB, 64 KB, 256 KB 고정이고 {@link PooledOutputStream} 은 segment 마다 한 등급씩 올려서 받는다
+ * (작은 응답은 4 KB 하나, 큰 응답은 적은 수의 큰 segment)
+ * 등급마다 maxPooledPerClass 개까지만 보관하고 나머지는 GC 에 맡긴다 (보관 메모리 상한: 340 KB * maxPooledPerClass)
+ *
+ * 보관 queue 는 ArrayBlockingQueue 라 반납 / 대여에 할당이 없다
+ */
+public class ByteBufferPool {
+    static final int[] SIZE_CLASSES = {4 * 1024, 16 * 1024, 64 * 1024, 256 * 1024};
+
+    private final boolean direct;
+    private final ArrayBlockingQueue<ByteBuffer>[] free;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public ByteBufferPool(boolean direct, int maxPooledPerClass) {
+        this.direct = direct;
+        this.free = (ArrayBlockingQueue<ByteBuffer>[]) new ArrayBlockingQueue<?>[SIZE_CLASSES.length];
+        for (int i = 0; i < SIZE_CLASSES.length; i++) {
+            free[i] = new ArrayBlockingQueue<>(Math.max(1, maxPooledPerClass));
+        }
+    }
+
+    public boolean isDirect() {
+        return direct;
+    }
+
+    public PooledOutputStream newOutputStream() {
+        return new PooledOutputStream(this);
+    }
+
+    /**
+     * sizeClass 가 마지막 등급을 넘으면 가장 큰 등급, position 0 / limit capacity 상태로 돌려준다
+     */
+    ByteBuffer acquire(int sizeClass) {
+        int index = Math.min(sizeClass, SIZE_CLASSES.length - 1);
+        ByteBuffer buffer = free[index].poll();
+        if (buffer != null) {
+            hits.increment();
+            return buffer;
+        }
+        misses.increment();
+        return direct ? ByteBuffer.allocateDirect(SIZE_CLASSES[index]) : ByteBuffer.allocate(SIZE_CLASSES[index]);
+    }
+
+    void release(ByteBuffer buffer) {
+        int index = indexOf(buffer.capacity());
+        if (index >= 0 && buffer.isDirect() == direct) {
+            buffer.clear();
+            free[index].offer(buffer);
+        }
+    }
+
+    public Stats getStats() {
+        int pooled = 0;
+        for (ArrayBlockingQueue<ByteBuffer> queue : free) {
+            pooled += queue.size();
+        }
+        return new Stats(hits.sum(), misses.sum(), pooled);
+    }
+
+    private static int indexOf(int capacity) {
+        for (int i = 0; i < SIZE_CLASSES.length; i++) {
+            if (SIZE_CLASSES[i] == capacity) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * hits: pool 에서 꺼낸 횟수, misses: 새로 할당한 횟수, pooled: 지금 보관 중인 buffer 수
+     */
+    @Getter
+    @ToString
+    @AllArgsConstructor
+    public static class Stats {
+        private final long hits;
+        private final long misses;
+        private final int pooled;
+    }
+}
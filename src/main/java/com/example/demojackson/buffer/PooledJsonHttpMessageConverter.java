@@ -0,0 +1,99 @@
+package com.example.demojackson.buffer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * 응답 JSON 을 pool 의 buffer 에 모두 쓴 뒤 Content-Length 와 함께 내보내는 converter
+ * JsonView, filter, 타입 정보 등 쓰기 처리는 MappingJackson2HttpMessageConverter 그대로 사용하고 출력 대상만 바꾼다
+ *
+ * - serialize 가 실패해도 응답에 아무것도 나가지 않았으므로 정상적인 오류 응답을 보낼 수 있다
+ * - maxBufferedSize 를 넘는 응답은 그때까지 모은 내용을 보내고 나머지는 바로 쓴다 (Content-Length 없이 chunked)
+ */
+public class PooledJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+    private final ByteBufferPool pool;
+    private final long maxBufferedSize;
+
+    public PooledJsonHttpMessageConverter(ObjectMapper objectMapper, ByteBufferPool pool, long maxBufferedSize) {
+        super(objectMapper);
+        this.pool = pool;
+        this.maxBufferedSize = maxBufferedSize;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        PooledOutputStream buffer = pool.newOutputStream();
+        try {
+            SpillingOutputStream body = new SpillingOutputStream(buffer, outputMessage);
+            super.writeInternal(object, type, new HttpOutputMessage() {
+                @Override
+                public OutputStream getBody() {
+                    return body;
+                }
+
+                @Override
+                public HttpHeaders getHeaders() {
+                    return outputMessage.getHeaders();
+                }
+            });
+            if (!body.spilled) {
+                outputMessage.getHeaders().setContentLength(buffer.size());
+                buffer.writeTo(outputMessage.getBody());
+            }
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * maxBufferedSize 까지는 buffer 에, 넘으면 모은 내용을 보내고 실제 응답 body 로 바로 쓴다
+     */
+    private class SpillingOutputStream extends OutputStream {
+        private final PooledOutputStream buffer;
+        private final HttpOutputMessage outputMessage;
+        private OutputStream target;
+        private boolean spilled;
+
+        SpillingOutputStream(PooledOutputStream buffer, HttpOutputMessage outputMessage) {
+            this.buffer = buffer;
+            this.target = buffer;
+            this.outputMessage = outputMessage;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            spillIfNeeded(1);
+            target.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            spillIfNeeded(len);
+            target.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (spilled) {
+                target.flush();
+            }
+        }
+
+        private void spillIfNeeded(int len) throws IOException {
+            if (!spilled && buffer.size() + len > maxBufferedSize) {
+                OutputStream body = outputMessage.getBody();
+                buffer.writeTo(body);
+                target = body;
+                spilled = true;
+            }
+        }
+    }
+}
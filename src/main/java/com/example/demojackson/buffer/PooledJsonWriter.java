@@ -0,0 +1,65 @@
+package com.example.demojackson.buffer;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * writeValueAsString / writeValueAsBytes 대신 pool 의 buffer 에 바로 serialize 한다
+ * String (char[]) 과 결과 크기에 맞춘 byte[] 복사본을 만들지 않는다
+ *
+ * <pre>
+ * PooledOutputStream json = pooledJsonWriter.write(writer, value);
+ * try {
+ *     json.writeTo(response.getOutputStream());
+ * } finally {
+ *     json.release();
+ * }
+ * </pre>
+ */
+public class PooledJsonWriter {
+    private final ByteBufferPool pool;
+
+    public PooledJsonWriter(ByteBufferPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * 실패하면 buffer 를 돌려주고 예외를 던진다, 성공하면 호출한 쪽이 release() 해야 한다
+     */
+    public PooledOutputStream write(ObjectWriter writer, Object value) throws IOException {
+        PooledOutputStream out = pool.newOutputStream();
+        try {
+            writer.writeValue(out, value);
+            return out;
+        } catch (IOException | RuntimeException e) {
+            out.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 전부 serialize 한 뒤에 보낸다 (serialize 가 실패하면 out 에는 아무것도 쓰지 않음)
+     */
+    public long writeTo(ObjectWriter writer, Object value, OutputStream out) throws IOException {
+        PooledOutputStream json = write(writer, value);
+        try {
+            json.writeTo(out);
+            return json.size();
+        } finally {
+            json.release();
+        }
+    }
+
+    public long writeTo(ObjectWriter writer, Object value, WritableByteChannel channel) throws IOException {
+        PooledOutputStream json = write(writer, value);
+        try {
+            json.writeTo(channel);
+            return json.size();
+        } finally {
+            json.release();
+        }
+    }
+}
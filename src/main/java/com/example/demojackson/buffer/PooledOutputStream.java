@@ -0,0 +1,158 @@
+package com.example.demojackson.buffer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+/**
+ * {@link ByteBufferPool} segment 를 이어 붙여 쓰는 OutputStream
+ * 크기를 늘릴 때 기존 내용을 복사하지 않고, 결과를 하나의 byte[] 로 합치지도 않는다
+ *
+ * close() 는 쓰기를 끝낼 뿐이고 (ObjectWriter 가 AUTO_CLOSE_TARGET 으로 닫아도 내용 유지)
+ * 다 보낸 뒤 {@link #release()} 로 segment 를 pool 에 돌려줘야 한다
+ */
+public class PooledOutputStream extends OutputStream {
+    private static final int TRANSFER_SIZE = 8 * 1024;
+
+    private final ByteBufferPool pool;
+    private ByteBuffer[] segments = new ByteBuffer[4];
+    private int count;
+    private ByteBuffer current;
+    private long size;
+    private boolean released;
+
+    PooledOutputStream(ByteBufferPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureWritable().put((byte) b);
+        size++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            ByteBuffer buffer = ensureWritable();
+            int n = Math.min(len, buffer.remaining());
+            buffer.put(b, off, n);
+            off += n;
+            len -= n;
+            size += n;
+        }
+    }
+
+    public long size() {
+        return size;
+    }
+
+    /**
+     * heap buffer 는 backing array 를 그대로 넘긴다 (복사 없음)
+     * direct buffer 는 OutputStream 이 byte[] 만 받으므로 작은 임시 배열을 거친다
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        writeTo(out, 0, size);
+    }
+
+    /**
+     * 쓴 내용 중 [offset, offset + length) 구간만 보낸다
+     */
+    public void writeTo(OutputStream out, long offset, long length) throws IOException {
+        checkNotReleased();
+        if (offset < 0 || length < 0 || offset + length > size) {
+            throw new IndexOutOfBoundsException("range [" + offset + ", " + (offset + length) + ") out of " + size);
+        }
+        byte[] transfer = null;
+        for (int i = 0; i < count && length > 0; i++) {
+            ByteBuffer segment = segments[i];
+            if (offset >= segment.position()) {
+                offset -= segment.position();
+                continue;
+            }
+            int from = (int) offset;
+            int to = (int) Math.min(segment.position(), from + length);
+            offset = 0;
+            length -= to - from;
+            if (segment.hasArray()) {
+                out.write(segment.array(), segment.arrayOffset() + from, to - from);
+                continue;
+            }
+            if (transfer == null) {
+                transfer = new byte[(int) Math.min(TRANSFER_SIZE, size)];
+            }
+            ByteBuffer view = segment.duplicate().limit(to).position(from);
+            while (view.hasRemaining()) {
+                int n = Math.min(transfer.length, view.remaining());
+                view.get(transfer, 0, n);
+                out.write(transfer, 0, n);
+            }
+        }
+    }
+
+    /**
+     * segment 를 channel 에 그대로 쓴다 (heap / direct 모두 복사 없음)
+     */
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        checkNotReleased();
+        for (int i = 0; i < count; i++) {
+            ByteBuffer segment = segments[i];
+            int end = segment.position();
+            segment.flip();
+            try {
+                while (segment.hasRemaining()) {
+                    channel.write(segment);
+                }
+            } finally {
+                segment.limit(segment.capacity()).position(end);
+            }
+        }
+    }
+
+    /**
+     * 테스트 / 디버깅용 복사본
+     */
+    public byte[] toByteArray() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream((int) size);
+        writeTo(out);
+        return out.toByteArray();
+    }
+
+    /**
+     * segment 를 pool 에 돌려준다, 여러 번 호출해도 된다
+     */
+    public void release() {
+        if (released) {
+            return;
+        }
+        released = true;
+        for (int i = 0; i < count; i++) {
+            pool.release(segments[i]);
+            segments[i] = null;
+        }
+        count = 0;
+        current = null;
+    }
+
+    private ByteBuffer ensureWritable() throws IOException {
+        if (current != null && current.hasRemaining()) {
+            return current;
+        }
+        checkNotReleased();
+        if (count == segments.length) {
+            segments = Arrays.copyOf(segments, count * 2);
+        }
+        current = pool.acquire(count);
+        segments[count++] = current;
+        return current;
+    }
+
+    private void checkNotReleased() throws IOException {
+        if (released) {
+            throw new IOException("buffer already released");
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.demojackson.codegen;
+
+/**
+ * codegen-processor 가 DTO 마다 만드는 serializer / deserializer 묶음
+ *
+ * 구현 클래스 (DTO 와 같은 패키지의 {@code <Outer>_<Inner>JsonCodec}) 는
+ * META-INF/services/com.example.demojackson.codegen.GeneratedCodec 에 등록되고 {@link GeneratedCodecModule} 이 읽는다
+ * 한쪽 방향만 만들 수 있는 타입 (예: private 필드 + getter 만 있는 타입) 은 나머지 방향이 null 이다 (Jackson 기본 처리)
+ */
+public interface GeneratedCodec {
+
+    Class<?> type();
+
+    /**
+     * @return 호출할 때마다 새 인스턴스, 만들 수 없는 타입이면 null
+     */
+    GeneratedSerializer<?> serializer();
+
+    /**
+     * @return 호출할 때마다 새 인스턴스, 만들 수 없는 타입이면 null
+     */
+    GeneratedDeserializer<?> deserializer();
+}
@@ -0,0 +1,133 @@
+package com.example.demojackson.codegen;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.introspect.VisibilityChecker;
+import com.fasterxml.jackson.databind.module.SimpleDeserializers;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.Serializers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * codegen-processor 가 컴파일 시점에 만든 serializer / deserializer 를 등록하는 모듈
+ *
+ * <pre>
+ * new ObjectMapper().registerModule(new GeneratedCodecModule());
+ * </pre>
+ *
+ * 생성 코드는 DTO 의 Jackson annotation (@JsonProperty, @JsonPropertyOrder, @JsonIgnore, @JsonInclude, @JsonCreator, @JsonAlias)
+ * 을 Jackson 의 기본 규칙 (기본 visibility, 이름 규칙) 으로 해석한 결과라서 introspection / reflection 없이 필드와 getter 를 바로 쓴다
+ * 그 외 annotation 이 있는 타입은 생성하지 않으므로 Jackson 기본 처리 그대로다
+ *
+ * 생성 결과가 달라지는 ObjectMapper 설정 (naming strategy, 알파벳 순서, annotation 끄기, mix-in, 기본 visibility 변경 등) 이면
+ * 아무것도 등록하지 않는다
+ * 설정은 등록 시점에 확인하므로 ObjectMapper 설정을 마친 뒤 등록한다
+ * DTO 를 가리키는 프로퍼티 쪽의 @JsonIgnoreProperties / @JsonFormat(shape) 같은 contextual 설정은 적용되지 않는다
+ */
+public class GeneratedCodecModule extends SimpleModule {
+    private final List<GeneratedCodec> codecs;
+
+    public GeneratedCodecModule() {
+        this(GeneratedCodecModule.class.getClassLoader());
+    }
+
+    public GeneratedCodecModule(ClassLoader classLoader) {
+        super(GeneratedCodecModule.class.getSimpleName());
+        List<GeneratedCodec> codecs = new ArrayList<>();
+        ServiceLoader.load(GeneratedCodec.class, classLoader).forEach(codecs::add);
+        this.codecs = Collections.unmodifiableList(codecs);
+    }
+
+    public List<GeneratedCodec> getCodecs() {
+        return codecs;
+    }
+
+    @Override
+    public void setupModule(SetupContext context) {
+        super.setupModule(context);
+        if (!isCompatible(context)) {
+            return;
+        }
+        // serializer / deserializer 는 상태 (찾아 둔 값 serializer 등) 가 있으므로 ObjectMapper 마다 새로 만든다
+        ExactTypeSerializers serializers = new ExactTypeSerializers();
+        SimpleDeserializers deserializers = new SimpleDeserializers();
+        for (GeneratedCodec codec : codecs) {
+            GeneratedSerializer<?> serializer = codec.serializer();
+            if (serializer != null) {
+                serializers.serializers.put(codec.type(), serializer);
+            }
+            addDeserializer(deserializers, codec);
+        }
+        context.addSerializers(serializers);
+        context.addDeserializers(deserializers);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void addDeserializer(SimpleDeserializers deserializers, GeneratedCodec codec) {
+        GeneratedDeserializer<T> deserializer = (GeneratedDeserializer<T>) codec.deserializer();
+        if (deserializer != null) {
+            deserializers.addDeserializer((Class<T>) codec.type(), deserializer);
+        }
+    }
+
+    /**
+     * SimpleSerializers 는 상위 클래스로도 찾으므로 DTO 의 하위 클래스까지 생성 serializer 로 쓰게 된다
+     * 생성 코드는 정확히 그 타입만 다루므로 타입이 같을 때만 돌려준다
+     */
+    static class ExactTypeSerializers extends Serializers.Base {
+        final Map<Class<?>, JsonSerializer<?>> serializers = new HashMap<>();
+
+        @Override
+        public JsonSerializer<?> findSerializer(SerializationConfig config, JavaType type, BeanDescription beanDesc) {
+            return serializers.get(type.getRawClass());
+        }
+    }
+
+    static boolean isCompatible(SetupContext context) {
+        if (context.isEnabled(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+                || !context.isEnabled(MapperFeature.SORT_CREATOR_PROPERTIES_FIRST)
+                || !context.isEnabled(MapperFeature.USE_ANNOTATIONS)
+                || context.isEnabled(MapperFeature.USE_STD_BEAN_NAMING)
+                || context.isEnabled(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES)
+                || !context.isEnabled(MapperFeature.AUTO_DETECT_FIELDS)
+                || !context.isEnabled(MapperFeature.AUTO_DETECT_GETTERS)
+                || !context.isEnabled(MapperFeature.AUTO_DETECT_IS_GETTERS)
+                || !context.isEnabled(MapperFeature.AUTO_DETECT_SETTERS)
+                || !context.isEnabled(MapperFeature.INFER_PROPERTY_MUTATORS)) {
+            return false;
+        }
+        Object owner = context.getOwner();
+        if (!(owner instanceof ObjectMapper)) {
+            return true;
+        }
+        ObjectMapper mapper = (ObjectMapper) owner;
+        // mix-in 은 어느 타입에 붙었든 생성 코드가 모르는 annotation 이다
+        if (mapper.mixInCount() > 0 || !isDefaultVisibility(mapper.getSerializationConfig().getDefaultVisibilityChecker())
+                || !isDefaultVisibility(mapper.getDeserializationConfig().getDefaultVisibilityChecker())) {
+            return false;
+        }
+        // Map 값은 프로퍼티의 @JsonInclude(content) 없이 기본 content inclusion 으로 쓴다
+        JsonInclude.Include content = mapper.getSerializationConfig().getDefaultPropertyInclusion().getContentInclusion();
+        return mapper.getPropertyNamingStrategy() == null
+                && (content == JsonInclude.Include.ALWAYS || content == JsonInclude.Include.USE_DEFAULTS);
+    }
+
+    /**
+     * VisibilityChecker.Std 는 equals 가 없어서 수준 (getter, isGetter, setter, creator, field) 을 담은 toString 으로 비교한다
+     */
+    private static boolean isDefaultVisibility(VisibilityChecker<?> checker) {
+        return checker.getClass() == VisibilityChecker.Std.class
+                && checker.toString().equals(VisibilityChecker.Std.defaultInstance().toString());
+    }
+}
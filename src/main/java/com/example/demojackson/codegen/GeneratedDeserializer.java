@@ -0,0 +1,453 @@
+package com.example.demojackson.codegen;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBase;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerFactory;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.exc.IgnoredPropertyException;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.exc.ValueInstantiationException;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.util.ClassUtil;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 생성된 deserializer 의 기반 클래스
+ *
+ * 생성 코드는 {@link #propertyIndex} (필드 이름 -> 프로퍼티 번호 switch) 와
+ * {@link #deserializeFields} (필드 loop, creator 호출, setter / 필드 set) 를 구현한다
+ * 모르는 필드, 무시할 필드, 예외 경로는 BeanDeserializer 와 같게 처리한다
+ * unwrapping 복사본은 @JsonUnwrapped 의 prefix / suffix 를 붙인 이름 표를 쓰고, 모르는 필드는 건너뛴다
+ */
+public abstract class GeneratedDeserializer<T> extends StdDeserializer<T> {
+    private static final long serialVersionUID = 1L;
+
+    public static final int UNKNOWN = -1;
+    public static final int IGNORED = -2;
+
+    private final String[] names;
+    private final String[] ignorable;
+    private final String[] knownNames;
+
+    /**
+     * unwrapping 복사본의 이름 표, 아니면 null
+     */
+    private final Map<String, Integer> unwrappedIndex;
+
+    private transient volatile BeanDeserializerBase beanDeserializer;
+
+    /**
+     * @param names     프로퍼티 번호 순서의 이름 (alias 제외)
+     * @param ignorable @JsonIgnore, @JsonIgnoreProperties, @JsonIgnoreType 으로 조용히 건너뛰는 이름
+     */
+    protected GeneratedDeserializer(Class<T> type, String[] names, String[] ignorable) {
+        super(type);
+        this.names = names;
+        this.ignorable = ignorable;
+        this.knownNames = hashOrder(names);
+        this.unwrappedIndex = null;
+    }
+
+    protected GeneratedDeserializer(GeneratedDeserializer<T> src, NameTransformer transformer) {
+        super(src.handledType());
+        this.names = new String[src.names.length];
+        this.ignorable = src.ignorable;
+        this.unwrappedIndex = new HashMap<>();
+        // BeanDeserializerBase 처럼 ignorable 이름은 바꾸지 않는다
+        for (String name : ignorable) {
+            unwrappedIndex.put(name, IGNORED);
+        }
+        for (int i = 0; i < names.length; i++) {
+            names[i] = transformer.transform(src.names[i]);
+            unwrappedIndex.put(names[i], i);
+        }
+        this.knownNames = hashOrder(names);
+    }
+
+    /**
+     * BeanPropertyMap 의 hash 배치 순서 (Jackson 은 알려진 프로퍼티 목록을 이 순서로 보여준다)
+     */
+    static String[] hashOrder(String[] names) {
+        int size = names.length;
+        int hashSize = size <= 5 ? 8 : size <= 12 ? 16 : 32;
+        while (hashSize < size + (size >> 2)) {
+            hashSize += hashSize;
+        }
+        String[] hashed = new String[hashSize + (hashSize >> 1)];
+        List<String> spill = new ArrayList<>();
+        for (String name : names) {
+            int slot = name.hashCode() & (hashSize - 1);
+            int ix = slot;
+            if (hashed[ix] != null) {
+                ix = hashSize + (slot >> 1);
+                if (hashed[ix] != null) {
+                    spill.add(name);
+                    continue;
+                }
+            }
+            hashed[ix] = name;
+        }
+        List<String> ordered = new ArrayList<>(size);
+        for (String name : hashed) {
+            if (name != null) {
+                ordered.add(name);
+            }
+        }
+        ordered.addAll(spill);
+        return ordered.toArray(new String[0]);
+    }
+
+    protected abstract GeneratedDeserializer<T> withNames(NameTransformer transformer);
+
+    /**
+     * @return 프로퍼티 번호 (alias 포함), {@link #IGNORED} 또는 {@link #UNKNOWN}
+     */
+    protected abstract int propertyIndex(String name);
+
+    /**
+     * @param name 첫 필드 이름 (parser 는 FIELD_NAME 위치), 빈 객체면 null
+     * @param bean readerForUpdating 등으로 받은 인스턴스, 새로 만들어야 하면 null
+     */
+    protected abstract T deserializeFields(JsonParser p, DeserializationContext ctxt, String name, T bean)
+            throws IOException;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public final T deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (!p.isExpectedStartObjectToken() && !p.hasToken(JsonToken.FIELD_NAME) && !p.hasToken(JsonToken.END_OBJECT)) {
+            return (T) beanDeserializer(ctxt).deserialize(p, ctxt);
+        }
+        return deserializeFields(p, ctxt, firstName(p), null);
+    }
+
+    @Override
+    public Object deserializeWithType(JsonParser p, DeserializationContext ctxt, TypeDeserializer typeDeserializer)
+            throws IOException {
+        // BeanDeserializerBase 처럼 객체 형태의 타입 정보로 읽는다
+        return typeDeserializer.deserializeTypedFromObject(p, ctxt);
+    }
+
+    /**
+     * 흔하지 않은 입력은 Jackson 의 BeanDeserializer 규칙을 그대로 쓴다
+     * (객체가 아닌 입력의 coercion / UNWRAP_SINGLE_VALUE_ARRAYS / 오류 메시지, 만든 뒤 다시 온 creator 인자)
+     * introspection 이 필요하므로 처음 필요할 때 만든다
+     */
+    private BeanDeserializerBase beanDeserializer(DeserializationContext ctxt) throws IOException {
+        BeanDeserializerBase deser = beanDeserializer;
+        if (deser == null) {
+            JavaType type = ctxt.constructType(handledType());
+            BeanDescription beanDesc = ctxt.getConfig().introspect(type);
+            BeanDeserializerFactory factory = ctxt.getFactory() instanceof BeanDeserializerFactory
+                    ? (BeanDeserializerFactory) ctxt.getFactory() : BeanDeserializerFactory.instance;
+            deser = (BeanDeserializerBase) factory.buildBeanDeserializer(ctxt, type, beanDesc);
+            deser.resolve(ctxt);
+            beanDeserializer = deser;
+        }
+        return deser;
+    }
+
+    @Override
+    public final T deserialize(JsonParser p, DeserializationContext ctxt, T intoValue) throws IOException {
+        // BeanDeserializer 처럼 객체가 아니면 그대로 돌려준다
+        if (!p.isExpectedStartObjectToken() && !p.hasToken(JsonToken.FIELD_NAME)) {
+            return intoValue;
+        }
+        return deserializeFields(p, ctxt, firstName(p), intoValue);
+    }
+
+    private static String firstName(JsonParser p) throws IOException {
+        if (p.isExpectedStartObjectToken()) {
+            return p.nextFieldName();
+        }
+        return p.hasToken(JsonToken.FIELD_NAME) ? p.currentName() : null;
+    }
+
+    protected final int index(String name) {
+        return unwrappedIndex == null ? propertyIndex(name) : unwrappedIndex.getOrDefault(name, UNKNOWN);
+    }
+
+    @Override
+    public JsonDeserializer<T> unwrappingDeserializer(NameTransformer unwrapper) {
+        return withNames(unwrapper);
+    }
+
+    @Override
+    public Collection<Object> getKnownPropertyNames() {
+        return new ArrayList<>(Arrays.asList(knownNames));
+    }
+
+    @Override
+    public Boolean supportsUpdate(DeserializationConfig config) {
+        return Boolean.TRUE;
+    }
+
+    /**
+     * BeanDeserializerBase#handleUnknownVanilla 와 같다 (unwrapping 이면 Jackson 처럼 건너뛴다)
+     */
+    protected final void handleUnknown(JsonParser p, DeserializationContext ctxt, Object beanOrClass, String name)
+            throws IOException {
+        if (unwrappedIndex != null) {
+            p.skipChildren();
+            return;
+        }
+        handleUnknownProperty(p, ctxt, beanOrClass, name);
+    }
+
+    /**
+     * BeanDeserializerBase#handleIgnoredProperty 와 같다
+     */
+    protected final void handleIgnored(JsonParser p, DeserializationContext ctxt, Object beanOrClass, String name)
+            throws IOException {
+        if (ctxt.isEnabled(DeserializationFeature.FAIL_ON_IGNORED_PROPERTIES)) {
+            throw IgnoredPropertyException.from(p, beanOrClass, name, getKnownPropertyNames());
+        }
+        p.skipChildren();
+    }
+
+    /**
+     * BeanDeserializerBase#wrapAndThrow 와 같다 (항상 예외를 던진다)
+     */
+    protected final void wrapAndThrow(Throwable t, Object bean, String name, DeserializationContext ctxt)
+            throws IOException {
+        while (t instanceof InvocationTargetException && t.getCause() != null) {
+            t = t.getCause();
+        }
+        ClassUtil.throwIfError(t);
+        boolean wrap = ctxt == null || ctxt.isEnabled(DeserializationFeature.WRAP_EXCEPTIONS);
+        if (t instanceof IOException) {
+            if (!wrap || !(t instanceof JsonProcessingException)) {
+                throw (IOException) t;
+            }
+        } else if (!wrap) {
+            ClassUtil.throwIfRTE(t);
+        }
+        throw JsonMappingException.wrapWithPath(t, bean, name);
+    }
+
+    /**
+     * MethodProperty#set 과 같이 setter 예외를 원인 예외의 메시지로 감싼다
+     *
+     * @param p creator 뒤에 모아 둔 값을 넣을 때는 null (PropertyValue#assign 처럼 위치 없이)
+     */
+    protected static JsonMappingException setterProblem(JsonParser p, Exception e) {
+        Throwable root = ClassUtil.getRootCause(e);
+        return JsonMappingException.from(p, ClassUtil.exceptionMessage(root), root);
+    }
+
+    /**
+     * 인스턴스를 만든 뒤 (또는 readerForUpdating 으로) 받은 creator 인자는
+     * CreatorProperty#deserializeAndSet 처럼 fallback setter / 필드에 넣거나 오류를 낸다
+     *
+     * @param property 프로퍼티 이름
+     * @param name     입력의 필드 이름 (alias 일 수 있음)
+     */
+    protected final void setCreatorProperty(JsonParser p, DeserializationContext ctxt, T bean, String property,
+                                            String name) throws IOException {
+        SettableBeanProperty prop = beanDeserializer(ctxt).findProperty(property);
+        if (prop == null) {
+            handleUnknown(p, ctxt, bean, name);
+            return;
+        }
+        try {
+            prop.deserializeAndSet(p, ctxt, bean);
+        } catch (Exception e) {
+            wrapAndThrow(e, bean, name, ctxt);
+        }
+    }
+
+    /**
+     * @return 프로퍼티 번호의 이름 (unwrapping 복사본이면 prefix / suffix 포함)
+     */
+    protected final String propertyName(int index) {
+        return names[index];
+    }
+
+    /**
+     * StdValueInstantiator#rewrapCtorProblem 과 같이 생성자 예외를 감싼다
+     */
+    protected final JsonMappingException instantiationProblem(Exception e, DeserializationContext ctxt) {
+        if (e instanceof JsonMappingException) {
+            return (JsonMappingException) e;
+        }
+        return ValueInstantiationException.from(ctxt.getParser(),
+                String.format("Cannot construct instance of %s, problem: %s",
+                        ClassUtil.nameOf(handledType()), ClassUtil.exceptionMessage(e)),
+                ctxt.constructType(handledType()), e);
+    }
+
+    /**
+     * PropertyValueBuffer#getParameters 와 같은 creator 인자 처리 (없는 값, null 검사)
+     */
+    protected final Object creatorValue(DeserializationContext ctxt, ValueReader reader, boolean present, Object value,
+                                        String name, int index) throws IOException {
+        if (!present) {
+            if (ctxt.isEnabled(DeserializationFeature.FAIL_ON_MISSING_CREATOR_PROPERTIES)) {
+                throw creatorMismatch(ctxt, reader, name, String.format("Missing creator property '%s' (index %d);"
+                        + " `DeserializationFeature.FAIL_ON_MISSING_CREATOR_PROPERTIES` enabled", name, index));
+            }
+            try {
+                value = reader.missing(ctxt);
+            } catch (JsonMappingException e) {
+                e.prependPath(handledType(), name);
+                throw e;
+            }
+        }
+        if (value == null && ctxt.isEnabled(DeserializationFeature.FAIL_ON_NULL_CREATOR_PROPERTIES)) {
+            throw creatorMismatch(ctxt, reader, name, String.format("Null value for creator property '%s' (index %d);"
+                    + " `DeserializationFeature.FAIL_ON_NULL_CREATOR_PROPERTIES` enabled", name, index));
+        }
+        return value;
+    }
+
+    /**
+     * DeserializationContext#reportInputMismatch(BeanProperty, ..) 처럼 프로퍼티 경로를 붙인다
+     */
+    private MismatchedInputException creatorMismatch(DeserializationContext ctxt, ValueReader reader, String name,
+                                                     String message) {
+        MismatchedInputException e = MismatchedInputException.from(ctxt.getParser(),
+                ctxt.constructType(reader.type), message);
+        e.prependPath(handledType(), name);
+        return e;
+    }
+
+    /**
+     * BeanDeserializer 는 creator 로 만드는 타입의 모르는 필드를 모아 두었다가 인스턴스를 만든 뒤 처리한다
+     */
+    protected static TokenBuffer bufferUnknown(JsonParser p, DeserializationContext ctxt, TokenBuffer unknown,
+                                               String name) throws IOException {
+        if (unknown == null) {
+            unknown = new TokenBuffer(p, ctxt);
+        }
+        unknown.writeFieldName(name);
+        unknown.copyCurrentStructure(p);
+        return unknown;
+    }
+
+    protected final T handleUnknown(DeserializationContext ctxt, T bean, TokenBuffer unknown) throws IOException {
+        if (unknown == null) {
+            return bean;
+        }
+        unknown.writeEndObject();
+        JsonParser bufferParser = unknown.asParser();
+        while (bufferParser.nextToken() != JsonToken.END_OBJECT) {
+            String name = bufferParser.currentName();
+            bufferParser.nextToken();
+            handleUnknown(bufferParser, ctxt, bean, name);
+        }
+        return bean;
+    }
+
+    // 값 읽기: 흔한 토큰은 바로 읽고, 나머지 (coercion, null, 오류) 는 Jackson 의 deserializer 에 맡긴다
+
+    protected static int readInt(JsonParser p, DeserializationContext ctxt, ValueReader fallback) throws IOException {
+        return p.hasToken(JsonToken.VALUE_NUMBER_INT) ? p.getIntValue() : (Integer) fallback.read(p, ctxt);
+    }
+
+    protected static Integer readInteger(JsonParser p, DeserializationContext ctxt, ValueReader fallback)
+            throws IOException {
+        return p.hasToken(JsonToken.VALUE_NUMBER_INT) ? Integer.valueOf(p.getIntValue()) : (Integer) fallback.read(p, ctxt);
+    }
+
+    protected static long readLong(JsonParser p, DeserializationContext ctxt, ValueReader fallback) throws IOException {
+        return p.hasToken(JsonToken.VALUE_NUMBER_INT) ? p.getLongValue() : (Long) fallback.read(p, ctxt);
+    }
+
+    protected static Long readLongObject(JsonParser p, DeserializationContext ctxt, ValueReader fallback)
+            throws IOException {
+        return p.hasToken(JsonToken.VALUE_NUMBER_INT) ? Long.valueOf(p.getLongValue()) : (Long) fallback.read(p, ctxt);
+    }
+
+    protected static double readDouble(JsonParser p, DeserializationContext ctxt, ValueReader fallback)
+            throws IOException {
+        return isNumber(p) ? p.getDoubleValue() : (Double) fallback.read(p, ctxt);
+    }
+
+    protected static Double readDoubleObject(JsonParser p, DeserializationContext ctxt, ValueReader fallback)
+            throws IOException {
+        return isNumber(p) ? Double.valueOf(p.getDoubleValue()) : (Double) fallback.read(p, ctxt);
+    }
+
+    protected static boolean readBoolean(JsonParser p, DeserializationContext ctxt, ValueReader fallback)
+            throws IOException {
+        if (p.hasToken(JsonToken.VALUE_TRUE)) {
+            return true;
+        }
+        return !p.hasToken(JsonToken.VALUE_FALSE) && (Boolean) fallback.read(p, ctxt);
+    }
+
+    protected static Boolean readBooleanObject(JsonParser p, DeserializationContext ctxt, ValueReader fallback)
+            throws IOException {
+        if (p.hasToken(JsonToken.VALUE_TRUE)) {
+            return Boolean.TRUE;
+        }
+        return p.hasToken(JsonToken.VALUE_FALSE) ? Boolean.FALSE : (Boolean) fallback.read(p, ctxt);
+    }
+
+    protected static String readString(JsonParser p, DeserializationContext ctxt, ValueReader fallback)
+            throws IOException {
+        return p.hasToken(JsonToken.VALUE_STRING) ? p.getText() : (String) fallback.read(p, ctxt);
+    }
+
+    private static boolean isNumber(JsonParser p) {
+        return p.hasToken(JsonToken.VALUE_NUMBER_FLOAT) || p.hasToken(JsonToken.VALUE_NUMBER_INT);
+    }
+
+    /**
+     * 프로퍼티 타입의 Jackson deserializer 로 값을 읽는다 (SettableBeanProperty#deserialize 와 같은 null 처리)
+     * deserializer 는 처음 읽을 때 찾아서 보관한다
+     */
+    protected static final class ValueReader {
+        private final Type type;
+        private volatile JsonDeserializer<Object> deserializer;
+
+        public ValueReader(Type type) {
+            this.type = type;
+        }
+
+        public Object read(JsonParser p, DeserializationContext ctxt) throws IOException {
+            JsonDeserializer<Object> deser = deserializer(ctxt);
+            if (p.hasToken(JsonToken.VALUE_NULL)) {
+                return deser.getNullValue(ctxt);
+            }
+            Object value = deser.deserialize(p, ctxt);
+            return value != null ? value : deser.getNullValue(ctxt);
+        }
+
+        /**
+         * 없는 creator 인자 값 (2.12 PropertyValueBuffer#_findMissing 처럼 null 값)
+         */
+        Object missing(DeserializationContext ctxt) throws IOException {
+            return deserializer(ctxt).getNullValue(ctxt);
+        }
+
+        private JsonDeserializer<Object> deserializer(DeserializationContext ctxt) throws IOException {
+            JsonDeserializer<Object> deser = deserializer;
+            if (deser == null) {
+                deser = ctxt.findRootValueDeserializer(ctxt.getTypeFactory().constructType(type));
+                deserializer = deser;
+            }
+            return deser;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.demojackson.codegen;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.type.WritableTypeId;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.impl.PropertySerializerMap;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * 생성된 serializer 의 기반 클래스
+ *
+ * 생성 코드는 {@link #serializeFields} 에서 프로퍼티를 Jackson (BeanSerializer) 과 같은 순서로 getter / 필드에서 바로 읽어 쓴다
+ * 시작 / 끝 토큰, 타입 id, @JsonUnwrapped 이름 변환, 예외 경로는 여기서 BeanSerializer / UnwrappingBeanSerializer 와 같게 처리한다
+ */
+public abstract class GeneratedSerializer<T> extends StdSerializer<T> {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 프로퍼티 순서대로 미리 인코딩한 필드 이름
+     */
+    protected final SerializableString[] names;
+
+    private final boolean unwrapping;
+
+    protected GeneratedSerializer(Class<T> type, String... names) {
+        super(type);
+        this.names = new SerializableString[names.length];
+        for (int i = 0; i < names.length; i++) {
+            this.names[i] = new SerializedString(names[i]);
+        }
+        this.unwrapping = false;
+    }
+
+    protected GeneratedSerializer(GeneratedSerializer<T> src, NameTransformer transformer) {
+        super(src.handledType());
+        this.names = new SerializableString[src.names.length];
+        for (int i = 0; i < names.length; i++) {
+            this.names[i] = new SerializedString(transformer.transform(src.names[i].getValue()));
+        }
+        this.unwrapping = true;
+    }
+
+    /**
+     * @return transformer 로 바꾼 이름을 쓰는 unwrapping 복사본
+     */
+    protected abstract GeneratedSerializer<T> withNames(NameTransformer transformer);
+
+    protected abstract void serializeFields(T bean, JsonGenerator gen, SerializerProvider provider) throws IOException;
+
+    @Override
+    public final void serialize(T bean, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (unwrapping) {
+            gen.setCurrentValue(bean);
+            serializeFields(bean, gen, provider);
+            return;
+        }
+        gen.writeStartObject(bean);
+        serializeFields(bean, gen, provider);
+        gen.writeEndObject();
+    }
+
+    @Override
+    public final void serializeWithType(T bean, JsonGenerator gen, SerializerProvider provider, TypeSerializer typeSer)
+            throws IOException {
+        if (unwrapping) {
+            if (provider.isEnabled(SerializationFeature.FAIL_ON_UNWRAPPED_TYPE_IDENTIFIERS)) {
+                provider.reportBadDefinition(handledType(), "Unwrapped property requires use of type information:"
+                        + " cannot serialize without disabling `SerializationFeature.FAIL_ON_UNWRAPPED_TYPE_IDENTIFIERS`");
+            }
+            serialize(bean, gen, provider);
+            return;
+        }
+        WritableTypeId typeIdDef = typeSer.writeTypePrefix(gen, typeSer.typeId(bean, JsonToken.START_OBJECT));
+        gen.setCurrentValue(bean);
+        serializeFields(bean, gen, provider);
+        typeSer.writeTypeSuffix(gen, typeIdDef);
+    }
+
+    @Override
+    public boolean isUnwrappingSerializer() {
+        return unwrapping;
+    }
+
+    @Override
+    public JsonSerializer<T> unwrappingSerializer(NameTransformer unwrapper) {
+        return withNames(unwrapper);
+    }
+
+    /**
+     * 프로퍼티에 @JsonInclude 가 없을 때 쓰는 ObjectMapper 설정 (setSerializationInclusion, configOverride)
+     * 숫자 / boolean 은 Jackson 에서도 비어 있는 값이 없으므로 primitive 프로퍼티는 이 값과 상관없이 항상 쓴다
+     */
+    protected final JsonInclude.Include defaultInclusion(SerializerProvider provider) throws IOException {
+        JsonInclude.Include inclusion = provider.getConfig().getDefaultPropertyInclusion(handledType()).getValueInclusion();
+        if (inclusion == JsonInclude.Include.NON_DEFAULT || inclusion == JsonInclude.Include.CUSTOM) {
+            return provider.reportBadDefinition(handledType(),
+                    "Generated serializer does not support default inclusion " + inclusion);
+        }
+        return inclusion;
+    }
+
+    /**
+     * @param writer NON_EMPTY 판단에 쓰는 writer, String / 숫자 / boolean 이면 null
+     */
+    protected static boolean include(JsonInclude.Include inclusion, Object value, ValueWriter writer,
+                                     SerializerProvider provider) throws IOException {
+        switch (inclusion) {
+            case NON_NULL:
+            case NON_ABSENT:
+                return value != null;
+            case NON_EMPTY:
+                if (value == null) {
+                    return false;
+                }
+                return value instanceof String ? !((String) value).isEmpty()
+                        : writer == null || !writer.isEmpty(value, provider);
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * BeanSerializerBase#serializeFields 와 같은 경로 정보로 감싼다
+     */
+    protected final void wrapAndThrow(SerializerProvider provider, Exception e, T bean, int index) throws IOException {
+        wrapAndThrow(provider, e, bean, names[index].getValue());
+    }
+
+    protected final JsonMappingException infiniteRecursion(JsonGenerator gen, StackOverflowError e, T bean, int index) {
+        JsonMappingException mapEx = new JsonMappingException(gen, "Infinite recursion (StackOverflowError)", e);
+        mapEx.prependPath(new JsonMappingException.Reference(bean, names[index].getValue()));
+        return mapEx;
+    }
+
+    /**
+     * 생성 코드가 직접 쓰지 않는 타입 (bean, 컬렉션, enum 등) 의 값을 BeanPropertyWriter 처럼 실제 타입의 serializer 로 쓴다
+     */
+    protected static final class ValueWriter {
+        private final Type declaredType;
+        // type 을 마지막에 (volatile) 써서 typeSerializer 도 함께 보이게 한다
+        private volatile JavaType type;
+        private TypeSerializer typeSerializer;
+        private PropertySerializerMap serializers = PropertySerializerMap.emptyForProperties();
+
+        public ValueWriter(Type declaredType) {
+            this.declaredType = declaredType;
+        }
+
+        public void write(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            if (value == null) {
+                provider.defaultSerializeNull(gen);
+                return;
+            }
+            JsonSerializer<Object> serializer = serializer(value.getClass(), provider);
+            if (typeSerializer == null) {
+                serializer.serialize(value, gen, provider);
+            } else {
+                serializer.serializeWithType(value, gen, provider, typeSerializer);
+            }
+        }
+
+        boolean isEmpty(Object value, SerializerProvider provider) throws IOException {
+            return serializer(value.getClass(), provider).isEmpty(provider, value);
+        }
+
+        private JsonSerializer<Object> serializer(Class<?> rawType, SerializerProvider provider) throws IOException {
+            JavaType type = this.type;
+            if (type == null) {
+                type = provider.getTypeFactory().constructType(declaredType);
+                typeSerializer = provider.findTypeSerializer(type);
+                this.type = type;
+            }
+            JsonSerializer<Object> serializer = serializers.serializerFor(rawType);
+            if (serializer == null) {
+                PropertySerializerMap.SerializerAndMapResult result = type.hasGenericTypes()
+                        ? serializers.findAndAddPrimarySerializer(provider.constructSpecializedType(type, rawType),
+                        provider, null)
+                        : serializers.findAndAddPrimarySerializer(rawType, provider, null);
+                serializers = result.map;
+                serializer = result.serializer;
+            }
+            return serializer;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.demojackson.config;
+
+import com.example.demojackson.asyncbody.AsyncBodyProperties;
+import com.example.demojackson.asyncbody.AsyncJsonBodyFilter;
+import com.example.demojackson.asyncbody.AsyncRequestBodyArgumentResolver;
+import com.example.demojackson.registry.JsonCodecRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.util.List;
+
+/**
+ * @AsyncRequestBody: 필터가 body 를 비동기로 받고, argument resolver 가 파라미터 타입으로 읽는다
+ * 필터는 REQUEST dispatch 에만 등록 (body 를 받은 뒤의 ASYNC dispatch 는 그대로 DispatcherServlet 으로)
+ */
+@Configuration
+@EnableConfigurationProperties(AsyncBodyProperties.class)
+public class AsyncBodyConfig implements WebMvcConfigurer {
+    private final JsonCodecRegistry jsonCodecRegistry;
+
+    public AsyncBodyConfig(JsonCodecRegistry jsonCodecRegistry) {
+        this.jsonCodecRegistry = jsonCodecRegistry;
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new AsyncRequestBodyArgumentResolver(jsonCodecRegistry));
+    }
+
+    @Bean
+    public FilterRegistrationBean<AsyncJsonBodyFilter> asyncJsonBodyFilter(
+            ObjectMapper objectMapper, AsyncBodyProperties asyncBodyProperties,
+            ObjectProvider<RequestMappingHandlerMapping> requestMappingHandlerMapping) {
+        FilterRegistrationBean<AsyncJsonBodyFilter> registration = new FilterRegistrationBean<>(
+                new AsyncJsonBodyFilter(objectMapper.getFactory(), asyncBodyProperties, requestMappingHandlerMapping));
+        registration.setAsyncSupported(true);
+        return registration;
+    }
+}
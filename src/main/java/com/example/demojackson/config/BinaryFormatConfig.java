@@ -0,0 +1,31 @@
+package com.example.demojackson.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * 같은 DTO 를 JSON 외에 Smile (application/x-jackson-smile), CBOR (application/cbor) 로도 주고받는다
+ *
+ * Spring MVC 기본 Smile / CBOR converter 는 Jackson2ObjectMapperBuilder 를 새로 만들어서
+ * spring.jackson.* 설정과 Module 빈이 적용되지 않는다
+ * Spring Boot 가 JSON ObjectMapper 를 만들 때 쓰는 builder (prototype) 에 factory 만 바꿔서 같은 설정으로 만든다
+ * (HttpMessageConverters 가 같은 타입의 기본 converter 바로 앞에 두므로 이 빈이 먼저 선택된다)
+ */
+@Configuration
+public class BinaryFormatConfig {
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
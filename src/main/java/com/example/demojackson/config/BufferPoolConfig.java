@@ -0,0 +1,38 @@
+package com.example.demojackson.config;
+
+import com.example.demojackson.buffer.BufferPoolProperties;
+import com.example.demojackson.buffer.ByteBufferPool;
+import com.example.demojackson.buffer.PooledJsonHttpMessageConverter;
+import com.example.demojackson.buffer.PooledJsonWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * demo.jackson.buffer-pool.enabled=true 면 JSON 응답은 pool 의 buffer 에 serialize 한 뒤 보낸다 (기본은 꺼짐)
+ * MappingJackson2HttpMessageConverter 타입 빈이 있으면 Spring Boot 기본 JSON converter 는 만들어지지 않는다
+ */
+@Configuration
+@EnableConfigurationProperties(BufferPoolProperties.class)
+public class BufferPoolConfig {
+
+    @Bean
+    public ByteBufferPool byteBufferPool(BufferPoolProperties bufferPoolProperties) {
+        return new ByteBufferPool(bufferPoolProperties.isDirect(), bufferPoolProperties.getMaxPooledPerClass());
+    }
+
+    @Bean
+    public PooledJsonWriter pooledJsonWriter(ByteBufferPool byteBufferPool) {
+        return new PooledJsonWriter(byteBufferPool);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "demo.jackson.buffer-pool", name = "enabled")
+    public PooledJsonHttpMessageConverter pooledJsonHttpMessageConverter(
+            ObjectMapper objectMapper, ByteBufferPool byteBufferPool, BufferPoolProperties bufferPoolProperties) {
+        return new PooledJsonHttpMessageConverter(objectMapper, byteBufferPool,
+                bufferPoolProperties.getMaxBufferedSize().toBytes());
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.demojackson.config;
+
+import com.example.demojackson.validation.FailFastValidationArgumentResolver;
+import com.example.demojackson.validation.FailFastValidationModule;
+import com.example.demojackson.validation.FailFastValidationProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import javax.validation.Validator;
+
+/**
+ * demo.jackson.fail-fast-validation.enabled=true 면 @NotNull / @Size / @Min / @Max / @Pattern 을 읽는 중에 검사한다
+ * Module 빈은 Spring Boot 가 만드는 ObjectMapper (Smile / CBOR 포함) 에 등록되지만, 검사는 resolver 가
+ * @Valid / @Validated (Default 그룹) body 를 읽을 때만 켜므로 다른 읽기 (ingest, Smile / CBOR 변환 등) 는 그대로다
+ * body resolver 는 handler adapter 가 만들어진 뒤에 감싼다 (addArgumentResolvers 로는 기본 resolver 를 바꿀 수 없음)
+ */
+@Configuration
+@EnableConfigurationProperties(FailFastValidationProperties.class)
+@ConditionalOnProperty(prefix = "demo.jackson.fail-fast-validation", name = "enabled")
+public class FailFastValidationConfig {
+
+    @Bean
+    public FailFastValidationModule failFastValidationModule() {
+        return new FailFastValidationModule();
+    }
+
+    @Bean
+    public SmartInitializingSingleton failFastValidationArgumentResolvers(
+            ObjectProvider<RequestMappingHandlerAdapter> handlerAdapter, ObjectProvider<Validator> validator) {
+        return () -> handlerAdapter.ifAvailable(adapter -> adapter.setArgumentResolvers(
+                FailFastValidationArgumentResolver.decorate(adapter.getArgumentResolvers(), validator.getIfUnique())));
+    }
+}
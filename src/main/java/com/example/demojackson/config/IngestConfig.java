@@ -0,0 +1,32 @@
+package com.example.demojackson.config;
+
+import com.example.demojackson.ingest.BulkIngestService;
+import com.example.demojackson.ingest.IngestProperties;
+import com.example.demojackson.ingest.RecordBatchHandler;
+import com.example.demojackson.registry.JsonCodecRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * NDJSON bulk ingest, 처리 단계 (RecordBatchHandler) 빈이 없으면 받은 개수만 로그로 남긴다
+ */
+@Log4j2
+@Configuration
+@EnableConfigurationProperties(IngestProperties.class)
+public class IngestConfig {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RecordBatchHandler recordBatchHandler() {
+        return batch -> log.debug("received {} records", batch.size());
+    }
+
+    @Bean
+    public BulkIngestService bulkIngestService(JsonCodecRegistry jsonCodecRegistry, IngestProperties ingestProperties,
+                                               RecordBatchHandler recordBatchHandler) {
+        return new BulkIngestService(jsonCodecRegistry, ingestProperties, recordBatchHandler);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.demojackson.config;
+
+import com.example.demojackson.registry.JsonCodecRegistry;
+import com.example.demojackson.registry.RegistryProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * ObjectMapper 는 Spring Boot 가 만든 하나만 사용하고, 타입별 reader / writer 는 registry 에서 꺼내 쓴다
+ */
+@Configuration
+@EnableConfigurationProperties(RegistryProperties.class)
+public class JacksonConfig {
+
+    @Bean
+    public JsonCodecRegistry jsonCodecRegistry(ObjectMapper objectMapper, RegistryProperties registryProperties) {
+        return new JsonCodecRegistry(objectMapper, registryProperties);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.demojackson.config;
+
+import com.example.demojackson.registry.JsonCodecRegistry;
+import com.example.demojackson.responsecache.ResponseCacheProperties;
+import com.example.demojackson.responsecache.SerializedResponseCache;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 바뀌지 않는 DTO 응답을 serialize 한 bytes 로 캐시한다 (컨트롤러가 SerializedResponseCache.respond 로 사용)
+ * 누적값은 GET /jackson/response-cache 로 본다
+ */
+@Configuration
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCacheConfig {
+
+    @Bean
+    public SerializedResponseCache serializedResponseCache(JsonCodecRegistry jsonCodecRegistry,
+                                                           ResponseCacheProperties responseCacheProperties) {
+        return new SerializedResponseCache(jsonCodecRegistry, responseCacheProperties.getMaxSize().toBytes(),
+                responseCacheProperties.getSegments(), responseCacheProperties.isGzip(),
+                (int) responseCacheProperties.getGzipMinSize().toBytes(), responseCacheProperties.getEtagIndexSize());
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.demojackson.config;
+
+import com.example.demojackson.metrics.EndpointMetricsInterceptor;
+import com.example.demojackson.metrics.MetricsProperties;
+import com.example.demojackson.metrics.SerializationMetrics;
+import com.example.demojackson.metrics.SerializationMetricsModule;
+import com.fasterxml.jackson.core.JsonFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 타입별 / endpoint 별 serialize / deserialize metrics, GET /jackson/metrics 로 본다
+ * Module 빈은 Spring Boot 가 만드는 ObjectMapper (Smile / CBOR 포함) 에 등록된다
+ * 쓴 bytes 는 JSON ObjectMapper 만 기록한다 (Smile / CBOR 는 BinaryFormatConfig 가 factory 를 바꾼다)
+ */
+@Configuration
+@EnableConfigurationProperties(MetricsProperties.class)
+@ConditionalOnProperty(prefix = "demo.jackson.metrics", name = "enabled", matchIfMissing = true)
+public class SerializationMetricsConfig implements WebMvcConfigurer {
+    private final ObjectProvider<SerializationMetrics> serializationMetrics;
+
+    public SerializationMetricsConfig(ObjectProvider<SerializationMetrics> serializationMetrics) {
+        this.serializationMetrics = serializationMetrics;
+    }
+
+    @Bean
+    public SerializationMetrics serializationMetrics(MetricsProperties metricsProperties) {
+        return new SerializationMetrics(metricsProperties.isTrackAllocation());
+    }
+
+    @Bean
+    public SerializationMetricsModule serializationMetricsModule(SerializationMetrics serializationMetrics) {
+        return new SerializationMetricsModule(serializationMetrics);
+    }
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer countingJsonFactoryCustomizer() {
+        return builder -> builder.factory(SerializationMetricsModule.countingFactory(new JsonFactory()));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new EndpointMetricsInterceptor(serializationMetrics.getObject()));
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.demojackson.config;
+
+import com.example.demojackson.stringpool.StringPool;
+import com.example.demojackson.stringpool.StringPoolModule;
+import com.example.demojackson.stringpool.StringPoolProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * demo.jackson.string-pool.enabled=true 면 읽은 String 값을 pool 로 모은다
+ * Module 빈은 Spring Boot 가 만드는 ObjectMapper (Smile / CBOR 포함) 에 등록된다
+ */
+@Configuration
+@EnableConfigurationProperties(StringPoolProperties.class)
+@ConditionalOnProperty(prefix = "demo.jackson.string-pool", name = "enabled")
+public class StringPoolConfig {
+
+    @Bean
+    public StringPool stringPool(StringPoolProperties stringPoolProperties) {
+        return new StringPool(stringPoolProperties.getCapacity(), stringPoolProperties.getMaxLength());
+    }
+
+    @Bean
+    public StringPoolModule stringPoolModule(StringPool stringPool, StringPoolProperties stringPoolProperties) {
+        return new StringPoolModule(stringPool, stringPoolProperties.getTypes());
+    }
+}
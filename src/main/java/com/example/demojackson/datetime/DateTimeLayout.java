@@ -0,0 +1,331 @@
+package com.example.demojackson.datetime;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 고정 길이 날짜/시간 포맷의 손으로 작성한 parser / writer
+ * String, Calendar, DateTimeFormatter 를 거치지 않고 char[] 를 직접 읽고 쓴다
+ *
+ * 앞 19 자리는 모든 layout 이 같은 위치에 시간(11, 14, 17)을 두고, 날짜 필드 위치만 다르다
+ * ISO 는 뒤에 소수점 초(최대 9자리)와 offset (Z, +HH:MM, +HHMM, +HH) 이 올 수 있다
+ *
+ * hh (12시간제, AM/PM 없음) 는 SimpleDateFormat 과 같게 동작한다
+ * 읽을 때 12 는 0시, 13 이상은 그대로 / 쓸 때 0시와 12시는 12
+ */
+@Getter
+@AllArgsConstructor
+public enum DateTimeLayout {
+    YEAR_FIRST_12H("yyyy-MM-dd hh:mm:ss", 0, 5, 8, 4, 7, ' ', true),
+    YEAR_FIRST_24H("yyyy-MM-dd HH:mm:ss", 0, 5, 8, 4, 7, ' ', false),
+    DAY_FIRST_12H("dd-MM-yyyy hh:mm:ss", 6, 3, 0, 2, 5, ' ', true),
+    DAY_FIRST_24H("dd-MM-yyyy HH:mm:ss", 6, 3, 0, 2, 5, ' ', false),
+    ISO("yyyy-MM-dd'T'HH:mm:ss", 0, 5, 8, 4, 7, 'T', false);
+
+    /**
+     * parse 실패. 정상 값은 year 0~9999 범위라 이 값이 나올 수 없다
+     */
+    public static final long INVALID = Long.MIN_VALUE;
+    /**
+     * offset 이 없는 입력
+     */
+    public static final int NO_OFFSET = Integer.MIN_VALUE;
+    /**
+     * 가장 긴 출력 (ISO + 9자리 소수점 + offset)
+     */
+    public static final int MAX_LENGTH = 19 + 10 + 6;
+
+    private static final int FIXED_LENGTH = 19;
+    private static final long SECONDS_PER_DAY = 86_400L;
+    private static final int DAYS_0000_TO_1970 = 719_468;
+
+    private final String pattern;
+    private final int yearAt;
+    private final int monthAt;
+    private final int dayAt;
+    private final int firstDashAt;
+    private final int secondDashAt;
+    private final char separator;
+    private final boolean twelveHour;
+
+    /**
+     * @JsonFormat pattern 에 해당하는 layout, 지원하지 않는 pattern 이면 null
+     */
+    public static DateTimeLayout forPattern(String pattern) {
+        if (pattern == null || pattern.isEmpty()) {
+            return null;
+        }
+        for (DateTimeLayout layout : values()) {
+            if (layout.pattern.equals(pattern)) {
+                return layout;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 앞 19 자리를 읽어 local epoch second (UTC 로 간주한 초) 를 돌려준다
+     * 형식이 맞지 않으면 {@link #INVALID}
+     * 일은 31 까지 받고 월 범위를 넘으면 다음 달로 넘어간다 (SimpleDateFormat lenient)
+     */
+    public long parseLocalEpochSecond(char[] buf, int off, int len) {
+        return parseLocalEpochSecond(buf, off, len, true);
+    }
+
+    /**
+     * @param lenient false 면 일이 그 달의 길이 (윤년 포함) 를 넘을 때 {@link #INVALID} (java.time 과 동일)
+     */
+    public long parseLocalEpochSecond(char[] buf, int off, int len, boolean lenient) {
+        if (len < FIXED_LENGTH || (this != ISO && len != FIXED_LENGTH)) {
+            return INVALID;
+        }
+        if (buf[off + firstDashAt] != '-' || buf[off + secondDashAt] != '-' || buf[off + 10] != separator
+                || buf[off + 13] != ':' || buf[off + 16] != ':') {
+            return INVALID;
+        }
+        int year = digits(buf, off + yearAt, 4);
+        int month = digits(buf, off + monthAt, 2);
+        int day = digits(buf, off + dayAt, 2);
+        int hour = digits(buf, off + 11, 2);
+        int minute = digits(buf, off + 14, 2);
+        int second = digits(buf, off + 17, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return INVALID;
+        }
+        if (!lenient && day > lengthOfMonth(year, month)) {
+            return INVALID;
+        }
+        if (twelveHour && hour == 12) {
+            hour = 0;
+        }
+        if (this == ISO && tailEnd(buf, off, len) != off + len) {
+            return INVALID;
+        }
+        return epochDay(year, month, day) * SECONDS_PER_DAY + hour * 3600 + minute * 60 + second;
+    }
+
+    /**
+     * ISO 소수점 초, 없으면 0
+     */
+    public int parseNanos(char[] buf, int off, int len) {
+        if (this != ISO || len == FIXED_LENGTH || buf[off + FIXED_LENGTH] != '.') {
+            return 0;
+        }
+        int nanos = 0;
+        int scale = 100_000_000;
+        for (int i = off + FIXED_LENGTH + 1; i < off + len && isDigit(buf[i]); i++) {
+            nanos += (buf[i] - '0') * scale;
+            scale /= 10;
+        }
+        return nanos;
+    }
+
+    /**
+     * ISO offset 초, 없으면 {@link #NO_OFFSET}
+     */
+    public int parseOffsetSeconds(char[] buf, int off, int len) {
+        if (this != ISO) {
+            return NO_OFFSET;
+        }
+        int i = fractionEnd(buf, off, len);
+        int end = off + len;
+        if (i == end) {
+            return NO_OFFSET;
+        }
+        if (buf[i] == 'Z') {
+            return 0;
+        }
+        int sign = buf[i] == '-' ? -1 : 1;
+        int hours = digits(buf, i + 1, 2);
+        int minutes = 0;
+        if (end - i == 6) {
+            minutes = digits(buf, i + 4, 2);
+        } else if (end - i == 5) {
+            minutes = digits(buf, i + 3, 2);
+        }
+        return sign * (hours * 3600 + minutes * 60);
+    }
+
+    /**
+     * ISO 입력이 숫자 offset (+HH:MM, +HHMM, +HH) 으로 끝나는지, 'Z' 는 false
+     */
+    public boolean hasNumericOffset(char[] buf, int off, int len) {
+        if (this != ISO) {
+            return false;
+        }
+        int i = fractionEnd(buf, off, len);
+        return i < off + len && buf[i] != 'Z';
+    }
+
+    /**
+     * local epoch second 와 nanos 를 이 layout 으로 쓰고 길이를 돌려준다
+     * ISO 는 소수점 초를 끝의 0 을 빼고 붙인다 (ISO_LOCAL_DATE_TIME 과 같음, nanos 가 0 이면 생략)
+     *
+     * @return year 가 0~9999 (yyyy pattern 은 year-of-era 라 1~9999) 를 벗어나면 -1 (호출하는 쪽이 기본 serializer 로 넘긴다)
+     */
+    public int format(long localEpochSecond, int nanos, char[] out, int off) {
+        return format(localEpochSecond, nanos, 0, out, off);
+    }
+
+    /**
+     * @param minFractionDigits ISO 소수점 초의 최소 자리 수 (StdDateFormat 처럼 항상 .SSS 를 쓰려면 3)
+     */
+    public int format(long localEpochSecond, int nanos, int minFractionDigits, char[] out, int off) {
+        long epochDay = Math.floorDiv(localEpochSecond, SECONDS_PER_DAY);
+        int secondOfDay = (int) Math.floorMod(localEpochSecond, SECONDS_PER_DAY);
+
+        // civil_from_days (Howard Hinnant)
+        long z = epochDay + DAYS_0000_TO_1970;
+        long era = Math.floorDiv(z, 146_097);
+        int doe = (int) (z - era * 146_097);
+        int yoe = (doe - doe / 1460 + doe / 36_524 - doe / 146_096) / 365;
+        int doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        int mp = (5 * doy + 2) / 153;
+        int day = doy - (153 * mp + 2) / 5 + 1;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        long year = yoe + era * 400 + (month <= 2 ? 1 : 0);
+        if (year < (this == ISO ? 0 : 1) || year > 9999) {
+            return -1;
+        }
+
+        int hour = secondOfDay / 3600;
+        if (twelveHour) {
+            hour = hour % 12 == 0 ? 12 : hour % 12;
+        }
+
+        writeDigits((int) year, out, off + yearAt, 4);
+        out[off + firstDashAt] = '-';
+        writeDigits(month, out, off + monthAt, 2);
+        out[off + secondDashAt] = '-';
+        writeDigits(day, out, off + dayAt, 2);
+        out[off + 10] = separator;
+        writeDigits(hour, out, off + 11, 2);
+        out[off + 13] = ':';
+        writeDigits(secondOfDay / 60 % 60, out, off + 14, 2);
+        out[off + 16] = ':';
+        writeDigits(secondOfDay % 60, out, off + 17, 2);
+
+        int pos = off + FIXED_LENGTH;
+        if (this == ISO && (nanos != 0 || minFractionDigits > 0)) {
+            int digits = 9;
+            while (digits > minFractionDigits && nanos % 10 == 0) {
+                nanos /= 10;
+                digits--;
+            }
+            if (digits > 0) {
+                out[pos++] = '.';
+                writeDigits(nanos, out, pos, digits);
+                pos += digits;
+            }
+        }
+        return pos - off;
+    }
+
+    /**
+     * +HH:MM 형식 offset 을 쓰고 길이(6)를 돌려준다
+     */
+    public static int formatOffset(int offsetSeconds, char[] out, int off) {
+        out[off] = offsetSeconds < 0 ? '-' : '+';
+        int abs = Math.abs(offsetSeconds);
+        writeDigits(abs / 3600, out, off + 1, 2);
+        out[off + 3] = ':';
+        writeDigits(abs / 60 % 60, out, off + 4, 2);
+        return 6;
+    }
+
+    /**
+     * days_from_civil (Howard Hinnant), 일 수가 월 범위를 넘으면 SimpleDateFormat lenient 처럼 다음 달로 넘어간다
+     */
+    static long epochDay(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        int yoe = (int) (y - era * 400);
+        int doy = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146_097 + doe - DAYS_0000_TO_1970;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        if (month == 2) {
+            boolean leap = (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+            return leap ? 29 : 28;
+        }
+        return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+    }
+
+    private int fractionEnd(char[] buf, int off, int len) {
+        int i = off + FIXED_LENGTH;
+        int end = off + len;
+        if (i < end && buf[i] == '.') {
+            i++;
+            while (i < end && isDigit(buf[i])) {
+                i++;
+            }
+        }
+        return i;
+    }
+
+    /**
+     * 소수점 초와 offset 까지 읽은 위치, 형식이 틀리면 -1
+     */
+    private int tailEnd(char[] buf, int off, int len) {
+        int i = off + FIXED_LENGTH;
+        int end = off + len;
+        if (i < end && buf[i] == '.') {
+            int start = ++i;
+            while (i < end && isDigit(buf[i])) {
+                i++;
+            }
+            if (i == start || i - start > 9) {
+                return -1;
+            }
+        }
+        if (i == end) {
+            return i;
+        }
+        if (buf[i] == 'Z') {
+            return i + 1;
+        }
+        if (buf[i] != '+' && buf[i] != '-') {
+            return -1;
+        }
+        int rest = end - i - 1;
+        if (rest == 2 && digits(buf, i + 1, 2) >= 0) {
+            return end;
+        }
+        if (rest == 4 && digits(buf, i + 1, 4) >= 0) {
+            return end;
+        }
+        if (rest == 5 && buf[i + 3] == ':' && digits(buf, i + 1, 2) >= 0 && digits(buf, i + 4, 2) >= 0) {
+            return end;
+        }
+        return -1;
+    }
+
+    /**
+     * 숫자가 아닌 문자가 있으면 -1
+     */
+    private static int digits(char[] buf, int off, int count) {
+        int value = 0;
+        for (int i = off; i < off + count; i++) {
+            char c = buf[i];
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static void writeDigits(int value, char[] out, int off, int count) {
+        for (int i = off + count - 1; i >= off; i--) {
+            out[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
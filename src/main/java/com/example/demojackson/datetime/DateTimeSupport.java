@@ -0,0 +1,48 @@
+package com.example.demojackson.datetime;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+
+/**
+ * serializer / deserializer 공용 도우미
+ */
+final class DateTimeSupport {
+    /**
+     * 쓰기용 버퍼, 호출마다 char[] 를 만들지 않도록 스레드별로 재사용
+     */
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[DateTimeLayout.MAX_LENGTH]);
+
+    private DateTimeSupport() {
+    }
+
+    static char[] buffer() {
+        return BUFFER.get();
+    }
+
+    /**
+     * 고정 offset zone (UTC 등) 이면 그 offset, 아니면 {@link DateTimeLayout#NO_OFFSET}
+     */
+    static int fixedOffsetSeconds(ZoneId zone) {
+        ZoneRules rules = zone.getRules();
+        return rules.isFixedOffset() ? rules.getOffset(Instant.EPOCH).getTotalSeconds() : DateTimeLayout.NO_OFFSET;
+    }
+
+    /**
+     * local 시각이 해당 zone 에서 갖는 offset (ZonedDateTime 과 같은 규칙)
+     * local 앞뒤 18시간 지점의 offset 이 같으면 그 값을 쓰고, 다르면 전환 구간이므로 유효한 offset 을 고른다
+     * 겹치는 구간은 이전 offset, 건너뛰는 구간은 전환 이전 offset (결과가 gap 만큼 뒤로 밀림)
+     */
+    static int offsetSecondsOfLocal(ZoneRules rules, long localEpochSecond) {
+        int before = offsetSecondsOfInstant(rules, localEpochSecond - 64_800);
+        int after = offsetSecondsOfInstant(rules, localEpochSecond + 64_800);
+        if (before == after || offsetSecondsOfInstant(rules, localEpochSecond - before) == before) {
+            return before;
+        }
+        return offsetSecondsOfInstant(rules, localEpochSecond - after) == after ? after : before;
+    }
+
+    static int offsetSecondsOfInstant(ZoneRules rules, long epochSecond) {
+        return rules.getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.demojackson.datetime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.DateDeserializers.DateDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+
+import java.io.IOException;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+import java.util.Date;
+
+/**
+ * java.util.Date deserializer
+ * parser 의 text buffer (getTextCharacters) 를 그대로 읽으므로 중간 String / Calendar 를 만들지 않는다
+ *
+ * - @JsonFormat pattern 이 {@link DateTimeLayout} 중 하나면 해당 layout 으로만 읽음
+ * - pattern 이 없으면 ISO 를 먼저 시도하고, 아니면 Jackson 기본 DateDeserializer 로 넘김
+ * - 지원하지 않는 pattern 이면 Jackson 기본 DateDeserializer 를 그대로 사용
+ *
+ * 기존 CustomDateDeserializer 대체 예
+ * <pre>
+ * &#64;JsonFormat(pattern = "yyyy-MM-dd hh:mm:ss", timezone = "Asia/Seoul")
+ * &#64;JsonDeserialize(using = FastDateDeserializer.class)
+ * public Date eventDate;
+ * </pre>
+ */
+public class FastDateDeserializer extends StdScalarDeserializer<Date> implements ContextualDeserializer {
+    private final DateTimeLayout layout;
+    private final ZoneId zone;
+    private final ZoneRules rules;
+    private final int fixedOffset;
+    private final JsonDeserializer<?> fallback;
+
+    public FastDateDeserializer() {
+        this(null);
+    }
+
+    /**
+     * @param zone @JsonFormat timezone 이 없을 때 사용할 zone, null 이면 ObjectMapper 의 TimeZone
+     */
+    public FastDateDeserializer(ZoneId zone) {
+        this(null, zone, DateDeserializer.instance);
+    }
+
+    protected FastDateDeserializer(DateTimeLayout layout, ZoneId zone, JsonDeserializer<?> fallback) {
+        super(Date.class);
+        this.layout = layout;
+        this.zone = zone;
+        this.rules = zone == null ? null : zone.getRules();
+        this.fixedOffset = zone == null ? DateTimeLayout.NO_OFFSET : DateTimeSupport.fixedOffsetSeconds(zone);
+        this.fallback = fallback;
+    }
+
+    @Override
+    public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property) throws JsonMappingException {
+        JsonFormat.Value format = findFormatOverrides(ctxt, property, handledType());
+        JsonDeserializer<?> stock = DateDeserializer.instance.createContextual(ctxt, property);
+
+        DateTimeLayout contextLayout = DateTimeLayout.forPattern(format.getPattern());
+        if (format.hasPattern() && contextLayout == null) {
+            return stock;
+        }
+        ZoneId contextZone = format.hasTimeZone() ? format.getTimeZone().toZoneId()
+                : zone != null ? zone : ctxt.getTimeZone().toZoneId();
+        return new FastDateDeserializer(contextLayout, contextZone, stock);
+    }
+
+    @Override
+    public Date deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (!p.hasToken(JsonToken.VALUE_STRING) || rules == null) {
+            return (Date) fallback.deserialize(p, ctxt);
+        }
+        char[] buf = p.getTextCharacters();
+        int off = p.getTextOffset();
+        int len = p.getTextLength();
+
+        DateTimeLayout parseLayout = layout == null ? DateTimeLayout.ISO : layout;
+        long local = parseLayout.parseLocalEpochSecond(buf, off, len);
+        if (local == DateTimeLayout.INVALID) {
+            if (layout == null) {
+                return (Date) fallback.deserialize(p, ctxt);
+            }
+            return (Date) ctxt.handleWeirdStringValue(Date.class, p.getText(),
+                    "expected pattern '%s'", layout.getPattern());
+        }
+
+        int offset = parseLayout.parseOffsetSeconds(buf, off, len);
+        if (offset == DateTimeLayout.NO_OFFSET) {
+            offset = fixedOffset != DateTimeLayout.NO_OFFSET ? fixedOffset
+                    : DateTimeSupport.offsetSecondsOfLocal(rules, local);
+        }
+        int nanos = parseLayout.parseNanos(buf, off, len);
+        return new Date((local - offset) * 1000L + nanos / 1_000_000);
+    }
+}
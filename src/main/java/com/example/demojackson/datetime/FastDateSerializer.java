@@ -0,0 +1,120 @@
+package com.example.demojackson.datetime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.DateSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.StdDateFormat;
+
+import java.io.IOException;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * java.util.Date serializer
+ * 스레드별로 재사용하는 char[] 에 직접 쓰고 writeString(char[], int, int) 으로 넘긴다
+ *
+ * - @JsonFormat pattern 이 {@link DateTimeLayout} 중 하나면 해당 layout
+ * - pattern 없이 WRITE_DATES_AS_TIMESTAMPS 가 꺼져 있거나 shape 가 STRING 이면 ISO (+HH:MM offset 포함)
+ * - 그 외 (timestamp, 지원하지 않는 pattern) 는 Jackson 기본 DateSerializer
+ * - year 가 9999 를 넘거나 Gregorian 전환 (1582-10-15) 이전이면 같은 pattern / zone 의 StdDateFormat, SimpleDateFormat 으로 쓴다
+ *   (GregorianCalendar 는 그 이전을 Julian 으로 쓴다)
+ */
+public class FastDateSerializer extends StdSerializer<Date> implements ContextualSerializer {
+    private static final long GREGORIAN_CUTOVER = new GregorianCalendar().getGregorianChange().getTime();
+
+    private final DateTimeLayout layout;
+    private final ZoneId zone;
+    private final ZoneRules rules;
+    private final int fixedOffset;
+    private final DateSerializer fallback;
+
+    public FastDateSerializer() {
+        this(null);
+    }
+
+    /**
+     * @param zone @JsonFormat timezone 이 없을 때 사용할 zone, null 이면 ObjectMapper 의 TimeZone
+     */
+    public FastDateSerializer(ZoneId zone) {
+        this(DateTimeLayout.ISO, zone, DateSerializer.instance);
+    }
+
+    protected FastDateSerializer(DateTimeLayout layout, ZoneId zone, DateSerializer fallback) {
+        super(Date.class);
+        this.layout = layout;
+        this.zone = zone;
+        this.rules = zone == null ? null : zone.getRules();
+        this.fixedOffset = zone == null ? DateTimeLayout.NO_OFFSET : DateTimeSupport.fixedOffsetSeconds(zone);
+        this.fallback = fallback;
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider prov, BeanProperty property) throws JsonMappingException {
+        JsonFormat.Value format = findFormatOverrides(prov, property, handledType());
+
+        DateTimeLayout contextLayout = DateTimeLayout.forPattern(format.getPattern());
+        if (contextLayout == null) {
+            boolean asString = format.getShape() == JsonFormat.Shape.STRING
+                    || (!format.getShape().isNumeric() && !prov.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+            if (format.hasPattern() || !asString) {
+                return DateSerializer.instance.createContextual(prov, property);
+            }
+            contextLayout = DateTimeLayout.ISO;
+        }
+        ZoneId contextZone = format.hasTimeZone() ? format.getTimeZone().toZoneId()
+                : zone != null ? zone : prov.getTimeZone().toZoneId();
+        Locale locale = format.hasLocale() ? format.getLocale() : prov.getLocale();
+        TimeZone timeZone = TimeZone.getTimeZone(contextZone);
+        DateFormat fallbackFormat;
+        if (contextLayout == DateTimeLayout.ISO) {
+            fallbackFormat = new StdDateFormat().withTimeZone(timeZone).withLocale(locale);
+        } else {
+            fallbackFormat = new SimpleDateFormat(contextLayout.getPattern(), locale);
+            fallbackFormat.setTimeZone(timeZone);
+        }
+        return new FastDateSerializer(contextLayout, contextZone, new DateSerializer(Boolean.FALSE, fallbackFormat));
+    }
+
+    @Override
+    public void serialize(Date value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (rules == null) {
+            // createContextual 을 거치지 않은 경우
+            DateSerializer.instance.serialize(value, gen, provider);
+            return;
+        }
+        long millis = value.getTime();
+        if (millis < GREGORIAN_CUTOVER) {
+            fallback.serialize(value, gen, provider);
+            return;
+        }
+        long epochSecond = Math.floorDiv(millis, 1000L);
+        int nanos = (int) Math.floorMod(millis, 1000L) * 1_000_000;
+        int offset = fixedOffset != DateTimeLayout.NO_OFFSET ? fixedOffset
+                : DateTimeSupport.offsetSecondsOfInstant(rules, epochSecond);
+
+        char[] buf = DateTimeSupport.buffer();
+        // StdDateFormat 처럼 millis 가 0 이어도 .000
+        int len = layout.format(epochSecond + offset, nanos, 3, buf, 0);
+        if (len < 0) {
+            fallback.serialize(value, gen, provider);
+            return;
+        }
+        if (layout == DateTimeLayout.ISO) {
+            len += DateTimeLayout.formatOffset(offset, buf, len);
+        }
+        gen.writeString(buf, 0, len);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.demojackson.datetime;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * java.util.Date / LocalDateTime 을 {@link DateTimeLayout} 로 읽고 쓰는 모듈
+ * JavaTimeModule 보다 뒤에 등록해야 LocalDateTime 처리가 이 모듈로 넘어온다
+ *
+ * <pre>
+ * new ObjectMapper()
+ *         .registerModule(new JavaTimeModule())
+ *         .registerModule(new FastDateTimeModule());
+ * </pre>
+ */
+public class FastDateTimeModule extends SimpleModule {
+
+    public FastDateTimeModule() {
+        this(null);
+    }
+
+    /**
+     * @param zone java.util.Date 에 @JsonFormat timezone 이 없을 때 사용할 zone, null 이면 ObjectMapper 의 TimeZone
+     */
+    public FastDateTimeModule(ZoneId zone) {
+        super(FastDateTimeModule.class.getSimpleName());
+        addSerializer(Date.class, new FastDateSerializer(zone));
+        addDeserializer(Date.class, new FastDateDeserializer(zone));
+        addSerializer(LocalDateTime.class, new FastLocalDateTimeSerializer());
+        addDeserializer(LocalDateTime.class, new FastLocalDateTimeDeserializer());
+    }
+}
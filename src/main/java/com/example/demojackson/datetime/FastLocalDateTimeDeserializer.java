@@ -0,0 +1,73 @@
+package com.example.demojackson.datetime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * LocalDateTime deserializer
+ * {@link FastDateDeserializer} 와 같은 규칙으로 layout 을 고르고, 나머지는 JavaTimeModule 의 LocalDateTimeDeserializer 로 넘긴다
+ * JavaTimeModule 과 같은 값만 받는다
+ * - 일은 그 달의 길이까지 (2021-02-31 은 InvalidFormatException, 다음 달로 넘기지 않음)
+ * - ISO 입력의 'Z' 는 무시하고, 숫자 offset (+09:00 등) 은 LocalDateTimeDeserializer 로 넘겨 같은 예외를 낸다
+ *
+ * JavaTimeModule 은 "hh" (AM/PM 없음) pattern 을 읽지 못하지만 여기서는 SimpleDateFormat 처럼 읽는다
+ */
+public class FastLocalDateTimeDeserializer extends StdScalarDeserializer<LocalDateTime> implements ContextualDeserializer {
+    private final DateTimeLayout layout;
+    private final JsonDeserializer<?> fallback;
+
+    public FastLocalDateTimeDeserializer() {
+        this(null, LocalDateTimeDeserializer.INSTANCE);
+    }
+
+    protected FastLocalDateTimeDeserializer(DateTimeLayout layout, JsonDeserializer<?> fallback) {
+        super(LocalDateTime.class);
+        this.layout = layout;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property) throws JsonMappingException {
+        JsonFormat.Value format = findFormatOverrides(ctxt, property, handledType());
+        JsonDeserializer<?> stock = LocalDateTimeDeserializer.INSTANCE.createContextual(ctxt, property);
+
+        DateTimeLayout contextLayout = DateTimeLayout.forPattern(format.getPattern());
+        if (format.hasPattern() && contextLayout == null) {
+            return stock;
+        }
+        return new FastLocalDateTimeDeserializer(contextLayout, stock);
+    }
+
+    @Override
+    public LocalDateTime deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (!p.hasToken(JsonToken.VALUE_STRING)) {
+            return (LocalDateTime) fallback.deserialize(p, ctxt);
+        }
+        char[] buf = p.getTextCharacters();
+        int off = p.getTextOffset();
+        int len = p.getTextLength();
+
+        DateTimeLayout parseLayout = layout == null ? DateTimeLayout.ISO : layout;
+        long local = parseLayout.parseLocalEpochSecond(buf, off, len, false);
+        if (local == DateTimeLayout.INVALID || parseLayout.hasNumericOffset(buf, off, len)) {
+            if (layout == null) {
+                return (LocalDateTime) fallback.deserialize(p, ctxt);
+            }
+            return (LocalDateTime) ctxt.handleWeirdStringValue(LocalDateTime.class, p.getText(),
+                    "expected pattern '%s'", layout.getPattern());
+        }
+        return LocalDateTime.ofEpochSecond(local, parseLayout.parseNanos(buf, off, len), ZoneOffset.UTC);
+    }
+}
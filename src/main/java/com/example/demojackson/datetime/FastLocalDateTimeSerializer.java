@@ -0,0 +1,67 @@
+package com.example.demojackson.datetime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * LocalDateTime serializer
+ * {@link FastDateSerializer} 와 같은 규칙으로 layout 을 고르고, timestamp (배열) 출력과
+ * 지원하지 않는 pattern, 4 자리로 쓸 수 없는 year (0~9999 밖) 는 JavaTimeModule 의 LocalDateTimeSerializer 를 그대로 사용한다
+ */
+public class FastLocalDateTimeSerializer extends StdSerializer<LocalDateTime> implements ContextualSerializer {
+    private final DateTimeLayout layout;
+    private final JsonSerializer<LocalDateTime> fallback;
+
+    public FastLocalDateTimeSerializer() {
+        this(DateTimeLayout.ISO, LocalDateTimeSerializer.INSTANCE);
+    }
+
+    protected FastLocalDateTimeSerializer(DateTimeLayout layout, JsonSerializer<LocalDateTime> fallback) {
+        super(LocalDateTime.class);
+        this.layout = layout;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider prov, BeanProperty property) throws JsonMappingException {
+        JsonFormat.Value format = findFormatOverrides(prov, property, handledType());
+        @SuppressWarnings("unchecked")
+        JsonSerializer<LocalDateTime> stock = (JsonSerializer<LocalDateTime>) LocalDateTimeSerializer.INSTANCE
+                .createContextual(prov, property);
+
+        DateTimeLayout contextLayout = DateTimeLayout.forPattern(format.getPattern());
+        if (contextLayout == null) {
+            boolean asString = format.getShape() == JsonFormat.Shape.STRING
+                    || (!format.getShape().isNumeric() && format.getShape() != JsonFormat.Shape.ARRAY
+                    && !prov.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+            if (format.hasPattern() || !asString) {
+                return stock;
+            }
+            contextLayout = DateTimeLayout.ISO;
+        }
+        return new FastLocalDateTimeSerializer(contextLayout, stock);
+    }
+
+    @Override
+    public void serialize(LocalDateTime value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        char[] buf = DateTimeSupport.buffer();
+        int len = layout.format(value.toEpochSecond(ZoneOffset.UTC), value.getNano(), buf, 0);
+        if (len < 0) {
+            fallback.serialize(value, gen, provider);
+            return;
+        }
+        gen.writeString(buf, 0, len);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.demojackson.enumcodec;
+
+import java.util.Arrays;
+
+/**
+ * creator 인자 배열 (값의 equals 기준) → 상수 표
+ *
+ * 조회는 lock 없이 현재 표를 읽고 (key 객체 / iterator 할당 없음), 추가는 표를 복사해서 바꾼다
+ * maxEntries 가지가 차면 더 추가하지 않는다 (추가는 처음 보는 인자 조합에서만 일어난다)
+ */
+final class CreatorArgsTable {
+    private final int maxEntries;
+    private volatile Table table = new Table(new Object[4][], new Object[4], 0);
+
+    CreatorArgsTable(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    Object get(Object[] args) {
+        return table.get(args);
+    }
+
+    synchronized void put(Object[] args, Object value) {
+        Table current = table;
+        if (current.size >= maxEntries || current.get(args) != null) {
+            return;
+        }
+        int capacity = current.keys.length;
+        while (capacity < (current.size + 1) * 2) {
+            capacity <<= 1;
+        }
+        Table next = new Table(new Object[capacity][], new Object[capacity], current.size + 1);
+        for (int i = 0; i < current.keys.length; i++) {
+            if (current.keys[i] != null) {
+                next.insert(current.keys[i], current.values[i]);
+            }
+        }
+        next.insert(args.clone(), value);
+        table = next;
+    }
+
+    private static final class Table {
+        final Object[][] keys;
+        final Object[] values;
+        final int size;
+
+        Table(Object[][] keys, Object[] values, int size) {
+            this.keys = keys;
+            this.values = values;
+            this.size = size;
+        }
+
+        Object get(Object[] args) {
+            int mask = keys.length - 1;
+            for (int slot = hash(args) & mask; ; slot = (slot + 1) & mask) {
+                Object[] key = keys[slot];
+                if (key == null) {
+                    return null;
+                }
+                if (Arrays.equals(key, args)) {
+                    return values[slot];
+                }
+            }
+        }
+
+        // 만드는 동안에만 쓴다
+        void insert(Object[] key, Object value) {
+            int mask = keys.length - 1;
+            int slot = hash(key) & mask;
+            while (keys[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+        }
+
+        private static int hash(Object[] args) {
+            int h = Arrays.hashCode(args);
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.demojackson.enumcodec;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.deser.ValueInstantiator;
+import com.fasterxml.jackson.databind.deser.std.EnumDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.std.JsonValueSerializer;
+import com.fasterxml.jackson.databind.util.ClassUtil;
+
+/**
+ * enum 값을 미리 만든 표로 읽고 쓰는 모듈
+ *
+ * <pre>
+ * new ObjectMapper().registerModule(new EnumCodecModule());
+ *
+ * // PROPERTIES 방식 @JsonCreator enum 의 결과도 인자별로 기억 (최대 1024 가지)
+ * new ObjectMapper().registerModule(new EnumCodecModule(1024));
+ * </pre>
+ *
+ * - String 을 돌려주는 @JsonValue 가 있는 enum: 상수마다 @JsonValue 값을 UTF-8 로 encode 해 두고 그대로 쓴다
+ *   ({@link PrecomputedEnumSerializer})
+ * - 문자열로 읽는 enum: 이름 표를 parser 의 문자 버퍼로 바로 조회한다 ({@link TableEnumDeserializer})
+ * - PROPERTIES 방식 @JsonCreator enum: creatorCacheSize 가 0 보다 크면 같은 creator 인자로 만든 상수를 기억해서
+ *   factory 호출을 건너뛴다 ({@link MemoizingEnumDeserializer}), factory 가 인자만으로 상수를 고르는 경우에만 켠다
+ * 표에 없는 값, 타입 정보, custom serializer / deserializer 는 Jackson 의 처리를 그대로 쓴다
+ */
+public class EnumCodecModule extends SimpleModule {
+
+    public EnumCodecModule() {
+        this(0);
+    }
+
+    /**
+     * @param creatorCacheSize @JsonCreator enum 마다 기억하는 인자 조합 수 (0 이면 기억하지 않음)
+     */
+    public EnumCodecModule(int creatorCacheSize) {
+        super(EnumCodecModule.class.getSimpleName());
+        if (creatorCacheSize < 0) {
+            throw new IllegalArgumentException("creatorCacheSize must not be negative: " + creatorCacheSize);
+        }
+        setSerializerModifier(new EnumSerializerModifier());
+        setDeserializerModifier(new EnumDeserializerModifier(creatorCacheSize));
+    }
+
+    static class EnumSerializerModifier extends BeanSerializerModifier {
+
+        @Override
+        public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDesc,
+                                                  JsonSerializer<?> serializer) {
+            if (serializer.getClass() != JsonValueSerializer.class || !ClassUtil.isEnumType(beanDesc.getBeanClass())) {
+                return serializer;
+            }
+            AnnotatedMember accessor = beanDesc.findJsonValueAccessor();
+            if (accessor == null || accessor.getRawType() != String.class) {
+                return serializer;
+            }
+            try {
+                return new PrecomputedEnumSerializer(ClassUtil.findEnumType(beanDesc.getBeanClass()), accessor,
+                        (JsonValueSerializer) serializer);
+            } catch (IllegalArgumentException e) {
+                // @JsonValue 호출 실패는 직렬화할 때 Jackson 이 같은 오류를 낸다
+                return serializer;
+            }
+        }
+    }
+
+    static class EnumDeserializerModifier extends BeanDeserializerModifier {
+        private static final String FACTORY_BASED =
+                "com.fasterxml.jackson.databind.deser.std.FactoryBasedEnumDeserializer";
+
+        private final int creatorCacheSize;
+
+        EnumDeserializerModifier(int creatorCacheSize) {
+            this.creatorCacheSize = creatorCacheSize;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public JsonDeserializer<?> modifyEnumDeserializer(DeserializationConfig config, JavaType type,
+                                                          BeanDescription beanDesc, JsonDeserializer<?> deserializer) {
+            if (deserializer.getClass() == EnumDeserializer.class) {
+                // BasicDeserializerFactory 와 같은 설정으로 만든다
+                return new TableEnumDeserializer((EnumDeserializer) deserializer,
+                        config.isEnabled(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS));
+            }
+            // FactoryBasedEnumDeserializer 는 package-private 이라 이름으로 구분한다
+            if (creatorCacheSize > 0 && deserializer.getClass().getName().equals(FACTORY_BASED)) {
+                ValueInstantiator instantiator = ((StdDeserializer<?>) deserializer).getValueInstantiator();
+                SettableBeanProperty[] creatorProps = instantiator == null || !instantiator.canCreateFromObjectWith()
+                        ? null : instantiator.getFromObjectArguments(config);
+                if (creatorProps != null) {
+                    return new MemoizingEnumDeserializer((JsonDeserializer<Object>) deserializer, instantiator,
+                            creatorProps, creatorCacheSize);
+                }
+            }
+            return deserializer;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.demojackson.enumcodec;
+
+import com.fasterxml.jackson.databind.util.CompactStringObjectMap;
+
+import java.util.List;
+
+/**
+ * enum 이름 (@JsonValue / @JsonProperty 값 포함) → 상수 open addressing 표
+ * parser 의 문자 버퍼 구간으로 바로 조회하므로 찾을 때 String 을 만들지 않는다
+ */
+final class EnumNameTable {
+    private final char[][] names;
+    private final Object[] values;
+    private final int mask;
+
+    EnumNameTable(CompactStringObjectMap lookup) {
+        List<String> keys = lookup.keys();
+        int capacity = 4;
+        while (capacity < keys.size() * 2) {
+            capacity <<= 1;
+        }
+        names = new char[capacity][];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        for (String key : keys) {
+            char[] name = key.toCharArray();
+            int slot = hash(name, 0, name.length) & mask;
+            while (names[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            names[slot] = name;
+            values[slot] = lookup.find(key);
+        }
+    }
+
+    /**
+     * @return buffer [offset, offset + length) 와 같은 이름의 상수, 없으면 null
+     */
+    Object find(char[] buffer, int offset, int length) {
+        for (int slot = hash(buffer, offset, length) & mask; ; slot = (slot + 1) & mask) {
+            char[] name = names[slot];
+            if (name == null) {
+                return null;
+            }
+            if (name.length == length && equals(name, buffer, offset)) {
+                return values[slot];
+            }
+        }
+    }
+
+    private static boolean equals(char[] name, char[] buffer, int offset) {
+        for (int i = 0; i < name.length; i++) {
+            if (name[i] != buffer[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(char[] buffer, int offset, int length) {
+        int h = 0;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            h = 31 * h + buffer[i];
+        }
+        return h ^ (h >>> 16);
+    }
+}
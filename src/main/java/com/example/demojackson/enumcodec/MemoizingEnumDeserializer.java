@@ -0,0 +1,144 @@
+package com.example.demojackson.enumcodec;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.deser.ValueInstantiator;
+import com.fasterxml.jackson.databind.deser.impl.PropertyBasedCreator;
+import com.fasterxml.jackson.databind.deser.impl.PropertyValueBuffer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.util.ClassUtil;
+
+import java.io.IOException;
+
+/**
+ * PROPERTIES 방식 @JsonCreator 로 만드는 enum 의 deserializer
+ *
+ * FactoryBasedEnumDeserializer 와 같은 방식으로 creator 인자를 읽고, 인자 조합별로 factory 가 돌려준 상수를
+ * {@link CreatorArgsTable} 에 기억해서 다음부터는 factory 호출 (reflection) 을 건너뛴다
+ * 객체가 아닌 입력은 Jackson 의 deserializer 가 처리한다
+ */
+public class MemoizingEnumDeserializer extends StdDeserializer<Object> implements ContextualDeserializer {
+    private final JsonDeserializer<Object> delegate;
+    private final ValueInstantiator instantiator;
+    private final SettableBeanProperty[] creatorProps;
+    private final CreatorArgsTable constants;
+
+    // FactoryBasedEnumDeserializer 처럼 처음 읽을 때 만든다 (resolvedProps 는 creator 보다 먼저 쓴다)
+    private transient SettableBeanProperty[] resolvedProps;
+    private transient volatile PropertyBasedCreator creator;
+
+    MemoizingEnumDeserializer(JsonDeserializer<Object> delegate, ValueInstantiator instantiator,
+                              SettableBeanProperty[] creatorProps, int maxEntries) {
+        this(delegate, instantiator, creatorProps, new CreatorArgsTable(maxEntries));
+    }
+
+    private MemoizingEnumDeserializer(JsonDeserializer<Object> delegate, ValueInstantiator instantiator,
+                                      SettableBeanProperty[] creatorProps, CreatorArgsTable constants) {
+        super(delegate.handledType());
+        this.delegate = delegate;
+        this.instantiator = instantiator;
+        this.creatorProps = creatorProps;
+        this.constants = constants;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property)
+            throws JsonMappingException {
+        JsonDeserializer<Object> contextual = (JsonDeserializer<Object>)
+                ctxt.handleSecondaryContextualization(delegate, property, ctxt.constructType(handledType()));
+        if (contextual == delegate) {
+            return this;
+        }
+        return new MemoizingEnumDeserializer(contextual, instantiator, creatorProps, constants);
+    }
+
+    @Override
+    public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (!p.isExpectedStartObjectToken()) {
+            return delegate.deserialize(p, ctxt);
+        }
+        PropertyBasedCreator creator = this.creator;
+        if (creator == null) {
+            creator = PropertyBasedCreator.construct(ctxt, instantiator, creatorProps,
+                    ctxt.isEnabled(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES));
+            // 누락된 인자의 기본값은 deserializer 가 정해진 프로퍼티로 구한다
+            SettableBeanProperty[] resolved = new SettableBeanProperty[creatorProps.length];
+            for (int i = 0; i < resolved.length; i++) {
+                resolved[i] = creator.findCreatorProperty(creatorProps[i].getName());
+            }
+            this.resolvedProps = resolved;
+            this.creator = creator;
+        }
+        p.nextToken();
+
+        // FactoryBasedEnumDeserializer.deserializeEnumUsingPropertyBased 와 같다 (모르는 프로퍼티 값은 건너뛰지 않는다)
+        PropertyValueBuffer buffer = creator.startBuilding(p, ctxt, null);
+        for (JsonToken t = p.currentToken(); t == JsonToken.FIELD_NAME; t = p.nextToken()) {
+            String name = p.currentName();
+            p.nextToken();
+            SettableBeanProperty prop = creator.findCreatorProperty(name);
+            if (prop != null) {
+                buffer.assignParameter(prop, deserializeWithErrorWrapping(p, ctxt, prop));
+            } else {
+                buffer.readIdProperty(name);
+            }
+        }
+
+        // 누락 / null 인자 검사는 여기서 한다
+        Object[] args = buffer.getParameters(resolvedProps);
+        Object value = constants.get(args);
+        if (value == null) {
+            value = creator.build(ctxt, buffer);
+            if (value != null) {
+                constants.put(args, value);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public Object deserializeWithType(JsonParser p, DeserializationContext ctxt, TypeDeserializer typeDeserializer)
+            throws IOException {
+        // FactoryBasedEnumDeserializer 와 같이 타입 정보를 쓰지 않는다
+        return deserialize(p, ctxt);
+    }
+
+    @Override
+    public boolean isCachable() {
+        return true;
+    }
+
+    private Object deserializeWithErrorWrapping(JsonParser p, DeserializationContext ctxt, SettableBeanProperty prop)
+            throws IOException {
+        try {
+            return prop.deserialize(p, ctxt);
+        } catch (Exception e) {
+            throw JsonMappingException.wrapWithPath(unwrap(e, ctxt), handledType(), prop.getName());
+        }
+    }
+
+    private static Throwable unwrap(Throwable t, DeserializationContext ctxt) throws IOException {
+        t = ClassUtil.getRootCause(t);
+        ClassUtil.throwIfError(t);
+        boolean wrap = ctxt.isEnabled(DeserializationFeature.WRAP_EXCEPTIONS);
+        if (t instanceof IOException) {
+            if (!wrap || !(t instanceof JsonProcessingException)) {
+                throw (IOException) t;
+            }
+        } else if (!wrap) {
+            ClassUtil.throwIfRTE(t);
+        }
+        return t;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.demojackson.enumcodec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.jsonFormatVisitors.JsonFormatVisitorWrapper;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.JsonValueSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.ClassUtil;
+
+import java.io.IOException;
+
+/**
+ * String 을 돌려주는 @JsonValue 가 있는 enum 의 serializer
+ *
+ * 상수마다 @JsonValue 값을 한 번만 구해서 따옴표와 escape 를 포함한 UTF-8 / char 형태로 만들어 두고 그대로 복사한다
+ * (쓸 때마다 @JsonValue 호출, String serializer 조회, 문자 escape 검사를 하지 않는다)
+ * @JsonValue 값은 상수마다 변하지 않는다고 가정한다
+ * 타입 정보를 쓰는 경우와 String 에 custom serializer 가 있는 경우는 Jackson 의 JsonValueSerializer 를 쓴다
+ */
+public class PrecomputedEnumSerializer extends StdSerializer<Object> implements ContextualSerializer {
+    private final JsonValueSerializer delegate;
+    // ordinal 순서, @JsonValue 가 null 이면 null
+    private final SerializedString[] values;
+
+    PrecomputedEnumSerializer(Class<?> enumType, AnnotatedMember accessor, JsonValueSerializer delegate) {
+        super(enumType, false);
+        this.delegate = delegate;
+        Object[] constants = enumType.getEnumConstants();
+        values = new SerializedString[constants.length];
+        for (int i = 0; i < constants.length; i++) {
+            Object value = accessor.getValue(constants[i]);
+            if (value != null) {
+                SerializedString encoded = new SerializedString((String) value);
+                // 미리 encode (이후에는 읽기만 한다)
+                encoded.asQuotedUTF8();
+                encoded.asQuotedChars();
+                values[i] = encoded;
+            }
+        }
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider prov, BeanProperty property)
+            throws JsonMappingException {
+        JsonSerializer<?> stringSerializer = prov.findPrimaryPropertySerializer(String.class, property);
+        if (!ClassUtil.isJacksonStdImpl(stringSerializer)) {
+            return delegate.createContextual(prov, property);
+        }
+        return this;
+    }
+
+    @Override
+    public void serialize(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        SerializedString encoded = values[((Enum<?>) value).ordinal()];
+        if (encoded == null) {
+            provider.defaultSerializeNull(gen);
+        } else if (gen.getCharacterEscapes() == null && gen.getHighestEscapedChar() == 0) {
+            gen.writeString(encoded);
+        } else {
+            // 미리 만든 형태에는 generator 의 추가 escape (ESCAPE_NON_ASCII 등) 가 없다
+            gen.writeString(encoded.getValue());
+        }
+    }
+
+    @Override
+    public void serializeWithType(Object value, JsonGenerator gen, SerializerProvider provider,
+                                  TypeSerializer typeSer) throws IOException {
+        delegate.serializeWithType(value, gen, provider, typeSer);
+    }
+
+    @Override
+    public boolean isEmpty(SerializerProvider provider, Object value) {
+        SerializedString encoded = values[((Enum<?>) value).ordinal()];
+        return encoded == null || encoded.getValue().isEmpty();
+    }
+
+    @Override
+    public void acceptJsonFormatVisitor(JsonFormatVisitorWrapper visitor, JavaType typeHint)
+            throws JsonMappingException {
+        delegate.acceptJsonFormatVisitor(visitor, typeHint);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.demojackson.enumcodec;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.deser.std.EnumDeserializer;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * 문자열로 읽는 enum 의 deserializer
+ *
+ * 문자열 토큰은 {@link EnumNameTable} 을 parser 의 문자 버퍼로 바로 조회하고 (String 생성 없음),
+ * 표에 없는 값 (대소문자 무시, 숫자, READ_ENUMS_USING_TO_STRING 등) 은 EnumDeserializer 가 처리한다
+ */
+public class TableEnumDeserializer extends EnumDeserializer {
+    private final EnumNameTable table;
+
+    TableEnumDeserializer(EnumDeserializer base, Boolean caseInsensitive) {
+        super(base, caseInsensitive);
+        this.table = new EnumNameTable(_lookupByName);
+    }
+
+    private TableEnumDeserializer(TableEnumDeserializer base, Boolean caseInsensitive) {
+        super(base, caseInsensitive);
+        this.table = base.table;
+    }
+
+    @Override
+    public EnumDeserializer withResolved(Boolean caseInsensitive) {
+        if (Objects.equals(_caseInsensitive, caseInsensitive)) {
+            return this;
+        }
+        return new TableEnumDeserializer(this, caseInsensitive);
+    }
+
+    @Override
+    public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_STRING) && !ctxt.isEnabled(DeserializationFeature.READ_ENUMS_USING_TO_STRING)) {
+            Object value = table.find(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+            if (value != null) {
+                return value;
+            }
+        }
+        return super.deserialize(p, ctxt);
+    }
+}
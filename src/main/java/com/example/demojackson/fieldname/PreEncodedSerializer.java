@@ -0,0 +1,114 @@
+package com.example.demojackson.fieldname;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * 필드명을 미리 encode 해 두고 쓰는 손으로 짠 serializer 의 base class
+ *
+ * <pre>
+ * public class ObjectSerializer extends PreEncodedSerializer&lt;JsonSerializeObject&gt; {
+ *     private static final SerializableString ID = fieldName("id");
+ *
+ *     public void serialize(JsonSerializeObject value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+ *         gen.writeStartObject();
+ *         writeNumberField(gen, ID, value.id);
+ *         gen.writeEndObject();
+ *     }
+ * }
+ * </pre>
+ *
+ * gen.writeStringField("name", ...) 처럼 String 필드명을 쓰면 호출할 때마다 escape 검사와 encoding 을 하지만,
+ * {@link #fieldName} 으로 만든 필드명은 클래스 로딩 때 따옴표와 escape 를 포함한 UTF-8 / char 형태를 만들어 두고
+ * generator 버퍼에 그대로 복사한다 (BeanSerializer 의 프로퍼티명과 같은 방식)
+ * 그래서 ESCAPE_NON_ASCII / CharacterEscapes 는 필드명에 적용되지 않는다 (BeanSerializer 와 같음)
+ * 다른 base class 를 써야 하는 serializer 는 {@link #fieldName} 결과를 gen.writeFieldName 으로 직접 쓰면 된다
+ */
+public abstract class PreEncodedSerializer<T> extends StdSerializer<T> {
+
+    protected PreEncodedSerializer(Class<T> t) {
+        super(t);
+    }
+
+    protected PreEncodedSerializer(JavaType type) {
+        super(type);
+    }
+
+    /**
+     * static final 상수로 한 번만 만든다
+     */
+    public static SerializableString fieldName(String name) {
+        SerializedString encoded = new SerializedString(name);
+        encoded.asQuotedUTF8();
+        encoded.asQuotedChars();
+        encoded.asUnquotedUTF8();
+        return encoded;
+    }
+
+    protected static void writeStringField(JsonGenerator gen, SerializableString name, String value)
+            throws IOException {
+        gen.writeFieldName(name);
+        gen.writeString(value);
+    }
+
+    protected static void writeNumberField(JsonGenerator gen, SerializableString name, int value)
+            throws IOException {
+        gen.writeFieldName(name);
+        gen.writeNumber(value);
+    }
+
+    protected static void writeNumberField(JsonGenerator gen, SerializableString name, long value)
+            throws IOException {
+        gen.writeFieldName(name);
+        gen.writeNumber(value);
+    }
+
+    protected static void writeNumberField(JsonGenerator gen, SerializableString name, double value)
+            throws IOException {
+        gen.writeFieldName(name);
+        gen.writeNumber(value);
+    }
+
+    protected static void writeNumberField(JsonGenerator gen, SerializableString name, BigDecimal value)
+            throws IOException {
+        gen.writeFieldName(name);
+        gen.writeNumber(value);
+    }
+
+    protected static void writeBooleanField(JsonGenerator gen, SerializableString name, boolean value)
+            throws IOException {
+        gen.writeFieldName(name);
+        gen.writeBoolean(value);
+    }
+
+    protected static void writeNullField(JsonGenerator gen, SerializableString name) throws IOException {
+        gen.writeFieldName(name);
+        gen.writeNull();
+    }
+
+    protected static void writeArrayFieldStart(JsonGenerator gen, SerializableString name) throws IOException {
+        gen.writeFieldName(name);
+        gen.writeStartArray();
+    }
+
+    protected static void writeObjectFieldStart(JsonGenerator gen, SerializableString name) throws IOException {
+        gen.writeFieldName(name);
+        gen.writeStartObject();
+    }
+
+    /**
+     * provider.defaultSerializeField 와 같다 (값의 serializer 는 provider 가 찾는다)
+     */
+    protected static void writeObjectField(JsonGenerator gen, SerializerProvider provider, SerializableString name,
+                                           Object value) throws IOException {
+        gen.writeFieldName(name);
+        provider.defaultSerializeValue(value, gen);
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.demojackson.ingest;
+
+import com.example.demojackson.registry.JsonCodecRegistry;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 줄 단위 JSON (NDJSON) 스트림을 batch 로 나눠 {@link RecordBatchHandler} 에 넘긴다
+ *
+ * - 요청 스레드가 MappingIterator 로 레코드를 하나씩 읽어 batch 를 채운다 (전체를 메모리에 올리지 않음)
+ * - batch 는 모든 업로드가 함께 쓰는 workers 개 스레드의 executor 가 처리한다 (업로드 수와 관계없이 스레드 수 고정)
+ * - 한 업로드가 처리를 기다리거나 처리 중인 batch 는 queueCapacity + workers 개까지
+ *   넘으면 요청 스레드가 읽기를 멈추므로 느린 처리 단계가 업로드 속도를 제한한다 (TCP flow control)
+ * - 처리 단계가 실패하면 읽기를 중단하고 {@link IngestException} 을 던진다
+ */
+@Log4j2
+public class BulkIngestService implements DisposableBean {
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+
+    private final JsonCodecRegistry registry;
+    private final IngestProperties properties;
+    private final RecordBatchHandler handler;
+    private final ExecutorService executor;
+
+    public BulkIngestService(JsonCodecRegistry registry, IngestProperties properties, RecordBatchHandler handler) {
+        if (properties.getBatchSize() <= 0 || properties.getWorkers() <= 0 || properties.getQueueCapacity() < 0) {
+            throw new IllegalArgumentException("batchSize and workers must be positive, queueCapacity must not be "
+                    + "negative: " + properties.getBatchSize() + ", " + properties.getWorkers() + ", "
+                    + properties.getQueueCapacity());
+        }
+        this.registry = registry;
+        this.properties = properties;
+        this.handler = handler;
+        AtomicInteger count = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(properties.getWorkers(), r -> {
+            Thread thread = new Thread(r, "ingest-worker-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public IngestResult ingest(InputStream in) throws IOException {
+        return ingest(in, properties.getType());
+    }
+
+    public IngestResult ingest(InputStream in, Class<?> type) throws IOException {
+        long start = System.nanoTime();
+        int batchSize = properties.getBatchSize();
+        Upload upload = new Upload(properties.getQueueCapacity() + properties.getWorkers());
+
+        long records = 0;
+        long batches = 0;
+        boolean completed = false;
+        ObjectReader reader = registry.reader(type);
+        try (MappingIterator<Object> it = reader.readValues(in)) {
+            List<Object> batch = new ArrayList<>(batchSize);
+            while (it.hasNextValue()) {
+                batch.add(it.nextValue());
+                records++;
+                if (batch.size() == batchSize) {
+                    submit(upload, batch, records);
+                    batches++;
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                submit(upload, batch, records);
+                batches++;
+            }
+            // 모든 batch 가 끝나면 permit 이 모두 돌아온다
+            acquire(upload, upload.maxInFlight, records);
+            completed = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IngestException("ingest interrupted", records, e);
+        } finally {
+            if (!completed) {
+                // 아직 시작하지 않은 batch 는 건너뛴다
+                upload.cancelled = true;
+            }
+        }
+        if (upload.failure.get() != null) {
+            throw new IngestException("batch processing failed", records, upload.failure.get());
+        }
+
+        IngestResult result = new IngestResult(records, batches, Duration.ofNanos(System.nanoTime() - start));
+        log.debug("ingested {}", result);
+        return result;
+    }
+
+    private void submit(Upload upload, List<Object> batch, long records) throws InterruptedException {
+        acquire(upload, 1, records);
+        try {
+            executor.execute(() -> process(upload, batch));
+        } catch (RejectedExecutionException e) {
+            upload.permits.release();
+            throw new IngestException("ingest service is shut down", records, e);
+        }
+    }
+
+    private void process(Upload upload, List<Object> batch) {
+        try {
+            if (!upload.cancelled && upload.failure.get() == null) {
+                handler.handle(batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            upload.failure.compareAndSet(null, e);
+        } catch (Throwable t) {
+            upload.failure.compareAndSet(null, t);
+        } finally {
+            upload.permits.release();
+        }
+    }
+
+    /**
+     * permit 이 날 때까지 기다린다, 그 사이 처리 단계가 실패하거나 서비스가 종료되면 중단
+     */
+    private void acquire(Upload upload, int permits, long records) throws InterruptedException {
+        do {
+            if (upload.failure.get() != null) {
+                throw new IngestException("batch processing failed", records, upload.failure.get());
+            }
+            if (executor.isShutdown()) {
+                throw new IngestException("ingest service is shut down", records, null);
+            }
+        } while (!upload.permits.tryAcquire(permits, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 업로드 하나의 상태
+     */
+    private static final class Upload {
+        private final int maxInFlight;
+        private final Semaphore permits;
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private volatile boolean cancelled;
+
+        private Upload(int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+            this.permits = new Semaphore(maxInFlight);
+        }
+    }
+}
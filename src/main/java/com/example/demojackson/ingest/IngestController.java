@@ -0,0 +1,46 @@
+package com.example.demojackson.ingest;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * POST /ingest (Content-Type: application/x-ndjson)
+ * body 를 HttpMessageConverter 로 읽지 않고 request InputStream 을 그대로 {@link BulkIngestService} 에 넘긴다
+ */
+@RestController
+@RequiredArgsConstructor
+public class IngestController {
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    private final BulkIngestService bulkIngestService;
+
+    @PostMapping(path = "/ingest", consumes = APPLICATION_NDJSON_VALUE)
+    public IngestResult ingest(HttpServletRequest request) throws IOException {
+        return bulkIngestService.ingest(request.getInputStream());
+    }
+
+    /**
+     * 잘못된 레코드는 400, 위치 (line / column) 를 함께 돌려준다
+     */
+    @ExceptionHandler(JsonProcessingException.class)
+    public ResponseEntity<Map<String, Object>> invalidRecord(JsonProcessingException e) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("error", e.getOriginalMessage());
+        JsonLocation location = e.getLocation();
+        if (location != null) {
+            body.put("line", location.getLineNr());
+            body.put("column", location.getColumnNr());
+        }
+        return ResponseEntity.badRequest().body(body);
+    }
+}
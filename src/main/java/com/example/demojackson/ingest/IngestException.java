@@ -0,0 +1,22 @@
+package com.example.demojackson.ingest;
+
+/**
+ * 처리 단계 ({@link RecordBatchHandler}) 실패 또는 ingest 중단
+ */
+public class IngestException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final long records;
+
+    public IngestException(String message, long records, Throwable cause) {
+        super(message, cause);
+        this.records = records;
+    }
+
+    /**
+     * 중단 시점까지 읽은 레코드 수
+     */
+    public long getRecords() {
+        return records;
+    }
+}
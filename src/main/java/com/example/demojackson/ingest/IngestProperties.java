@@ -0,0 +1,35 @@
+package com.example.demojackson.ingest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * NDJSON bulk ingest 설정
+ * 한 요청이 동시에 메모리에 들고 있는 레코드는 최대 batchSize * (queueCapacity + workers + 1) 개
+ */
+@Getter
+@Setter
+@ConfigurationProperties("demo.jackson.ingest")
+public class IngestProperties {
+    /**
+     * 한 줄 (레코드) 의 타입 (FQCN, 중첩 클래스는 Outer$Inner), @JsonTypeInfo 가 있는 상위 타입도 가능
+     */
+    private Class<?> type = JsonNode.class;
+
+    /**
+     * 처리 단계로 한 번에 넘기는 레코드 수
+     */
+    private int batchSize = 1_000;
+
+    /**
+     * 요청마다 처리 대기 중인 batch 최대 개수, 가득 차면 요청 body 읽기를 멈춘다 (backpressure)
+     */
+    private int queueCapacity = 4;
+
+    /**
+     * batch 를 처리하는 스레드 수 (모든 요청이 함께 쓰는 pool), 2 이상이면 batch 처리 순서는 보장하지 않는다
+     */
+    private int workers = 1;
+}
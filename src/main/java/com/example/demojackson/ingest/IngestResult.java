@@ -0,0 +1,19 @@
+package com.example.demojackson.ingest;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Duration;
+
+/**
+ * ingest 결과
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class IngestResult {
+    private final long records;
+    private final long batches;
+    private final Duration elapsed;
+}
@@ -0,0 +1,13 @@
+package com.example.demojackson.ingest;
+
+import java.util.List;
+
+/**
+ * ingest 처리 단계, 레코드 batch 를 받아 저장 / 전달한다
+ * 예외를 던지면 해당 요청의 ingest 가 중단된다
+ */
+@FunctionalInterface
+public interface RecordBatchHandler {
+
+    void handle(List<?> batch) throws Exception;
+}
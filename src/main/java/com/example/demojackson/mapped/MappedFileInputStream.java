@@ -0,0 +1,173 @@
+package com.example.demojackson.mapped;
+
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * 파일을 FileChannel.map 으로 windowSize 씩 매핑해서 읽는 InputStream (2 GB 가 넘는 파일도 가능)
+ *
+ * FileInputStream 은 read 마다 system call 을 하고 kernel → native buffer → byte[] 로 두 번 복사하지만,
+ * 여기서는 page cache 가 매핑된 메모리에서 호출한 쪽 byte[] (Jackson parser 의 입력 buffer) 로 한 번만 복사한다
+ * 지나간 window 는 바로 unmap 한다 (sun.misc.Unsafe.invokeCleaner 가 없으면 GC 에 맡김)
+ * window 는 밖으로 내보내지 않으므로 unmap 뒤에 접근되지 않는다
+ */
+@Log4j2
+public class MappedFileInputStream extends InputStream {
+    public static final int DEFAULT_WINDOW_SIZE = 256 << 20;
+
+    private static final MethodHandle INVOKE_CLEANER = findInvokeCleaner();
+
+    private final FileChannel channel;
+    private final long size;
+    private final int windowSize;
+    private long windowStart;
+    private MappedByteBuffer window;
+    private boolean closed;
+
+    public MappedFileInputStream(Path file) throws IOException {
+        this(file, DEFAULT_WINDOW_SIZE);
+    }
+
+    public MappedFileInputStream(Path file, int windowSize) throws IOException {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("windowSize must be positive: " + windowSize);
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            this.size = channel.size();
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        this.windowSize = windowSize;
+    }
+
+    @Override
+    public int read() throws IOException {
+        ByteBuffer buffer = current();
+        return buffer == null ? -1 : buffer.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        if (len == 0) {
+            return 0;
+        }
+        ByteBuffer buffer = current();
+        if (buffer == null) {
+            return -1;
+        }
+        // window 경계에서는 짧게 읽힐 수 있다 (InputStream 계약상 허용, Jackson 은 다시 읽는다)
+        int n = Math.min(len, buffer.remaining());
+        buffer.get(b, off, n);
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        checkOpen();
+        long skipped = Math.max(0, Math.min(n, size - position()));
+        long target = position() + skipped;
+        if (window != null && target < windowStart + window.limit()) {
+            window.position((int) (target - windowStart));
+        } else {
+            unmap();
+            windowStart = target;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        checkOpen();
+        return (int) Math.min(Integer.MAX_VALUE, size - position());
+    }
+
+    /**
+     * 파일 처음부터 읽은 bytes
+     */
+    public long position() {
+        return window == null ? windowStart : windowStart + window.position();
+    }
+
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        unmap();
+        channel.close();
+    }
+
+    /**
+     * 읽을 것이 남은 window, 파일 끝이면 null
+     */
+    private ByteBuffer current() throws IOException {
+        checkOpen();
+        if (window != null && window.hasRemaining()) {
+            return window;
+        }
+        long next = position();
+        if (next >= size) {
+            return null;
+        }
+        unmap();
+        windowStart = next;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, next, Math.min(windowSize, size - next));
+        return window;
+    }
+
+    private void unmap() {
+        if (window == null) {
+            return;
+        }
+        windowStart += window.position();
+        MappedByteBuffer unmapped = window;
+        window = null;
+        if (INVOKE_CLEANER != null) {
+            try {
+                INVOKE_CLEANER.invokeExact((ByteBuffer) unmapped);
+            } catch (Throwable e) {
+                log.debug("unmap failed, leaving it to GC", e);
+            }
+        }
+    }
+
+    private void checkOpen() throws IOException {
+        if (closed) {
+            throw new IOException("stream closed");
+        }
+    }
+
+    private static MethodHandle findInvokeCleaner() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(field.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.info("sun.misc.Unsafe.invokeCleaner not available, mapped windows are released by GC");
+            return null;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.demojackson.mapped;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * 로컬 JSON 파일을 {@link MappedFileInputStream} 으로 매핑해서 읽는 bulk loader
+ *
+ * <pre>
+ * MappedJsonLoader loader = new MappedJsonLoader();
+ * List&lt;UserWithIdentity&gt; users = loader.read(dump,
+ *         objectMapper.readerFor(new TypeReference&lt;List&lt;UserWithIdentity&gt;&gt;() {}));
+ * loader.readValues(animals, objectMapper.readerFor(Animal.class), repository::save);
+ * </pre>
+ *
+ * - read: 문서 하나를 parser 하나로 읽는다 (@JsonIdentityInfo 참조가 문서 전체에서 풀린다)
+ * - readValues: 줄 단위 JSON (NDJSON, 공백으로 구분된 값) 이나 최상위 배열의 원소를 하나씩 consumer 에 넘긴다
+ *   원소마다 읽고 넘기므로 파일 전체를 heap 에 올리지 않는다
+ * Jackson 2.12 parser 는 byte[] 나 InputStream 만 받으므로 매핑된 메모리에서 parser buffer 로 한 번은 복사한다
+ */
+public class MappedJsonLoader {
+    private final int windowSize;
+
+    public MappedJsonLoader() {
+        this(MappedFileInputStream.DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * @param windowSize 한 번에 매핑하는 크기 (최대 2 GB), 주소 공간만 차지하고 heap 은 쓰지 않는다
+     */
+    public MappedJsonLoader(int windowSize) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("windowSize must be positive: " + windowSize);
+        }
+        this.windowSize = windowSize;
+    }
+
+    public <T> T read(Path file, ObjectReader reader) throws IOException {
+        try (MappedFileInputStream in = new MappedFileInputStream(file, windowSize)) {
+            return reader.readValue(in);
+        }
+    }
+
+    /**
+     * @return 읽은 값 수
+     */
+    public <T> long readValues(Path file, ObjectReader reader, Consumer<? super T> consumer) throws IOException {
+        long count = 0;
+        try (MappedFileInputStream in = new MappedFileInputStream(file, windowSize);
+             MappingIterator<T> it = reader.readValues(in)) {
+            while (it.hasNextValue()) {
+                consumer.accept(it.nextValue());
+                count++;
+            }
+        }
+        return count;
+    }
+}
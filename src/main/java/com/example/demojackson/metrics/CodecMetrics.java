@@ -0,0 +1,13 @@
+package com.example.demojackson.metrics;
+
+/**
+ * 타입 또는 endpoint 하나의 serialize / deserialize 누적값
+ */
+final class CodecMetrics {
+    final OperationMetrics serialization = new OperationMetrics();
+    final OperationMetrics deserialization = new OperationMetrics();
+
+    CodecStats snapshot() {
+        return new CodecStats(serialization.snapshot(), deserialization.snapshot());
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.demojackson.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class CodecStats {
+    private final OperationStats serialization;
+    private final OperationStats deserialization;
+}
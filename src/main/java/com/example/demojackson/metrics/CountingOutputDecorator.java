@@ -0,0 +1,129 @@
+package com.example.demojackson.metrics;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.IOContext;
+import com.fasterxml.jackson.core.io.OutputDecorator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+/**
+ * generator 의 출력 대상을 지나간 bytes (Writer 면 문자 수) 를 세는 stream 으로 감싼다
+ * generator 는 내부 buffer 가 찰 때만 출력 대상에 쓰므로, 위치는 센 값 + 아직 buffer 에 있는 양이다
+ */
+class CountingOutputDecorator extends OutputDecorator {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 원래 있던 decorator (없으면 null), 그 결과를 다시 감싼다
+     */
+    private final OutputDecorator delegate;
+
+    CountingOutputDecorator(OutputDecorator delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * 지금까지 generator 가 쓴 양, 감싼 출력이 아니면 (TokenBuffer 등) -1
+     */
+    static long position(JsonGenerator gen) {
+        Object target = gen.getOutputTarget();
+        if (!(target instanceof Counted)) {
+            return -1;
+        }
+        return ((Counted) target).count() + Math.max(gen.getOutputBuffered(), 0);
+    }
+
+    @Override
+    public OutputStream decorate(IOContext ctxt, OutputStream out) throws IOException {
+        return new CountingOutputStream(delegate == null ? out : delegate.decorate(ctxt, out));
+    }
+
+    @Override
+    public Writer decorate(IOContext ctxt, Writer w) throws IOException {
+        return new CountingWriter(delegate == null ? w : delegate.decorate(ctxt, w));
+    }
+
+    interface Counted {
+        long count();
+    }
+
+    static final class CountingOutputStream extends OutputStream implements Counted {
+        private final OutputStream out;
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public long count() {
+            return count;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    static final class CountingWriter extends Writer implements Counted {
+        private final Writer out;
+        private long count;
+
+        CountingWriter(Writer out) {
+            this.out = out;
+        }
+
+        @Override
+        public long count() {
+            return count;
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            out.write(c);
+            count++;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            out.write(cbuf, off, len);
+            count += len;
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            out.write(str, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.demojackson.metrics;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 요청 하나에서 읽고 쓴 bean 의 시간 / bytes 를 endpoint ("GET /path") 별로 모은다
+ * endpoint 는 handler method 로 구분하고, 이름은 그 method 가 처음 받은 요청의 HTTP method 와 mapping pattern 이다
+ * 비동기 요청은 dispatch 마다 따로 기록된다
+ */
+public class EndpointMetricsInterceptor implements AsyncHandlerInterceptor {
+    private final SerializationMetrics metrics;
+    private final Map<Method, CodecMetrics> endpoints = new ConcurrentHashMap<>();
+
+    public EndpointMetricsInterceptor(SerializationMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            metrics.beginRequest(endpoint(request, ((HandlerMethod) handler).getMethod()));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        metrics.endRequest();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        metrics.endRequest();
+    }
+
+    private CodecMetrics endpoint(HttpServletRequest request, Method method) {
+        CodecMetrics endpoint = endpoints.get(method);
+        if (endpoint == null) {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String name = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+            endpoint = endpoints.computeIfAbsent(method, key -> metrics.forEndpoint(name));
+        }
+        return endpoint;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.demojackson.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 2 의 거듭제곱 경계로 나눈 latency (ns) histogram
+ *
+ * bucket i 는 [2^(i-1), 2^i) ns (bucket 0 은 0 ns), 마지막 bucket 은 그 이상 전부
+ * bucket 마다 LongAdder (thread 별로 나뉜 cell) 라 잠금 없이 기록하고, 경쟁이 없으면 할당도 없다
+ * percentile 은 bucket 상한으로 답하므로 최대 2 배까지 크게 나올 수 있다 (max 는 정확한 값)
+ */
+public final class LatencyHistogram {
+    static final int BUCKETS = 40; // 2^39 ns = 9 분
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        buckets[Math.min(64 - Long.numberOfLeadingZeros(nanos), BUCKETS - 1)].increment();
+        max.accumulate(nanos);
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    public long count() {
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    /**
+     * @param quantile 0.0 ~ 1.0
+     * @return quantile 이 속한 bucket 의 상한 (max 를 넘지 않음), 기록이 없으면 0
+     */
+    public long percentile(double quantile) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                if (i == BUCKETS - 1) {
+                    return max.get();
+                }
+                return Math.min(i == 0 ? 0 : 1L << i, max.get());
+            }
+        }
+        return max.get();
+    }
+}
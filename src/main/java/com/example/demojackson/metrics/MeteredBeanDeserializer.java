@@ -0,0 +1,97 @@
+package com.example.demojackson.metrics;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.std.DelegatingDeserializer;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+
+import java.io.IOException;
+
+/**
+ * deserialize 한 번의 시간 / bytes 를 타입별로 기록하는 BeanDeserializer wrapper
+ * 시간 / 할당은 가장 바깥 bean 만 재고, 중첩된 bean 은 횟수와 bytes 만 기록한다
+ * bytes 는 parser 위치 차이 (byte 입력이 아니면 문자 수)
+ * 타입 정보가 있는 값은 타입 id 를 읽은 뒤 하위 타입 deserializer 의 deserialize 로 기록된다
+ */
+class MeteredBeanDeserializer extends DelegatingDeserializer {
+    private static final long serialVersionUID = 1L;
+
+    private final transient SerializationMetrics metrics;
+    private final transient CodecMetrics typeMetrics;
+
+    /**
+     * @param delegatee BeanDeserializer
+     */
+    MeteredBeanDeserializer(JsonDeserializer<?> delegatee, SerializationMetrics metrics, CodecMetrics typeMetrics) {
+        super(delegatee);
+        this.metrics = metrics;
+        this.typeMetrics = typeMetrics;
+    }
+
+    @Override
+    protected JsonDeserializer<?> newDelegatingInstance(JsonDeserializer<?> newDelegatee) {
+        return new MeteredBeanDeserializer(newDelegatee, metrics, typeMetrics);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public JsonDeserializer<Object> unwrappingDeserializer(NameTransformer unwrapper) {
+        // @JsonUnwrapped 로 쓰일 때는 바깥 bean 에 포함
+        return (JsonDeserializer<Object>) _delegatee.unwrappingDeserializer(unwrapper);
+    }
+
+    @Override
+    public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        SerializationMetrics.Scope scope = metrics.enter();
+        try {
+            long position = position(p);
+            boolean timed = scope.isOutermost();
+            long allocated = timed ? metrics.allocatedBytes() : -1;
+            long start = timed ? System.nanoTime() : 0;
+            Object value = _delegatee.deserialize(p, ctxt);
+            record(scope, p, timed, start, position, allocated);
+            return value;
+        } finally {
+            scope.exit();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object deserialize(JsonParser p, DeserializationContext ctxt, Object intoValue) throws IOException {
+        SerializationMetrics.Scope scope = metrics.enter();
+        try {
+            long position = position(p);
+            boolean timed = scope.isOutermost();
+            long allocated = timed ? metrics.allocatedBytes() : -1;
+            long start = timed ? System.nanoTime() : 0;
+            Object value = ((JsonDeserializer<Object>) _delegatee).deserialize(p, ctxt, intoValue);
+            record(scope, p, timed, start, position, allocated);
+            return value;
+        } finally {
+            scope.exit();
+        }
+    }
+
+    private void record(SerializationMetrics.Scope scope, JsonParser p, boolean timed, long start, long position,
+                        long allocated) {
+        long bytes = position < 0 ? -1 : position(p) - position;
+        if (!timed) {
+            scope.deserializedNested(typeMetrics, bytes);
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        scope.deserialized(typeMetrics, nanos, bytes, allocated < 0 ? -1 : metrics.allocatedBytes() - allocated);
+    }
+
+    /**
+     * 입력 위치, TokenBuffer 처럼 위치가 없으면 -1
+     */
+    private static long position(JsonParser p) {
+        JsonLocation location = p.getCurrentLocation();
+        long bytes = location.getByteOffset();
+        return bytes >= 0 ? bytes : location.getCharOffset();
+    }
+}
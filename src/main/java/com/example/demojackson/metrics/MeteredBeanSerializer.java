@@ -0,0 +1,147 @@
+package com.example.demojackson.metrics;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.BeanAsArraySerializer;
+import com.fasterxml.jackson.databind.ser.impl.ObjectIdWriter;
+import com.fasterxml.jackson.databind.ser.impl.UnwrappingBeanSerializer;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * serialize 한 번의 시간 / bytes 를 타입별로 기록하는 BeanSerializer
+ * 시간 / 할당은 가장 바깥 bean 만 재고, 중첩된 bean 은 횟수와 bytes 만 기록한다
+ * 쓰는 방법은 BeanSerializer 와 같다
+ * @JsonUnwrapped, @JsonFormat(shape = ARRAY) 로 쓰일 때는 기록하지 않는다 (바깥 bean 에 포함)
+ */
+class MeteredBeanSerializer extends BeanSerializerBase {
+    private static final long serialVersionUID = 1L;
+
+    private final transient SerializationMetrics metrics;
+    private final transient CodecMetrics typeMetrics;
+
+    MeteredBeanSerializer(BeanSerializerBase src, SerializationMetrics metrics) {
+        super(src);
+        this.metrics = metrics;
+        this.typeMetrics = metrics.forType(src.handledType());
+    }
+
+    private MeteredBeanSerializer(MeteredBeanSerializer src, ObjectIdWriter objectIdWriter, Object filterId) {
+        super(src, objectIdWriter, filterId);
+        this.metrics = src.metrics;
+        this.typeMetrics = src.typeMetrics;
+    }
+
+    private MeteredBeanSerializer(MeteredBeanSerializer src, Set<String> toIgnore, Set<String> toInclude) {
+        super(src, toIgnore, toInclude);
+        this.metrics = src.metrics;
+        this.typeMetrics = src.typeMetrics;
+    }
+
+    private MeteredBeanSerializer(MeteredBeanSerializer src, BeanPropertyWriter[] properties,
+                                  BeanPropertyWriter[] filteredProperties) {
+        super(src, properties, filteredProperties);
+        this.metrics = src.metrics;
+        this.typeMetrics = src.typeMetrics;
+    }
+
+    // BeanSerializer 와 같은 복사 메서드
+
+    @Override
+    public JsonSerializer<Object> unwrappingSerializer(NameTransformer unwrapper) {
+        return new UnwrappingBeanSerializer(this, unwrapper);
+    }
+
+    @Override
+    public BeanSerializerBase withObjectIdWriter(ObjectIdWriter objectIdWriter) {
+        return new MeteredBeanSerializer(this, objectIdWriter, _propertyFilterId);
+    }
+
+    @Override
+    public BeanSerializerBase withFilterId(Object filterId) {
+        return new MeteredBeanSerializer(this, _objectIdWriter, filterId);
+    }
+
+    @Override
+    protected BeanSerializerBase withByNameInclusion(Set<String> toIgnore, Set<String> toInclude) {
+        return new MeteredBeanSerializer(this, toIgnore, toInclude);
+    }
+
+    @Override
+    protected BeanSerializerBase withProperties(BeanPropertyWriter[] properties, BeanPropertyWriter[] filteredProperties) {
+        return new MeteredBeanSerializer(this, properties, filteredProperties);
+    }
+
+    @Override
+    protected BeanSerializerBase asArraySerializer() {
+        if (_objectIdWriter == null && _anyGetterWriter == null && _propertyFilterId == null) {
+            return new BeanAsArraySerializer(this);
+        }
+        return this;
+    }
+
+    @Override
+    public void serialize(Object bean, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        SerializationMetrics.Scope scope = metrics.enter();
+        try {
+            long position = CountingOutputDecorator.position(gen);
+            boolean timed = scope.isOutermost();
+            long allocated = timed ? metrics.allocatedBytes() : -1;
+            long start = timed ? System.nanoTime() : 0;
+            // BeanSerializer#serialize 와 같음
+            if (_objectIdWriter != null) {
+                gen.setCurrentValue(bean);
+                _serializeWithObjectId(bean, gen, provider, true);
+            } else {
+                gen.writeStartObject(bean);
+                if (_propertyFilterId != null) {
+                    serializeFieldsFiltered(bean, gen, provider);
+                } else {
+                    serializeFields(bean, gen, provider);
+                }
+                gen.writeEndObject();
+            }
+            record(scope, gen, timed, start, position, allocated);
+        } finally {
+            scope.exit();
+        }
+    }
+
+    @Override
+    public void serializeWithType(Object bean, JsonGenerator gen, SerializerProvider provider, TypeSerializer typeSer)
+            throws IOException {
+        SerializationMetrics.Scope scope = metrics.enter();
+        try {
+            long position = CountingOutputDecorator.position(gen);
+            boolean timed = scope.isOutermost();
+            long allocated = timed ? metrics.allocatedBytes() : -1;
+            long start = timed ? System.nanoTime() : 0;
+            super.serializeWithType(bean, gen, provider, typeSer);
+            record(scope, gen, timed, start, position, allocated);
+        } finally {
+            scope.exit();
+        }
+    }
+
+    private void record(SerializationMetrics.Scope scope, JsonGenerator gen, boolean timed, long start, long position,
+                        long allocated) {
+        long bytes = position < 0 ? -1 : CountingOutputDecorator.position(gen) - position;
+        if (!timed) {
+            scope.serializedNested(typeMetrics, bytes);
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        scope.serialized(typeMetrics, nanos, bytes, allocated < 0 ? -1 : metrics.allocatedBytes() - allocated);
+    }
+
+    @Override
+    public String toString() {
+        return "MeteredBeanSerializer for " + handledType().getName();
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.demojackson.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "demo.jackson.metrics", name = "enabled", matchIfMissing = true)
+public class MetricsController {
+    private final SerializationMetrics serializationMetrics;
+
+    @GetMapping("/jackson/metrics")
+    public MetricsSnapshot metrics() {
+        return serializationMetrics.snapshot();
+    }
+}
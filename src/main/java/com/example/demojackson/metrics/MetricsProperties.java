@@ -0,0 +1,23 @@
+package com.example.demojackson.metrics;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 타입별 / endpoint 별 serialize / deserialize metrics 설정
+ */
+@Getter
+@Setter
+@ConfigurationProperties("demo.jackson.metrics")
+public class MetricsProperties {
+    /**
+     * true 면 SerializationMetricsModule 을 ObjectMapper 에 등록하고 GET /jackson/metrics 로 보여준다
+     */
+    private boolean enabled = true;
+
+    /**
+     * true 면 호출마다 현재 thread 가 할당한 bytes 도 기록한다 (ThreadMXBean, 호출마다 수백 ns 추가)
+     */
+    private boolean trackAllocation = false;
+}
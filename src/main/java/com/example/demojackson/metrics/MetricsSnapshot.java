@@ -0,0 +1,19 @@
+package com.example.demojackson.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Map;
+
+/**
+ * types: 타입 (FQCN) 별, 중첩된 bean 의 시간 / bytes 는 바깥 bean 에도 포함된다
+ * endpoints: "GET /path" 별, 요청 하나에서 읽고 쓴 bean 전체가 한 번으로 기록된다
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class MetricsSnapshot {
+    private final Map<String, CodecStats> types;
+    private final Map<String, CodecStats> endpoints;
+}
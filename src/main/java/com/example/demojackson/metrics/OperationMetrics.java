@@ -0,0 +1,52 @@
+package com.example.demojackson.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * serialize 또는 deserialize 한 방향의 누적값
+ * 모두 LongAdder 라 여러 thread 가 잠금 없이 기록한다
+ * 경쟁이 없어도 LongAdder 하나마다 CAS 한 번이므로 시간을 잰 횟수는 따로 세지 않고 histogram bucket 의 합으로 구한다
+ * 중첩된 bean 은 시간을 재지 않고 횟수와 bytes 만 더한다 (recordNested)
+ */
+final class OperationMetrics {
+    private final LongAdder nanos = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final LongAdder nested = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    /**
+     * @param bytes          음수면 알 수 없음 (기록하지 않음)
+     * @param allocatedBytes 음수면 알 수 없음 (기록하지 않음)
+     */
+    void record(long nanos, long bytes, long allocatedBytes) {
+        this.nanos.add(nanos);
+        latency.record(nanos);
+        if (bytes >= 0) {
+            this.bytes.add(bytes);
+        }
+        if (allocatedBytes >= 0) {
+            this.allocatedBytes.add(allocatedBytes);
+        }
+    }
+
+    /**
+     * @param bytes 음수면 알 수 없음 (기록하지 않음)
+     */
+    void recordNested(long bytes) {
+        nested.increment();
+        if (bytes >= 0) {
+            this.bytes.add(bytes);
+        }
+    }
+
+    long count() {
+        return latency.count() + nested.sum();
+    }
+
+    OperationStats snapshot() {
+        long timed = latency.count();
+        return new OperationStats(timed + nested.sum(), timed, nanos.sum(), latency.percentile(0.5),
+                latency.percentile(0.99), latency.max(), bytes.sum(), allocatedBytes.sum());
+    }
+}
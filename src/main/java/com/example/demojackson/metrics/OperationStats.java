@@ -0,0 +1,25 @@
+package com.example.demojackson.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * serialize 또는 deserialize 한 방향의 누적값
+ * count 는 중첩된 값까지 모든 횟수, 시간 (totalNanos, p50 / p99 / max) 은 가장 바깥 bean 으로 쓰인 timedCount 번만 잰다
+ * p50 / p99 는 2 의 거듭제곱 bucket 상한이라 최대 2 배까지 크게 나올 수 있다
+ * bytes 는 Writer 로 쓴 경우 문자 수, allocatedBytes 는 track-allocation 을 켠 경우에만 채워진다
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class OperationStats {
+    private final long count;
+    private final long timedCount;
+    private final long totalNanos;
+    private final long p50Nanos;
+    private final long p99Nanos;
+    private final long maxNanos;
+    private final long bytes;
+    private final long allocatedBytes;
+}
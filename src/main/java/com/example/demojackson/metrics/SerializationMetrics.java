@@ -0,0 +1,173 @@
+package com.example.demojackson.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 타입별 / endpoint 별 serialize / deserialize 누적값 저장소
+ *
+ * <pre>
+ * SerializationMetrics metrics = new SerializationMetrics(false);
+ * ObjectMapper objectMapper = new ObjectMapper().registerModule(new SerializationMetricsModule(metrics));
+ * ...
+ * MetricsSnapshot snapshot = metrics.snapshot();
+ * </pre>
+ *
+ * 기록은 LongAdder 에 더하기만 하므로 잠금이 없고, 타입 / endpoint 항목을 처음 만들 때 말고는 할당도 없다
+ * trackAllocation 이면 호출마다 ThreadMXBean 으로 현재 thread 가 할당한 bytes 를 앞뒤로 읽는다
+ * (JDK 11 의 getThreadAllocatedBytes 는 호출마다 작은 배열을 할당하므로 기본은 끔)
+ */
+public class SerializationMetrics {
+    private final ConcurrentMap<String, CodecMetrics> types = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CodecMetrics> endpoints = new ConcurrentHashMap<>();
+    private final ThreadLocal<Scope> scopes = ThreadLocal.withInitial(Scope::new);
+    private final com.sun.management.ThreadMXBean threads;
+
+    public SerializationMetrics(boolean trackAllocation) {
+        this.threads = trackAllocation ? allocationTracker() : null;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationTracker() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (!(threadMXBean instanceof com.sun.management.ThreadMXBean)
+                || !((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemorySupported()) {
+            throw new IllegalArgumentException("thread allocated memory is not supported by this JVM");
+        }
+        com.sun.management.ThreadMXBean tracker = (com.sun.management.ThreadMXBean) threadMXBean;
+        tracker.setThreadAllocatedMemoryEnabled(true);
+        return tracker;
+    }
+
+    public boolean isTrackingAllocation() {
+        return threads != null;
+    }
+
+    public MetricsSnapshot snapshot() {
+        return new MetricsSnapshot(snapshot(types), snapshot(endpoints));
+    }
+
+    private static Map<String, CodecStats> snapshot(Map<String, CodecMetrics> metrics) {
+        Map<String, CodecStats> stats = new TreeMap<>();
+        metrics.forEach((name, codecMetrics) -> stats.put(name, codecMetrics.snapshot()));
+        return stats;
+    }
+
+    CodecMetrics forType(Class<?> type) {
+        return types.computeIfAbsent(type.getName(), name -> new CodecMetrics());
+    }
+
+    CodecMetrics forEndpoint(String name) {
+        return endpoints.computeIfAbsent(name, key -> new CodecMetrics());
+    }
+
+    /**
+     * 현재 thread 가 지금까지 할당한 bytes, 추적하지 않으면 -1
+     */
+    long allocatedBytes() {
+        return threads == null ? -1 : threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * 요청 하나의 시작, endRequest 까지 이 thread 에서 가장 바깥 bean 의 값을 모아서 endpoint 에 한 번으로 기록한다
+     */
+    void beginRequest(CodecMetrics endpoint) {
+        Scope scope = scopes.get();
+        scope.endpoint = endpoint;
+        scope.serialization.clear();
+        scope.deserialization.clear();
+    }
+
+    void endRequest() {
+        Scope scope = scopes.get();
+        if (scope.endpoint != null) {
+            scope.serialization.flushTo(scope.endpoint.serialization);
+            scope.deserialization.flushTo(scope.endpoint.deserialization);
+            scope.endpoint = null;
+        }
+    }
+
+    /**
+     * bean 하나를 읽거나 쓰기 시작할 때, 끝나면 (예외여도) {@link Scope#exit()}
+     */
+    Scope enter() {
+        Scope scope = scopes.get();
+        scope.depth++;
+        return scope;
+    }
+
+    /**
+     * thread 별 중첩 깊이와 진행 중인 요청의 합계
+     * 시간 / 할당은 가장 바깥 bean (depth 1) 에서만 잰다, 중첩된 bean 의 시간은 바깥 bean 에 이미 포함
+     */
+    static final class Scope {
+        private int depth;
+        private CodecMetrics endpoint;
+        private final Tally serialization = new Tally();
+        private final Tally deserialization = new Tally();
+
+        void exit() {
+            depth--;
+        }
+
+        /**
+         * true 면 serialized / deserialized, 아니면 (중첩된 bean) serializedNested / deserializedNested 로 기록한다
+         */
+        boolean isOutermost() {
+            return depth == 1;
+        }
+
+        void serialized(CodecMetrics type, long nanos, long bytes, long allocatedBytes) {
+            type.serialization.record(nanos, bytes, allocatedBytes);
+            if (endpoint != null) {
+                serialization.add(nanos, bytes, allocatedBytes);
+            }
+        }
+
+        void serializedNested(CodecMetrics type, long bytes) {
+            type.serialization.recordNested(bytes);
+        }
+
+        void deserialized(CodecMetrics type, long nanos, long bytes, long allocatedBytes) {
+            type.deserialization.record(nanos, bytes, allocatedBytes);
+            if (endpoint != null) {
+                deserialization.add(nanos, bytes, allocatedBytes);
+            }
+        }
+
+        void deserializedNested(CodecMetrics type, long bytes) {
+            type.deserialization.recordNested(bytes);
+        }
+    }
+
+    private static final class Tally {
+        int calls;
+        long nanos;
+        long bytes = -1;
+        long allocatedBytes = -1;
+
+        void add(long nanos, long bytes, long allocatedBytes) {
+            this.calls++;
+            this.nanos += nanos;
+            this.bytes = bytes < 0 ? this.bytes : Math.max(this.bytes, 0) + bytes;
+            this.allocatedBytes = allocatedBytes < 0 ? this.allocatedBytes : Math.max(this.allocatedBytes, 0) + allocatedBytes;
+        }
+
+        void flushTo(OperationMetrics metrics) {
+            if (calls > 0) {
+                metrics.record(nanos, bytes, allocatedBytes);
+            }
+            clear();
+        }
+
+        void clear() {
+            calls = 0;
+            nanos = 0;
+            bytes = -1;
+            allocatedBytes = -1;
+        }
+    }
+}
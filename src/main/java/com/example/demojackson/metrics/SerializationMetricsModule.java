@@ -0,0 +1,99 @@
+package com.example.demojackson.metrics;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonFactoryBuilder;
+import com.fasterxml.jackson.core.TSFBuilder;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.MappingJsonFactory;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.deser.BeanDeserializer;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializer;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+
+/**
+ * bean 타입별 serialize / deserialize 횟수, latency, bytes 를 {@link SerializationMetrics} 에 기록하는 모듈
+ *
+ * <pre>
+ * SerializationMetrics metrics = new SerializationMetrics(false);
+ * new ObjectMapper(SerializationMetricsModule.countingFactory(new JsonFactory()))
+ *         .registerModule(new SerializationMetricsModule(metrics));
+ * </pre>
+ *
+ * BeanSerializer / BeanDeserializer 만 바꾸므로 직접 만든 serializer, 다른 모듈이 바꾼 bean serializer 는 기록하지 않는다
+ * 중첩된 bean 은 각자의 타입에 횟수 / bytes 로 기록되고 바깥 bean 의 값에도 포함된다
+ * 시간은 generator / parser 마다 가장 바깥 bean 만 잰다 (중첩된 bean 의 시간은 바깥 bean 에 포함)
+ * 쓴 bytes 는 {@link #countingFactory} 로 만든 factory 의 ObjectMapper 에서만 기록한다 (아니면 -1, 기록하지 않음)
+ * 가장 바깥 bean 마다 System.nanoTime 두 번과 LongAdder 세 개 (latency bucket, 시간, bytes),
+ * 중첩된 bean 마다 ThreadLocal 조회 한 번과 LongAdder 두 개 (횟수, bytes) 가 추가된다
+ */
+public class SerializationMetricsModule extends SimpleModule {
+    private final SerializationMetrics metrics;
+
+    public SerializationMetricsModule(SerializationMetrics metrics) {
+        super(SerializationMetricsModule.class.getSimpleName());
+        if (metrics == null) {
+            throw new IllegalArgumentException("metrics must not be null");
+        }
+        this.metrics = metrics;
+        setSerializerModifier(new MeteredSerializerModifier(metrics));
+        setDeserializerModifier(new MeteredDeserializerModifier(metrics));
+    }
+
+    public SerializationMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * 쓴 bytes 를 세는 OutputDecorator 를 더한 factory, 원래 decorator 가 있으면 그 결과를 감싼다
+     * 만들어진 ObjectMapper 의 factory 는 바꿀 수 없으므로 ObjectMapper 를 만들 때 넘긴다
+     */
+    public static JsonFactory countingFactory(JsonFactory factory) {
+        if (factory.getOutputDecorator() instanceof CountingOutputDecorator) {
+            return factory;
+        }
+        // MappingJsonFactory 는 rebuild() 를 지원하지 않는다
+        TSFBuilder<?, ?> builder = factory.getClass() == MappingJsonFactory.class
+                ? new JsonFactoryBuilder(factory) : factory.rebuild();
+        return builder.outputDecorator(new CountingOutputDecorator(factory.getOutputDecorator())).build();
+    }
+
+    static class MeteredSerializerModifier extends BeanSerializerModifier {
+        private final SerializationMetrics metrics;
+
+        MeteredSerializerModifier(SerializationMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        @Override
+        public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDesc,
+                                                  JsonSerializer<?> serializer) {
+            if (serializer.getClass() == BeanSerializer.class) {
+                return new MeteredBeanSerializer((BeanSerializerBase) serializer, metrics);
+            }
+            return serializer;
+        }
+    }
+
+    static class MeteredDeserializerModifier extends BeanDeserializerModifier {
+        private final SerializationMetrics metrics;
+
+        MeteredDeserializerModifier(SerializationMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        @Override
+        public JsonDeserializer<?> modifyDeserializer(DeserializationConfig config, BeanDescription beanDesc,
+                                                      JsonDeserializer<?> deserializer) {
+            if (deserializer.getClass() == BeanDeserializer.class) {
+                return new MeteredBeanDeserializer(deserializer, metrics, metrics.forType(beanDesc.getBeanClass()));
+            }
+            return deserializer;
+        }
+    }
+}
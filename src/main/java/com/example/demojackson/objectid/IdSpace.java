@@ -0,0 +1,56 @@
+package com.example.demojackson.objectid;
+
+import com.fasterxml.jackson.annotation.ObjectIdGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ObjectIdGenerator.IdKey 의 (generator 타입, scope) 와 id 타입이 같은 id 들을 모은 테이블
+ * IdKey 는 Integer 1 과 Long 1 을 다른 key 로 보므로 id 타입도 구분한다
+ */
+final class IdSpace<V> {
+    final Class<?> generatorType;
+    final Class<?> scope;
+    final Class<?> idType;
+    final LongObjectTable<V> table = new LongObjectTable<>();
+
+    /**
+     * 참조만 되고 아직 bind 되지 않은 id 수 (IntObjectIdDeserializationContext 에서 사용)
+     */
+    int pending;
+
+    private IdSpace(Class<?> generatorType, Class<?> scope, Class<?> idType) {
+        this.generatorType = generatorType;
+        this.scope = scope;
+        this.idType = idType;
+    }
+
+    /**
+     * int / long (short / byte 포함) 정수 id 만 primitive 테이블에 넣는다
+     */
+    static boolean isIntegral(Object id) {
+        Class<?> type = id.getClass();
+        return type == Integer.class || type == Long.class || type == Short.class || type == Byte.class;
+    }
+
+    static <V> IdSpace<V> find(List<IdSpace<V>> spaces, Class<?> generatorType, Class<?> scope, Class<?> idType) {
+        // 보통 한 두 개라 선형 탐색
+        for (IdSpace<V> space : spaces) {
+            if (space.generatorType == generatorType && space.scope == scope && space.idType == idType) {
+                return space;
+            }
+        }
+        IdSpace<V> space = new IdSpace<>(generatorType, scope, idType);
+        spaces.add(space);
+        return space;
+    }
+
+    static <V> List<IdSpace<V>> newList() {
+        return new ArrayList<>(2);
+    }
+
+    ObjectIdGenerator.IdKey key(Object id) {
+        return new ObjectIdGenerator.IdKey(generatorType, scope, id);
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.demojackson.objectid;
+
+import com.fasterxml.jackson.annotation.ObjectIdGenerator;
+import com.fasterxml.jackson.annotation.ObjectIdResolver;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.InjectableValues;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerFactory;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.deser.DeserializerFactory;
+import com.fasterxml.jackson.databind.deser.UnresolvedForwardReference;
+import com.fasterxml.jackson.databind.deser.impl.ReadableObjectId;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * resolver 가 {@link IntObjectIdResolver} 이고 id 가 정수인 object id 를 primitive 테이블로 찾는 DeserializationContext
+ *
+ * <pre>
+ * new ObjectMapper(null, null, new IntObjectIdDeserializationContext())
+ *         .registerModule(new IntObjectIdModule());
+ * </pre>
+ *
+ * Jackson 기본은 id 마다 IdKey, ReadableObjectId, LinkedHashMap entry 를 만들고
+ * resolver (SimpleObjectIdResolver) 가 다시 IdKey -> 객체 HashMap 을 가진다
+ * 여기서는 id 당 ReadableObjectId 하나를 long key 테이블에 넣고 객체도 거기에 저장한다
+ * 그 밖의 id 는 DefaultDeserializationContext 가 그대로 처리한다
+ */
+public class IntObjectIdDeserializationContext extends DefaultDeserializationContext {
+    private static final long serialVersionUID = 1L;
+
+    private transient List<IdSpace<IntReadableObjectId>> spaces;
+    private transient IdSpace<IntReadableObjectId> lastSpace;
+    private transient ObjectIdResolver resolver;
+
+    public IntObjectIdDeserializationContext() {
+        this(BeanDeserializerFactory.instance);
+    }
+
+    public IntObjectIdDeserializationContext(DeserializerFactory factory) {
+        super(factory, null);
+    }
+
+    protected IntObjectIdDeserializationContext(IntObjectIdDeserializationContext src, DeserializationConfig config,
+                                                JsonParser p, InjectableValues values) {
+        super(src, config, p, values);
+    }
+
+    protected IntObjectIdDeserializationContext(IntObjectIdDeserializationContext src, DeserializationConfig config) {
+        super(src, config);
+    }
+
+    protected IntObjectIdDeserializationContext(IntObjectIdDeserializationContext src, DeserializerFactory factory) {
+        super(src, factory);
+    }
+
+    protected IntObjectIdDeserializationContext(IntObjectIdDeserializationContext src) {
+        super(src);
+    }
+
+    @Override
+    public DefaultDeserializationContext copy() {
+        return new IntObjectIdDeserializationContext(this);
+    }
+
+    @Override
+    public DefaultDeserializationContext createInstance(DeserializationConfig config, JsonParser p,
+                                                        InjectableValues values) {
+        return new IntObjectIdDeserializationContext(this, config, p, values);
+    }
+
+    @Override
+    public DefaultDeserializationContext createDummyInstance(DeserializationConfig config) {
+        return new IntObjectIdDeserializationContext(this, config);
+    }
+
+    @Override
+    public DefaultDeserializationContext with(DeserializerFactory factory) {
+        return new IntObjectIdDeserializationContext(this, factory);
+    }
+
+    @Override
+    public ReadableObjectId findObjectId(Object id, ObjectIdGenerator<?> gen, ObjectIdResolver resolverType) {
+        if (!(resolverType instanceof IntObjectIdResolver) || id == null || !IdSpace.isIntegral(id)) {
+            return super.findObjectId(id, gen, resolverType);
+        }
+        IdSpace<IntReadableObjectId> space = space(gen, id.getClass());
+        long key = ((Number) id).longValue();
+        IntReadableObjectId roid = space.table.get(key);
+        if (roid == null) {
+            roid = new IntReadableObjectId(space, id);
+            if (resolver == null) {
+                resolver = resolverType.newForDeserialization(this);
+            }
+            // 객체는 roid 에 저장하므로 resolver 는 getResolver() 용으로만 둔다
+            roid.setResolver(resolver);
+            space.table.putIfAbsent(key, roid);
+        }
+        return roid;
+    }
+
+    @Override
+    public void checkUnresolvedObjectId() throws UnresolvedForwardReference {
+        super.checkUnresolvedObjectId();
+        if (spaces == null || !isEnabled(DeserializationFeature.FAIL_ON_UNRESOLVED_OBJECT_IDS)) {
+            return;
+        }
+        List<IntReadableObjectId> unresolved = new ArrayList<>();
+        for (IdSpace<IntReadableObjectId> space : spaces) {
+            if (space.pending > 0) {
+                space.table.forEach(roid -> {
+                    if (roid.hasReferringProperties()) {
+                        unresolved.add(roid);
+                    }
+                });
+            }
+        }
+        // DefaultDeserializationContext#checkUnresolvedObjectId 와 같은 예외
+        UnresolvedForwardReference exception = null;
+        for (IntReadableObjectId roid : unresolved) {
+            if (tryToResolveUnresolvedObjectId(roid)) {
+                continue;
+            }
+            if (exception == null) {
+                exception = new UnresolvedForwardReference(getParser(), "Unresolved forward references for: ");
+            }
+            Object key = roid.getKey().key;
+            for (Iterator<ReadableObjectId.Referring> it = roid.referringProperties(); it.hasNext(); ) {
+                ReadableObjectId.Referring referring = it.next();
+                exception.addUnresolvedId(key, referring.getBeanType(), referring.getLocation());
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    private IdSpace<IntReadableObjectId> space(ObjectIdGenerator<?> gen, Class<?> idType) {
+        IdSpace<IntReadableObjectId> space = lastSpace;
+        Class<?> generatorType = gen.getClass();
+        Class<?> scope = gen.getScope();
+        if (space != null && space.generatorType == generatorType && space.scope == scope && space.idType == idType) {
+            return space;
+        }
+        if (spaces == null) {
+            spaces = IdSpace.newList();
+        }
+        space = IdSpace.find(spaces, generatorType, scope, idType);
+        lastSpace = space;
+        return space;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.demojackson.objectid;
+
+import com.fasterxml.jackson.annotation.ObjectIdGenerators;
+import com.fasterxml.jackson.annotation.SimpleObjectIdResolver;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBase;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.impl.ObjectIdReader;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import com.fasterxml.jackson.databind.introspect.NopAnnotationIntrospector;
+import com.fasterxml.jackson.databind.introspect.ObjectIdInfo;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+/**
+ * @JsonIdentityInfo 의 기본 resolver (SimpleObjectIdResolver) 를 {@link IntObjectIdResolver} 로 바꾸는 모듈
+ * (Ex4.ItemWithIdentity 처럼 PropertyGenerator 로 int 프로퍼티를 id 로 쓰는 경우)
+ *
+ * <pre>
+ * new ObjectMapper(null, null, new IntObjectIdDeserializationContext())
+ *         .registerModule(new IntObjectIdModule());
+ * </pre>
+ *
+ * id 로만 쓰인 참조는 {@link ObjectIdReferenceDeserializer} 가 처리해서 forward reference 마다 stack trace 를 만들지 않는다
+ *
+ * generator 는 바꾸지 않으므로 serialize 결과와 identity 의미는 그대로다
+ * resolver 를 직접 지정한 @JsonIdentityInfo 와 PropertyGenerator / IntSequenceGenerator 가 아닌 generator 는 건드리지 않는다
+ */
+public class IntObjectIdModule extends SimpleModule {
+
+    public IntObjectIdModule() {
+        super(IntObjectIdModule.class.getSimpleName());
+        setDeserializerModifier(new ObjectIdReferenceModifier());
+    }
+
+    @Override
+    public void setupModule(SetupContext context) {
+        super.setupModule(context);
+        context.insertAnnotationIntrospector(new ResolverIntrospector());
+    }
+
+    static class ResolverIntrospector extends NopAnnotationIntrospector {
+        private static final long serialVersionUID = 1L;
+
+        private final JacksonAnnotationIntrospector delegate = new JacksonAnnotationIntrospector();
+
+        @Override
+        public ObjectIdInfo findObjectIdInfo(Annotated ann) {
+            ObjectIdInfo info = delegate.findObjectIdInfo(ann);
+            if (info == null || info.getResolverType() != SimpleObjectIdResolver.class
+                    || (info.getGeneratorType() != ObjectIdGenerators.PropertyGenerator.class
+                    && info.getGeneratorType() != ObjectIdGenerators.IntSequenceGenerator.class)) {
+                return info;
+            }
+            return new ObjectIdInfo(info.getPropertyName(), info.getScope(), info.getGeneratorType(),
+                    IntObjectIdResolver.class).withAlwaysAsId(info.getAlwaysAsId());
+        }
+    }
+
+    static class ObjectIdReferenceModifier extends BeanDeserializerModifier {
+
+        @Override
+        public JsonDeserializer<?> modifyDeserializer(DeserializationConfig config, BeanDescription beanDesc,
+                                                      JsonDeserializer<?> deserializer) {
+            ObjectIdReader reader = deserializer.getObjectIdReader();
+            if (deserializer instanceof BeanDeserializerBase && reader != null
+                    && reader.resolver instanceof IntObjectIdResolver) {
+                return new ObjectIdReferenceDeserializer(deserializer);
+            }
+            return deserializer;
+        }
+    }
+}
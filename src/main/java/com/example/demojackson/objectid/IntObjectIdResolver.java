@@ -0,0 +1,66 @@
+package com.example.demojackson.objectid;
+
+import com.fasterxml.jackson.annotation.ObjectIdGenerator;
+import com.fasterxml.jackson.annotation.ObjectIdResolver;
+import com.fasterxml.jackson.annotation.SimpleObjectIdResolver;
+
+import java.util.List;
+
+/**
+ * int / long id 를 primitive 테이블에 저장하는 ObjectIdResolver
+ * 정수가 아닌 id 는 SimpleObjectIdResolver 에 맡긴다
+ *
+ * <pre>
+ * &#64;JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "id",
+ *         resolver = IntObjectIdResolver.class)
+ * </pre>
+ *
+ * 또는 {@link IntObjectIdModule} 로 annotation 수정 없이 적용한다
+ * {@link IntObjectIdDeserializationContext} 와 같이 쓰면 context 쪽 IdKey / ReadableObjectId 테이블도 primitive 로 바뀐다
+ */
+public class IntObjectIdResolver implements ObjectIdResolver {
+    private final List<IdSpace<Object>> spaces = IdSpace.newList();
+    private SimpleObjectIdResolver fallback;
+
+    @Override
+    public void bindItem(ObjectIdGenerator.IdKey id, Object pojo) {
+        if (!IdSpace.isIntegral(id.key)) {
+            fallback().bindItem(id, pojo);
+            return;
+        }
+        Object old = space(id).table.putIfAbsent(((Number) id.key).longValue(), pojo);
+        if (old != null && old != pojo) {
+            // SimpleObjectIdResolver 와 같은 예외
+            throw new IllegalStateException("Already had POJO for id (" + id.key.getClass().getName() + ") [" + id + "]");
+        }
+    }
+
+    @Override
+    public Object resolveId(ObjectIdGenerator.IdKey id) {
+        if (!IdSpace.isIntegral(id.key)) {
+            return fallback == null ? null : fallback.resolveId(id);
+        }
+        return space(id).table.get(((Number) id.key).longValue());
+    }
+
+    @Override
+    public boolean canUseFor(ObjectIdResolver resolverType) {
+        return resolverType.getClass() == getClass();
+    }
+
+    @Override
+    public ObjectIdResolver newForDeserialization(Object context) {
+        return new IntObjectIdResolver();
+    }
+
+    private IdSpace<Object> space(ObjectIdGenerator.IdKey id) {
+        return IdSpace.find(spaces, id.type, id.scope, id.key.getClass());
+    }
+
+    private SimpleObjectIdResolver fallback() {
+        if (fallback == null) {
+            fallback = new SimpleObjectIdResolver();
+        }
+        return fallback;
+    }
+}
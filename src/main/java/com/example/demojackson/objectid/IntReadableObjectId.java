@@ -0,0 +1,106 @@
+package com.example.demojackson.objectid;
+
+import com.fasterxml.jackson.annotation.ObjectIdGenerator;
+import com.fasterxml.jackson.databind.deser.impl.ReadableObjectId;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * {@link IntObjectIdDeserializationContext} 용 ReadableObjectId
+ *
+ * - 객체는 resolver 대신 여기에 직접 저장한다 (id 당 테이블 하나만 사용)
+ * - IdKey 는 예외 메시지 등에서 필요할 때만 만든다
+ * - forward reference 는 보통 id 당 하나라 LinkedList 대신 첫 번째는 필드, 나머지는 ArrayList 에 둔다
+ */
+final class IntReadableObjectId extends ReadableObjectId {
+    private final IdSpace<IntReadableObjectId> space;
+    private final Object id;
+    private ObjectIdGenerator.IdKey key;
+    private Referring firstReferring;
+    private List<Referring> moreReferrings;
+
+    IntReadableObjectId(IdSpace<IntReadableObjectId> space, Object id) {
+        super(null);
+        this.space = space;
+        this.id = id;
+    }
+
+    @Override
+    public ObjectIdGenerator.IdKey getKey() {
+        if (key == null) {
+            key = space.key(id);
+        }
+        return key;
+    }
+
+    @Override
+    public void appendReferring(Referring currentReferring) {
+        if (firstReferring == null) {
+            firstReferring = currentReferring;
+            space.pending++;
+            return;
+        }
+        if (moreReferrings == null) {
+            moreReferrings = new ArrayList<>(2);
+        }
+        moreReferrings.add(currentReferring);
+    }
+
+    @Override
+    public void bindItem(Object ob) throws IOException {
+        if (_item != null) {
+            if (_item == ob) {
+                return;
+            }
+            // SimpleObjectIdResolver 와 같은 예외
+            throw new IllegalStateException("Already had POJO for id (" + id.getClass().getName() + ") [" + getKey() + "]");
+        }
+        _item = ob;
+        Referring first = firstReferring;
+        if (first == null) {
+            return;
+        }
+        List<Referring> more = moreReferrings;
+        firstReferring = null;
+        moreReferrings = null;
+        space.pending--;
+        first.handleResolvedForwardReference(id, ob);
+        if (more != null) {
+            for (Referring referring : more) {
+                referring.handleResolvedForwardReference(id, ob);
+            }
+        }
+    }
+
+    @Override
+    public Object resolve() {
+        return _item;
+    }
+
+    @Override
+    public boolean hasReferringProperties() {
+        return firstReferring != null;
+    }
+
+    @Override
+    public Iterator<Referring> referringProperties() {
+        if (firstReferring == null) {
+            return Collections.emptyIterator();
+        }
+        List<Referring> all = new ArrayList<>(1 + (moreReferrings == null ? 0 : moreReferrings.size()));
+        all.add(firstReferring);
+        if (moreReferrings != null) {
+            all.addAll(moreReferrings);
+        }
+        return all.iterator();
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(getKey());
+    }
+}
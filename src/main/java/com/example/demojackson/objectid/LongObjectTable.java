@@ -0,0 +1,94 @@
+package com.example.demojackson.objectid;
+
+import java.util.function.Consumer;
+
+/**
+ * long key -> 값 open addressing (linear probing) 테이블
+ * HashMap 과 달리 key boxing / Node 할당이 없다. 값은 null 이 될 수 없고 삭제는 지원하지 않는다
+ */
+final class LongObjectTable<V> {
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    LongObjectTable() {
+        allocate(MIN_CAPACITY);
+    }
+
+    int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            Object value = values[slot];
+            if (value == null || keys[slot] == key) {
+                return (V) value;
+            }
+        }
+    }
+
+    /**
+     * 이미 있으면 바꾸지 않고 기존 값을 돌려준다
+     */
+    @SuppressWarnings("unchecked")
+    V putIfAbsent(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("null value");
+        }
+        int slot = slot(key);
+        for (; values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return (V) values[slot];
+            }
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size >= resizeAt) {
+            rehash(values.length << 1);
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    void forEach(Consumer<? super V> action) {
+        for (Object value : values) {
+            if (value != null) {
+                action.accept((V) value);
+            }
+        }
+    }
+
+    private int slot(long key) {
+        // 연속된 id (1, 2, 3 ...) 가 몰리지 않게 섞는다 (fibonacci hashing)
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = slot(oldKeys[i]);
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeAt = capacity - (capacity >>> 2);
+    }
+}
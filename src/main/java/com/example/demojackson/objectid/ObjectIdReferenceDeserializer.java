@@ -0,0 +1,81 @@
+package com.example.demojackson.objectid;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.UnresolvedForwardReference;
+import com.fasterxml.jackson.databind.deser.impl.ObjectIdReader;
+import com.fasterxml.jackson.databind.deser.impl.ReadableObjectId;
+import com.fasterxml.jackson.databind.deser.std.DelegatingDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+
+import java.io.IOException;
+
+/**
+ * id 값 (숫자 / 문자열) 으로만 쓰인 참조를 BeanDeserializerBase#deserializeFromObjectId 와 같이 처리하되
+ * 아직 bind 되지 않은 id (forward reference) 는 stack trace 없는 UnresolvedForwardReference 로 알린다
+ *
+ * Jackson 은 forward reference 마다 UnresolvedForwardReference 를 던지고 CollectionDeserializer /
+ * ObjectIdReferenceProperty 가 받아서 나중에 채울 자리를 등록한다
+ * 예외가 흐름 제어용이라 stack trace (참조 하나에 1 KB 정도) 는 쓰이지 않는다
+ * 받는 쪽이 없어 밖으로 나가는 경우에도 메시지와 위치, unresolved id 는 그대로다
+ */
+class ObjectIdReferenceDeserializer extends DelegatingDeserializer {
+    private static final long serialVersionUID = 1L;
+
+    private final transient ObjectIdReader objectIdReader;
+    private final String messageSuffix;
+
+    /**
+     * @param delegatee BeanDeserializerBase
+     */
+    ObjectIdReferenceDeserializer(JsonDeserializer<?> delegatee) {
+        super(delegatee);
+        this.objectIdReader = delegatee.getObjectIdReader();
+        // BeanDeserializerBase#deserializeFromObjectId 와 같은 메시지
+        this.messageSuffix = "] (for " + ((StdDeserializer<?>) delegatee).getValueType() + ").";
+    }
+
+    @Override
+    protected JsonDeserializer<?> newDelegatingInstance(JsonDeserializer<?> newDelegatee) {
+        return new ObjectIdReferenceDeserializer(newDelegatee);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public JsonDeserializer<Object> unwrappingDeserializer(NameTransformer unwrapper) {
+        // @JsonUnwrapped 로 쓰일 때는 id 참조가 올 수 없다
+        return (JsonDeserializer<Object>) _delegatee.unwrappingDeserializer(unwrapper);
+    }
+
+    @Override
+    public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        ObjectIdReader reader = objectIdReader;
+        if (reader == null || !(reader.resolver instanceof IntObjectIdResolver)
+                || !(p.hasToken(JsonToken.VALUE_NUMBER_INT) || p.hasToken(JsonToken.VALUE_STRING))) {
+            return _delegatee.deserialize(p, ctxt);
+        }
+        Object id = reader.readObjectReference(p, ctxt);
+        ReadableObjectId roid = ctxt.findObjectId(id, reader.generator, reader.resolver);
+        Object pojo = roid.resolve();
+        if (pojo == null) {
+            throw new ForwardReference(p, "Could not resolve Object Id [" + id + messageSuffix, roid);
+        }
+        return pojo;
+    }
+
+    static class ForwardReference extends UnresolvedForwardReference {
+        private static final long serialVersionUID = 1L;
+
+        ForwardReference(JsonParser p, String msg, ReadableObjectId roid) {
+            super(p, msg, p.getCurrentLocation(), roid);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,380 @@
+package com.example.demojackson.parallel;
+
+import com.fasterxml.jackson.core.JsonParseException;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * 최상위 JSON 배열을 원소 경계에서 잘라 chunk 로 나누는 byte 단위 scanner (문서마다 새로 만든다)
+ *
+ * 원소 안은 decoding 하지 않고 건너뛰기만 한다
+ * 문자열 안은 8 bytes 씩 '"' / '\\' 만 찾고 (escape 다음 문자는 끝이 아님), 문자열 밖은 괄호 깊이만 센다
+ * 원소 내용의 오류는 chunk 를 읽는 Jackson parser 가 보고한다
+ *
+ * 입력을 window 로 나눠 줄 수도 있다 (last = false)
+ * window 끝에서 원소가 끊기면 next 가 완성된 원소까지만 chunk 로 돌려주거나 false + needsInput 을 돌려주고,
+ * resumeOffset 부터의 bytes 로 시작하는 다음 window 를 refill 로 받아 그 원소부터 다시 scan 한다
+ * 원소 경계에서만 멈추므로 window 사이에 넘기는 상태는 원소 수, 배열 시작 / 끝을 지났는지, 입력 offset 뿐이다
+ */
+final class ArrayChunkScanner {
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGHS = 0x8080808080808080L;
+    private static final long QUOTES = '"' * ONES;
+    private static final long BACKSLASHES = '\\' * ONES;
+
+    // 문자열 밖에서 보는 byte 분류 (나머지는 0)
+    private static final byte QUOTE = 1;
+    private static final byte OPEN = 2;
+    private static final byte CLOSE = 3;
+    private static final byte[] CLASSES = new byte[256];
+
+    static {
+        CLASSES['"'] = QUOTE;
+        CLASSES['{'] = OPEN;
+        CLASSES['['] = OPEN;
+        CLASSES['}'] = CLOSE;
+        CLASSES[']'] = CLOSE;
+    }
+
+    // window 끝에 닿았지만 입력이 더 있음 (last = false 일 때만, next 가 잡아서 원소 시작으로 되돌린다)
+    private static final Underflow UNDERFLOW = new Underflow();
+
+    private byte[] b;
+    private int end;
+    private boolean last;
+    // b[0] 의 입력 전체 기준 offset
+    private long base;
+    private int i;
+    private boolean started;
+    private boolean finished;
+    // ']' 뒤가 window 끝이라 다음 입력이 공백뿐인지 아직 확인하지 못함
+    private boolean trailing;
+    private boolean needsInput;
+    private long elements;
+
+    private int chunkStart;
+    private int chunkEnd;
+    private long chunkFirst;
+    private int chunkCount;
+
+    /**
+     * 입력 전체 b[start, end)
+     */
+    ArrayChunkScanner(byte[] b, int start, int end) throws IOException {
+        this(b, start, end, true);
+        header();
+    }
+
+    /**
+     * @param last false 면 b[end] 뒤에 입력이 더 있다 (첫 window)
+     */
+    ArrayChunkScanner(byte[] b, int start, int end, boolean last) {
+        Objects.checkFromToIndex(start, end, b.length);
+        this.b = b;
+        this.i = start;
+        this.end = end;
+        this.last = last;
+    }
+
+    /**
+     * needsInput 다음에 이어서 scan 할 window, b[start, end) 는 이전 window 의 resumeOffset 부터의 bytes 로 시작해야 한다
+     */
+    void refill(byte[] b, int start, int end, boolean last) {
+        Objects.checkFromToIndex(start, end, b.length);
+        this.base += i - start;
+        this.b = b;
+        this.i = start;
+        this.end = end;
+        this.last = last;
+        this.needsInput = false;
+    }
+
+    /**
+     * 다음 chunk 를 찾는다, 원소 경계에서만 자르므로 chunk 는 targetBytes 보다 원소 하나만큼 클 수 있다
+     * window 로 나눈 입력이면 chunk 가 window 끝에서 targetBytes 보다 작게 끝날 수 있다
+     *
+     * @return 남은 원소가 없거나 (isFinished) 원소 하나를 끝까지 보기 전에 window 가 끝나면 (needsInput) false
+     */
+    boolean next(int targetBytes) throws IOException {
+        needsInput = false;
+        if (!started) {
+            int mark = i;
+            try {
+                header();
+            } catch (Underflow e) {
+                i = mark;
+                needsInput = true;
+                return false;
+            }
+        }
+        if (finished) {
+            if (trailing) {
+                finish();
+                needsInput = trailing;
+            }
+            return false;
+        }
+        chunkFirst = elements;
+        chunkCount = 0;
+        while (true) {
+            int mark = i;
+            int valueEnd;
+            byte c;
+            try {
+                skipWhitespace();
+                need();
+                if (chunkCount == 0) {
+                    chunkStart = i;
+                }
+                skipValue();
+                valueEnd = i;
+                skipWhitespace();
+                need();
+                c = b[i++];
+            } catch (Underflow e) {
+                // 끊긴 원소는 다음 window 에서 처음부터 다시
+                i = mark;
+                if (chunkCount == 0) {
+                    needsInput = true;
+                    return false;
+                }
+                return true;
+            }
+            elements++;
+            chunkCount++;
+            chunkEnd = valueEnd;
+            if (c == ']') {
+                finish();
+                return true;
+            }
+            if (c != ',') {
+                i--;
+                throw unexpected("',' or ']'");
+            }
+            if (valueEnd - chunkStart >= targetBytes) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 마지막 chunk 까지 찾았다 (']' 를 지남)
+     */
+    boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * next 가 원소를 끝까지 보지 못하고 false 를 돌려줬다, resumeOffset 부터 다음 window 로 refill 해야 한다
+     */
+    boolean needsInput() {
+        return needsInput;
+    }
+
+    /**
+     * 다음 window 에 옮겨야 하는 첫 byte (이 앞은 모두 chunk 로 돌려줬다)
+     */
+    int resumeOffset() {
+        return i;
+    }
+
+    /**
+     * 지금까지 찾은 원소 수 (끝까지 scan 하면 배열 크기)
+     */
+    long elements() {
+        return elements;
+    }
+
+    /**
+     * 현재 chunk 의 첫 원소 시작 위치
+     */
+    int chunkStart() {
+        return chunkStart;
+    }
+
+    /**
+     * 현재 chunk 의 마지막 원소 끝 위치 (쉼표 / 공백 제외)
+     */
+    int chunkEnd() {
+        return chunkEnd;
+    }
+
+    /**
+     * 현재 chunk 의 첫 원소 index
+     */
+    long chunkFirst() {
+        return chunkFirst;
+    }
+
+    int chunkCount() {
+        return chunkCount;
+    }
+
+    /**
+     * 현재 chunk 시작의 입력 전체 기준 offset
+     */
+    long chunkOffset() {
+        return base + chunkStart;
+    }
+
+    private void header() throws IOException {
+        // UTF-8 BOM
+        if (end - i < 3 && !last) {
+            throw UNDERFLOW;
+        }
+        if (end - i >= 3 && b[i] == (byte) 0xEF && b[i + 1] == (byte) 0xBB && b[i + 2] == (byte) 0xBF) {
+            i += 3;
+        }
+        skipWhitespace();
+        need();
+        if (b[i] != '[') {
+            throw unexpected("'[' (top-level array)");
+        }
+        i++;
+        skipWhitespace();
+        need();
+        started = true;
+        if (b[i] == ']') {
+            i++;
+            finish();
+        }
+    }
+
+    private void finish() throws IOException {
+        skipWhitespace();
+        if (i < end) {
+            throw unexpected("end-of-input after top-level array");
+        }
+        finished = true;
+        trailing = !last;
+    }
+
+    private void skipValue() throws IOException {
+        byte c = b[i];
+        if (c == '"') {
+            i = skipString(i + 1);
+        } else if (c == '{' || c == '[') {
+            skipContainer();
+        } else {
+            // 숫자, true / false / null
+            int start = i;
+            while (i < end && (c = b[i]) != ',' && c != '}' && c != ']' && !isWhitespace(c)) {
+                i++;
+            }
+            if (i == start) {
+                throw unexpected("value");
+            }
+            if (i == end && !last) {
+                // 숫자가 다음 window 로 이어질 수 있다
+                throw UNDERFLOW;
+            }
+        }
+    }
+
+    private void skipContainer() throws IOException {
+        int p = i;
+        for (int level = 0; p < end; p++) {
+            switch (CLASSES[b[p] & 0xFF]) {
+                case QUOTE:
+                    p = skipString(p + 1) - 1;
+                    break;
+                case OPEN:
+                    level++;
+                    break;
+                case CLOSE:
+                    if (--level == 0) {
+                        i = p + 1;
+                        return;
+                    }
+                    break;
+                default:
+            }
+        }
+        i = end;
+        throw endOfInput("Unexpected end-of-input in array element");
+    }
+
+    /**
+     * @param p 여는 따옴표 다음 위치
+     * @return 닫는 따옴표 다음 위치
+     */
+    private int skipString(int p) throws IOException {
+        while (true) {
+            p = nextQuoteOrBackslash(p);
+            if (p >= end) {
+                i = end;
+                throw endOfInput("Unexpected end-of-input in string");
+            }
+            if (b[p] == '"') {
+                return p + 1;
+            }
+            // escape 다음 문자 (\" 포함) 는 문자열 끝이 아니다
+            p += 2;
+        }
+    }
+
+    private int nextQuoteOrBackslash(int p) {
+        for (; p + 8 <= end; p += 8) {
+            long v = (long) LONGS.get(b, p);
+            long found = zeroBytes(v ^ QUOTES) | zeroBytes(v ^ BACKSLASHES);
+            if (found != 0) {
+                // 가장 낮은 bit 는 정확하다 (little endian 이라 첫 byte)
+                return p + (Long.numberOfTrailingZeros(found) >>> 3);
+            }
+        }
+        for (; p < end; p++) {
+            if (b[p] == '"' || b[p] == '\\') {
+                return p;
+            }
+        }
+        return end;
+    }
+
+    private static long zeroBytes(long x) {
+        return (x - ONES) & ~x & HIGHS;
+    }
+
+    private void skipWhitespace() {
+        while (i < end && isWhitespace(b[i])) {
+            i++;
+        }
+    }
+
+    private static boolean isWhitespace(byte c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+
+    private void need() throws IOException {
+        if (i >= end) {
+            throw endOfInput("Unexpected end-of-input");
+        }
+    }
+
+    private IOException endOfInput(String message) {
+        return last ? error(message) : UNDERFLOW;
+    }
+
+    private JsonParseException unexpected(String expected) {
+        return error(String.format("Unexpected character ('%c' (code %d)): expected %s",
+                (char) (b[i] & 0xFF), b[i] & 0xFF, expected));
+    }
+
+    private JsonParseException error(String message) {
+        return new JsonParseException(null, message + " at byte offset " + (base + i));
+    }
+
+    private static final class Underflow extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            // 흐름 제어용이라 stack trace 가 필요 없다
+            return this;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.demojackson.parallel;
+
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * 배열 원소 구간 b[start, end) 앞뒤에 '[' / ']' 를 붙여 하나의 JSON 배열처럼 읽게 한다
+ * 원소 사이 쉼표는 원래 bytes 에 있으므로 입력을 복사하거나 고치지 않고 Jackson parser 로 넘길 수 있다
+ */
+final class ArraySliceInputStream extends InputStream {
+    private final byte[] b;
+    private final int start;
+    private final int end;
+    // start - 1: '[' 차례, end: ']' 차례, end + 1: 끝
+    private int pos;
+
+    ArraySliceInputStream(byte[] b, int start, int end) {
+        Objects.checkFromToIndex(start, end, b.length);
+        this.b = b;
+        this.start = start;
+        this.end = end;
+        this.pos = start - 1;
+    }
+
+    @Override
+    public int read() {
+        if (pos < start) {
+            pos = start;
+            return '[';
+        }
+        if (pos < end) {
+            return b[pos++] & 0xFF;
+        }
+        if (pos == end) {
+            pos++;
+            return ']';
+        }
+        return -1;
+    }
+
+    @Override
+    public int read(byte[] dst, int off, int len) {
+        Objects.checkFromIndexSize(off, len, dst.length);
+        if (len == 0) {
+            return 0;
+        }
+        if (pos > end) {
+            return -1;
+        }
+        int n = 0;
+        if (pos < start) {
+            dst[off + n++] = '[';
+            pos = start;
+        }
+        int count = Math.min(len - n, end - pos);
+        System.arraycopy(b, pos, dst, off + n, count);
+        pos += count;
+        n += count;
+        if (pos == end && n < len) {
+            dst[off + n++] = ']';
+            pos++;
+        }
+        return n;
+    }
+
+    @Override
+    public int available() {
+        return Math.max(0, end + 1 - Math.max(pos, start - 1));
+    }
+}
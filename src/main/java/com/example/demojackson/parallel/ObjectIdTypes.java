@@ -0,0 +1,73 @@
+package com.example.demojackson.parallel;
+
+import com.fasterxml.jackson.databind.AnnotationIntrospector;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.cfg.MapperConfig;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.jsontype.NamedType;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 타입에서 닿는 타입에 @JsonIdentityInfo 가 있는지 찾는다
+ * object id 는 (de)serialize 한 번 (SerializerProvider / DeserializationContext) 안에서만 풀리므로 chunk 로 나눌 수 없다
+ * Object 로 선언된 프로퍼티 안은 찾지 못한다
+ */
+final class ObjectIdTypes {
+
+    private ObjectIdTypes() {
+    }
+
+    /**
+     * 타입과 프로퍼티 / 원소 / 하위 타입을 따라가며 찾는다
+     */
+    static boolean hasIdentityInfo(MapperConfig<?> config, JavaType type) {
+        return hasIdentityInfo(config, type, new HashSet<>());
+    }
+
+    private static boolean hasIdentityInfo(MapperConfig<?> config, JavaType type, Set<Class<?>> visited) {
+        if (type.isContainerType() || type.isReferenceType()) {
+            return (type.getKeyType() != null && hasIdentityInfo(config, type.getKeyType(), visited))
+                    || (type.getContentType() != null && hasIdentityInfo(config, type.getContentType(), visited));
+        }
+        Class<?> raw = type.getRawClass();
+        if (raw.isPrimitive() || raw.isEnum() || raw.getName().startsWith("java.") || !visited.add(raw)) {
+            return false;
+        }
+        BeanDescription description = introspect(config, type);
+        if (description.getObjectIdInfo() != null) {
+            return true;
+        }
+        AnnotationIntrospector introspector = config.getAnnotationIntrospector();
+        for (BeanPropertyDefinition property : description.findProperties()) {
+            AnnotatedMember member = property.getPrimaryMember();
+            if (member != null && introspector.findObjectIdInfo(member) != null) {
+                return true;
+            }
+            if (hasIdentityInfo(config, property.getPrimaryType(), visited)) {
+                return true;
+            }
+        }
+        for (NamedType subtype : config.getSubtypeResolver()
+                .collectAndResolveSubtypesByClass(config, description.getClassInfo())) {
+            if (subtype.getType() != raw && hasIdentityInfo(config, config.constructType(subtype.getType()), visited)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 읽을 때는 setter / creator 인자까지 포함한 프로퍼티
+     */
+    private static BeanDescription introspect(MapperConfig<?> config, JavaType type) {
+        return config instanceof DeserializationConfig
+                ? ((DeserializationConfig) config).introspect(type)
+                : ((SerializationConfig) config).introspect(type);
+    }
+}
@@ -0,0 +1,311 @@
+package com.example.demojackson.parallel;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * 큰 최상위 JSON 배열을 원소 경계에서 chunk 로 잘라 여러 스레드에서 읽는 reader
+ *
+ * <pre>
+ * ParallelArrayReader&lt;Animal&gt; reader = new ParallelArrayReader&lt;&gt;(objectMapper, Animal.class);
+ * List&lt;Animal&gt; animals = reader.read(json);
+ * reader.read(json, 0, json.length, animal -&gt; repository.save(animal));
+ * try (InputStream in = new MappedFileInputStream(file)) {
+ *     reader.read(in, animal -&gt; repository.save(animal));
+ * }
+ * </pre>
+ *
+ * - 호출 스레드가 원소 경계만 빠르게 scan 하고 ({@link ArrayChunkScanner}), chunk 는 ForkJoinPool 에서 Jackson 으로 읽는다
+ * - 결과는 항상 원래 순서, 마지막 chunk 는 호출 스레드가 직접 읽는다 (chunk 가 하나면 pool 을 쓰지 않는다)
+ * - Consumer 로 받으면 읽는 중인 chunk 를 parallelism * 2 개로 제한하고, 호출 스레드에서 순서대로 넘긴다
+ * - 원소 타입에서 닿는 타입에 @JsonIdentityInfo 가 있으면 나누지 않고 호출 스레드에서 한 번에 읽는다
+ *   (object id 는 DeserializationContext 하나 안에서만 풀리므로 다른 chunk 의 객체를 가리키는 id 를 찾지 못한다)
+ *   Object 로 선언된 프로퍼티 안의 @JsonIdentityInfo 는 찾지 못하므로 쓰지 않아야 한다
+ * - byte[] 는 2 GB 까지라 더 큰 입력은 InputStream 으로 받는다 (MappedFileInputStream 으로 매핑한 파일 등)
+ *   window 단위로 byte[] 에 읽어 scan 하고, window 끝에서 끊긴 원소는 다음 window 앞으로 옮겨서 이어 간다
+ *   chunk 가 들고 있는 window 는 다음 window 로 다시 쓰지 않고 새로 할당한다 (읽는 중인 chunk 수만큼만 남는다)
+ * 입력은 UTF-8 JSON 이어야 한다
+ */
+@Log4j2
+public class ParallelArrayReader<T> {
+    public static final int DEFAULT_CHUNK_BYTES = 1 << 20;
+
+    private static final int MAX_WINDOW_BYTES = Integer.MAX_VALUE - 8;
+
+    private final ObjectReader reader;
+    private final ObjectReader listReader;
+    private final ForkJoinPool pool;
+    private final int chunkBytes;
+    private final int maxChunksInFlight;
+    private final int windowBytes;
+    private final boolean sequential;
+
+    public ParallelArrayReader(ObjectMapper objectMapper, Class<T> type) {
+        this(objectMapper.readerFor(type), ForkJoinPool.commonPool(), DEFAULT_CHUNK_BYTES);
+    }
+
+    public ParallelArrayReader(ObjectMapper objectMapper, JavaType type) {
+        this(objectMapper.readerFor(type), ForkJoinPool.commonPool(), DEFAULT_CHUNK_BYTES);
+    }
+
+    /**
+     * @param reader     원소 타입의 reader
+     * @param chunkBytes chunk 하나의 대략적인 크기, 작을수록 고르게 나뉘지만 chunk 마다 parser 를 새로 만든다
+     */
+    public ParallelArrayReader(ObjectReader reader, ForkJoinPool pool, int chunkBytes) {
+        if (reader == null || pool == null) {
+            throw new IllegalArgumentException("reader and pool must not be null");
+        }
+        if (reader.getValueType() == null) {
+            throw new IllegalArgumentException("reader has no value type, use ObjectMapper.readerFor");
+        }
+        if (chunkBytes <= 0) {
+            throw new IllegalArgumentException("chunkBytes must be positive: " + chunkBytes);
+        }
+        this.reader = reader;
+        // chunk 는 List 로 읽는다 (DeserializationContext 는 chunk 마다 하나, null 원소는 readValue(List) 와 같게)
+        this.listReader = reader.forType(reader.getTypeFactory()
+                .constructCollectionType(ArrayList.class, reader.getValueType()));
+        this.pool = pool;
+        if (ObjectIdTypes.hasIdentityInfo(reader.getConfig(), reader.getValueType())) {
+            log.debug("{} uses @JsonIdentityInfo, reading sequentially", reader.getValueType());
+            this.sequential = true;
+            // 배열 전체가 chunk 하나 (마지막 chunk 라 호출 스레드가 읽는다)
+            this.chunkBytes = Integer.MAX_VALUE;
+        } else {
+            this.sequential = false;
+            this.chunkBytes = chunkBytes;
+        }
+        this.maxChunksInFlight = Math.max(2, pool.getParallelism() * 2);
+        // 읽는 중인 chunk 들이 window 하나에 들어가는 크기
+        this.windowBytes = (int) Math.min(MAX_WINDOW_BYTES, (long) chunkBytes * maxChunksInFlight);
+    }
+
+    public List<T> read(byte[] json) throws IOException {
+        return read(json, 0, json.length);
+    }
+
+    public List<T> read(byte[] json, int offset, int length) throws IOException {
+        ArrayChunkScanner scanner = new ArrayChunkScanner(json, offset, offset + length);
+        List<ChunkTask> tasks = new ArrayList<>();
+        List<T> last = List.of();
+        try {
+            while (scanner.next(chunkBytes)) {
+                if (scanner.isFinished()) {
+                    last = decode(json, scanner.chunkStart(), scanner.chunkEnd(), scanner.chunkFirst(),
+                            scanner.chunkCount());
+                } else {
+                    tasks.add(submit(json, scanner));
+                }
+            }
+            List<T> values = new ArrayList<>(Math.toIntExact(scanner.elements()));
+            for (ChunkTask task : tasks) {
+                values.addAll(task.values());
+            }
+            values.addAll(last);
+            return values;
+        } finally {
+            tasks.forEach(task -> task.cancel(false));
+        }
+    }
+
+    /**
+     * 원소를 원래 순서대로 consumer 에 넘긴다 (호출 스레드에서 호출)
+     *
+     * @return 원소 수
+     */
+    public long read(byte[] json, int offset, int length, Consumer<? super T> consumer) throws IOException {
+        ArrayChunkScanner scanner = new ArrayChunkScanner(json, offset, offset + length);
+        Deque<ChunkTask> tasks = new ArrayDeque<>();
+        try {
+            while (scanner.next(chunkBytes)) {
+                if (scanner.isFinished()) {
+                    List<T> last = decode(json, scanner.chunkStart(), scanner.chunkEnd(), scanner.chunkFirst(),
+                            scanner.chunkCount());
+                    while (!tasks.isEmpty()) {
+                        tasks.poll().values().forEach(consumer);
+                    }
+                    last.forEach(consumer);
+                } else {
+                    if (tasks.size() == maxChunksInFlight) {
+                        tasks.poll().values().forEach(consumer);
+                    }
+                    tasks.add(submit(json, scanner));
+                }
+            }
+            return scanner.elements();
+        } finally {
+            tasks.forEach(task -> task.cancel(false));
+        }
+    }
+
+    /**
+     * InputStream 을 끝까지 읽으며 원소를 원래 순서대로 consumer 에 넘긴다 (호출 스레드에서 호출, 닫지 않는다)
+     * 입력 크기 제한이 없다 (원소 하나는 2 GB 미만)
+     *
+     * @return 원소 수
+     */
+    public long read(InputStream in, Consumer<? super T> consumer) throws IOException {
+        if (sequential) {
+            // DeserializationContext 하나로 차례대로
+            long count = 0;
+            try (MappingIterator<T> values = reader.without(JsonParser.Feature.AUTO_CLOSE_SOURCE).readValues(in)) {
+                while (values.hasNextValue()) {
+                    consumer.accept(values.nextValue());
+                    count++;
+                }
+            }
+            return count;
+        }
+        byte[] window = new byte[windowBytes];
+        int end = fill(in, window, 0);
+        ArrayChunkScanner scanner = new ArrayChunkScanner(window, 0, end, end < window.length);
+        Deque<ChunkTask> tasks = new ArrayDeque<>();
+        try {
+            while (true) {
+                if (scanner.next(chunkBytes)) {
+                    if (scanner.isFinished()) {
+                        List<T> last = decode(window, scanner.chunkStart(), scanner.chunkEnd(),
+                                scanner.chunkOffset(), scanner.chunkFirst(), scanner.chunkCount());
+                        while (!tasks.isEmpty()) {
+                            tasks.poll().values().forEach(consumer);
+                        }
+                        last.forEach(consumer);
+                    } else {
+                        if (tasks.size() == maxChunksInFlight) {
+                            tasks.poll().values().forEach(consumer);
+                        }
+                        tasks.add(submit(window, scanner));
+                    }
+                    continue;
+                }
+                // 끝까지 읽었거나 (']' 뒤는 공백만 남았는지까지 확인) 다음 window 가 필요
+                if (!scanner.needsInput()) {
+                    break;
+                }
+                // 끊긴 원소부터 새 window 로, window 보다 큰 원소면 window 를 늘린다
+                int keep = end - scanner.resumeOffset();
+                byte[] next = new byte[keep < window.length ? window.length : grow(window.length)];
+                System.arraycopy(window, scanner.resumeOffset(), next, 0, keep);
+                end = fill(in, next, keep);
+                scanner.refill(next, 0, end, end < next.length);
+                window = next;
+            }
+            return scanner.elements();
+        } finally {
+            tasks.forEach(task -> task.cancel(false));
+        }
+    }
+
+    private static int grow(int length) throws IOException {
+        if (length == MAX_WINDOW_BYTES) {
+            throw new JsonMappingException(null, "Array element larger than " + MAX_WINDOW_BYTES + " bytes");
+        }
+        return (int) Math.min(MAX_WINDOW_BYTES, 2L * length);
+    }
+
+    /**
+     * window 가 다 차거나 입력이 끝날 때까지 읽는다
+     *
+     * @return 채운 끝 위치, window.length 보다 작으면 입력 끝
+     */
+    private static int fill(InputStream in, byte[] window, int from) throws IOException {
+        int end = from;
+        while (end < window.length) {
+            int n = in.read(window, end, window.length - end);
+            if (n < 0) {
+                break;
+            }
+            end += n;
+        }
+        return end;
+    }
+
+    private ChunkTask submit(byte[] json, ArrayChunkScanner scanner) {
+        ChunkTask task = new ChunkTask(json, scanner.chunkStart(), scanner.chunkEnd(), scanner.chunkOffset(),
+                scanner.chunkFirst(), scanner.chunkCount());
+        pool.execute(task);
+        return task;
+    }
+
+    private List<T> decode(byte[] json, int start, int end, long first, int count) throws IOException {
+        return decode(json, start, end, start, first, count);
+    }
+
+    /**
+     * @param offset 입력 전체 기준 start 의 offset (오류 메시지용)
+     */
+    private List<T> decode(byte[] json, int start, int end, long offset, long first, int count) throws IOException {
+        try {
+            return listReader.readValue(new ArraySliceInputStream(json, start, end));
+        } catch (IOException e) {
+            // Jackson 의 위치 / index 는 chunk 기준이라 원래 배열의 원소 index 를 붙인다
+            long index = first;
+            if (e instanceof JsonMappingException && !((JsonMappingException) e).getPath().isEmpty()) {
+                index += Math.max(0, ((JsonMappingException) e).getPath().get(0).getIndex());
+            }
+            String message = e instanceof JsonProcessingException
+                    ? ((JsonProcessingException) e).getOriginalMessage() : e.getMessage();
+            throw new JsonMappingException(null, String.format("Failed to read array element %d (chunk of %d "
+                    + "elements at byte offset %d): %s", index, count, offset, message), e);
+        }
+    }
+
+    /**
+     * chunk 하나를 읽는 작업, IOException 은 ForkJoinTask 가 감싸지 않도록 따로 들고 있다가 호출 스레드에서 던진다
+     */
+    private final class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] json;
+        private final int start;
+        private final int end;
+        private final long offset;
+        private final long first;
+        private final int count;
+        private List<T> values;
+        private IOException failure;
+
+        ChunkTask(byte[] json, int start, int end, long offset, long first, int count) {
+            this.json = json;
+            this.start = start;
+            this.end = end;
+            this.offset = offset;
+            this.first = first;
+            this.count = count;
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                values = decode(json, start, end, offset, first, count);
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+
+        List<T> values() throws IOException {
+            join();
+            if (failure != null) {
+                throw failure;
+            }
+            return values;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.demojackson.parallel;
+
+import com.example.demojackson.buffer.ByteBufferPool;
+import com.example.demojackson.buffer.PooledJsonWriter;
+import com.example.demojackson.buffer.PooledOutputStream;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 큰 List 를 chunkSize 개씩 나눠 여러 스레드에서 serialize 하고 원래 순서대로 이어 붙이는 writer
+ *
+ * <pre>
+ * ParallelCollectionWriter writer = new ParallelCollectionWriter(byteBufferPool, ForkJoinPool.commonPool(), 4096);
+ * writer.writeTo(objectMapper.writer(), beans, response.getOutputStream());
+ * </pre>
+ *
+ * - chunk 는 같은 ObjectWriter 로 values.subList(from, to) 를 pool 의 buffer 에 따로 쓰고, 앞뒤 '[' ']' 만 떼고 ',' 로 잇는다
+ *   원소는 순차 serialize 와 같은 Collection serializer 를 거치므로 결과는 writer.writeValueAsBytes(values) 와 byte 단위로 같다
+ * - 보내는 쪽은 호출 스레드, 끝나지 않은 chunk 는 parallelism * 2 개까지만 둔다 (응답 전체를 메모리에 모으지 않음)
+ * - 다음 경우는 순차 serialize 로 돌아간다 (chunk 로 나누면 결과가 달라짐)
+ *   - 원소 타입에서 닿는 타입에 @JsonIdentityInfo 가 있음 (처음 나온 객체만 전체로 쓰고 이후는 id 로 쓰는 상태를 chunk 끼리 나눌 수 없다)
+ *   - pretty print, WRAP_ROOT_VALUE, WRITE_SINGLE_ELEM_ARRAYS_UNWRAPPED
+ *   - 원소가 chunkSize * 2 개 미만
+ * Object 로 선언된 프로퍼티 안의 @JsonIdentityInfo 와 상태를 가진 custom serializer 는 찾지 못하므로 쓰지 않아야 한다
+ */
+@Log4j2
+public class ParallelCollectionWriter {
+    public static final int DEFAULT_CHUNK_SIZE = 4096;
+
+    private final ByteBufferPool bufferPool;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private final int maxChunksInFlight;
+    private final PooledJsonWriter sequential;
+    /**
+     * 원소 class 별 @JsonIdentityInfo 여부 (ObjectMapper 하나와 같이 쓴다고 보고 class 로만 구분)
+     */
+    private final Map<Class<?>, Boolean> identityTypes = new ConcurrentHashMap<>();
+
+    public ParallelCollectionWriter(ByteBufferPool bufferPool) {
+        this(bufferPool, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    public ParallelCollectionWriter(ByteBufferPool bufferPool, ForkJoinPool pool, int chunkSize) {
+        if (bufferPool == null || pool == null) {
+            throw new IllegalArgumentException("bufferPool and pool must not be null");
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        this.bufferPool = bufferPool;
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+        this.maxChunksInFlight = Math.max(2, pool.getParallelism() * 2);
+        this.sequential = new PooledJsonWriter(bufferPool);
+    }
+
+    /**
+     * 전부 serialize 되기 전에 out 에 쓰기 시작하므로, 실패하면 out 에는 앞부분만 쓰여 있을 수 있다
+     * out 은 닫지 않는다
+     *
+     * @return 쓴 bytes
+     */
+    public long writeTo(ObjectWriter writer, List<?> values, OutputStream out) throws IOException {
+        if (!canSplit(writer, values)) {
+            return sequential.writeTo(writer, values, out);
+        }
+        Deque<ChunkTask> tasks = new ArrayDeque<>();
+        long size = 0;
+        try {
+            out.write('[');
+            for (int from = 0; from < values.size(); from += chunkSize) {
+                int to = Math.min(values.size(), from + chunkSize);
+                if (to == values.size()) {
+                    // 마지막 chunk 는 호출 스레드가 직접 쓴다
+                    PooledOutputStream last = serialize(writer, values.subList(from, to));
+                    try {
+                        while (!tasks.isEmpty()) {
+                            size += send(tasks.poll().result(), out, size == 0);
+                        }
+                        size += send(last, out, size == 0);
+                    } finally {
+                        last.release();
+                    }
+                } else {
+                    if (tasks.size() == maxChunksInFlight) {
+                        size += send(tasks.poll().result(), out, size == 0);
+                    }
+                    ChunkTask task = new ChunkTask(writer, values.subList(from, to));
+                    pool.execute(task);
+                    tasks.add(task);
+                }
+            }
+            out.write(']');
+            return size + 2;
+        } finally {
+            tasks.forEach(ChunkTask::discard);
+        }
+    }
+
+    public byte[] writeValueAsBytes(ObjectWriter writer, List<?> values) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeTo(writer, values, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * chunk 로 나눠 써도 순차 serialize 와 결과가 같은지
+     */
+    boolean canSplit(ObjectWriter writer, List<?> values) throws IOException {
+        if (values.size() < chunkSize * 2) {
+            return false;
+        }
+        SerializationConfig config = writer.getConfig();
+        if (config.isEnabled(SerializationFeature.WRAP_ROOT_VALUE)
+                || config.isEnabled(SerializationFeature.WRITE_SINGLE_ELEM_ARRAYS_UNWRAPPED)) {
+            return false;
+        }
+        // INDENT_OUTPUT, ObjectWriter.with(PrettyPrinter) 모두 generator 에 설정된다
+        try (JsonGenerator generator = writer.createGenerator(OutputStream.nullOutputStream())) {
+            if (generator.getPrettyPrinter() != null) {
+                return false;
+            }
+        }
+        Class<?> previous = null;
+        for (Object value : values) {
+            if (value != null && value.getClass() != previous) {
+                previous = value.getClass();
+                if (identityTypes.computeIfAbsent(previous,
+                        type -> ObjectIdTypes.hasIdentityInfo(config, config.constructType(type)))) {
+                    log.debug("{} uses @JsonIdentityInfo, serializing sequentially", previous.getName());
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private PooledOutputStream serialize(ObjectWriter writer, List<?> chunk) throws IOException {
+        PooledOutputStream out = bufferPool.newOutputStream();
+        try {
+            writer.writeValue(out, chunk);
+            return out;
+        } catch (IOException | RuntimeException e) {
+            out.release();
+            throw e;
+        }
+    }
+
+    /**
+     * chunk 의 '[' ']' 를 빼고 보낸다, 첫 chunk 가 아니면 앞에 ','
+     */
+    private static long send(PooledOutputStream chunk, OutputStream out, boolean first) throws IOException {
+        try {
+            long length = chunk.size() - 2;
+            if (!first) {
+                out.write(',');
+            }
+            chunk.writeTo(out, 1, length);
+            return first ? length : length + 1;
+        } finally {
+            chunk.release();
+        }
+    }
+
+    /**
+     * chunk 하나를 쓰는 작업, IOException 은 ForkJoinTask 가 감싸지 않도록 따로 들고 있다가 호출 스레드에서 던진다
+     */
+    private final class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final ObjectWriter writer;
+        private final List<?> chunk;
+        private PooledOutputStream result;
+        private IOException failure;
+        private boolean discarded;
+
+        ChunkTask(ObjectWriter writer, List<?> chunk) {
+            this.writer = writer;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                PooledOutputStream out = serialize(writer, chunk);
+                synchronized (this) {
+                    if (discarded) {
+                        out.release();
+                    } else {
+                        result = out;
+                    }
+                }
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+
+        PooledOutputStream result() throws IOException {
+            join();
+            if (failure != null) {
+                throw failure;
+            }
+            return result;
+        }
+
+        /**
+         * 실패 후 남은 작업 정리, 끝난 chunk 는 여기서, 실행 중이던 chunk 는 끝나면서 buffer 를 pool 에 돌려준다
+         */
+        synchronized void discard() {
+            discarded = true;
+            cancel(false);
+            if (result != null) {
+                result.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.demojackson.polymorphic;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.cfg.MapperConfig;
+import com.fasterxml.jackson.databind.introspect.AnnotatedClass;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import com.fasterxml.jackson.databind.introspect.NopAnnotationIntrospector;
+import com.fasterxml.jackson.databind.jsontype.TypeResolverBuilder;
+import com.fasterxml.jackson.databind.jsontype.impl.StdTypeResolverBuilder;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+/**
+ * @JsonTypeInfo(use = NAME, include = PROPERTY) 계층을 TokenBuffer 버퍼링 없이 읽는 모듈
+ * (JsonTypeEx.Animal 처럼 type 이 첫 필드가 아닌 입력)
+ *
+ * <pre>
+ * new ObjectMapper().registerModule(new PolymorphicTypeModule());
+ * </pre>
+ *
+ * @JsonTypeInfo 해석은 JacksonAnnotationIntrospector 를 그대로 사용하고 TypeResolverBuilder 만 바꾼다
+ */
+public class PolymorphicTypeModule extends SimpleModule {
+
+    public PolymorphicTypeModule() {
+        super(PolymorphicTypeModule.class.getSimpleName());
+    }
+
+    @Override
+    public void setupModule(SetupContext context) {
+        super.setupModule(context);
+        context.insertAnnotationIntrospector(new TypeResolverIntrospector());
+    }
+
+    static class TypeResolverIntrospector extends NopAnnotationIntrospector {
+        private static final long serialVersionUID = 1L;
+
+        private final JacksonAnnotationIntrospector delegate = new JacksonAnnotationIntrospector() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected StdTypeResolverBuilder _constructStdTypeResolverBuilder() {
+                return new PrescanTypeResolverBuilder();
+            }
+        };
+
+        @Override
+        public TypeResolverBuilder<?> findTypeResolver(MapperConfig<?> config, AnnotatedClass ac, JavaType baseType) {
+            return delegate.findTypeResolver(config, ac, baseType);
+        }
+
+        @Override
+        public TypeResolverBuilder<?> findPropertyTypeResolver(MapperConfig<?> config, AnnotatedMember am,
+                                                               JavaType baseType) {
+            return delegate.findPropertyTypeResolver(config, am, baseType);
+        }
+
+        @Override
+        public TypeResolverBuilder<?> findPropertyContentTypeResolver(MapperConfig<?> config, AnnotatedMember am,
+                                                                      JavaType containerType) {
+            return delegate.findPropertyContentTypeResolver(config, am, containerType);
+        }
+    }
+}
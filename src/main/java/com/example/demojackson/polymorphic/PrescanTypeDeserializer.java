@@ -0,0 +1,77 @@
+package com.example.demojackson.polymorphic;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.jsontype.impl.AsPropertyTypeDeserializer;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * type id 를 미리 찾아 TokenBuffer 없이 subtype deserializer 로 넘기는 AsPropertyTypeDeserializer
+ *
+ * - type 프로퍼티가 첫 필드: type id 를 건너뛰고 바로 subtype deserializer 호출
+ * - type 프로퍼티가 중간 / 마지막: {@link TypeIdScanner} 로 입력 버퍼에서 type id 를 찾고
+ *   {@link SkipPropertyParser} 로 type 프로퍼티만 빼고 읽는다 (visible = true 면 그대로 읽는다)
+ * - 찾지 못하면 Jackson 기본 처리 (앞 필드를 TokenBuffer 에 버퍼링)
+ *
+ * type id → deserializer 는 {@link TypeIdTable} 의 index 로 찾고 첫 사용 시 한 번만 resolve 한다
+ */
+class PrescanTypeDeserializer extends AsPropertyTypeDeserializer {
+    private static final long serialVersionUID = 1L;
+
+    private final transient TypeIdTable table;
+    private final transient TypeIdScanner scanner;
+    private final transient AtomicReferenceArray<JsonDeserializer<Object>> deserializers;
+
+    PrescanTypeDeserializer(AsPropertyTypeDeserializer src, BeanProperty property, TypeIdTable table) {
+        super(src, property);
+        this.table = table;
+        this.scanner = new TypeIdScanner(_typePropertyName, table);
+        this.deserializers = new AtomicReferenceArray<>(table.size());
+    }
+
+    @Override
+    public TypeDeserializer forProperty(BeanProperty prop) {
+        return prop == _property ? this : new PrescanTypeDeserializer(this, prop, table);
+    }
+
+    @Override
+    public Object deserializeTypedFromObject(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (!p.hasToken(JsonToken.START_OBJECT) || p.canReadTypeId()) {
+            return super.deserializeTypedFromObject(p, ctxt);
+        }
+        int found = scanner.scan(p);
+        if (found == TypeIdScanner.UNKNOWN) {
+            return super.deserializeTypedFromObject(p, ctxt);
+        }
+        JsonDeserializer<Object> deser = deserializer(ctxt, found >> 1);
+        if (deser == null) {
+            return super.deserializeTypedFromObject(p, ctxt);
+        }
+        if (_typeIdVisible) {
+            return deser.deserialize(p, ctxt);
+        }
+        if ((found & 1) != 0) {
+            // FIELD_NAME, type id 를 지나 다음 FIELD_NAME (또는 END_OBJECT) 에서 시작
+            p.nextToken();
+            p.nextToken();
+            p.nextToken();
+            return deser.deserialize(p, ctxt);
+        }
+        return deser.deserialize(new SkipPropertyParser(p, _typePropertyName), ctxt);
+    }
+
+    private JsonDeserializer<Object> deserializer(DeserializationContext ctxt, int index) throws IOException {
+        JsonDeserializer<Object> deser = deserializers.get(index);
+        if (deser == null) {
+            deser = _findDeserializer(ctxt, table.id(index));
+            deserializers.set(index, deser);
+        }
+        return deser;
+    }
+}
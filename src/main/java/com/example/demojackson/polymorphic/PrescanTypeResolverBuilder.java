@@ -0,0 +1,48 @@
+package com.example.demojackson.polymorphic;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.jsontype.NamedType;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.jsontype.impl.AsPropertyTypeDeserializer;
+import com.fasterxml.jackson.databind.jsontype.impl.StdTypeResolverBuilder;
+import com.fasterxml.jackson.databind.jsontype.impl.TypeNameIdResolver;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * use = NAME, include = PROPERTY / EXISTING_PROPERTY 인 경우에만 {@link PrescanTypeDeserializer} 를 만든다
+ * 그 외 (CLASS, WRAPPER_OBJECT, custom TypeIdResolver, 대소문자 무시 등) 는 StdTypeResolverBuilder 결과 그대로
+ */
+class PrescanTypeResolverBuilder extends StdTypeResolverBuilder {
+
+    @Override
+    public TypeDeserializer buildTypeDeserializer(DeserializationConfig config, JavaType baseType,
+                                                  Collection<NamedType> subtypes) {
+        TypeDeserializer deser = super.buildTypeDeserializer(config, baseType, subtypes);
+        if (deser == null || deser.getClass() != AsPropertyTypeDeserializer.class
+                || _idType != JsonTypeInfo.Id.NAME || subtypes == null
+                || !(deser.getTypeIdResolver() instanceof TypeNameIdResolver)
+                || config.isEnabled(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES)
+                || config.isEnabled(MapperFeature.ACCEPT_CASE_INSENSITIVE_VALUES)) {
+            return deser;
+        }
+        // TypeNameIdResolver 와 같은 규칙: 이름이 없으면 패키지를 뺀 클래스 이름
+        Set<String> ids = new LinkedHashSet<>();
+        for (NamedType type : subtypes) {
+            if (type.hasName()) {
+                ids.add(type.getName());
+            } else {
+                String name = type.getType().getName();
+                ids.add(name.substring(name.lastIndexOf('.') + 1));
+            }
+        }
+        return new PrescanTypeDeserializer((AsPropertyTypeDeserializer) deser, null,
+                TypeIdTable.of(new ArrayList<>(ids)));
+    }
+}
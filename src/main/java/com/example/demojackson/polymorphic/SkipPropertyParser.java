@@ -0,0 +1,47 @@
+package com.example.demojackson.polymorphic;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+
+import java.io.IOException;
+
+/**
+ * 현재 객체 (생성 시점의 START_OBJECT) 바로 아래의 특정 프로퍼티 하나를 건너뛰는 parser
+ * type 프로퍼티가 중간에 있을 때 TokenBuffer 없이 subtype deserializer 에 넘기기 위해 사용
+ * 하위 객체의 같은 이름 프로퍼티나 두 번째로 나오는 같은 이름 프로퍼티는 그대로 둔다
+ */
+class SkipPropertyParser extends JsonParserDelegate {
+    private final String property;
+    private final JsonStreamContext context;
+    private boolean skipped;
+
+    SkipPropertyParser(JsonParser d, String property) {
+        super(d);
+        this.property = property;
+        this.context = d.getParsingContext();
+    }
+
+    @Override
+    public JsonToken nextToken() throws IOException {
+        JsonToken t = delegate.nextToken();
+        if (!skipped && t == JsonToken.FIELD_NAME && delegate.getParsingContext() == context
+                && property.equals(delegate.getCurrentName())) {
+            skipped = true;
+            delegate.nextToken();
+            delegate.skipChildren();
+            t = delegate.nextToken();
+        }
+        return t;
+    }
+
+    @Override
+    public JsonToken nextValue() throws IOException {
+        JsonToken t = nextToken();
+        if (t == JsonToken.FIELD_NAME) {
+            t = nextToken();
+        }
+        return t;
+    }
+}
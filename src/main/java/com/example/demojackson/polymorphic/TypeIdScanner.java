@@ -0,0 +1,296 @@
+package com.example.demojackson.polymorphic;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.base.ParserBase;
+import com.fasterxml.jackson.core.json.ReaderBasedJsonParser;
+import com.fasterxml.jackson.core.json.UTF8StreamJsonParser;
+import lombok.extern.log4j.Log4j2;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * START_OBJECT 직후 parser 가 아직 읽지 않은 입력 버퍼를 미리 훑어 type id 를 찾는다
+ *
+ * Jackson parser (UTF8StreamJsonParser / ReaderBasedJsonParser) 의 입력 버퍼와 현재 위치를 VarHandle 로 읽기만 하고
+ * parser 상태는 바꾸지 않는다 (releaseBuffered 는 읽은 만큼 parser 위치를 옮겨버려서 사용할 수 없음)
+ * 다음 경우는 {@link #UNKNOWN} 을 돌려주고 호출한 쪽에서 Jackson 기본 처리 (TokenBuffer) 를 사용한다
+ * - 버퍼에 접근할 수 없는 parser (TokenBuffer, DataInput, 비표준 포맷 등)
+ * - 현재 버퍼 안에서 type 프로퍼티를 찾지 못한 경우 (InputStream 에서 버퍼 경계를 넘는 경우 포함)
+ * - escape 된 필드명 / type id, 주석 등 표준 JSON 이 아닌 입력, 테이블에 없는 type id
+ */
+@Log4j2
+final class TypeIdScanner {
+    static final int UNKNOWN = -1;
+
+    private static final VarHandle INPUT_PTR;
+    private static final VarHandle INPUT_END;
+    private static final VarHandle BYTE_BUFFER;
+    private static final VarHandle CHAR_BUFFER;
+
+    static {
+        VarHandle ptr = null;
+        VarHandle end = null;
+        VarHandle bytes = null;
+        VarHandle chars = null;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            ptr = MethodHandles.privateLookupIn(ParserBase.class, lookup)
+                    .findVarHandle(ParserBase.class, "_inputPtr", int.class);
+            end = MethodHandles.privateLookupIn(ParserBase.class, lookup)
+                    .findVarHandle(ParserBase.class, "_inputEnd", int.class);
+            bytes = MethodHandles.privateLookupIn(UTF8StreamJsonParser.class, lookup)
+                    .findVarHandle(UTF8StreamJsonParser.class, "_inputBuffer", byte[].class);
+            chars = MethodHandles.privateLookupIn(ReaderBasedJsonParser.class, lookup)
+                    .findVarHandle(ReaderBasedJsonParser.class, "_inputBuffer", char[].class);
+        } catch (Exception e) {
+            log.warn("type id pre-scan disabled: {}", e.toString());
+        }
+        INPUT_PTR = ptr;
+        INPUT_END = end;
+        BYTE_BUFFER = bytes;
+        CHAR_BUFFER = chars;
+    }
+
+    private final String property;
+    private final byte[] utf8Property;
+    private final TypeIdTable table;
+
+    TypeIdScanner(String property, TypeIdTable table) {
+        this.property = property;
+        this.utf8Property = property.getBytes(StandardCharsets.UTF_8);
+        this.table = table;
+    }
+
+    /**
+     * p 는 START_OBJECT 를 막 읽은 상태여야 한다
+     *
+     * @return (type id index << 1) | (type 프로퍼티가 첫 필드면 1), 찾지 못하면 {@link #UNKNOWN}
+     */
+    int scan(JsonParser p) {
+        while (p instanceof SkipPropertyParser) {
+            p = ((SkipPropertyParser) p).delegate();
+        }
+        if (CHAR_BUFFER == null) {
+            return UNKNOWN;
+        }
+        if (p instanceof UTF8StreamJsonParser) {
+            return scan((byte[]) BYTE_BUFFER.get(p), (int) INPUT_PTR.get(p), (int) INPUT_END.get(p));
+        }
+        if (p instanceof ReaderBasedJsonParser) {
+            return scan((char[]) CHAR_BUFFER.get(p), (int) INPUT_PTR.get(p), (int) INPUT_END.get(p));
+        }
+        return UNKNOWN;
+    }
+
+    int scan(byte[] b, int i, int end) {
+        if (b == null) {
+            return UNKNOWN;
+        }
+        for (boolean first = true; ; first = false) {
+            i = skipWhitespace(b, i, end);
+            if (i >= end || b[i] != '"') {
+                // '}' 는 type 프로퍼티가 없는 경우
+                return UNKNOWN;
+            }
+            int nameStart = i + 1;
+            int nameEnd = plainStringEnd(b, nameStart, end);
+            if (nameEnd < 0) {
+                return UNKNOWN;
+            }
+            i = skipWhitespace(b, nameEnd + 1, end);
+            if (i >= end || b[i] != ':') {
+                return UNKNOWN;
+            }
+            i = skipWhitespace(b, i + 1, end);
+            if (i >= end) {
+                return UNKNOWN;
+            }
+            if (TypeIdTable.equals(utf8Property, b, nameStart, nameEnd)) {
+                if (b[i] != '"') {
+                    return UNKNOWN;
+                }
+                int idEnd = plainStringEnd(b, i + 1, end);
+                int index = idEnd < 0 ? -1 : table.find(b, i + 1, idEnd);
+                return index < 0 ? UNKNOWN : index << 1 | (first ? 1 : 0);
+            }
+            i = skipValue(b, i, end);
+            if (i < 0) {
+                return UNKNOWN;
+            }
+            i = skipWhitespace(b, i, end);
+            if (i >= end || b[i] != ',') {
+                return UNKNOWN;
+            }
+            i++;
+        }
+    }
+
+    int scan(char[] b, int i, int end) {
+        if (b == null) {
+            return UNKNOWN;
+        }
+        for (boolean first = true; ; first = false) {
+            i = skipWhitespace(b, i, end);
+            if (i >= end || b[i] != '"') {
+                return UNKNOWN;
+            }
+            int nameStart = i + 1;
+            int nameEnd = plainStringEnd(b, nameStart, end);
+            if (nameEnd < 0) {
+                return UNKNOWN;
+            }
+            i = skipWhitespace(b, nameEnd + 1, end);
+            if (i >= end || b[i] != ':') {
+                return UNKNOWN;
+            }
+            i = skipWhitespace(b, i + 1, end);
+            if (i >= end) {
+                return UNKNOWN;
+            }
+            if (TypeIdTable.equals(property, b, nameStart, nameEnd)) {
+                if (b[i] != '"') {
+                    return UNKNOWN;
+                }
+                int idEnd = plainStringEnd(b, i + 1, end);
+                int index = idEnd < 0 ? -1 : table.find(b, i + 1, idEnd);
+                return index < 0 ? UNKNOWN : index << 1 | (first ? 1 : 0);
+            }
+            i = skipValue(b, i, end);
+            if (i < 0) {
+                return UNKNOWN;
+            }
+            i = skipWhitespace(b, i, end);
+            if (i >= end || b[i] != ',') {
+                return UNKNOWN;
+            }
+            i++;
+        }
+    }
+
+    private static int skipWhitespace(byte[] b, int i, int end) {
+        while (i < end && (b[i] == ' ' || b[i] == '\n' || b[i] == '\r' || b[i] == '\t')) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipWhitespace(char[] b, int i, int end) {
+        while (i < end && (b[i] == ' ' || b[i] == '\n' || b[i] == '\r' || b[i] == '\t')) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * escape 가 없는 문자열의 닫는 따옴표 위치, escape 가 있거나 버퍼가 끝나면 -1
+     * UTF-8 멀티바이트 문자는 모두 0x80 이상이라 '"', '\\' 와 겹치지 않는다
+     */
+    private static int plainStringEnd(byte[] b, int i, int end) {
+        for (; i < end; i++) {
+            if (b[i] == '"') {
+                return i;
+            }
+            if (b[i] == '\\') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static int plainStringEnd(char[] b, int i, int end) {
+        for (; i < end; i++) {
+            if (b[i] == '"') {
+                return i;
+            }
+            if (b[i] == '\\') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static int stringEnd(byte[] b, int i, int end) {
+        for (; i < end; i++) {
+            if (b[i] == '"') {
+                return i;
+            }
+            if (b[i] == '\\') {
+                i++;
+            }
+        }
+        return -1;
+    }
+
+    private static int stringEnd(char[] b, int i, int end) {
+        for (; i < end; i++) {
+            if (b[i] == '"') {
+                return i;
+            }
+            if (b[i] == '\\') {
+                i++;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 값 바로 다음 위치, 버퍼 안에서 끝나지 않으면 -1
+     */
+    private static int skipValue(byte[] b, int i, int end) {
+        byte c = b[i];
+        if (c == '"') {
+            int e = stringEnd(b, i + 1, end);
+            return e < 0 ? -1 : e + 1;
+        }
+        if (c == '{' || c == '[') {
+            for (int depth = 0; i < end; i++) {
+                c = b[i];
+                if (c == '"') {
+                    i = stringEnd(b, i + 1, end);
+                    if (i < 0) {
+                        return -1;
+                    }
+                } else if (c == '{' || c == '[') {
+                    depth++;
+                } else if ((c == '}' || c == ']') && --depth == 0) {
+                    return i + 1;
+                }
+            }
+            return -1;
+        }
+        while (i < end && (c = b[i]) != ',' && c != '}' && c != ']' && c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+            i++;
+        }
+        return i < end ? i : -1;
+    }
+
+    private static int skipValue(char[] b, int i, int end) {
+        char c = b[i];
+        if (c == '"') {
+            int e = stringEnd(b, i + 1, end);
+            return e < 0 ? -1 : e + 1;
+        }
+        if (c == '{' || c == '[') {
+            for (int depth = 0; i < end; i++) {
+                c = b[i];
+                if (c == '"') {
+                    i = stringEnd(b, i + 1, end);
+                    if (i < 0) {
+                        return -1;
+                    }
+                } else if (c == '{' || c == '[') {
+                    depth++;
+                } else if ((c == '}' || c == ']') && --depth == 0) {
+                    return i + 1;
+                }
+            }
+            return -1;
+        }
+        while (i < end && (c = b[i]) != ',' && c != '}' && c != ']' && c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+            i++;
+        }
+        return i < end ? i : -1;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.demojackson.polymorphic;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * type id 조회용 open addressing 테이블
+ * 입력 버퍼의 byte[] (UTF-8) / char[] 구간을 String 을 만들지 않고 바로 찾는다
+ */
+final class TypeIdTable {
+    private final String[] ids;
+    private final byte[][] utf8Ids;
+    private final int[] byteSlots;
+    private final int[] charSlots;
+    private final int mask;
+
+    private TypeIdTable(List<String> ids) {
+        int size = Integer.highestOneBit(Math.max(ids.size(), 1) * 2) * 2;
+        this.ids = ids.toArray(new String[0]);
+        this.utf8Ids = new byte[this.ids.length][];
+        this.byteSlots = new int[size];
+        this.charSlots = new int[size];
+        this.mask = size - 1;
+        for (int i = 0; i < this.ids.length; i++) {
+            byte[] utf8 = this.ids[i].getBytes(StandardCharsets.UTF_8);
+            utf8Ids[i] = utf8;
+            put(byteSlots, hash(utf8, 0, utf8.length), i);
+            put(charSlots, this.ids[i].hashCode(), i);
+        }
+    }
+
+    static TypeIdTable of(List<String> ids) {
+        return new TypeIdTable(ids);
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    String id(int index) {
+        return ids[index];
+    }
+
+    /**
+     * buf[start, end) 와 같은 id 의 index, 없으면 -1
+     */
+    int find(byte[] buf, int start, int end) {
+        for (int slot = hash(buf, start, end) & mask; byteSlots[slot] != 0; slot = (slot + 1) & mask) {
+            int index = byteSlots[slot] - 1;
+            if (equals(utf8Ids[index], buf, start, end)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    int find(char[] buf, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + buf[i];
+        }
+        for (int slot = h & mask; charSlots[slot] != 0; slot = (slot + 1) & mask) {
+            int index = charSlots[slot] - 1;
+            if (equals(ids[index], buf, start, end)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private void put(int[] slots, int hash, int index) {
+        int slot = hash & mask;
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = index + 1;
+    }
+
+    private static int hash(byte[] buf, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + buf[i];
+        }
+        return h;
+    }
+
+    static boolean equals(byte[] expected, byte[] buf, int start, int end) {
+        if (expected.length != end - start) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (expected[i] != buf[start + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean equals(String expected, char[] buf, int start, int end) {
+        if (expected.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < expected.length(); i++) {
+            if (expected.charAt(i) != buf[start + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
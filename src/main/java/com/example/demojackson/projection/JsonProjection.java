@@ -0,0 +1,182 @@
+package com.example.demojackson.projection;
+
+import com.fasterxml.jackson.core.JsonPointer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * JSON 문서에서 필요한 경로만 남기는 projection
+ *
+ * <pre>
+ * JsonProjection projection = JsonProjection.fieldMask("id,customer.name,items.sku");
+ * byte[] small = projection.project(json);
+ *
+ * JsonProjection.pointers("/id", "/customer/name", "/items/0/sku");
+ * </pre>
+ *
+ * UTF-8 bytes 를 직접 훑어서 선택한 경로의 값은 그대로 복사하고, 나머지는 괄호와 따옴표만 세어 건너뛴다
+ * (토큰 / 필드명 decoding, symbol table 조회 없음), 결과는 선택한 경로만 남은 작은 JSON 이다
+ * - field mask: 쉼표로 구분한 '.' 경로, 배열은 투명해서 모든 원소에 같은 경로를 적용한다
+ * - JSON Pointer (RFC 6901): 배열에서는 번호 segment 의 원소만 남긴다
+ * 경로가 가리키는 값은 하위 전체를 남기고, 경로 중간의 객체 / 배열은 남은 것이 없어도 ({}, []) 남긴다
+ * 배열은 선택한 원소만 순서대로 남기며, 경로 중간에 객체 / 배열이 아닌 값이 오면 버린다
+ * 건너뛰는 부분은 구조 (괄호, 문자열 끝) 만 확인하므로 그 안의 잘못된 JSON 은 오류가 되지 않는다
+ */
+public final class JsonProjection {
+    private final Node root;
+    private final boolean arraysTransparent;
+
+    private JsonProjection(Node root, boolean arraysTransparent) {
+        this.root = root.freeze();
+        this.arraysTransparent = arraysTransparent;
+    }
+
+    /**
+     * @param mask "a.b,c" 형태 (protobuf FieldMask 와 같은 표기, 이름에 '.' / ',' 가 있으면 pointer 를 쓴다)
+     */
+    public static JsonProjection fieldMask(String mask) {
+        Node root = new Node();
+        for (String path : mask.split(",")) {
+            String trimmed = path.trim();
+            if (trimmed.isEmpty()) {
+                throw new IllegalArgumentException("Empty path in field mask '" + mask + "'");
+            }
+            List<String> segments = Arrays.asList(trimmed.split("\\.", -1));
+            if (segments.contains("")) {
+                throw new IllegalArgumentException("Empty segment in field mask path '" + trimmed + "'");
+            }
+            root.add(segments);
+        }
+        return new JsonProjection(root, true);
+    }
+
+    /**
+     * @param pointers RFC 6901 JSON Pointer ("" 는 문서 전체)
+     */
+    public static JsonProjection pointers(String... pointers) {
+        if (pointers.length == 0) {
+            throw new IllegalArgumentException("No JSON Pointer");
+        }
+        Node root = new Node();
+        for (String pointer : pointers) {
+            List<String> segments = new ArrayList<>();
+            for (JsonPointer p = JsonPointer.compile(pointer); !p.matches(); p = p.tail()) {
+                segments.add(p.getMatchingProperty());
+            }
+            root.add(segments);
+        }
+        return new JsonProjection(root, false);
+    }
+
+    public byte[] project(byte[] json) throws IOException {
+        return project(json, 0, json.length);
+    }
+
+    public byte[] project(byte[] json, int offset, int length) throws IOException {
+        ProjectionScanner scanner = scan(json, offset, length);
+        return Arrays.copyOf(scanner.output(), scanner.outputLength());
+    }
+
+    /**
+     * 결과를 복사하지 않고 scanner 의 출력 버퍼 그대로 쓰는 경우 (ProjectionReader)
+     */
+    ProjectionScanner scan(byte[] json, int offset, int length) throws IOException {
+        ProjectionScanner scanner = new ProjectionScanner(json, offset, offset + length, arraysTransparent);
+        scanner.scan(root);
+        return scanner;
+    }
+
+    /**
+     * 경로 trie, leaf 는 하위 전체를 남긴다
+     */
+    static final class Node {
+        private final Map<String, Node> children = new LinkedHashMap<>();
+        private boolean leaf;
+
+        // freeze 후 scanner 용
+        private byte[][] names;
+        private Node[] nodes;
+        private int[] indexes;
+        private Node[] indexNodes;
+
+        void add(List<String> segments) {
+            Node node = this;
+            for (String segment : segments) {
+                if (node.leaf) {
+                    return;
+                }
+                node = node.children.computeIfAbsent(segment, name -> new Node());
+            }
+            node.leaf = true;
+            node.children.clear();
+        }
+
+        Node freeze() {
+            names = new byte[children.size()][];
+            nodes = new Node[children.size()];
+            Map<Integer, Node> indexed = new TreeMap<>();
+            int i = 0;
+            for (Map.Entry<String, Node> entry : children.entrySet()) {
+                names[i] = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                nodes[i++] = entry.getValue().freeze();
+                int index = arrayIndex(entry.getKey());
+                if (index >= 0) {
+                    indexed.put(index, entry.getValue());
+                }
+            }
+            indexes = indexed.keySet().stream().mapToInt(Integer::intValue).toArray();
+            indexNodes = indexed.values().toArray(new Node[0]);
+            return this;
+        }
+
+        boolean isLeaf() {
+            return leaf;
+        }
+
+        /**
+         * escape 가 없는 필드명 bytes [start, end) 의 하위 경로
+         */
+        Node child(byte[] b, int start, int end) {
+            int length = end - start;
+            for (int i = 0; i < names.length; i++) {
+                byte[] name = names[i];
+                if (name.length == length && Arrays.equals(name, 0, length, b, start, end)) {
+                    return nodes[i];
+                }
+            }
+            return null;
+        }
+
+        Node child(String name) {
+            return children.get(name);
+        }
+
+        Node element(int index) {
+            int i = Arrays.binarySearch(indexes, index);
+            return i >= 0 ? indexNodes[i] : null;
+        }
+
+        /**
+         * RFC 6901 의 배열 번호 (0 이 아니면 0 으로 시작하지 않는 10 진수), 아니면 -1
+         */
+        private static int arrayIndex(String name) {
+            int length = name.length();
+            if (length == 0 || length > 9 || (length > 1 && name.charAt(0) == '0')) {
+                return -1;
+            }
+            for (int i = 0; i < length; i++) {
+                if (name.charAt(i) < '0' || name.charAt(i) > '9') {
+                    return -1;
+                }
+            }
+            return Integer.parseInt(name);
+        }
+    }
+}
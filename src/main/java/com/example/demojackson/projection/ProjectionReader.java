@@ -0,0 +1,56 @@
+package com.example.demojackson.projection;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * JsonProjection 으로 줄인 JSON 만 대상 타입으로 읽는 reader
+ *
+ * <pre>
+ * ProjectionReader&lt;Summary&gt; reader = new ProjectionReader&lt;&gt;(objectMapper, Summary.class,
+ *         JsonProjection.fieldMask("id,customer.name"));
+ * Summary summary = reader.read(json);
+ * </pre>
+ *
+ * 선택하지 않은 경로는 Jackson parser 에 전달되지 않으므로 대상 타입의 다른 프로퍼티는 기본값으로 남고,
+ * 건너뛴 부분의 모르는 필드 / 타입 오류도 보고되지 않는다
+ * 입력은 UTF-8 JSON 이어야 한다 (InputStream 은 끝까지 읽은 뒤 처리)
+ */
+public class ProjectionReader<T> {
+    private final ObjectReader reader;
+    private final JsonProjection projection;
+
+    public ProjectionReader(ObjectMapper objectMapper, Class<T> type, JsonProjection projection) {
+        this(objectMapper.readerFor(type), projection);
+    }
+
+    public ProjectionReader(ObjectMapper objectMapper, JavaType type, JsonProjection projection) {
+        this(objectMapper.readerFor(type), projection);
+    }
+
+    public ProjectionReader(ObjectReader reader, JsonProjection projection) {
+        this.reader = reader;
+        this.projection = projection;
+    }
+
+    public T read(byte[] json) throws IOException {
+        return read(json, 0, json.length);
+    }
+
+    public T read(byte[] json, int offset, int length) throws IOException {
+        ProjectionScanner scanner = projection.scan(json, offset, length);
+        return reader.readValue(scanner.output(), 0, scanner.outputLength());
+    }
+
+    public T read(InputStream in) throws IOException {
+        return read(in.readAllBytes());
+    }
+
+    public JsonProjection getProjection() {
+        return projection;
+    }
+}
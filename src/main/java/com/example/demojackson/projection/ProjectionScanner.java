@@ -0,0 +1,381 @@
+package com.example.demojackson.projection;
+
+import com.example.demojackson.projection.JsonProjection.Node;
+import com.fasterxml.jackson.core.JsonParseException;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * JsonProjection 의 byte 단위 scanner (문서마다 새로 만든다)
+ *
+ * 선택한 값은 입력 bytes 를 그대로 복사하고, 선택하지 않은 값은 {@link #skipValue} 로 건너뛴다
+ * 건너뛸 때 문자열 안은 8 bytes 씩 '"' / '\\' 만 찾고, 문자열 밖은 괄호 깊이만 센다
+ * 경로 위의 필드명만 비교하며 escape 가 있는 필드명만 decoding 한다
+ */
+final class ProjectionScanner {
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGHS = 0x8080808080808080L;
+    private static final long QUOTES = '"' * ONES;
+    private static final long BACKSLASHES = '\\' * ONES;
+
+    // arrays 만 투명한 field mask 는 [[[...]]] 입력으로 재귀가 깊어질 수 있다
+    private static final int MAX_DEPTH = 1000;
+
+    // 문자열 밖에서 보는 byte 분류 (나머지는 0)
+    private static final byte QUOTE = 1;
+    private static final byte OPEN = 2;
+    private static final byte CLOSE = 3;
+    private static final byte[] CLASSES = new byte[256];
+
+    static {
+        CLASSES['"'] = QUOTE;
+        CLASSES['{'] = OPEN;
+        CLASSES['['] = OPEN;
+        CLASSES['}'] = CLOSE;
+        CLASSES[']'] = CLOSE;
+    }
+
+    private final byte[] b;
+    private final int end;
+    private final boolean arraysTransparent;
+    private int i;
+    private int depth;
+    private byte[] out;
+    private int length;
+
+    ProjectionScanner(byte[] b, int start, int end, boolean arraysTransparent) {
+        Objects.checkFromToIndex(start, end, b.length);
+        this.b = b;
+        this.i = start;
+        this.end = end;
+        this.arraysTransparent = arraysTransparent;
+        // 선택하는 부분은 보통 입력의 일부
+        this.out = new byte[Math.max(64, (end - start) >> 4)];
+    }
+
+    byte[] output() {
+        return out;
+    }
+
+    int outputLength() {
+        return length;
+    }
+
+    void scan(Node root) throws IOException {
+        // UTF-8 BOM
+        if (end - i >= 3 && b[i] == (byte) 0xEF && b[i + 1] == (byte) 0xBB && b[i + 2] == (byte) 0xBF) {
+            i += 3;
+        }
+        skipWhitespace();
+        need();
+        if (!root.isLeaf() && (b[i] == '{' || b[i] == '[')) {
+            container(root);
+        } else {
+            // 문서 전체를 고르거나 최상위가 객체 / 배열이 아니면 그대로 넘긴다
+            copyValue();
+        }
+    }
+
+    private void container(Node node) throws IOException {
+        if (++depth > MAX_DEPTH) {
+            throw error("Maximum nesting depth (" + MAX_DEPTH + ") exceeded");
+        }
+        if (b[i] == '{') {
+            object(node);
+        } else {
+            array(node);
+        }
+        depth--;
+    }
+
+    private void object(Node node) throws IOException {
+        write('{');
+        i++;
+        skipWhitespace();
+        need();
+        if (b[i] == '}') {
+            i++;
+            write('}');
+            return;
+        }
+        for (boolean first = true; ; ) {
+            if (b[i] != '"') {
+                throw unexpected("field name");
+            }
+            int nameStart = i + 1;
+            int nameEnd = nameStart;
+            boolean escaped = false;
+            for (; ; nameEnd++) {
+                if (nameEnd >= end) {
+                    throw error("Unexpected end-of-input in field name");
+                }
+                if (b[nameEnd] == '"') {
+                    break;
+                }
+                if (b[nameEnd] == '\\') {
+                    escaped = true;
+                    nameEnd++;
+                }
+            }
+            Node child = escaped ? node.child(unescape(nameStart, nameEnd)) : node.child(b, nameStart, nameEnd);
+            i = nameEnd + 1;
+            skipWhitespace();
+            need();
+            if (b[i] != ':') {
+                throw unexpected("':'");
+            }
+            i++;
+            skipWhitespace();
+            need();
+            if (child != null && (child.isLeaf() || b[i] == '{' || b[i] == '[')) {
+                if (!first) {
+                    write(',');
+                }
+                first = false;
+                // 필드명은 escape 그대로 복사
+                write(nameStart - 1, nameEnd + 1 - (nameStart - 1));
+                write(':');
+                if (child.isLeaf()) {
+                    copyValue();
+                } else {
+                    container(child);
+                }
+            } else {
+                skipValue();
+            }
+            skipWhitespace();
+            need();
+            byte c = b[i++];
+            if (c == '}') {
+                break;
+            }
+            if (c != ',') {
+                i--;
+                throw unexpected("',' or '}'");
+            }
+            skipWhitespace();
+            need();
+        }
+        write('}');
+    }
+
+    private void array(Node node) throws IOException {
+        write('[');
+        i++;
+        skipWhitespace();
+        need();
+        if (b[i] == ']') {
+            i++;
+            write(']');
+            return;
+        }
+        boolean first = true;
+        for (int index = 0; ; index++) {
+            Node element = arraysTransparent ? node : node.element(index);
+            if (element != null && (element.isLeaf() || b[i] == '{' || b[i] == '[')) {
+                if (!first) {
+                    write(',');
+                }
+                first = false;
+                if (element.isLeaf()) {
+                    copyValue();
+                } else {
+                    container(element);
+                }
+            } else {
+                skipValue();
+            }
+            skipWhitespace();
+            need();
+            byte c = b[i++];
+            if (c == ']') {
+                break;
+            }
+            if (c != ',') {
+                i--;
+                throw unexpected("',' or ']'");
+            }
+            skipWhitespace();
+            need();
+        }
+        write(']');
+    }
+
+    private void copyValue() throws IOException {
+        int start = i;
+        skipValue();
+        write(start, i - start);
+    }
+
+    private void skipValue() throws IOException {
+        byte c = b[i];
+        if (c == '"') {
+            i = skipString(i + 1);
+        } else if (c == '{' || c == '[') {
+            skipContainer();
+        } else {
+            // 숫자, true / false / null
+            int start = i;
+            while (i < end && (c = b[i]) != ',' && c != '}' && c != ']' && !isWhitespace(c)) {
+                i++;
+            }
+            if (i == start) {
+                throw unexpected("value");
+            }
+        }
+    }
+
+    private void skipContainer() throws IOException {
+        int p = i;
+        for (int level = 0; p < end; p++) {
+            switch (CLASSES[b[p] & 0xFF]) {
+                case QUOTE:
+                    p = skipString(p + 1) - 1;
+                    break;
+                case OPEN:
+                    level++;
+                    break;
+                case CLOSE:
+                    if (--level == 0) {
+                        i = p + 1;
+                        return;
+                    }
+                    break;
+                default:
+            }
+        }
+        i = end;
+        throw error("Unexpected end-of-input in skipped value");
+    }
+
+    /**
+     * @param p 여는 따옴표 다음 위치
+     * @return 닫는 따옴표 다음 위치
+     */
+    private int skipString(int p) throws IOException {
+        while (true) {
+            p = nextQuoteOrBackslash(p);
+            if (p >= end) {
+                i = end;
+                throw error("Unexpected end-of-input in string");
+            }
+            if (b[p] == '"') {
+                return p + 1;
+            }
+            // escape 다음 문자 (\" 포함) 는 문자열 끝이 아니다
+            p += 2;
+        }
+    }
+
+    private int nextQuoteOrBackslash(int p) {
+        for (; p + 8 <= end; p += 8) {
+            long v = (long) LONGS.get(b, p);
+            long found = zeroBytes(v ^ QUOTES) | zeroBytes(v ^ BACKSLASHES);
+            if (found != 0) {
+                // 가장 낮은 bit 는 정확하다 (little endian 이라 첫 byte)
+                return p + (Long.numberOfTrailingZeros(found) >>> 3);
+            }
+        }
+        for (; p < end; p++) {
+            if (b[p] == '"' || b[p] == '\\') {
+                return p;
+            }
+        }
+        return end;
+    }
+
+    private static long zeroBytes(long x) {
+        return (x - ONES) & ~x & HIGHS;
+    }
+
+    private String unescape(int start, int end) throws IOException {
+        String raw = new String(b, start, end - start, StandardCharsets.UTF_8);
+        StringBuilder sb = new StringBuilder(raw.length());
+        for (int k = 0; k < raw.length(); k++) {
+            char c = raw.charAt(k);
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+            c = raw.charAt(++k);
+            switch (c) {
+                case 'b':
+                    sb.append('\b');
+                    break;
+                case 'f':
+                    sb.append('\f');
+                    break;
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                case 't':
+                    sb.append('\t');
+                    break;
+                case 'u':
+                    if (k + 4 >= raw.length()) {
+                        throw error("Invalid unicode escape in field name");
+                    }
+                    try {
+                        sb.append((char) Integer.parseInt(raw, k + 1, k + 5, 16));
+                    } catch (NumberFormatException e) {
+                        throw error("Invalid unicode escape in field name");
+                    }
+                    k += 4;
+                    break;
+                default:
+                    sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private void skipWhitespace() {
+        while (i < end && isWhitespace(b[i])) {
+            i++;
+        }
+    }
+
+    private static boolean isWhitespace(byte c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+
+    private void need() throws IOException {
+        if (i >= end) {
+            throw error("Unexpected end-of-input");
+        }
+    }
+
+    private void write(int c) {
+        if (length == out.length) {
+            out = Arrays.copyOf(out, out.length << 1);
+        }
+        out[length++] = (byte) c;
+    }
+
+    private void write(int start, int count) {
+        if (length + count > out.length) {
+            out = Arrays.copyOf(out, Math.max(out.length << 1, length + count));
+        }
+        System.arraycopy(b, start, out, length, count);
+        length += count;
+    }
+
+    private JsonParseException unexpected(String expected) {
+        return error(String.format("Unexpected character ('%c' (code %d)): expected %s",
+                (char) (b[i] & 0xFF), b[i] & 0xFF, expected));
+    }
+
+    private JsonParseException error(String message) {
+        return new JsonParseException(null, message + " at byte offset " + i);
+    }
+}
@@ -0,0 +1,253 @@
+package com.example.demojackson.propertybag;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * @JsonAnySetter / @JsonAnyGetter 용 String → String 속성 저장소
+ *
+ * HashMap 대신 key / value 를 입력 순서대로 하나의 Object[] 에 번갈아 저장한다 (Entry 객체, table 여유분 없음)
+ * - 속성이 {@value #LINEAR_LIMIT} 개 이하면 배열을 순서대로 비교해서 찾는다
+ * - 그보다 많으면 entry 위치를 담은 short[] open addressing index 를 만든다
+ * key 는 이 클래스의 작은 고정 크기 table ({@value #KEY_CACHE_SIZE} 칸) 로 canonicalize 하므로 자주 쓰는 이름은
+ * 모든 객체가 하나의 String 을 공유하고 대부분 == 비교로 찾는다
+ * 요청 body 의 임의의 key 가 Jackson 전역 InternCache 를 채우고 비우게 하지 않도록 InternCache 는 쓰지 않는다
+ *
+ * 순회는 {@link #keyAt(int)} / {@link #valueAt(int)} 를 사용하면 iterator, Entry 를 만들지 않는다
+ * Map 으로 사용할 수 있지만 (entrySet 등) 그 경우는 일반 Map 과 같이 객체를 만든다
+ * 동기화하지 않음 (HashMap 과 같음)
+ */
+public final class PropertyBag extends AbstractMap<String, String> {
+    static final int LINEAR_LIMIT = 12;
+    static final int KEY_CACHE_SIZE = 1024;
+    private static final Object[] EMPTY = new Object[0];
+    /**
+     * hash 위치마다 마지막 key 하나만 두는 direct-mapped table, 충돌하면 덮어쓴다
+     * String 은 immutable 이라 동기화 없이 읽고 써도 된다 (놓치면 canonical 이 아닐 뿐)
+     */
+    private static final String[] KEY_CACHE = new String[KEY_CACHE_SIZE];
+
+    private Object[] data;
+    private short[] index;
+    private int size;
+
+    public PropertyBag() {
+        this.data = EMPTY;
+    }
+
+    public PropertyBag(int expectedSize) {
+        this.data = expectedSize == 0 ? EMPTY : new Object[expectedSize * 2];
+    }
+
+    public PropertyBag(Map<String, String> other) {
+        this(other.size());
+        for (Map.Entry<String, String> entry : other.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 입력 순서 i 번째 key
+     */
+    public String keyAt(int i) {
+        Objects.checkIndex(i, size);
+        return (String) data[i * 2];
+    }
+
+    /**
+     * 입력 순서 i 번째 value
+     */
+    public String valueAt(int i) {
+        Objects.checkIndex(i, size);
+        return (String) data[i * 2 + 1];
+    }
+
+    @Override
+    public String get(Object key) {
+        int i = indexOf(key);
+        return i < 0 ? null : (String) data[i * 2 + 1];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public String put(String key, String value) {
+        Objects.requireNonNull(key, "key");
+        int i = indexOf(key);
+        if (i >= 0) {
+            String old = (String) data[i * 2 + 1];
+            data[i * 2 + 1] = value;
+            return old;
+        }
+        if (size == Short.MAX_VALUE) {
+            throw new IllegalStateException("PropertyBag can hold at most " + Short.MAX_VALUE + " entries");
+        }
+        if (size * 2 == data.length) {
+            // 대부분 3~10 개라 4 → 10 으로 두 번만 늘리고 그 이후는 1.5 배
+            int capacity = size < 4 ? 4 : size < 10 ? 10 : size + (size >> 1);
+            data = Arrays.copyOf(data, capacity * 2);
+        }
+        String canonical = canonicalize(key);
+        data[size * 2] = canonical;
+        data[size * 2 + 1] = value;
+        size++;
+        if (size > LINEAR_LIMIT) {
+            if (index == null || size * 2 > index.length) {
+                rebuildIndex();
+            } else {
+                insertIndex(canonical.hashCode(), size - 1);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String remove(Object key) {
+        int i = indexOf(key);
+        if (i < 0) {
+            return null;
+        }
+        String old = (String) data[i * 2 + 1];
+        System.arraycopy(data, i * 2 + 2, data, i * 2, (size - i - 1) * 2);
+        size--;
+        data[size * 2] = null;
+        data[size * 2 + 1] = null;
+        if (size > LINEAR_LIMIT) {
+            rebuildIndex();
+        } else {
+            index = null;
+        }
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(data, 0, size * 2, null);
+        size = 0;
+        index = null;
+    }
+
+    private static String canonicalize(String key) {
+        int slot = spread(key.hashCode()) & (KEY_CACHE_SIZE - 1);
+        String cached = KEY_CACHE[slot];
+        if (cached != null && (cached == key || cached.equals(key))) {
+            return cached;
+        }
+        KEY_CACHE[slot] = key;
+        return key;
+    }
+
+    private int indexOf(Object key) {
+        if (!(key instanceof String)) {
+            return -1;
+        }
+        if (index == null) {
+            for (int i = 0; i < size; i++) {
+                if (data[i * 2] == key) {
+                    return i;
+                }
+            }
+            for (int i = 0; i < size; i++) {
+                if (key.equals(data[i * 2])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        int mask = index.length - 1;
+        for (int slot = spread(key.hashCode()) & mask; index[slot] != 0; slot = (slot + 1) & mask) {
+            int i = index[slot] - 1;
+            Object k = data[i * 2];
+            if (k == key || key.equals(k)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void rebuildIndex() {
+        // 사용률 50% 이하 유지
+        index = new short[Integer.highestOneBit(size * 2) * 2];
+        for (int i = 0; i < size; i++) {
+            insertIndex(data[i * 2].hashCode(), i);
+        }
+    }
+
+    private void insertIndex(int hash, int i) {
+        int mask = index.length - 1;
+        int slot = spread(hash) & mask;
+        while (index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = (short) (i + 1);
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return new AbstractSet<Entry<String, String>>() {
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public Iterator<Entry<String, String>> iterator() {
+                return new Iterator<Entry<String, String>>() {
+                    int next;
+                    int last = -1;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < size;
+                    }
+
+                    @Override
+                    public Entry<String, String> next() {
+                        if (next >= size) {
+                            throw new NoSuchElementException();
+                        }
+                        last = next++;
+                        int i = last;
+                        return new SimpleEntry<String, String>(keyAt(i), valueAt(i)) {
+                            private static final long serialVersionUID = 1L;
+
+                            @Override
+                            public String setValue(String value) {
+                                data[i * 2 + 1] = value;
+                                return super.setValue(value);
+                            }
+                        };
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (last < 0) {
+                            throw new IllegalStateException();
+                        }
+                        PropertyBag.this.remove(data[last * 2]);
+                        next = last;
+                        last = -1;
+                    }
+                };
+            }
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.demojackson.propertybag;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+
+/**
+ * {@link PropertyBag} 를 일반 프로퍼티 / root value 로 읽는 deserializer
+ * 값은 Map&lt;String, String&gt; 과 같이 String 으로 읽는다 (숫자, boolean 은 문자열로 변환)
+ * @JsonAnySetter 는 bean 의 setter 를 통해 put 하므로 이 deserializer 를 거치지 않는다
+ */
+public class PropertyBagDeserializer extends StdDeserializer<PropertyBag> {
+    private static final long serialVersionUID = 1L;
+
+    public PropertyBagDeserializer() {
+        super(PropertyBag.class);
+    }
+
+    @Override
+    public PropertyBag deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return deserialize(p, ctxt, new PropertyBag());
+    }
+
+    @Override
+    public PropertyBag deserialize(JsonParser p, DeserializationContext ctxt, PropertyBag bag) throws IOException {
+        String name;
+        if (p.isExpectedStartObjectToken()) {
+            name = p.nextFieldName();
+        } else if (p.hasToken(JsonToken.FIELD_NAME)) {
+            name = p.currentName();
+        } else if (p.hasToken(JsonToken.END_OBJECT)) {
+            return bag;
+        } else {
+            return (PropertyBag) ctxt.handleUnexpectedToken(PropertyBag.class, p);
+        }
+        for (; name != null; name = p.nextFieldName()) {
+            JsonToken t = p.nextToken();
+            if (t == JsonToken.VALUE_STRING) {
+                bag.put(name, p.getText());
+            } else if (t == JsonToken.VALUE_NULL) {
+                bag.put(name, null);
+            } else {
+                bag.put(name, _parseString(p, ctxt));
+            }
+        }
+        return bag;
+    }
+
+    @Override
+    public Boolean supportsUpdate(DeserializationConfig config) {
+        return Boolean.TRUE;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.demojackson.propertybag;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.PropertyMetadata;
+import com.fasterxml.jackson.databind.PropertyName;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.AnyGetterWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerBuilder;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+
+/**
+ * {@link PropertyBag} serializer / deserializer 와 PropertyBag 을 돌려주는 @JsonAnyGetter 처리를 등록하는 모듈
+ *
+ * <pre>
+ * new ObjectMapper().registerModule(new PropertyBagModule());
+ * </pre>
+ *
+ * Jackson 은 @JsonAnyGetter 에 항상 MapSerializer (entrySet 순회) 를 사용하므로
+ * 반환 타입이 PropertyBag 이면 AnyGetterWriter 를 {@link PropertyBagSerializer#unwrapping} 으로 바꾼다
+ * 모듈 없이도 PropertyBag 은 Map 이라 동작은 하고 결과도 같다
+ */
+public class PropertyBagModule extends SimpleModule {
+
+    public PropertyBagModule() {
+        super(PropertyBagModule.class.getSimpleName());
+        addSerializer(PropertyBag.class, PropertyBagSerializer.INSTANCE);
+        addDeserializer(PropertyBag.class, new PropertyBagDeserializer());
+        setSerializerModifier(new AnyGetterModifier());
+    }
+
+    static class AnyGetterModifier extends BeanSerializerModifier {
+
+        @Override
+        public BeanSerializerBuilder updateBuilder(SerializationConfig config, BeanDescription beanDesc,
+                                                   BeanSerializerBuilder builder) {
+            AnnotatedMember accessor = beanDesc.findAnyGetter();
+            if (builder.getAnyGetter() == null || accessor == null
+                    || !PropertyBag.class.isAssignableFrom(accessor.getRawType())
+                    || config.getAnnotationIntrospector().findSerializer(accessor) != null) {
+                return builder;
+            }
+            if (config.canOverrideAccessModifiers()) {
+                accessor.fixAccess(config.isEnabled(MapperFeature.OVERRIDE_PUBLIC_ACCESS_MODIFIERS));
+            }
+            BeanProperty property = new BeanProperty.Std(PropertyName.construct(accessor.getName()), accessor.getType(),
+                    null, accessor, PropertyMetadata.STD_OPTIONAL);
+            builder.setAnyGetter(new AnyGetterWriter(property, accessor, PropertyBagSerializer.unwrapping(null)));
+            return builder;
+        }
+    }
+}
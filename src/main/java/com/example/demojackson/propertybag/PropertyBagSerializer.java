@@ -0,0 +1,76 @@
+package com.example.demojackson.propertybag;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+
+import java.io.IOException;
+
+/**
+ * {@link PropertyBag} serializer
+ * keyAt / valueAt 로 순회하므로 iterator, Map.Entry 를 만들지 않는다
+ *
+ * unwrapping 인스턴스는 { } 없이 필드만 쓴다 (@JsonAnyGetter, @JsonUnwrapped 에서 사용)
+ */
+public class PropertyBagSerializer extends StdSerializer<PropertyBag> {
+    public static final PropertyBagSerializer INSTANCE = new PropertyBagSerializer();
+
+    private final NameTransformer unwrapper;
+
+    public PropertyBagSerializer() {
+        this(null);
+    }
+
+    protected PropertyBagSerializer(NameTransformer unwrapper) {
+        super(PropertyBag.class);
+        this.unwrapper = unwrapper;
+    }
+
+    /**
+     * 필드만 쓰는 serializer
+     */
+    public static PropertyBagSerializer unwrapping(NameTransformer unwrapper) {
+        return new PropertyBagSerializer(unwrapper == null ? NameTransformer.NOP : unwrapper);
+    }
+
+    @Override
+    public void serialize(PropertyBag value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (unwrapper != null) {
+            serializeFields(value, gen, provider);
+            return;
+        }
+        gen.writeStartObject(value, value.size());
+        serializeFields(value, gen, provider);
+        gen.writeEndObject();
+    }
+
+    protected void serializeFields(PropertyBag value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        for (int i = 0, size = value.size(); i < size; i++) {
+            String name = value.keyAt(i);
+            gen.writeFieldName(unwrapper == null ? name : unwrapper.transform(name));
+            String v = value.valueAt(i);
+            if (v == null) {
+                provider.defaultSerializeNull(gen);
+            } else {
+                gen.writeString(v);
+            }
+        }
+    }
+
+    @Override
+    public boolean isEmpty(SerializerProvider provider, PropertyBag value) {
+        return value.isEmpty();
+    }
+
+    @Override
+    public boolean isUnwrappingSerializer() {
+        return unwrapper != null;
+    }
+
+    @Override
+    public JsonSerializer<PropertyBag> unwrappingSerializer(NameTransformer unwrapper) {
+        return unwrapping(unwrapper);
+    }
+}
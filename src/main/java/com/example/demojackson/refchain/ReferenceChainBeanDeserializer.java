@@ -0,0 +1,266 @@
+package com.example.demojackson.refchain;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.BeanDeserializer;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBase;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.deser.impl.BeanPropertyMap;
+import com.fasterxml.jackson.databind.deser.impl.ManagedReferenceProperty;
+import com.fasterxml.jackson.databind.deser.impl.ObjectIdReader;
+import com.fasterxml.jackson.databind.deser.std.CollectionDeserializer;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * @JsonManagedReference 로 이어지는 객체를 재귀 호출 대신 명시적인 stack 으로 읽는 BeanDeserializer
+ *
+ * 기본 생성자로 만들고 프로퍼티를 set 하는 (BeanDeserializer 의 vanilla 처리) 타입만 대상이다
+ * managed reference 프로퍼티의 값이 객체 (또는 객체 배열 -> Collection) 이고 그 deserializer 도 이 클래스면
+ * 같은 loop 에서 이어서 읽는다. 읽은 값은 ManagedReferenceProperty 로 set 하므로 back reference 도 그대로 채워진다
+ * 그 밖의 경우는 BeanDeserializer 와 같다
+ *
+ * stack 이 maxDepth 를 넘으면 JsonMappingException
+ */
+class ReferenceChainBeanDeserializer extends BeanDeserializer {
+    private static final long serialVersionUID = 1L;
+
+    private static final byte PLAIN = 0;
+    private static final byte CHAIN_BEAN = 1;
+    private static final byte CHAIN_COLLECTION = 2;
+
+    private final int maxDepth;
+
+    /**
+     * SettableBeanProperty#getPropertyIndex 별 프로퍼티 종류, resolve 이후 처음 읽을 때 계산 (다 채운 배열을 volatile 로 공개)
+     */
+    private transient volatile byte[] kinds;
+
+    ReferenceChainBeanDeserializer(BeanDeserializerBase src, int maxDepth) {
+        super(src);
+        this.maxDepth = maxDepth;
+    }
+
+    // BeanDeserializer 의 복사 메서드가 만든 BeanDeserializer 를 다시 감싼다
+
+    @Override
+    public BeanDeserializer withObjectIdReader(ObjectIdReader oir) {
+        return new ReferenceChainBeanDeserializer(super.withObjectIdReader(oir), maxDepth);
+    }
+
+    @Override
+    public BeanDeserializer withByNameInclusion(Set<String> ignorableProps, Set<String> includableProps) {
+        return new ReferenceChainBeanDeserializer(super.withByNameInclusion(ignorableProps, includableProps), maxDepth);
+    }
+
+    @Override
+    public BeanDeserializerBase withIgnoreAllUnknown(boolean ignoreUnknown) {
+        return new ReferenceChainBeanDeserializer(super.withIgnoreAllUnknown(ignoreUnknown), maxDepth);
+    }
+
+    @Override
+    public BeanDeserializerBase withBeanProperties(BeanPropertyMap props) {
+        return new ReferenceChainBeanDeserializer(super.withBeanProperties(props), maxDepth);
+    }
+
+    @Override
+    public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (!_vanillaProcessing || !p.isExpectedStartObjectToken()) {
+            return super.deserialize(p, ctxt);
+        }
+        return deserializeChain(p, ctxt);
+    }
+
+    private Object deserializeChain(JsonParser p, DeserializationContext ctxt) throws IOException {
+        ArrayDeque<Frame> stack = new ArrayDeque<>();
+        Frame frame = start(p, ctxt);
+        stack.push(frame);
+        try {
+            while (true) {
+                if (frame.collection != null) {
+                    JsonToken t = p.nextToken();
+                    if (t == JsonToken.END_ARRAY) {
+                        frame.property.set(frame.bean, frame.collection);
+                        frame.collection = null;
+                        frame.property = null;
+                        p.nextToken();
+                        continue;
+                    }
+                    if (t == JsonToken.START_OBJECT && frame.child._vanillaProcessing) {
+                        frame = push(stack, frame.child.start(p, ctxt), p);
+                        continue;
+                    }
+                    // CollectionDeserializer 와 같이 null 원소는 null 로 넣는다
+                    frame.collection.add(t == JsonToken.VALUE_NULL ? null : frame.child.deserialize(p, ctxt));
+                    continue;
+                }
+                if (p.hasToken(JsonToken.FIELD_NAME)) {
+                    ReferenceChainBeanDeserializer deser = frame.deserializer;
+                    String name = p.currentName();
+                    p.nextToken();
+                    SettableBeanProperty prop = deser._beanProperties.find(name);
+                    if (prop == null) {
+                        // UnrecognizedPropertyException 은 이미 path 가 있으므로 이 단계는 붙이지 않는다
+                        frame.name = null;
+                        deser.handleUnknownVanilla(p, ctxt, frame.bean, name);
+                        p.nextToken();
+                        continue;
+                    }
+                    frame.name = name;
+                    byte kind = deser.kind(prop, ctxt);
+                    if (kind == CHAIN_BEAN && p.hasToken(JsonToken.START_OBJECT)) {
+                        ReferenceChainBeanDeserializer child = (ReferenceChainBeanDeserializer) prop.getValueDeserializer();
+                        if (child._vanillaProcessing) {
+                            frame.property = prop;
+                            frame = push(stack, child.start(p, ctxt), p);
+                            continue;
+                        }
+                    } else if (kind == CHAIN_COLLECTION && p.hasToken(JsonToken.START_ARRAY)) {
+                        CollectionDeserializer collectionDeser =
+                                (CollectionDeserializer) (JsonDeserializer<?>) prop.getValueDeserializer();
+                        @SuppressWarnings("unchecked")
+                        Collection<Object> collection = (Collection<Object>) collectionDeser.getValueInstantiator()
+                                .createUsingDefault(ctxt);
+                        frame.property = prop;
+                        frame.collection = collection;
+                        frame.child = (ReferenceChainBeanDeserializer) collectionDeser.getContentDeserializer();
+                        continue;
+                    }
+                    prop.deserializeAndSet(p, ctxt, frame.bean);
+                    p.nextToken();
+                    continue;
+                }
+                if (!p.hasToken(JsonToken.END_OBJECT)) {
+                    return ctxt.handleUnexpectedToken(handledType(), p);
+                }
+                Object bean = frame.bean;
+                stack.pop();
+                frame = stack.peek();
+                if (frame == null) {
+                    return bean;
+                }
+                if (frame.collection != null) {
+                    frame.collection.add(bean);
+                } else {
+                    frame.property.set(frame.bean, bean);
+                    frame.property = null;
+                    p.nextToken();
+                }
+            }
+        } catch (Exception e) {
+            throw wrapWithPath(stack, e, ctxt);
+        }
+    }
+
+    /**
+     * BeanDeserializer#vanillaDeserialize 와 같이 객체를 만들고 첫 필드로 이동
+     */
+    private Frame start(JsonParser p, DeserializationContext ctxt) throws IOException {
+        Object bean = _valueInstantiator.createUsingDefault(ctxt);
+        p.setCurrentValue(bean);
+        p.nextToken();
+        return new Frame(this, bean);
+    }
+
+    private Frame push(ArrayDeque<Frame> stack, Frame frame, JsonParser p) throws JsonMappingException {
+        if (stack.size() >= maxDepth) {
+            throw JsonMappingException.from(p, "Reference chain deeper than maxDepth (" + maxDepth
+                    + ") for " + frame.deserializer.handledType().getName());
+        }
+        stack.push(frame);
+        return frame;
+    }
+
+    private byte kind(SettableBeanProperty prop, DeserializationContext ctxt) throws JsonMappingException {
+        byte[] kinds = this.kinds;
+        if (kinds == null) {
+            kinds = kinds(ctxt);
+            this.kinds = kinds;
+        }
+        int index = prop.getPropertyIndex();
+        return index >= 0 && index < kinds.length ? kinds[index] : PLAIN;
+    }
+
+    private byte[] kinds(DeserializationContext ctxt) throws JsonMappingException {
+        int size = 0;
+        for (SettableBeanProperty prop : _beanProperties) {
+            size = Math.max(size, prop.getPropertyIndex() + 1);
+        }
+        byte[] kinds = new byte[size];
+        for (SettableBeanProperty prop : _beanProperties) {
+            if (prop.getPropertyIndex() >= 0) {
+                kinds[prop.getPropertyIndex()] = kindOf(prop, ctxt);
+            }
+        }
+        return kinds;
+    }
+
+    private static byte kindOf(SettableBeanProperty prop, DeserializationContext ctxt) throws JsonMappingException {
+        // resolve 에서 @JsonManagedReference 프로퍼티는 ManagedReferenceProperty 로 바뀐다
+        if (!(prop instanceof ManagedReferenceProperty) || prop.getValueTypeDeserializer() != null
+                || prop.getAnnotation(JsonDeserialize.class) != null || prop.getAnnotation(JsonTypeInfo.class) != null) {
+            return PLAIN;
+        }
+        JsonDeserializer<Object> deser = prop.getValueDeserializer();
+        if (deser instanceof ReferenceChainBeanDeserializer) {
+            return CHAIN_BEAN;
+        }
+        if (deser != null && deser.getClass() == CollectionDeserializer.class) {
+            CollectionDeserializer collectionDeser = (CollectionDeserializer) (JsonDeserializer<?>) deser;
+            JavaType contentType = prop.getType().getContentType();
+            if (collectionDeser.getContentDeserializer() instanceof ReferenceChainBeanDeserializer
+                    && collectionDeser.getValueInstantiator().canCreateUsingDefault()
+                    && ctxt.getFactory().findTypeDeserializer(ctxt.getConfig(), contentType) == null) {
+                return CHAIN_COLLECTION;
+            }
+        }
+        return PLAIN;
+    }
+
+    /**
+     * 재귀로 읽었을 때 각 단계의 BeanDeserializer / CollectionDeserializer 가 붙였을 path 를 안쪽부터 붙인다
+     */
+    private static IOException wrapWithPath(ArrayDeque<Frame> stack, Exception e, DeserializationContext ctxt) {
+        Throwable t = e;
+        for (Frame frame : stack) {
+            if (frame.collection != null && t instanceof JsonMappingException) {
+                ((JsonMappingException) t).prependPath(frame.collection, frame.collection.size());
+            }
+            if (frame.name == null) {
+                continue;
+            }
+            try {
+                frame.deserializer.wrapAndThrow(t, frame.bean, frame.name, ctxt);
+            } catch (IOException | RuntimeException wrapped) {
+                t = wrapped;
+            }
+        }
+        if (t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        }
+        return (IOException) t;
+    }
+
+    private static final class Frame {
+        final ReferenceChainBeanDeserializer deserializer;
+        final Object bean;
+        String name;
+        SettableBeanProperty property;
+        Collection<Object> collection;
+        ReferenceChainBeanDeserializer child;
+
+        Frame(ReferenceChainBeanDeserializer deserializer, Object bean) {
+            this.deserializer = deserializer;
+            this.bean = bean;
+        }
+    }
+}
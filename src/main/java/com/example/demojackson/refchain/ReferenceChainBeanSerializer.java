@@ -0,0 +1,341 @@
+package com.example.demojackson.refchain;
+
+import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.BeanAsArraySerializer;
+import com.fasterxml.jackson.databind.ser.impl.ObjectIdWriter;
+import com.fasterxml.jackson.databind.ser.impl.PropertySerializerMap;
+import com.fasterxml.jackson.databind.ser.impl.UnwrappingBeanSerializer;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * @JsonManagedReference 로 이어지는 객체를 재귀 호출 대신 명시적인 stack 으로 쓰는 BeanSerializer
+ *
+ * managed reference 프로퍼티의 값 (bean 또는 Collection 의 원소) 의 serializer 도 이 클래스면
+ * 같은 loop 에서 이어서 쓰므로 깊이와 관계없이 Java stack 은 일정하다
+ * 그 밖의 프로퍼티와 null / 빈 Collection / 타입 정보가 있는 값 등은 BeanPropertyWriter 가 그대로 쓴다
+ * object id, @JsonFilter 가 있으면 BeanSerializer 와 같이 재귀로 쓴다
+ *
+ * stack 이 maxDepth 를 넘으면 JsonMappingException (순환 참조도 여기서 걸린다)
+ */
+class ReferenceChainBeanSerializer extends BeanSerializerBase {
+    private static final long serialVersionUID = 1L;
+
+    private static final byte PLAIN = 0;
+    private static final byte CHAIN_BEAN = 1;
+    private static final byte CHAIN_COLLECTION = 2;
+
+    private final int maxDepth;
+
+    /**
+     * 처음 serialize 할 때 계산, 여러 스레드가 함께 쓰는 serializer 라서 한 객체로 만들어 volatile 로 공개한다
+     */
+    private transient volatile Layout layout;
+
+    ReferenceChainBeanSerializer(BeanSerializerBase src, int maxDepth) {
+        super(src);
+        this.maxDepth = maxDepth;
+    }
+
+    private ReferenceChainBeanSerializer(ReferenceChainBeanSerializer src, ObjectIdWriter objectIdWriter, Object filterId) {
+        super(src, objectIdWriter, filterId);
+        this.maxDepth = src.maxDepth;
+    }
+
+    private ReferenceChainBeanSerializer(ReferenceChainBeanSerializer src, Set<String> toIgnore, Set<String> toInclude) {
+        super(src, toIgnore, toInclude);
+        this.maxDepth = src.maxDepth;
+    }
+
+    private ReferenceChainBeanSerializer(ReferenceChainBeanSerializer src, BeanPropertyWriter[] properties,
+                                         BeanPropertyWriter[] filteredProperties) {
+        super(src, properties, filteredProperties);
+        this.maxDepth = src.maxDepth;
+    }
+
+    // BeanSerializer 와 같은 복사 메서드
+
+    @Override
+    public JsonSerializer<Object> unwrappingSerializer(NameTransformer unwrapper) {
+        return new UnwrappingBeanSerializer(this, unwrapper);
+    }
+
+    @Override
+    public BeanSerializerBase withObjectIdWriter(ObjectIdWriter objectIdWriter) {
+        return new ReferenceChainBeanSerializer(this, objectIdWriter, _propertyFilterId);
+    }
+
+    @Override
+    public BeanSerializerBase withFilterId(Object filterId) {
+        return new ReferenceChainBeanSerializer(this, _objectIdWriter, filterId);
+    }
+
+    @Override
+    protected BeanSerializerBase withByNameInclusion(Set<String> toIgnore, Set<String> toInclude) {
+        return new ReferenceChainBeanSerializer(this, toIgnore, toInclude);
+    }
+
+    @Override
+    protected BeanSerializerBase withProperties(BeanPropertyWriter[] properties, BeanPropertyWriter[] filteredProperties) {
+        return new ReferenceChainBeanSerializer(this, properties, filteredProperties);
+    }
+
+    @Override
+    protected BeanSerializerBase asArraySerializer() {
+        if (_objectIdWriter == null && _anyGetterWriter == null && _propertyFilterId == null) {
+            return new BeanAsArraySerializer(this);
+        }
+        return this;
+    }
+
+    @Override
+    public void serialize(Object bean, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (!iterative()) {
+            // BeanSerializer#serialize 와 같음
+            if (_objectIdWriter != null) {
+                gen.setCurrentValue(bean);
+                _serializeWithObjectId(bean, gen, provider, true);
+                return;
+            }
+            gen.writeStartObject(bean);
+            if (_propertyFilterId != null) {
+                serializeFieldsFiltered(bean, gen, provider);
+            } else {
+                serializeFields(bean, gen, provider);
+            }
+            gen.writeEndObject();
+            return;
+        }
+        serializeChain(bean, gen, provider);
+    }
+
+    private boolean iterative() {
+        return _objectIdWriter == null && _propertyFilterId == null;
+    }
+
+    private void serializeChain(Object root, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        ArrayDeque<Frame> stack = new ArrayDeque<>();
+        stack.push(start(root, gen, provider));
+        try {
+            while (!stack.isEmpty()) {
+                Frame frame = stack.peek();
+                ReferenceChainBeanSerializer ser = frame.serializer;
+                if (frame.children != null) {
+                    if (!frame.children.hasNext()) {
+                        gen.writeEndArray();
+                        frame.children = null;
+                        frame.collection = null;
+                        continue;
+                    }
+                    Object child = frame.children.next();
+                    frame.childIndex++;
+                    if (child == null) {
+                        provider.defaultSerializeNull(gen);
+                        continue;
+                    }
+                    JsonSerializer<Object> childSer = ser.childSerializer(frame.index - 1, child, provider, false);
+                    if (childSer instanceof ReferenceChainBeanSerializer
+                            && ((ReferenceChainBeanSerializer) childSer).iterative()) {
+                        push(stack, ((ReferenceChainBeanSerializer) childSer).start(child, gen, provider), gen);
+                    } else {
+                        childSer.serialize(child, gen, provider);
+                    }
+                    continue;
+                }
+                if (frame.index == frame.props.length) {
+                    frame.name = null;
+                    if (ser._anyGetterWriter != null) {
+                        ser._anyGetterWriter.getAndSerialize(frame.bean, gen, provider);
+                    }
+                    gen.writeEndObject();
+                    stack.pop();
+                    continue;
+                }
+                int index = frame.index++;
+                BeanPropertyWriter prop = frame.props[index];
+                if (prop == null) {
+                    continue;
+                }
+                frame.name = prop.getName();
+                byte kind = frame.kinds[index];
+                if (kind != PLAIN) {
+                    Object value = prop.get(frame.bean);
+                    if (kind == CHAIN_COLLECTION && value instanceof Collection) {
+                        Collection<?> collection = (Collection<?>) value;
+                        int size = collection.size();
+                        if (size > 1 || (size == 1 && !provider.isEnabled(SerializationFeature.WRITE_SINGLE_ELEM_ARRAYS_UNWRAPPED))) {
+                            gen.writeFieldName(prop.getSerializedName());
+                            gen.writeStartArray(collection, size);
+                            frame.collection = collection;
+                            frame.children = collection.iterator();
+                            frame.childIndex = 0;
+                            continue;
+                        }
+                    } else if (kind == CHAIN_BEAN && value != null && value != frame.bean) {
+                        // value == bean 은 BeanPropertyWriter 의 self reference 처리에 맡김
+                        JsonSerializer<Object> childSer = ser.childSerializer(index, value, provider, true);
+                        if (childSer instanceof ReferenceChainBeanSerializer
+                                && ((ReferenceChainBeanSerializer) childSer).iterative()) {
+                            gen.writeFieldName(prop.getSerializedName());
+                            push(stack, ((ReferenceChainBeanSerializer) childSer).start(value, gen, provider), gen);
+                            continue;
+                        }
+                    }
+                }
+                prop.serializeAsField(frame.bean, gen, provider);
+            }
+        } catch (Exception e) {
+            throw wrapWithPath(stack, e, provider);
+        } catch (StackOverflowError e) {
+            // BeanSerializerBase#serializeFields 와 같은 처리 (chain 이 아닌 프로퍼티 안에서의 무한 재귀)
+            throw JsonMappingException.from(gen, "Infinite recursion (StackOverflowError)", e);
+        }
+    }
+
+    private Frame start(Object bean, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        Layout layout = layout(provider);
+        gen.writeStartObject(bean);
+        boolean filtered = _filteredProps != null && provider.getActiveView() != null;
+        return new Frame(this, bean, filtered ? _filteredProps : _props, filtered ? layout.filteredKinds : layout.kinds);
+    }
+
+    private Layout layout(SerializerProvider provider) throws JsonMappingException {
+        Layout layout = this.layout;
+        if (layout == null) {
+            // 동시에 처음 쓰면 각자 같은 값을 계산하고 하나가 남는다
+            layout = new Layout(kinds(_props, provider),
+                    _filteredProps == null ? null : kinds(_filteredProps, provider), _props.length);
+            this.layout = layout;
+        }
+        return layout;
+    }
+
+    private void push(ArrayDeque<Frame> stack, Frame frame, JsonGenerator gen) throws JsonMappingException {
+        if (stack.size() >= maxDepth) {
+            throw JsonMappingException.from(gen, "Reference chain deeper than maxDepth (" + maxDepth
+                    + ") for " + frame.serializer.handledType().getName() + ", cyclic reference?");
+        }
+        stack.push(frame);
+    }
+
+    /**
+     * BeanPropertyWriter / CollectionSerializer 와 같은 방법으로 찾은 값의 serializer
+     */
+    private JsonSerializer<Object> childSerializer(int index, Object value, SerializerProvider provider,
+                                                   boolean primary) throws JsonMappingException {
+        // view 로 _filteredProps 를 쓰는 경우에도 같은 프로퍼티라 index 가 같다
+        BeanPropertyWriter prop = _props[index];
+        PropertySerializerMap[] dynamicSerializers = layout(provider).dynamicSerializers;
+        PropertySerializerMap map = dynamicSerializers[index];
+        if (map == null) {
+            map = PropertySerializerMap.emptyForProperties();
+        }
+        JsonSerializer<Object> ser = map.serializerFor(value.getClass());
+        if (ser != null) {
+            return ser;
+        }
+        PropertySerializerMap.SerializerAndMapResult result = primary
+                ? map.findAndAddPrimarySerializer(value.getClass(), provider, prop)
+                : map.findAndAddSecondarySerializer(value.getClass(), provider, prop);
+        // PropertySerializerMap 은 불변이라 BeanPropertyWriter#_dynamicSerializers 처럼 경합해도 캐시만 다시 채운다
+        dynamicSerializers[index] = result.map;
+        return result.serializer;
+    }
+
+    private static byte[] kinds(BeanPropertyWriter[] props, SerializerProvider provider) throws JsonMappingException {
+        byte[] kinds = new byte[props.length];
+        for (int i = 0; i < props.length; i++) {
+            BeanPropertyWriter prop = props[i];
+            if (prop == null || prop.getAnnotation(JsonManagedReference.class) == null
+                    || prop.getAnnotation(JsonSerialize.class) != null || prop.getTypeSerializer() != null) {
+                continue;
+            }
+            JavaType type = prop.getType();
+            if (type.isCollectionLikeType() && Collection.class.isAssignableFrom(type.getRawClass())) {
+                if (provider.findTypeSerializer(type.getContentType()) == null) {
+                    kinds[i] = CHAIN_COLLECTION;
+                }
+            } else if (!type.isContainerType() && !type.isArrayType() && !type.isReferenceType()) {
+                kinds[i] = CHAIN_BEAN;
+            }
+        }
+        return kinds;
+    }
+
+    /**
+     * 재귀로 썼을 때 각 단계의 BeanSerializer / CollectionSerializer 가 붙였을 path 를 안쪽부터 붙인다
+     */
+    private static IOException wrapWithPath(ArrayDeque<Frame> stack, Exception e, SerializerProvider provider) {
+        Throwable t = e;
+        for (Frame frame : stack) {
+            if (frame.children != null && t instanceof JsonMappingException) {
+                ((JsonMappingException) t).prependPath(frame.collection, frame.childIndex - 1);
+            }
+            if (frame.name == null) {
+                continue;
+            }
+            try {
+                frame.serializer.wrapAndThrow(provider, t, frame.bean, frame.name);
+            } catch (IOException | RuntimeException wrapped) {
+                t = wrapped;
+            }
+        }
+        if (t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        }
+        return (IOException) t;
+    }
+
+    @Override
+    public String toString() {
+        return "ReferenceChainBeanSerializer for " + handledType().getName();
+    }
+
+    /**
+     * _props / _filteredProps 와 같은 index 의 프로퍼티 종류와 값 타입별 serializer 캐시
+     */
+    private static final class Layout {
+        final byte[] kinds;
+        final byte[] filteredKinds;
+        final PropertySerializerMap[] dynamicSerializers;
+
+        Layout(byte[] kinds, byte[] filteredKinds, int size) {
+            this.kinds = kinds;
+            this.filteredKinds = filteredKinds;
+            this.dynamicSerializers = new PropertySerializerMap[size];
+        }
+    }
+
+    private static final class Frame {
+        final ReferenceChainBeanSerializer serializer;
+        final Object bean;
+        final BeanPropertyWriter[] props;
+        final byte[] kinds;
+        int index;
+        String name;
+        Collection<?> collection;
+        Iterator<?> children;
+        int childIndex;
+
+        Frame(ReferenceChainBeanSerializer serializer, Object bean, BeanPropertyWriter[] props, byte[] kinds) {
+            this.serializer = serializer;
+            this.bean = bean;
+            this.props = props;
+            this.kinds = kinds;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.demojackson.refchain;
+
+import com.fasterxml.jackson.databind.AnnotationIntrospector;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.cfg.MapperConfig;
+import com.fasterxml.jackson.databind.deser.BeanDeserializer;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializer;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+
+/**
+ * @JsonManagedReference / @JsonBackReference 로 이어진 parent / child 모델 (조직도, 댓글 스레드 등) 을
+ * 깊이와 관계없이 일정한 Java stack 으로 읽고 쓰는 모듈
+ *
+ * <pre>
+ * new ObjectMapper().registerModule(new ReferenceChainModule(100_000));
+ * </pre>
+ *
+ * Jackson 은 중첩 단계마다 serializer / deserializer 호출이 여러 frame 씩 쌓여서
+ * 기본 thread stack 에서 수천 단계 정도면 StackOverflowError 가 난다
+ * @JsonManagedReference 프로퍼티가 있는 타입은 {@link ReferenceChainBeanSerializer} / {@link ReferenceChainBeanDeserializer}
+ * 로 바꿔서 managed reference 를 따라가는 부분을 heap 의 stack 으로 처리한다 (-Xss 를 줄여도 된다)
+ * maxDepth 는 한 번에 따라가는 managed reference 단계 수의 상한 (순환 참조, 악의적인 입력 방지)
+ */
+public class ReferenceChainModule extends SimpleModule {
+    public static final int DEFAULT_MAX_DEPTH = 100_000;
+
+    public ReferenceChainModule() {
+        this(DEFAULT_MAX_DEPTH);
+    }
+
+    public ReferenceChainModule(int maxDepth) {
+        super(ReferenceChainModule.class.getSimpleName());
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("maxDepth must be positive: " + maxDepth);
+        }
+        setSerializerModifier(new ChainSerializerModifier(maxDepth));
+        setDeserializerModifier(new ChainDeserializerModifier(maxDepth));
+    }
+
+    static boolean hasManagedReference(MapperConfig<?> config, BeanDescription beanDesc) {
+        AnnotationIntrospector introspector = config.getAnnotationIntrospector();
+        for (BeanPropertyDefinition property : beanDesc.findProperties()) {
+            AnnotatedMember member = property.getPrimaryMember();
+            if (member == null) {
+                continue;
+            }
+            AnnotationIntrospector.ReferenceProperty reference = introspector.findReferenceType(member);
+            if (reference != null && reference.isManagedReference()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static class ChainSerializerModifier extends BeanSerializerModifier {
+        private final int maxDepth;
+
+        ChainSerializerModifier(int maxDepth) {
+            this.maxDepth = maxDepth;
+        }
+
+        @Override
+        public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDesc,
+                                                  JsonSerializer<?> serializer) {
+            if (serializer.getClass() == BeanSerializer.class && hasManagedReference(config, beanDesc)) {
+                return new ReferenceChainBeanSerializer((BeanSerializerBase) serializer, maxDepth);
+            }
+            return serializer;
+        }
+    }
+
+    static class ChainDeserializerModifier extends BeanDeserializerModifier {
+        private final int maxDepth;
+
+        ChainDeserializerModifier(int maxDepth) {
+            this.maxDepth = maxDepth;
+        }
+
+        @Override
+        public JsonDeserializer<?> modifyDeserializer(DeserializationConfig config, BeanDescription beanDesc,
+                                                      JsonDeserializer<?> deserializer) {
+            if (deserializer.getClass() == BeanDeserializer.class && hasManagedReference(config, beanDesc)) {
+                return new ReferenceChainBeanDeserializer((BeanDeserializer) deserializer, maxDepth);
+            }
+            return deserializer;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.demojackson.registry;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.jsontype.NamedType;
+import com.fasterxml.jackson.databind.ser.DefaultSerializerProvider;
+import lombok.AllArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DTO 타입별로 공유하는 ObjectReader / ObjectWriter 저장소
+ * ObjectReader / ObjectWriter 는 immutable 이라 thread-safe 하게 공유할 수 있다
+ *
+ * 등록된 타입은 애플리케이션 시작 시 (웹 서버가 요청을 받기 전) 아래 순서로 warm-up 한다
+ * 1. @JsonSubTypes 로 선언된 하위 타입까지 모두 수집
+ * 2. readerFor / writerFor 로 introspection 과 root (de)serializer 생성
+ * 3. 합성 인스턴스로 write -> read 를 한 번 수행해서 나머지 lazy 캐시까지 채움
+ */
+@Log4j2
+public class JsonCodecRegistry implements SmartInitializingSingleton {
+    private final ObjectMapper objectMapper;
+    private final RegistryProperties properties;
+    private final Map<Class<?>, Codec> codecs = new ConcurrentHashMap<>();
+
+    private volatile WarmUpStats stats = WarmUpStats.NONE;
+
+    public JsonCodecRegistry(ObjectMapper objectMapper, RegistryProperties properties) {
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        warmUp();
+    }
+
+    /**
+     * 등록되지 않은 타입은 처음 요청될 때 만들어서 캐시한다
+     * 캐시가 maxCachedTypes 에 닿으면 캐시하지 않고 매번 만든다 (임의의 타입으로 계속 커지지 않게)
+     */
+    public ObjectReader reader(Class<?> type) {
+        return codec(type).reader;
+    }
+
+    public ObjectWriter writer(Class<?> type) {
+        return codec(type).writer;
+    }
+
+    public WarmUpStats getStats() {
+        return stats;
+    }
+
+    public int size() {
+        return codecs.size();
+    }
+
+    public synchronized WarmUpStats warmUp() {
+        long start = System.nanoTime();
+
+        Set<Class<?>> types = new LinkedHashSet<>();
+        for (Class<?> type : properties.getTypes()) {
+            types.add(type);
+            types.addAll(subtypesOf(type));
+        }
+
+        int exercised = 0;
+        for (Class<?> type : types) {
+            Codec codec = codec(type);
+            if (properties.isExercise() && exercise(type, codec)) {
+                exercised++;
+            }
+        }
+
+        stats = new WarmUpStats(Duration.ofNanos(System.nanoTime() - start),
+                properties.getTypes().size(), types.size(), exercised, cachedSerializers());
+        log.info("jackson warm-up finished: {}", stats);
+        return stats;
+    }
+
+    private Codec codec(Class<?> type) {
+        Codec codec = codecs.get(type);
+        if (codec != null) {
+            return codec;
+        }
+        if (codecs.size() >= properties.getMaxCachedTypes()) {
+            return newCodec(type);
+        }
+        return codecs.computeIfAbsent(type, this::newCodec);
+    }
+
+    private Codec newCodec(Class<?> type) {
+        return new Codec(objectMapper.readerFor(type), objectMapper.writerFor(type));
+    }
+
+    private Set<Class<?>> subtypesOf(Class<?> type) {
+        SerializationConfig config = objectMapper.getSerializationConfig();
+        Set<Class<?>> subtypes = new LinkedHashSet<>();
+        for (NamedType namedType : objectMapper.getSubtypeResolver().collectAndResolveSubtypesByClass(
+                config, config.introspectClassAnnotations(type).getClassInfo())) {
+            subtypes.add(namedType.getType());
+        }
+        subtypes.remove(type);
+        return subtypes;
+    }
+
+    /**
+     * 합성 인스턴스로 write -> read 를 수행
+     * 인스턴스를 만들 수 없는 타입 (기본 생성자도 없고 빈 객체로도 읽을 수 없는 경우) 은 serializer 생성까지만 하고 넘어간다
+     */
+    private boolean exercise(Class<?> type, Codec codec) {
+        try {
+            Object instance = syntheticInstance(type, codec);
+            if (instance == null) {
+                return false;
+            }
+            byte[] json = codec.writer.writeValueAsBytes(instance);
+            codec.reader.readValue(json);
+            return true;
+        } catch (Exception e) {
+            log.debug("skip exercising {}: {}", type.getName(), e.getMessage());
+            return false;
+        }
+    }
+
+    private Object syntheticInstance(Class<?> type, Codec codec) throws Exception {
+        if (type.isEnum()) {
+            Object[] constants = type.getEnumConstants();
+            return constants.length == 0 ? null : constants[0];
+        }
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            return null;
+        }
+        BeanDescription description = objectMapper.getSerializationConfig().introspect(objectMapper.constructType(type));
+        Object instance = description.instantiateBean(true);
+        return instance != null ? instance : codec.reader.readValue("{}");
+    }
+
+    private int cachedSerializers() {
+        return ((DefaultSerializerProvider) objectMapper.getSerializerProviderInstance()).cachedSerializersCount();
+    }
+
+    @AllArgsConstructor
+    private static class Codec {
+        private final ObjectReader reader;
+        private final ObjectWriter writer;
+    }
+}
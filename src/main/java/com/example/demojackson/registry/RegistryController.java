@@ -0,0 +1,16 @@
+package com.example.demojackson.registry;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+public class RegistryController {
+    private final JsonCodecRegistry jsonCodecRegistry;
+
+    @GetMapping("/jackson/registry")
+    public WarmUpStats stats() {
+        return jsonCodecRegistry.getStats();
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.demojackson.registry;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ObjectReader / ObjectWriter 를 미리 만들어 둘 DTO 타입 설정
+ */
+@Getter
+@Setter
+@ConfigurationProperties("demo.jackson.registry")
+public class RegistryProperties {
+    /**
+     * 시작 시 warm-up 할 DTO 타입 (FQCN, 중첩 클래스는 Outer$Inner)
+     */
+    private List<Class<?>> types = new ArrayList<>();
+
+    /**
+     * serializer 생성 외에 합성 인스턴스로 실제 write / read 까지 한 번 수행할지 여부
+     */
+    private boolean exercise = true;
+
+    /**
+     * 캐시할 타입 수 상한, 넘으면 등록되지 않은 타입은 캐시하지 않고 매번 만든다
+     */
+    private int maxCachedTypes = 256;
+}
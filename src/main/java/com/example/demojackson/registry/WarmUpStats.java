@@ -0,0 +1,24 @@
+package com.example.demojackson.registry;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Duration;
+
+/**
+ * warm-up 결과
+ * cachedSerializers 는 ObjectMapper 의 SerializerProvider 캐시 크기
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class WarmUpStats {
+    public static final WarmUpStats NONE = new WarmUpStats(Duration.ZERO, 0, 0, 0, 0);
+
+    private final Duration warmUpTime;
+    private final int registeredTypes;
+    private final int warmedTypes;
+    private final int exercisedTypes;
+    private final int cachedSerializers;
+}
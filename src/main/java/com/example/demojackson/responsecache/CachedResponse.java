@@ -0,0 +1,56 @@
+package com.example.demojackson.responsecache;
+
+/**
+ * serialize 해 둔 응답 하나 (JSON bytes, gzip bytes, strong ETag)
+ * 배열은 공유하므로 읽기만 한다
+ */
+public final class CachedResponse {
+    /**
+     * 항목마다 bytes 외에 잡는 크기 (key, 객체 header, map entry)
+     */
+    static final int ENTRY_OVERHEAD = 128;
+
+    private final byte[] body;
+    private final byte[] gzipBody;
+    private final String etag;
+    private final String gzipEtag;
+
+    CachedResponse(byte[] body, byte[] gzipBody, String etag, String gzipEtag) {
+        this.body = body;
+        this.gzipBody = gzipBody;
+        this.etag = etag;
+        this.gzipEtag = gzipEtag;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * gzip 을 끄거나, 작거나, 줄지 않는 응답은 null
+     */
+    public byte[] getGzipBody() {
+        return gzipBody;
+    }
+
+    /**
+     * body 의 SHA-256 으로 만든 strong ETag ("...")
+     */
+    public String getEtag() {
+        return etag;
+    }
+
+    /**
+     * gzip 표현의 ETag, 표현이 다르므로 따로 둔다 ("...-gzip")
+     */
+    public String getGzipEtag() {
+        return gzipEtag;
+    }
+
+    /**
+     * eviction 에 쓰는 크기
+     */
+    long weight() {
+        return ENTRY_OVERHEAD + body.length + (gzipBody == null ? 0 : gzipBody.length);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.demojackson.responsecache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+public class ResponseCacheController {
+    private final SerializedResponseCache serializedResponseCache;
+
+    @GetMapping("/jackson/response-cache")
+    public ResponseCacheStats stats() {
+        return serializedResponseCache.stats();
+    }
+}
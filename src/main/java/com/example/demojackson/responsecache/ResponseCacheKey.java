@@ -0,0 +1,36 @@
+package com.example.demojackson.responsecache;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 캐시한 응답의 key: 값 타입, version, JsonView
+ * version 은 같은 타입의 내용이 바뀔 때마다 바뀌는 값이다 (revision, 마지막 수정 시각, "id:revision" 등)
+ * 같은 key 면 같은 내용이라고 보고 다시 serialize 하지 않는다
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class ResponseCacheKey {
+    private final Class<?> type;
+    private final String version;
+    private final Class<?> view;
+
+    private ResponseCacheKey(Class<?> type, String version, Class<?> view) {
+        if (type == null || version == null) {
+            throw new IllegalArgumentException("type and version are required");
+        }
+        this.type = type;
+        this.version = version;
+        this.view = view;
+    }
+
+    public static ResponseCacheKey of(Class<?> type, String version) {
+        return new ResponseCacheKey(type, version, null);
+    }
+
+    public static ResponseCacheKey of(Class<?> type, String version, Class<?> view) {
+        return new ResponseCacheKey(type, version, view);
+    }
+}
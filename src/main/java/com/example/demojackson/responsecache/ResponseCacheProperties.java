@@ -0,0 +1,39 @@
+package com.example.demojackson.responsecache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * serialize 한 응답 캐시 설정
+ */
+@Getter
+@Setter
+@ConfigurationProperties("demo.jackson.response-cache")
+public class ResponseCacheProperties {
+    /**
+     * 보관할 최대 크기 (JSON + gzip bytes), 넘으면 오래 쓰지 않은 응답부터 내보낸다
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+
+    /**
+     * 잠금을 나누는 수 (크기 예산은 캐시 전체에 하나)
+     */
+    private int segments = 16;
+
+    /**
+     * ETag 를 기억할 key 수, 응답이 캐시에 없어도 If-None-Match 가 맞으면 serialize 하지 않고 304 (0 이면 끔)
+     */
+    private int etagIndexSize = SerializedResponseCache.DEFAULT_MAX_TAGS;
+
+    /**
+     * true 면 gzip 한 bytes 도 보관해서 Accept-Encoding: gzip 요청에 보낸다
+     */
+    private boolean gzip = true;
+
+    /**
+     * 이보다 작은 응답은 gzip 하지 않는다
+     */
+    private DataSize gzipMinSize = DataSize.ofKilobytes(1);
+}
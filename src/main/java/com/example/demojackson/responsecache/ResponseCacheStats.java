@@ -0,0 +1,33 @@
+package com.example.demojackson.responsecache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * SerializedResponseCache 누적값
+ * hit latency 는 캐시 조회, miss latency 는 serialize + hash + gzip (값을 만드는 supplier 제외)
+ * p50 / p99 는 2 의 거듭제곱 bucket 상한이라 최대 2 배까지 크게 나올 수 있다
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ResponseCacheStats {
+    private final long hits;
+    private final long misses;
+    private final double hitRatio;
+    private final long notModified;
+    private final long evictions;
+    /**
+     * 전체 예산 (max-size) 보다 커서 보관하지 않은 응답 수
+     */
+    private final long uncacheable;
+    private final long entries;
+    private final long bytes;
+    private final long maxBytes;
+    private final long hitP50Nanos;
+    private final long hitP99Nanos;
+    private final long missP50Nanos;
+    private final long missP99Nanos;
+    private final long missMaxNanos;
+}
@@ -0,0 +1,397 @@
+package com.example.demojackson.responsecache;
+
+import com.example.demojackson.metrics.LatencyHistogram;
+import com.example.demojackson.registry.JsonCodecRegistry;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 바뀌지 않는 DTO 응답을 serialize 한 bytes 로 보관하는 캐시
+ *
+ * <pre>
+ * &#64;GetMapping("/catalog")
+ * public ResponseEntity&lt;byte[]&gt; catalog(WebRequest request) throws IOException {
+ *     return responseCache.respond(request, ResponseCacheKey.of(Catalog.class, catalogService.revision()),
+ *             catalogService::load);
+ * }
+ * </pre>
+ *
+ * - key 는 타입, version, JsonView, 값 (supplier) 은 캐시에 없을 때만 불러서 registry 의 ObjectWriter 로 쓴다
+ * - gzip 을 켜면 gzipMinSize 이상인 응답은 gzip 한 bytes 도 한 번 만들어 둔다 (줄지 않으면 버림)
+ * - 크기 (bytes) 기준 LRU, 예산은 캐시 전체에 하나 (maxBytes 보다 큰 응답만 보관하지 않고 매번 serialize 한다)
+ *   잠금은 key hash 로 나눈 segment 마다 access-order LinkedHashMap, 넘으면 segment 들의 가장 오래된 항목 중
+ *   마지막 사용이 가장 이른 것부터 내보낸다
+ * - key 별 ETag 는 body 와 따로 maxTags 개까지 기억한다 (body 를 내보냈거나 너무 커서 보관하지 않은 응답도)
+ *   If-None-Match 가 기억한 ETag 와 맞으면 supplier 를 부르지 않고 304
+ *   ETag 도 모르는 key (처음 요청, 재시작, ETag 도 밀려남) 는 한 번 불러서 serialize 한 뒤 비교한다
+ * - 같은 key 를 동시에 처음 읽으면 각자 serialize 하고 나중 것이 남는다 (내용은 같음)
+ */
+public class SerializedResponseCache {
+    public static final int DEFAULT_MAX_TAGS = 16_384;
+    private static final MediaType JSON = MediaType.APPLICATION_JSON;
+
+    private final JsonCodecRegistry registry;
+    private final long maxBytes;
+    private final Segment[] segments;
+    private final boolean gzip;
+    private final int gzipMinSize;
+    private final AtomicLong bytes = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder uncacheable = new LongAdder();
+    private final LatencyHistogram hitLatency = new LatencyHistogram();
+    private final LatencyHistogram missLatency = new LatencyHistogram();
+
+    public SerializedResponseCache(JsonCodecRegistry registry, long maxBytes, int segments,
+                                   boolean gzip, int gzipMinSize) {
+        this(registry, maxBytes, segments, gzip, gzipMinSize, DEFAULT_MAX_TAGS);
+    }
+
+    /**
+     * @param segments    잠금을 나누는 수 (2 의 거듭제곱으로 올림)
+     * @param gzipMinSize 이보다 작은 응답은 gzip 하지 않는다
+     * @param maxTags     ETag 를 기억할 key 수 (segment 마다 나눠서), 0 이면 캐시에 있는 응답만 304
+     */
+    public SerializedResponseCache(JsonCodecRegistry registry, long maxBytes, int segments,
+                                   boolean gzip, int gzipMinSize, int maxTags) {
+        if (maxBytes <= 0 || segments <= 0 || gzipMinSize < 0 || maxTags < 0) {
+            throw new IllegalArgumentException("maxBytes and segments must be positive, "
+                    + "gzipMinSize and maxTags must not be negative: "
+                    + maxBytes + ", " + segments + ", " + gzipMinSize + ", " + maxTags);
+        }
+        int count = Integer.highestOneBit(segments) == segments ? segments : Integer.highestOneBit(segments) << 1;
+        this.registry = registry;
+        this.maxBytes = maxBytes;
+        this.segments = new Segment[count];
+        int segmentTags = maxTags == 0 ? 0 : Math.max(1, maxTags / count);
+        for (int i = 0; i < count; i++) {
+            this.segments[i] = new Segment(segmentTags);
+        }
+        this.gzip = gzip;
+        this.gzipMinSize = gzipMinSize;
+    }
+
+    /**
+     * 캐시에 있으면 serialize 하지 않고 돌려준다
+     */
+    public CachedResponse get(ResponseCacheKey key, Supplier<?> value) throws IOException {
+        Segment segment = segment(key);
+        long start = System.nanoTime();
+        CachedResponse cached = segment.get(key, start);
+        if (cached != null) {
+            hitLatency.record(System.nanoTime() - start);
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        Object loaded = value.get();
+        start = System.nanoTime();
+        CachedResponse response = serialize(key, loaded);
+        missLatency.record(System.nanoTime() - start);
+        if (response.weight() > maxBytes) {
+            uncacheable.increment();
+            segment.putTags(key, response);
+        } else {
+            bytes.addAndGet(segment.put(key, response, System.nanoTime()));
+            evict(key);
+        }
+        return response;
+    }
+
+    public CachedResponse getIfPresent(ResponseCacheKey key) {
+        return segment(key).get(key, System.nanoTime());
+    }
+
+    /**
+     * GET 응답: If-None-Match 가 맞으면 304 (body 없음), 아니면 Accept-Encoding 에 맞는 표현
+     * ETag 는 표현마다 다르고, Vary: Accept-Encoding 은 gzip 표현이 있을 때만 붙인다
+     * 기억한 ETag 와 맞으면 body 가 캐시에 없어도 supplier 를 부르지 않는다
+     */
+    public ResponseEntity<byte[]> respond(WebRequest request, ResponseCacheKey key, Supplier<?> value)
+            throws IOException {
+        String[] ifNoneMatch = request.getHeaderValues(HttpHeaders.IF_NONE_MATCH);
+        boolean acceptsGzip = acceptsGzip(request.getHeaderValues(HttpHeaders.ACCEPT_ENCODING));
+        if (ifNoneMatch != null) {
+            String[] tags = segment(key).tags(key);
+            if (tags != null && matches(ifNoneMatch, tags[0], tags[1])) {
+                notModified.increment();
+                return new ResponseEntity<>(headers(tags[0], tags[1], acceptsGzip), HttpStatus.NOT_MODIFIED);
+            }
+        }
+        CachedResponse response = get(key, value);
+        HttpHeaders headers = headers(response.getEtag(), response.getGzipEtag(), acceptsGzip);
+        if (ifNoneMatch != null && matches(ifNoneMatch, response.getEtag(), response.getGzipEtag())) {
+            notModified.increment();
+            return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+        }
+        boolean gzipped = acceptsGzip && response.getGzipBody() != null;
+        headers.setContentType(JSON);
+        if (gzipped) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return new ResponseEntity<>(gzipped ? response.getGzipBody() : response.getBody(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * body 와 기억한 ETag 를 모두 지운다 (version 을 올리지 않고 내용이 바뀐 경우)
+     */
+    public void invalidate(ResponseCacheKey key) {
+        bytes.addAndGet(-segment(key).remove(key));
+    }
+
+    public void invalidateAll() {
+        for (Segment segment : segments) {
+            bytes.addAndGet(-segment.clear());
+        }
+    }
+
+    public ResponseCacheStats stats() {
+        long entries = 0;
+        for (Segment segment : segments) {
+            entries += segment.size();
+        }
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+        return new ResponseCacheStats(hitCount, missCount, requests == 0 ? 0 : (double) hitCount / requests,
+                notModified.sum(), evictions.sum(), uncacheable.sum(), entries, bytes.get(), maxBytes,
+                hitLatency.percentile(0.5), hitLatency.percentile(0.99),
+                missLatency.percentile(0.5), missLatency.percentile(0.99), missLatency.max());
+    }
+
+    private Segment segment(ResponseCacheKey key) {
+        int h = key.hashCode();
+        return segments[(h ^ (h >>> 16)) & (segments.length - 1)];
+    }
+
+    /**
+     * 예산 안으로 들어올 때까지 segment 들의 가장 오래된 항목 중 마지막 사용이 가장 이른 것을 내보낸다
+     * 방금 넣은 key 는 남긴다
+     */
+    private void evict(ResponseCacheKey inserted) {
+        while (bytes.get() > maxBytes) {
+            Segment oldest = null;
+            long oldestAccess = Long.MAX_VALUE;
+            for (Segment segment : segments) {
+                long access = segment.eldestAccess(inserted);
+                if (access < oldestAccess) {
+                    oldest = segment;
+                    oldestAccess = access;
+                }
+            }
+            if (oldest == null) {
+                return;
+            }
+            long freed = oldest.evictEldest(inserted);
+            if (freed > 0) {
+                bytes.addAndGet(-freed);
+                evictions.increment();
+            }
+        }
+    }
+
+    private static HttpHeaders headers(String etag, String gzipEtag, boolean acceptsGzip) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(acceptsGzip && gzipEtag != null ? gzipEtag : etag);
+        if (gzipEtag != null) {
+            headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+        }
+        return headers;
+    }
+
+    private CachedResponse serialize(ResponseCacheKey key, Object value) throws IOException {
+        ObjectWriter writer = registry.writer(key.getType());
+        if (key.getView() != null) {
+            writer = writer.withView(key.getView());
+        }
+        byte[] body = writer.writeValueAsBytes(value);
+        String hash = hash(body);
+        byte[] gzipBody = gzip && body.length >= gzipMinSize ? gzip(body) : null;
+        if (gzipBody != null && gzipBody.length >= body.length) {
+            gzipBody = null;
+        }
+        return new CachedResponse(body, gzipBody, '"' + hash + '"', gzipBody == null ? null : '"' + hash + "-gzip\"");
+    }
+
+    private static boolean acceptsGzip(String[] acceptEncodings) {
+        if (acceptEncodings == null) {
+            return false;
+        }
+        for (String header : acceptEncodings) {
+            for (String coding : header.split(",")) {
+                String[] parts = coding.trim().split(";");
+                if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                    // gzip;q=0 은 거부
+                    return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * If-None-Match 는 weak 비교 (W/ 무시), 내용이 같으므로 두 표현의 ETag 모두 맞는 것으로 본다
+     */
+    private static boolean matches(String[] ifNoneMatch, String etag, String gzipEtag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(HttpHeaders.IF_NONE_MATCH, Arrays.asList(ifNoneMatch));
+        for (String tag : headers.getIfNoneMatch()) {
+            String opaque = tag.startsWith("W/") ? tag.substring(2) : tag;
+            if (opaque.equals("*") || opaque.equals(etag) || opaque.equals(gzipEtag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * SHA-256 앞 16 bytes 의 hex
+     */
+    private static String hash(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            StringBuilder hex = new StringBuilder(32);
+            for (int i = 0; i < 16; i++) {
+                hex.append(Character.forDigit((digest[i] >> 4) & 0xF, 16)).append(Character.forDigit(digest[i] & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 잠금 하나를 쓰는 access-order map 두 개
+     * - entries: 보관한 응답과 마지막 사용 시각 (System.nanoTime), 크기 예산은 캐시가 관리한다
+     * - tags: key 별 {ETag, gzip ETag}, maxTags 개를 넘으면 오래 쓰지 않은 것부터 버린다
+     */
+    private static final class Segment {
+        private final LinkedHashMap<ResponseCacheKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private final LinkedHashMap<ResponseCacheKey, String[]> tags;
+
+        Segment(int maxTags) {
+            this.tags = new LinkedHashMap<>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<ResponseCacheKey, String[]> eldest) {
+                    return size() > maxTags;
+                }
+            };
+        }
+
+        synchronized CachedResponse get(ResponseCacheKey key, long now) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            entry.lastAccess = now;
+            return entry.response;
+        }
+
+        synchronized String[] tags(ResponseCacheKey key) {
+            return tags.get(key);
+        }
+
+        synchronized void putTags(ResponseCacheKey key, CachedResponse response) {
+            tags.put(key, new String[]{response.getEtag(), response.getGzipEtag()});
+        }
+
+        /**
+         * @return 늘어난 bytes (같은 key 를 바꾸면 차이)
+         */
+        synchronized long put(ResponseCacheKey key, CachedResponse response, long now) {
+            putTags(key, response);
+            Entry previous = entries.put(key, new Entry(response, now));
+            return response.weight() - (previous == null ? 0 : previous.response.weight());
+        }
+
+        /**
+         * exclude 를 뺀 가장 오래된 항목의 마지막 사용 시각, 없으면 Long.MAX_VALUE
+         */
+        synchronized long eldestAccess(ResponseCacheKey exclude) {
+            for (Map.Entry<ResponseCacheKey, Entry> eldest : entries.entrySet()) {
+                if (!eldest.getKey().equals(exclude)) {
+                    return eldest.getValue().lastAccess;
+                }
+            }
+            return Long.MAX_VALUE;
+        }
+
+        /**
+         * @return 내보낸 bytes, 내보낼 항목이 없으면 0
+         */
+        synchronized long evictEldest(ResponseCacheKey exclude) {
+            for (Iterator<Map.Entry<ResponseCacheKey, Entry>> it = entries.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<ResponseCacheKey, Entry> eldest = it.next();
+                if (!eldest.getKey().equals(exclude)) {
+                    it.remove();
+                    return eldest.getValue().response.weight();
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * @return 지운 bytes
+         */
+        synchronized long remove(ResponseCacheKey key) {
+            tags.remove(key);
+            Entry removed = entries.remove(key);
+            return removed == null ? 0 : removed.response.weight();
+        }
+
+        synchronized long clear() {
+            long removed = 0;
+            for (Entry entry : entries.values()) {
+                removed += entry.response.weight();
+            }
+            entries.clear();
+            tags.clear();
+            return removed;
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+
+    private static final class Entry {
+        private final CachedResponse response;
+        private long lastAccess;
+
+        Entry(CachedResponse response, long lastAccess) {
+            this.response = response;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
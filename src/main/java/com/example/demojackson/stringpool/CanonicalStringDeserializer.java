@@ -0,0 +1,44 @@
+package com.example.demojackson.stringpool;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+import com.fasterxml.jackson.databind.type.LogicalType;
+
+import java.io.IOException;
+
+/**
+ * String 값을 {@link StringPool} 로 모으는 deserializer
+ * 문자열 토큰은 parser 의 문자 버퍼로 pool 을 찾고, 그 밖의 토큰 (숫자 등) 은 StringDeserializer 로 바꾼 뒤 모은다
+ */
+public class CanonicalStringDeserializer extends StdScalarDeserializer<String> {
+    private static final long serialVersionUID = 1L;
+
+    private final transient StringPool pool;
+
+    public CanonicalStringDeserializer(StringPool pool) {
+        super(String.class);
+        this.pool = pool;
+    }
+
+    @Override
+    public String deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_STRING)) {
+            return pool.canonicalize(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+        }
+        String value = StringDeserializer.instance.deserialize(p, ctxt);
+        return value == null ? null : pool.canonicalize(value);
+    }
+
+    @Override
+    public LogicalType logicalType() {
+        return LogicalType.Textual;
+    }
+
+    @Override
+    public boolean isCachable() {
+        return true;
+    }
+}
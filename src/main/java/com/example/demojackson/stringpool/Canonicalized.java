@@ -0,0 +1,15 @@
+package com.example.demojackson.stringpool;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 읽은 값을 StringPoolModule 의 pool 로 모으는 String 프로퍼티 (String 원소 collection / 배열 포함)
+ * 모듈이 등록되지 않은 mapper 에서는 아무 효과가 없다
+ */
+@Target({ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Canonicalized {
+}
@@ -0,0 +1,111 @@
+package com.example.demojackson.stringpool;
+
+/**
+ * 같은 내용의 String 을 하나의 instance 로 모으는 크기 제한 pool
+ *
+ * <pre>
+ * StringPool pool = new StringPool(65_536, 64);
+ * String name = pool.canonicalize(buffer, offset, length);
+ * </pre>
+ *
+ * 문자 버퍼 구간으로 바로 찾으므로 이미 있는 값은 String 을 새로 만들지 않는다
+ * set 마다 2 칸 (보호 / 수습) 을 두는 segmented LRU:
+ * 새 값은 수습 칸에 들어가고 (보호 칸이 비어 있으면 보호 칸), 수습 칸에서 다시 찾으면 보호 칸과 자리를 바꾼다
+ * 한 번만 나오는 값 (id, 시각 등) 은 수습 칸끼리만 밀어내므로 자주 나오는 값이 남는다
+ * 잠금 없이 동작하며, 경쟁 시 같은 내용의 String 이 잠깐 둘 생길 수 있다 (내용 비교로 찾으므로 결과는 항상 같은 값)
+ * maxLength 보다 긴 값은 pool 에 넣지 않는다
+ */
+public final class StringPool {
+    private final String[] entries;
+    private final int setMask;
+    private final int maxLength;
+
+    /**
+     * @param capacity  보관할 최대 String 수 (2 의 거듭제곱으로 올림)
+     * @param maxLength pool 에 넣는 최대 길이 (문자 수)
+     */
+    public StringPool(int capacity, int maxLength) {
+        if (capacity < 2 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity must be between 2 and 2^30: " + capacity);
+        }
+        if (maxLength < 0) {
+            throw new IllegalArgumentException("maxLength must not be negative: " + maxLength);
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.entries = new String[size];
+        this.setMask = (size >>> 1) - 1;
+        this.maxLength = maxLength;
+    }
+
+    public String canonicalize(char[] buffer, int offset, int length) {
+        if (length > maxLength) {
+            return new String(buffer, offset, length);
+        }
+        int h = 0;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            h = 31 * h + buffer[i];
+        }
+        int slot = set(h);
+        String protectedEntry = entries[slot];
+        if (matches(protectedEntry, buffer, offset, length)) {
+            return protectedEntry;
+        }
+        String probationEntry = entries[slot + 1];
+        if (matches(probationEntry, buffer, offset, length)) {
+            promote(slot, protectedEntry, probationEntry);
+            return probationEntry;
+        }
+        String value = new String(buffer, offset, length);
+        insert(slot, protectedEntry, value);
+        return value;
+    }
+
+    public String canonicalize(String value) {
+        if (value.length() > maxLength) {
+            return value;
+        }
+        // String.hashCode 와 위의 hash 는 같은 식
+        int slot = set(value.hashCode());
+        String protectedEntry = entries[slot];
+        if (value.equals(protectedEntry)) {
+            return protectedEntry;
+        }
+        String probationEntry = entries[slot + 1];
+        if (value.equals(probationEntry)) {
+            promote(slot, protectedEntry, probationEntry);
+            return probationEntry;
+        }
+        insert(slot, protectedEntry, value);
+        return value;
+    }
+
+    public int capacity() {
+        return entries.length;
+    }
+
+    private void insert(int slot, String protectedEntry, String value) {
+        // 빈 보호 칸은 바로 채운다 (한 번만 나온 값이면 나중에 올라오는 값에 밀려 수습 칸으로 내려간다)
+        entries[protectedEntry == null ? slot : slot + 1] = value;
+    }
+
+    private void promote(int slot, String protectedEntry, String probationEntry) {
+        entries[slot] = probationEntry;
+        entries[slot + 1] = protectedEntry;
+    }
+
+    private int set(int h) {
+        return ((h ^ (h >>> 16)) & setMask) << 1;
+    }
+
+    private static boolean matches(String entry, char[] buffer, int offset, int length) {
+        if (entry == null || entry.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (entry.charAt(i) != buffer[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
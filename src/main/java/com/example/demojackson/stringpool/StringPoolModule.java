@@ -0,0 +1,103 @@
+package com.example.demojackson.stringpool;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMethod;
+import com.fasterxml.jackson.databind.introspect.NopAnnotationIntrospector;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 반복되는 String 값 (이름, 코드, type id 프로퍼티 등) 을 {@link StringPool} 로 모아서 읽는 모듈
+ *
+ * <pre>
+ * StringPool pool = new StringPool(65_536, 64);
+ *
+ * // @Canonicalized 프로퍼티만
+ * new ObjectMapper().registerModule(new StringPoolModule(pool));
+ *
+ * // Animal (하위 타입 포함), AliasBean 의 모든 String 프로퍼티
+ * new ObjectMapper().registerModule(new StringPoolModule(pool, List.of(Animal.class, AliasBean.class)));
+ * </pre>
+ *
+ * 오래 보관하는 객체 (cache 등) 가 같은 내용의 String 을 수백만 개씩 들고 있지 않도록 한다
+ * 대상은 {@link Canonicalized} 가 붙은 프로퍼티 / creator 인자와, types 에 속한 (하위) 클래스가 선언한 String 프로퍼티이다
+ * @JsonDeserialize 로 deserializer 를 직접 지정한 프로퍼티는 그대로 둔다
+ */
+public class StringPoolModule extends SimpleModule {
+    private final StringPool pool;
+    private final List<Class<?>> types;
+
+    public StringPoolModule(StringPool pool) {
+        this(pool, List.of());
+    }
+
+    public StringPoolModule(StringPool pool, Collection<Class<?>> types) {
+        super(StringPoolModule.class.getSimpleName());
+        this.pool = pool;
+        this.types = List.copyOf(types);
+    }
+
+    public StringPool getPool() {
+        return pool;
+    }
+
+    @Override
+    public void setupModule(SetupContext context) {
+        super.setupModule(context);
+        // 기본 introspector 가 찾은 @JsonDeserialize 가 먼저다
+        context.appendAnnotationIntrospector(new CanonicalizedIntrospector(new CanonicalStringDeserializer(pool), types));
+    }
+
+    static class CanonicalizedIntrospector extends NopAnnotationIntrospector {
+        private static final long serialVersionUID = 1L;
+
+        private final CanonicalStringDeserializer deserializer;
+        private final List<Class<?>> types;
+
+        CanonicalizedIntrospector(CanonicalStringDeserializer deserializer, List<Class<?>> types) {
+            this.deserializer = deserializer;
+            this.types = types;
+        }
+
+        @Override
+        public Object findDeserializer(Annotated a) {
+            return isTarget(a) && valueType(a).hasRawClass(String.class) ? deserializer : null;
+        }
+
+        @Override
+        public Object findContentDeserializer(Annotated a) {
+            JavaType contentType = isTarget(a) ? valueType(a).getContentType() : null;
+            return contentType != null && contentType.hasRawClass(String.class) ? deserializer : null;
+        }
+
+        private boolean isTarget(Annotated a) {
+            if (!(a instanceof AnnotatedMember)) {
+                return false;
+            }
+            if (a.hasAnnotation(Canonicalized.class)) {
+                return true;
+            }
+            Class<?> declaringClass = ((AnnotatedMember) a).getDeclaringClass();
+            for (Class<?> type : types) {
+                if (type.isAssignableFrom(declaringClass)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * setter 는 인자 타입, 나머지 (field, creator 인자) 는 선언 타입
+         */
+        private static JavaType valueType(Annotated a) {
+            if (a instanceof AnnotatedMethod && ((AnnotatedMethod) a).getParameterCount() == 1) {
+                return ((AnnotatedMethod) a).getParameterType(0);
+            }
+            return a.getType();
+        }
+    }
+}
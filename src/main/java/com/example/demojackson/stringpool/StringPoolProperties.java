@@ -0,0 +1,37 @@
+package com.example.demojackson.stringpool;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 읽은 String 값을 모으는 pool 설정
+ */
+@Getter
+@Setter
+@ConfigurationProperties("demo.jackson.string-pool")
+public class StringPoolProperties {
+    /**
+     * true 면 StringPoolModule 을 ObjectMapper 에 등록한다
+     */
+    private boolean enabled = false;
+
+    /**
+     * 보관할 최대 String 수 (2 의 거듭제곱으로 올림)
+     */
+    private int capacity = 65_536;
+
+    /**
+     * 이보다 긴 값은 모으지 않는다 (문자 수)
+     */
+    private int maxLength = 64;
+
+    /**
+     * 모든 String 프로퍼티를 모을 타입 (FQCN, 중첩 클래스는 Outer$Inner, 하위 클래스 포함)
+     * 그 밖의 타입은 @Canonicalized 프로퍼티만 모은다
+     */
+    private List<Class<?>> types = new ArrayList<>();
+}
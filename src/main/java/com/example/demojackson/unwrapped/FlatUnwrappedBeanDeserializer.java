@@ -0,0 +1,149 @@
+package com.example.demojackson.unwrapped;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonTokenId;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.BeanDeserializer;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBase;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.deser.impl.BeanPropertyMap;
+import com.fasterxml.jackson.databind.util.IgnorePropertiesUtil;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @JsonUnwrapped 프로퍼티를 {@link UnwrappedRoutes} 로 바로 읽는 BeanDeserializer
+ *
+ * resolve 에서 Jackson 이 unwrapped 로 처리하는 프로퍼티를 찾아 UnwrappedRoutes 를 만든다
+ * 만들 수 없으면 (routes == null) BeanDeserializer 와 같다 (TokenBuffer 에 모았다가 자식마다 다시 읽기)
+ *
+ * 필드 처리 순서는 BeanDeserializer#deserializeWithUnwrapped 와 같다
+ * 부모 프로퍼티 -> ignorable -> unwrapped 자식 프로퍼티 -> 무시 (unwrapped 자식은 모르는 필드를 무시하므로)
+ */
+class FlatUnwrappedBeanDeserializer extends BeanDeserializer {
+    private static final long serialVersionUID = 1L;
+
+    private transient UnwrappedRoutes routes;
+
+    /**
+     * BeanDeserializer#unwrappingDeserializer 와 같이 자기 자신을 포함하는 타입에서 무한 재귀를 막는다
+     */
+    private transient volatile NameTransformer currentlyTransforming;
+
+    FlatUnwrappedBeanDeserializer(BeanDeserializerBase src) {
+        this(src, (UnwrappedRoutes) null);
+    }
+
+    private FlatUnwrappedBeanDeserializer(BeanDeserializerBase src, UnwrappedRoutes routes) {
+        super(src);
+        this.routes = routes;
+    }
+
+    private FlatUnwrappedBeanDeserializer(BeanDeserializerBase src, NameTransformer unwrapper) {
+        super(src, unwrapper);
+    }
+
+    boolean isFlattened() {
+        return routes != null;
+    }
+
+    // BeanDeserializer 의 복사 메서드가 만든 BeanDeserializer 를 다시 감싼다
+    // withObjectIdReader 는 감싸지 않는다 (object id 가 있으면 표를 쓸 수 없음)
+
+    @Override
+    public BeanDeserializer withByNameInclusion(Set<String> ignorableProps, Set<String> includableProps) {
+        return new FlatUnwrappedBeanDeserializer(super.withByNameInclusion(ignorableProps, includableProps), routes);
+    }
+
+    @Override
+    public BeanDeserializerBase withIgnoreAllUnknown(boolean ignoreUnknown) {
+        return new FlatUnwrappedBeanDeserializer(super.withIgnoreAllUnknown(ignoreUnknown), routes);
+    }
+
+    @Override
+    public BeanDeserializerBase withBeanProperties(BeanPropertyMap props) {
+        return new FlatUnwrappedBeanDeserializer(super.withBeanProperties(props), routes);
+    }
+
+    /**
+     * BeanDeserializer 는 하위 클래스면 this 를 돌려줘서 unwrap 되지 않으므로 직접 만든다 (표는 쓰지 않음)
+     */
+    @Override
+    public JsonDeserializer<Object> unwrappingDeserializer(NameTransformer transformer) {
+        if (currentlyTransforming == transformer) {
+            return this;
+        }
+        currentlyTransforming = transformer;
+        try {
+            return new FlatUnwrappedBeanDeserializer(this, transformer);
+        } finally {
+            currentlyTransforming = null;
+        }
+    }
+
+    @Override
+    public void resolve(DeserializationContext ctxt) throws JsonMappingException {
+        // resolve 가 끝나면 unwrapped 프로퍼티는 _beanProperties 에서 빠지므로 먼저 찾아둔다
+        List<SettableBeanProperty> candidates = new ArrayList<>();
+        List<NameTransformer> transformers = new ArrayList<>();
+        for (SettableBeanProperty prop : _beanProperties) {
+            NameTransformer xform = _findPropertyUnwrapper(ctxt, prop);
+            if (xform != null) {
+                candidates.add(prop);
+                transformers.add(xform);
+            }
+        }
+        super.resolve(ctxt);
+
+        if (_unwrappedPropertyHandler != null && isVanillaExceptUnwrapped()) {
+            routes = UnwrappedRoutes.build(ctxt, candidates, transformers, _beanProperties);
+        }
+    }
+
+    private boolean isVanillaExceptUnwrapped() {
+        return _objectIdReader == null && _anySetter == null && _injectables == null && !_needViewProcesing
+                && _externalTypeIdHandler == null && _propertyBasedCreator == null
+                && _delegateDeserializer == null && _arrayDelegateDeserializer == null
+                && UnwrappedRoutes.createsUsingDefault(_valueInstantiator);
+    }
+
+    @Override
+    protected Object deserializeWithUnwrapped(JsonParser p, DeserializationContext ctxt) throws IOException {
+        UnwrappedRoutes routes = this.routes;
+        if (routes == null) {
+            return super.deserializeWithUnwrapped(p, ctxt);
+        }
+        Object bean = _valueInstantiator.createUsingDefault(ctxt);
+        p.setCurrentValue(bean);
+        Object[] values = routes.createValues(ctxt);
+
+        String name = p.hasTokenId(JsonTokenId.ID_FIELD_NAME) ? p.currentName() : null;
+        for (; name != null; name = p.nextFieldName()) {
+            p.nextToken();
+            SettableBeanProperty prop = _beanProperties.find(name);
+            if (prop != null) {
+                try {
+                    prop.deserializeAndSet(p, ctxt, bean);
+                } catch (Exception e) {
+                    wrapAndThrow(e, bean, name, ctxt);
+                }
+                continue;
+            }
+            if (IgnorePropertiesUtil.shouldIgnore(name, _ignorableProps, _includableProps)) {
+                handleIgnoredProperty(p, ctxt, bean, name);
+                continue;
+            }
+            if (!routes.deserializeAndSet(p, ctxt, values, name)) {
+                p.skipChildren();
+            }
+        }
+        routes.setValues(bean, values);
+        return bean;
+    }
+}
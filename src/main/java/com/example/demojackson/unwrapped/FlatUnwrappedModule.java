@@ -0,0 +1,54 @@
+package com.example.demojackson.unwrapped;
+
+import com.fasterxml.jackson.databind.AnnotationIntrospector;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.BeanDeserializer;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+/**
+ * @JsonUnwrapped 프로퍼티가 있는 타입을 TokenBuffer 없이 한 번에 읽는 모듈
+ *
+ * <pre>
+ * new ObjectMapper().registerModule(new FlatUnwrappedModule());
+ * </pre>
+ *
+ * Jackson 은 부모가 모르는 필드를 모두 TokenBuffer 에 복사한 뒤 unwrapped 프로퍼티마다 다시 읽는다
+ * {@link FlatUnwrappedBeanDeserializer} 는 resolve 시점에 unwrapped 자식들의 (prefix / suffix 가 붙은) 필드 이름을
+ * 하나의 표로 만들어 두고, 읽는 중에 필드 값을 해당 자식 인스턴스에 바로 set 한다
+ * 표를 만들 수 없는 타입 (creator, any setter, 중첩 unwrapped 등) 은 Jackson 기본 처리를 그대로 사용하므로 결과는 등록 전과 같다
+ */
+public class FlatUnwrappedModule extends SimpleModule {
+
+    public FlatUnwrappedModule() {
+        super(FlatUnwrappedModule.class.getSimpleName());
+        setDeserializerModifier(new FlatUnwrappedDeserializerModifier());
+    }
+
+    static boolean hasUnwrapped(AnnotationIntrospector introspector, BeanDescription beanDesc) {
+        for (BeanPropertyDefinition property : beanDesc.findProperties()) {
+            AnnotatedMember member = property.getPrimaryMember();
+            if (member != null && introspector.findUnwrappingNameTransformer(member) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static class FlatUnwrappedDeserializerModifier extends BeanDeserializerModifier {
+
+        @Override
+        public JsonDeserializer<?> modifyDeserializer(DeserializationConfig config, BeanDescription beanDesc,
+                                                      JsonDeserializer<?> deserializer) {
+            if (deserializer.getClass() == BeanDeserializer.class
+                    && hasUnwrapped(config.getAnnotationIntrospector(), beanDesc)) {
+                return new FlatUnwrappedBeanDeserializer((BeanDeserializer) deserializer);
+            }
+            return deserializer;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.demojackson.unwrapped;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.BeanDeserializer;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.deser.ValueInstantiator;
+import com.fasterxml.jackson.databind.deser.impl.BeanPropertyMap;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * unwrapped 자식들의 필드 이름 -> (자식 번호, 자식 프로퍼티) 표
+ *
+ * 자식 프로퍼티는 Jackson 이 TokenBuffer 를 다시 읽을 때 쓰는 unwrapping deserializer 의 것 (prefix / suffix 적용됨)
+ * 자식이 기본 생성자 + 필드 set 만으로 읽히는 타입이고 자식끼리 필드 이름이 겹치지 않을 때만 만든다
+ * (이름이 겹치면 Jackson 은 같은 값을 양쪽에 넣는다)
+ */
+final class UnwrappedRoutes {
+    /**
+     * 부모에서 자식 인스턴스를 set 하는 프로퍼티
+     */
+    private final SettableBeanProperty[] unwrapped;
+    private final BeanDeserializer[] children;
+    private final Map<String, Route> routes;
+
+    private UnwrappedRoutes(SettableBeanProperty[] unwrapped, BeanDeserializer[] children, Map<String, Route> routes) {
+        this.unwrapped = unwrapped;
+        this.children = children;
+        this.routes = routes;
+    }
+
+    /**
+     * @param candidates resolve 전에 찾은 unwrapper 가 있는 프로퍼티
+     * @param resolved   resolve 후 부모 프로퍼티 (Jackson 이 unwrapped 로 처리한 프로퍼티는 빠져 있음)
+     * @return 표를 만들 수 없으면 null
+     */
+    static UnwrappedRoutes build(DeserializationContext ctxt, List<SettableBeanProperty> candidates,
+                                 List<NameTransformer> transformers, BeanPropertyMap resolved)
+            throws JsonMappingException {
+        int size = 0;
+        SettableBeanProperty[] unwrapped = new SettableBeanProperty[candidates.size()];
+        BeanDeserializer[] children = new BeanDeserializer[candidates.size()];
+        Map<String, Route> routes = new HashMap<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            SettableBeanProperty prop = candidates.get(i);
+            if (resolved.find(prop.getName()) != null) {
+                // unwrappingDeserializer 가 자기 자신을 돌려준 경우 Jackson 도 일반 프로퍼티로 읽는다
+                continue;
+            }
+            BeanDeserializer child = unwrappingDeserializer(ctxt, prop, transformers.get(i));
+            if (child == null) {
+                return null;
+            }
+            for (Iterator<SettableBeanProperty> it = child.properties(); it.hasNext(); ) {
+                SettableBeanProperty childProp = it.next();
+                if (!isPlain(childProp, ctxt.getConfig())
+                        || routes.put(childProp.getName(), new Route(size, childProp)) != null) {
+                    return null;
+                }
+            }
+            unwrapped[size] = prop;
+            children[size] = child;
+            size++;
+        }
+        if (size == 0) {
+            return null;
+        }
+        return new UnwrappedRoutes(Arrays.copyOf(unwrapped, size), Arrays.copyOf(children, size), routes);
+    }
+
+    /**
+     * BeanDeserializerBase#resolve 와 같은 방법으로 unwrapping deserializer 를 만든다
+     */
+    private static BeanDeserializer unwrappingDeserializer(DeserializationContext ctxt, SettableBeanProperty prop,
+                                                           NameTransformer xform) throws JsonMappingException {
+        JsonDeserializer<Object> deser = prop.hasValueDeserializer() ? prop.getValueDeserializer()
+                : ctxt.findContextualValueDeserializer(prop.getType(), prop);
+        JsonDeserializer<Object> unwrapping = deser.unwrappingDeserializer(xform);
+        if (unwrapping == null || unwrapping.getClass() != BeanDeserializer.class) {
+            return null;
+        }
+        BeanDeserializer child = (BeanDeserializer) unwrapping;
+        if (child.getObjectIdReader() != null || child.hasViews() || child.isCaseInsensitive()
+                || child.creatorProperties().hasNext() || !createsUsingDefault(child.getValueInstantiator())) {
+            return null;
+        }
+        // any setter, 주입값, 중첩 unwrapped 는 BeanDeserializer 의 public API 로 알 수 없어서 타입 정보로 확인한다
+        DeserializationConfig config = ctxt.getConfig();
+        BeanDescription beanDesc = config.introspect(prop.getType());
+        Map<Object, ?> injectables = beanDesc.findInjectables();
+        if (beanDesc.findAnySetterAccessor() != null || (injectables != null && !injectables.isEmpty())
+                || beanDesc.getObjectIdInfo() != null
+                || FlatUnwrappedModule.hasUnwrapped(config.getAnnotationIntrospector(), beanDesc)) {
+            return null;
+        }
+        return child;
+    }
+
+    private static boolean isPlain(SettableBeanProperty prop, DeserializationConfig config) {
+        TypeDeserializer typeDeser = prop.getValueTypeDeserializer();
+        if (typeDeser != null && typeDeser.getTypeInclusion() == JsonTypeInfo.As.EXTERNAL_PROPERTY) {
+            return false;
+        }
+        // alias 는 BeanPropertyMap 안에서만 처리된다
+        return prop.findAliases(config).isEmpty();
+    }
+
+    static boolean createsUsingDefault(ValueInstantiator instantiator) {
+        return instantiator.canCreateUsingDefault() && !instantiator.canCreateFromObjectWith()
+                && !instantiator.canCreateUsingDelegate() && !instantiator.canCreateUsingArrayDelegate();
+    }
+
+    Object[] createValues(DeserializationContext ctxt) throws IOException {
+        // Jackson 도 필드가 하나도 없을 때 빈 자식 인스턴스를 set 한다
+        Object[] values = new Object[children.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = children[i].getValueInstantiator().createUsingDefault(ctxt);
+        }
+        return values;
+    }
+
+    /**
+     * @return name 이 자식 프로퍼티가 아니면 false (값은 읽지 않음)
+     */
+    boolean deserializeAndSet(JsonParser p, DeserializationContext ctxt, Object[] values, String name)
+            throws IOException {
+        Route route = routes.get(name);
+        if (route == null) {
+            return false;
+        }
+        Object value = values[route.index];
+        try {
+            route.property.deserializeAndSet(p, ctxt, value);
+        } catch (Exception e) {
+            children[route.index].wrapAndThrow(e, value, name, ctxt);
+        }
+        return true;
+    }
+
+    void setValues(Object bean, Object[] values) throws IOException {
+        for (int i = 0; i < unwrapped.length; i++) {
+            unwrapped[i].set(bean, values[i]);
+        }
+    }
+
+    private static final class Route {
+        final int index;
+        final SettableBeanProperty property;
+
+        Route(int index, SettableBeanProperty property) {
+            this.index = index;
+            this.property = property;
+        }
+    }
+}
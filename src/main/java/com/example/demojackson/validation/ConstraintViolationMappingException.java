@@ -0,0 +1,98 @@
+package com.example.demojackson.validation;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonMappingException;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 프로퍼티 값이 제약을 어겨서 읽기를 멈췄을 때 던진다
+ * 바깥 bean / 배열을 빠져나오면서 Jackson 이 경로를 붙인다 (getPath)
+ */
+public class ConstraintViolationMappingException extends JsonMappingException {
+    private static final long serialVersionUID = 1L;
+
+    private final transient Class<?> beanType;
+    private final String propertyName;
+    private final transient Class<?> propertyType;
+    private final transient Annotation constraint;
+    private final String constraintMessage;
+    private final transient Object invalidValue;
+
+    ConstraintViolationMappingException(JsonParser p, Class<?> beanType, String propertyName, Class<?> propertyType,
+                                        PropertyConstraint constraint, Object invalidValue) {
+        super(p, beanType.getSimpleName() + "." + propertyName + " " + constraint.getMessage());
+        this.beanType = beanType;
+        this.propertyName = propertyName;
+        this.propertyType = propertyType;
+        this.constraint = constraint.getAnnotation();
+        this.constraintMessage = constraint.getMessage();
+        this.invalidValue = invalidValue;
+    }
+
+    /**
+     * 프로퍼티를 선언한 클래스
+     */
+    public Class<?> getBeanType() {
+        return beanType;
+    }
+
+    /**
+     * Java 프로퍼티 이름 (field / setter), creator 인자는 JSON 이름
+     */
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    /**
+     * 프로퍼티 선언 타입
+     */
+    public Class<?> getPropertyType() {
+        return propertyType;
+    }
+
+    public Annotation getConstraint() {
+        return constraint;
+    }
+
+    /**
+     * 제약 이름 (NotNull, Size, ...), Spring BindingResult 의 error code 와 같다
+     */
+    public String getErrorCode() {
+        return constraint.annotationType().getSimpleName();
+    }
+
+    public String getConstraintMessage() {
+        return constraintMessage;
+    }
+
+    public Object getInvalidValue() {
+        return invalidValue;
+    }
+
+    /**
+     * 최상위 값부터의 경로 (items[0].name, byId[a].name), 마지막은 Java 프로퍼티 이름이고 나머지는 JSON 이름
+     */
+    public String getPropertyPath() {
+        StringBuilder path = new StringBuilder();
+        List<Reference> references = getPath();
+        for (int i = 0; i < references.size(); i++) {
+            Reference reference = references.get(i);
+            if (reference.getIndex() >= 0) {
+                path.append('[').append(reference.getIndex()).append(']');
+                continue;
+            }
+            if (reference.getFrom() instanceof Map) {
+                path.append('[').append(reference.getFieldName()).append(']');
+                continue;
+            }
+            if (path.length() > 0) {
+                path.append('.');
+            }
+            path.append(i == references.size() - 1 ? propertyName : reference.getFieldName());
+        }
+        return path.length() == 0 ? propertyName : path.toString();
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.demojackson.validation;
+
+import com.example.demojackson.asyncbody.AsyncRequestBodyArgumentResolver;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.core.Conventions;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.validation.annotation.ValidationAnnotationUtils;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestResponseBodyMethodProcessor;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ValidationException;
+import javax.validation.Validator;
+import javax.validation.groups.Default;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * @Valid / @Validated (Default 그룹) 가 붙은 @RequestBody / @AsyncRequestBody 를 읽는 동안만 검사를 켠다
+ * (@Valid 가 없는 body, 다른 그룹만 검사하는 body, collection / map body 는 모듈이 없을 때와 같다)
+ *
+ * 읽다가 {@link ConstraintViolationMappingException} 으로 멈추면
+ * HttpMessageNotReadableException 대신 @Valid 검증 실패와 같은 MethodArgumentNotValidException 을 던진다
+ * 기존 @ExceptionHandler 와 Spring Boot 400 응답 (errors) 이 그대로 쓰인다
+ *
+ * FieldError 는 SpringValidatorAdapter 와 같게 만든다
+ * - code: 제약 이름 (Size.order.name, Size.name, Size.java.lang.String, Size)
+ * - arguments: field 이름, 제약 속성 (이름 순)
+ * - default message: Validator 가 있으면 같은 값으로 validateValue 를 다시 불러 얻은 message (locale, 사용자 message 반영)
+ */
+public class FailFastValidationArgumentResolver implements HandlerMethodArgumentResolver {
+    private static final Set<String> INTERNAL_ATTRIBUTES = Set.of("message", "groups", "payload");
+
+    private final HandlerMethodArgumentResolver delegate;
+    private final Validator validator;
+    private final MessageCodesResolver messageCodesResolver = new DefaultMessageCodesResolver();
+
+    /**
+     * @param validator message 를 만들 때만 쓴다, null 이면 예외의 message
+     */
+    public FailFastValidationArgumentResolver(HandlerMethodArgumentResolver delegate, Validator validator) {
+        this.delegate = delegate;
+        this.validator = validator;
+    }
+
+    /**
+     * body 를 읽는 resolver (RequestResponseBodyMethodProcessor, AsyncRequestBodyArgumentResolver) 만 감싼 목록
+     */
+    public static List<HandlerMethodArgumentResolver> decorate(List<HandlerMethodArgumentResolver> resolvers,
+                                                               Validator validator) {
+        List<HandlerMethodArgumentResolver> decorated = new ArrayList<>(resolvers.size());
+        for (HandlerMethodArgumentResolver resolver : resolvers) {
+            boolean readsBody = resolver instanceof RequestResponseBodyMethodProcessor
+                    || resolver instanceof AsyncRequestBodyArgumentResolver;
+            decorated.add(readsBody ? new FailFastValidationArgumentResolver(resolver, validator) : resolver);
+        }
+        return decorated;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return delegate.supportsParameter(parameter);
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
+        Boolean previous = FailFastValidationModule.request(validatesDefaultGroup(parameter));
+        try {
+            return delegate.resolveArgument(parameter, mavContainer, webRequest, binderFactory);
+        } catch (HttpMessageNotReadableException e) {
+            ConstraintViolationMappingException violation = findViolation(e);
+            if (violation == null) {
+                throw e;
+            }
+            throw new MethodArgumentNotValidException(parameter, bindingResult(parameter, violation));
+        } finally {
+            FailFastValidationModule.restore(previous);
+        }
+    }
+
+    /**
+     * Spring 이 body 를 Bean Validation 으로 검사할 때 Default 그룹 제약도 검사하는지
+     * (RequestResponseBodyMethodProcessor.validateIfApplicable 과 같은 annotation 규칙)
+     * collection / map / 배열 body 는 @Valid 가 있어도 원소를 검사하지 않으므로 제외한다
+     */
+    static boolean validatesDefaultGroup(MethodParameter parameter) {
+        Class<?> type = parameter.nestedIfOptional().getNestedParameterType();
+        if (Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type) || type.isArray()) {
+            return false;
+        }
+        for (Annotation annotation : parameter.getParameterAnnotations()) {
+            Object[] hints = ValidationAnnotationUtils.determineValidationHints(annotation);
+            if (hints != null) {
+                return hints.length == 0 || Arrays.asList(hints).contains(Default.class);
+            }
+        }
+        return false;
+    }
+
+    private BindingResult bindingResult(MethodParameter parameter, ConstraintViolationMappingException violation) {
+        String objectName = Conventions.getVariableNameForParameter(parameter);
+        String field = violation.getPropertyPath();
+        Object invalidValue = violation.getInvalidValue();
+        // 읽다 멈춰서 target 이 없다 (rejected value 는 FieldError 에 있다)
+        BindingResult bindingResult = new BeanPropertyBindingResult(null, objectName);
+        bindingResult.addError(new FieldError(objectName, field, invalidValue, false,
+                messageCodesResolver.resolveMessageCodes(violation.getErrorCode(), objectName, field,
+                        violation.getPropertyType()),
+                arguments(objectName, field, violation), message(violation)));
+        return bindingResult;
+    }
+
+    private static Object[] arguments(String objectName, String field, ConstraintViolationMappingException violation) {
+        List<Object> arguments = new ArrayList<>();
+        arguments.add(new DefaultMessageSourceResolvable(new String[]{objectName + "." + field, field}, field));
+        Map<String, Object> attributes = new TreeMap<>();
+        AnnotationUtils.getAnnotationAttributes(violation.getConstraint()).forEach((name, value) -> {
+            if (!INTERNAL_ATTRIBUTES.contains(name)) {
+                attributes.put(name, value instanceof String
+                        ? new DefaultMessageSourceResolvable(null, null, (String) value) : value);
+            }
+        });
+        arguments.addAll(attributes.values());
+        return arguments.toArray();
+    }
+
+    private String message(ConstraintViolationMappingException violation) {
+        if (validator != null) {
+            try {
+                Set<? extends ConstraintViolation<?>> violations = validator.validateValue(
+                        violation.getBeanType(), violation.getPropertyName(), violation.getInvalidValue());
+                for (ConstraintViolation<?> constraintViolation : violations) {
+                    if (constraintViolation.getConstraintDescriptor().getAnnotation().annotationType()
+                            == violation.getConstraint().annotationType()) {
+                        return constraintViolation.getMessage();
+                    }
+                }
+            } catch (ValidationException | IllegalArgumentException e) {
+                // creator 인자에만 붙은 제약 등 Bean Validation 이 모르는 프로퍼티
+            }
+        }
+        return violation.getConstraintMessage();
+    }
+
+    private static ConstraintViolationMappingException findViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationMappingException) {
+                return (ConstraintViolationMappingException) cause;
+            }
+        }
+        return null;
+    }
+}
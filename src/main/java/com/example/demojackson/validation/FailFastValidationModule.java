@@ -0,0 +1,189 @@
+package com.example.demojackson.validation;
+
+import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.AnnotatedField;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMethod;
+import com.fasterxml.jackson.databind.introspect.AnnotatedParameter;
+import com.fasterxml.jackson.databind.introspect.NopAnnotationIntrospector;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.util.ClassUtil;
+
+import javax.validation.Valid;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedArrayType;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.AnnotatedParameterizedType;
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * @NotNull / @Size / @Min / @Max / @Pattern 을 프로퍼티 값을 읽는 중에 검사하는 모듈
+ *
+ * <pre>
+ * ObjectMapper objectMapper = new ObjectMapper().registerModule(new FailFastValidationModule());
+ *
+ * // {"id":0,"items":[... 수만 개 ...]} 는 id 를 읽은 자리에서 멈춘다
+ * objectMapper.readerFor(Order.class)
+ *         .withAttribute(FailFastValidationModule.ATTRIBUTE, Boolean.TRUE)
+ *         .readValue(json);   // ConstraintViolationMappingException
+ * </pre>
+ *
+ * Bean Validation 은 객체를 다 만든 뒤에 검사하므로 잘못된 payload 도 끝까지 읽는다
+ * 여기서는 제약이 붙은 프로퍼티 (field / setter / getter / creator 인자, Jackson 이 annotation 을 합친 것) 의
+ * 값 deserializer 를 {@link ValidatingDeserializer} 로 감싸서 첫 위반에서 멈춘다
+ *
+ * - 켠 읽기에서만 검사한다: reader attribute {@link #ATTRIBUTE}, 또는 {@link FailFastValidationArgumentResolver} 가
+ *   @Valid / @Validated (Default 그룹) body 를 읽는 동안, 그 밖의 읽기는 모듈이 없을 때와 같다
+ * - Default 그룹 제약만 검사한다
+ * - 중첩 객체는 @Valid 가 붙은 프로퍼티 (List&lt;@Valid Line&gt; 포함) 를 따라갈 때만 검사한다 (Bean Validation cascade 와 같음)
+ * - 빠진 프로퍼티, 클래스 단위 제약, 그 밖의 제약은 기존 @Valid 검증에 맡긴다
+ * - @JsonDeserialize / @JsonUnwrapped / managed·back reference 프로퍼티는 그대로 둔다
+ */
+public class FailFastValidationModule extends SimpleModule {
+    /**
+     * Boolean.TRUE 면 이 읽기에서 검사한다 (ObjectReader.withAttribute)
+     */
+    public static final String ATTRIBUTE = FailFastValidationModule.class.getName() + ".ENABLED";
+
+    // Spring 의 HttpMessageConverter 는 reader 를 직접 만들어서 attribute 를 넘길 수 없으므로
+    // FailFastValidationArgumentResolver 가 body 를 읽는 동안만 스레드에 표시한다
+    private static final ThreadLocal<Boolean> REQUESTED = new ThreadLocal<>();
+
+    public FailFastValidationModule() {
+        super(FailFastValidationModule.class.getSimpleName());
+    }
+
+    @Override
+    public void setupModule(SetupContext context) {
+        super.setupModule(context);
+        // 기본 introspector 가 찾은 @JsonDeserialize 가 먼저다
+        context.appendAnnotationIntrospector(new ConstraintIntrospector());
+    }
+
+    /**
+     * 현재 스레드의 다음 읽기들을 켜거나 끄고 이전 값을 돌려준다 ({@link #restore} 로 되돌린다)
+     */
+    static Boolean request(boolean enabled) {
+        Boolean previous = REQUESTED.get();
+        REQUESTED.set(enabled);
+        return previous;
+    }
+
+    static void restore(Boolean previous) {
+        if (previous == null) {
+            REQUESTED.remove();
+        } else {
+            REQUESTED.set(previous);
+        }
+    }
+
+    /**
+     * 이 읽기 (DeserializationContext) 의 지금 위치에서 검사하는지, 처음 물을 때 스레드 표시를 context 에 옮겨 둔다
+     */
+    static boolean isActive(DeserializationContext ctxt) {
+        Object active = ctxt.getAttribute(ATTRIBUTE);
+        if (active == null) {
+            active = Boolean.TRUE.equals(REQUESTED.get());
+            ctxt.setAttribute(ATTRIBUTE, active);
+        }
+        return Boolean.TRUE.equals(active);
+    }
+
+    static class ConstraintIntrospector extends NopAnnotationIntrospector {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Object findDeserializer(Annotated a) {
+            if (!(a instanceof AnnotatedMember) || a.hasAnnotation(JsonDeserialize.class)
+                    || a.hasAnnotation(JsonUnwrapped.class) || a.hasAnnotation(JsonManagedReference.class)
+                    || a.hasAnnotation(JsonBackReference.class)) {
+                return null;
+            }
+            List<Annotation> constraints = null;
+            for (Class<? extends Annotation> type : PropertyConstraint.TYPES) {
+                Annotation constraint = a.getAnnotation(type);
+                if (constraint != null) {
+                    if (constraints == null) {
+                        constraints = new ArrayList<>();
+                    }
+                    constraints.add(constraint);
+                }
+            }
+            // @Valid 가 없으면 값 안의 객체는 검사하지 않는다 (값 타입은 createContextual 에서 다시 본다)
+            boolean cascade = !mayContainBeans(valueType((AnnotatedMember) a)) || isCascaded((AnnotatedMember) a);
+            if (constraints == null && cascade) {
+                return null;
+            }
+            return new ValidatingDeserializer.Unresolved(constraints == null ? List.of() : constraints, cascade);
+        }
+
+        private static Class<?> valueType(AnnotatedMember member) {
+            if (member instanceof AnnotatedMethod && ((AnnotatedMethod) member).getParameterCount() == 1) {
+                return ((AnnotatedMethod) member).getRawParameterType(0);
+            }
+            return member.getRawType();
+        }
+
+        private static boolean mayContainBeans(Class<?> type) {
+            if (type.isArray()) {
+                return mayContainBeans(type.getComponentType());
+            }
+            if (type.isPrimitive() || type.isEnum() || type == Object.class) {
+                return false;
+            }
+            return Iterable.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type)
+                    || Optional.class == type || AtomicReference.class == type || !ClassUtil.isJDKClass(type);
+        }
+
+        /**
+         * 프로퍼티 또는 타입 인자 / 배열 원소 (TYPE_USE) 에 @Valid
+         */
+        private static boolean isCascaded(AnnotatedMember member) {
+            if (member.hasAnnotation(Valid.class)) {
+                return true;
+            }
+            AnnotatedType type = null;
+            if (member instanceof AnnotatedField) {
+                type = ((Field) member.getAnnotated()).getAnnotatedType();
+            } else if (member instanceof AnnotatedMethod) {
+                Method method = ((AnnotatedMethod) member).getAnnotated();
+                type = method.getParameterCount() == 1 ? method.getAnnotatedParameterTypes()[0]
+                        : method.getAnnotatedReturnType();
+            } else if (member instanceof AnnotatedParameter) {
+                AnnotatedParameter parameter = (AnnotatedParameter) member;
+                AnnotatedElement owner = parameter.getOwner().getAnnotated();
+                if (owner instanceof Executable) {
+                    type = ((Executable) owner).getAnnotatedParameterTypes()[parameter.getIndex()];
+                }
+            }
+            return type != null && hasNestedValid(type);
+        }
+
+        private static boolean hasNestedValid(AnnotatedType type) {
+            if (type instanceof AnnotatedParameterizedType) {
+                for (AnnotatedType argument : ((AnnotatedParameterizedType) type).getAnnotatedActualTypeArguments()) {
+                    if (argument.isAnnotationPresent(Valid.class) || hasNestedValid(argument)) {
+                        return true;
+                    }
+                }
+            } else if (type instanceof AnnotatedArrayType) {
+                AnnotatedType component = ((AnnotatedArrayType) type).getAnnotatedGenericComponentType();
+                return component.isAnnotationPresent(Valid.class) || hasNestedValid(component);
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.demojackson.validation;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 읽는 중 제약 검사 설정
+ */
+@Getter
+@Setter
+@ConfigurationProperties("demo.jackson.fail-fast-validation")
+public class FailFastValidationProperties {
+    /**
+     * true 면 FailFastValidationModule 을 ObjectMapper 에 등록하고, @Valid body 를 읽는 중에 검사해서
+     * 멈춘 요청을 MethodArgumentNotValidException (@Valid 실패와 같은 400) 으로 바꾼다
+     */
+    private boolean enabled = false;
+}
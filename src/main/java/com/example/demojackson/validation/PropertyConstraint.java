@@ -0,0 +1,195 @@
+package com.example.demojackson.validation;
+
+import com.fasterxml.jackson.databind.util.ClassUtil;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+import javax.validation.groups.Default;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * 프로퍼티에 붙은 제약 하나를 값 타입에 맞춰 미리 만들어 둔 검사
+ * 값마다 annotation 을 읽거나 타입을 찾지 않는다 (regexp 도 한 번만 compile)
+ *
+ * null 은 {@link NotNull} 만 검사한다 (나머지는 Bean Validation 처럼 null 을 통과시킨다)
+ */
+abstract class PropertyConstraint {
+    static final List<Class<? extends Annotation>> TYPES =
+            List.of(NotNull.class, Size.class, Min.class, Max.class, Pattern.class);
+
+    private static final String DEFAULT_MESSAGE_PREFIX = "{javax.validation.constraints.";
+
+    private final Annotation annotation;
+    private final String message;
+
+    PropertyConstraint(Annotation annotation, String message) {
+        this.annotation = annotation;
+        this.message = message;
+    }
+
+    Annotation getAnnotation() {
+        return annotation;
+    }
+
+    /**
+     * 기본 message 면 Hibernate Validator 기본 (영어) 문구, 아니면 지정한 message 그대로
+     */
+    String getMessage() {
+        return message;
+    }
+
+    abstract boolean isValid(Object value);
+
+    /**
+     * @param valueType 프로퍼티 선언 타입
+     * @return Default 그룹이 아니거나, 값 타입에 쓸 수 없는 조합이면 null (이후 Bean Validation 에 맡긴다)
+     */
+    static PropertyConstraint compile(Annotation annotation, Class<?> valueType) {
+        Class<?> type = valueType.isPrimitive() ? ClassUtil.wrapperType(valueType) : valueType;
+        if (annotation instanceof NotNull) {
+            NotNull notNull = (NotNull) annotation;
+            if (!isDefaultGroup(notNull.groups())) {
+                return null;
+            }
+            return new PropertyConstraint(annotation, message(notNull.message(), "must not be null")) {
+                @Override
+                boolean isValid(Object value) {
+                    return value != null;
+                }
+            };
+        }
+        if (annotation instanceof Size) {
+            Size size = (Size) annotation;
+            ToIntFunction<Object> length = length(type);
+            if (length == null || !isDefaultGroup(size.groups())) {
+                return null;
+            }
+            int min = size.min();
+            int max = size.max();
+            return new PropertyConstraint(annotation,
+                    message(size.message(), "size must be between " + min + " and " + max)) {
+                @Override
+                boolean isValid(Object value) {
+                    if (value == null) {
+                        return true;
+                    }
+                    int n = length.applyAsInt(value);
+                    return n >= min && n <= max;
+                }
+            };
+        }
+        if (annotation instanceof Min) {
+            Min min = (Min) annotation;
+            ToIntFunction<Object> compare = compareTo(type, min.value());
+            if (compare == null || !isDefaultGroup(min.groups())) {
+                return null;
+            }
+            return new PropertyConstraint(annotation,
+                    message(min.message(), "must be greater than or equal to " + min.value())) {
+                @Override
+                boolean isValid(Object value) {
+                    return value == null || compare.applyAsInt(value) >= 0;
+                }
+            };
+        }
+        if (annotation instanceof Max) {
+            Max max = (Max) annotation;
+            ToIntFunction<Object> compare = compareTo(type, max.value());
+            if (compare == null || !isDefaultGroup(max.groups())) {
+                return null;
+            }
+            return new PropertyConstraint(annotation,
+                    message(max.message(), "must be less than or equal to " + max.value())) {
+                @Override
+                boolean isValid(Object value) {
+                    return value == null || compare.applyAsInt(value) <= 0;
+                }
+            };
+        }
+        if (annotation instanceof Pattern) {
+            Pattern pattern = (Pattern) annotation;
+            if (!CharSequence.class.isAssignableFrom(type) || !isDefaultGroup(pattern.groups())) {
+                return null;
+            }
+            int flags = 0;
+            for (Pattern.Flag flag : pattern.flags()) {
+                flags |= flag.getValue();
+            }
+            java.util.regex.Pattern regex = java.util.regex.Pattern.compile(pattern.regexp(), flags);
+            return new PropertyConstraint(annotation,
+                    message(pattern.message(), "must match \"" + pattern.regexp() + "\"")) {
+                @Override
+                boolean isValid(Object value) {
+                    return value == null || regex.matcher((CharSequence) value).matches();
+                }
+            };
+        }
+        return null;
+    }
+
+    private static ToIntFunction<Object> length(Class<?> type) {
+        if (CharSequence.class.isAssignableFrom(type)) {
+            return value -> ((CharSequence) value).length();
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            return value -> ((Collection<?>) value).size();
+        }
+        if (Map.class.isAssignableFrom(type)) {
+            return value -> ((Map<?, ?>) value).size();
+        }
+        if (type.isArray()) {
+            return Array::getLength;
+        }
+        return null;
+    }
+
+    /**
+     * 값과 bound 의 비교 결과 (음수 / 0 / 양수), NaN 은 0 (범위 안으로 본다)
+     */
+    private static ToIntFunction<Object> compareTo(Class<?> type, long bound) {
+        if (type == Integer.class || type == Long.class || type == Short.class || type == Byte.class) {
+            return value -> Long.compare(((Number) value).longValue(), bound);
+        }
+        if (type == BigDecimal.class) {
+            BigDecimal decimalBound = BigDecimal.valueOf(bound);
+            return value -> ((BigDecimal) value).compareTo(decimalBound);
+        }
+        if (type == BigInteger.class) {
+            BigInteger integerBound = BigInteger.valueOf(bound);
+            return value -> ((BigInteger) value).compareTo(integerBound);
+        }
+        if (type == Double.class || type == Float.class) {
+            return value -> {
+                double d = ((Number) value).doubleValue();
+                return Double.isNaN(d) ? 0 : (d < bound ? -1 : (d > bound ? 1 : 0));
+            };
+        }
+        return null;
+    }
+
+    private static boolean isDefaultGroup(Class<?>[] groups) {
+        if (groups.length == 0) {
+            return true;
+        }
+        for (Class<?> group : groups) {
+            if (group == Default.class) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String message(String message, String defaultMessage) {
+        return message.startsWith(DEFAULT_MESSAGE_PREFIX) ? defaultMessage : message;
+    }
+}
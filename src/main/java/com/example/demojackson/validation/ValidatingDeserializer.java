@@ -0,0 +1,217 @@
+package com.example.demojackson.validation;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.deser.std.DelegatingDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.introspect.AnnotatedField;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMethod;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.util.AccessPattern;
+import com.fasterxml.jackson.databind.util.ClassUtil;
+
+import java.beans.Introspector;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 프로퍼티 값 deserializer 를 감싸서, 값을 읽은 바로 다음에 제약을 검사한다
+ * 어기면 {@link ConstraintViolationMappingException} 으로 멈추므로 나머지 입력은 읽지 않는다
+ * 검사를 켠 읽기 ({@link FailFastValidationModule#isActive}) 에서만 검사하고,
+ * cascade 가 아니면 (@Valid 없음) 값을 읽는 동안 안쪽 객체의 검사를 끈다
+ *
+ * - JSON null, 빠진 creator 인자: getNullValue (Jackson 이 값 deserializer 대신 null provider 로 부른다)
+ * - 필드 / setter 프로퍼티가 빠진 경우는 검사하지 않는다 (기존 @Valid 검증에서 걸린다)
+ */
+class ValidatingDeserializer extends DelegatingDeserializer {
+    private static final long serialVersionUID = 1L;
+
+    private final transient PropertyConstraint[] constraints;
+    private final Class<?> beanType;
+    private final String propertyName;
+    private final Class<?> propertyType;
+    private final boolean cascade;
+
+    ValidatingDeserializer(JsonDeserializer<?> delegatee, PropertyConstraint[] constraints,
+                           Class<?> beanType, String propertyName, Class<?> propertyType, boolean cascade) {
+        super(delegatee);
+        this.constraints = constraints;
+        this.beanType = beanType;
+        this.propertyName = propertyName;
+        this.propertyType = propertyType;
+        this.cascade = cascade;
+    }
+
+    @Override
+    protected JsonDeserializer<?> newDelegatingInstance(JsonDeserializer<?> newDelegatee) {
+        return new ValidatingDeserializer(newDelegatee, constraints, beanType, propertyName, propertyType, cascade);
+    }
+
+    @Override
+    public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        boolean active = enter(ctxt);
+        Object value;
+        try {
+            value = _delegatee.deserialize(p, ctxt);
+        } finally {
+            exit(ctxt, active);
+        }
+        return validate(value, ctxt, active);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object deserialize(JsonParser p, DeserializationContext ctxt, Object intoValue) throws IOException {
+        boolean active = enter(ctxt);
+        Object value;
+        try {
+            value = ((JsonDeserializer<Object>) _delegatee).deserialize(p, ctxt, intoValue);
+        } finally {
+            exit(ctxt, active);
+        }
+        return validate(value, ctxt, active);
+    }
+
+    @Override
+    public Object deserializeWithType(JsonParser p, DeserializationContext ctxt, TypeDeserializer typeDeserializer)
+            throws IOException {
+        boolean active = enter(ctxt);
+        Object value;
+        try {
+            value = _delegatee.deserializeWithType(p, ctxt, typeDeserializer);
+        } finally {
+            exit(ctxt, active);
+        }
+        return validate(value, ctxt, active);
+    }
+
+    @Override
+    public Object getNullValue(DeserializationContext ctxt) throws JsonMappingException {
+        return validate(_delegatee.getNullValue(ctxt), ctxt, FailFastValidationModule.isActive(ctxt));
+    }
+
+    @Override
+    public AccessPattern getNullAccessPattern() {
+        // null 값을 미리 받아 두지 않도록
+        return AccessPattern.DYNAMIC;
+    }
+
+    @Override
+    public SettableBeanProperty findBackReference(String refName) {
+        return _delegatee.findBackReference(refName);
+    }
+
+    /**
+     * @return 이 프로퍼티를 검사하는지 (값을 읽는 동안 cascade 가 아니면 안쪽은 끈다)
+     */
+    private boolean enter(DeserializationContext ctxt) {
+        boolean active = FailFastValidationModule.isActive(ctxt);
+        if (active && !cascade) {
+            ctxt.setAttribute(FailFastValidationModule.ATTRIBUTE, Boolean.FALSE);
+        }
+        return active;
+    }
+
+    private void exit(DeserializationContext ctxt, boolean active) {
+        if (active && !cascade) {
+            ctxt.setAttribute(FailFastValidationModule.ATTRIBUTE, Boolean.TRUE);
+        }
+    }
+
+    private Object validate(Object value, DeserializationContext ctxt, boolean active) throws JsonMappingException {
+        if (!active) {
+            return value;
+        }
+        for (PropertyConstraint constraint : constraints) {
+            if (!constraint.isValid(value)) {
+                throw new ConstraintViolationMappingException(ctxt.getParser(), beanType, propertyName, propertyType,
+                        constraint, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * annotation introspector 가 돌려주는 자리표시자
+     * 프로퍼티가 정해지면 (createContextual) 원래 deserializer 를 찾고 값 타입에 맞춰 제약을 compile 한다
+     */
+    static class Unresolved extends StdDeserializer<Object> implements ContextualDeserializer {
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<Annotation> annotations;
+        private final boolean cascade;
+
+        /**
+         * @param cascade 프로퍼티에 @Valid 가 있거나 값 타입에 객체가 없으면 true
+         */
+        Unresolved(List<Annotation> annotations, boolean cascade) {
+            super(Object.class);
+            this.annotations = annotations;
+            this.cascade = cascade;
+        }
+
+        @Override
+        public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property)
+                throws JsonMappingException {
+            JsonDeserializer<?> deserializer = ctxt.findContextualValueDeserializer(property.getType(), property);
+            Class<?> propertyType = property.getType().getRawClass();
+            List<PropertyConstraint> constraints = new ArrayList<>(annotations.size());
+            for (Annotation annotation : annotations) {
+                PropertyConstraint constraint = PropertyConstraint.compile(annotation, propertyType);
+                if (constraint != null) {
+                    constraints.add(constraint);
+                }
+            }
+            boolean cascade = this.cascade || !mayContainBeans(property.getType());
+            if (constraints.isEmpty() && cascade) {
+                return deserializer;
+            }
+            AnnotatedMember member = property.getMember();
+            return new ValidatingDeserializer(deserializer, constraints.toArray(new PropertyConstraint[0]),
+                    member.getDeclaringClass(), propertyName(property, member), propertyType, cascade);
+        }
+
+        /**
+         * 원소 / 값 타입까지 보고 JDK 타입, enum 만 있으면 false
+         */
+        private static boolean mayContainBeans(JavaType type) {
+            if (type.isContainerType() || type.isReferenceType()) {
+                return type.getContentType() != null && mayContainBeans(type.getContentType());
+            }
+            Class<?> raw = type.getRawClass();
+            return !(raw.isPrimitive() || raw.isEnum() || ClassUtil.isJDKClass(raw));
+        }
+
+        @Override
+        public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            throw JsonMappingException.from(p, "constraint deserializer used before contextualization");
+        }
+
+        /**
+         * BindingResult 의 field 와 같게 Java 프로퍼티 이름, creator 인자는 이름을 알 수 없어 JSON 이름
+         */
+        private static String propertyName(BeanProperty property, AnnotatedMember member) {
+            if (member instanceof AnnotatedField) {
+                return member.getName();
+            }
+            if (member instanceof AnnotatedMethod) {
+                String name = member.getName();
+                for (String prefix : new String[]{"set", "get", "is"}) {
+                    if (name.length() > prefix.length() && name.startsWith(prefix)) {
+                        return Introspector.decapitalize(name.substring(prefix.length()));
+                    }
+                }
+            }
+            return property.getName();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.demojackson.accessor;
+
+import com.example.demojackson.ex.Ex3;
+import com.example.demojackson.ex.Ex4;
+import com.example.demojackson.ex.JsonAutoDetectEx;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBase;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.ser.BeanSerializer;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+    AccessorModule 테스트
+    등록 여부와 관계없이 결과가 같아야 하고, 대상 프로퍼티는 실제로 접근자로 교체되어야 함
+ */
+@Log4j2
+public class AccessorModuleTests {
+    final ObjectMapper plainMapper = new ObjectMapper();
+    final ObjectMapper objectMapper = new ObjectMapper().registerModule(new AccessorModule());
+
+    @Test
+    void whenSerializingFlatBeans_thenSameAsReflection() throws Exception {
+        List<Object> beans = Arrays.asList(
+                new Ex3.BeanWithIgnoreProperties(1, "My bean"),
+                new Ex3.MyBean(2, null),
+                new Ex3.MyBean(3, "My bean"),
+                new Ex4.MyBean(4, "My bean"),
+                new JsonAutoDetectEx.SomeDto("private", "package", "protected", "public"),
+                new Primitives(7, Long.MAX_VALUE, true, 1.5, null));
+
+        for (Object bean : beans) {
+            String result = objectMapper.writeValueAsString(bean);
+
+            log.info(result);
+            assertThat(result).isEqualTo(plainMapper.writeValueAsString(bean));
+        }
+    }
+
+    @Test
+    void whenRoundTripping_thenSameValues() throws Exception {
+        Primitives primitives = new Primitives(-7, Long.MIN_VALUE, true, 0.25, new int[]{1, 2});
+
+        Primitives read = objectMapper.readValue(objectMapper.writeValueAsString(primitives), Primitives.class);
+
+        assertThat(read).usingRecursiveComparison().isEqualTo(primitives);
+
+        Ex4.MyBean myBean = objectMapper.readValue("{\"id\":1,\"name\":\"My bean\"}", Ex4.MyBean.class);
+        assertThat(myBean.id).isEqualTo(1);
+        assertThat(myBean.getTheName()).isEqualTo("My bean");
+
+        JsonAutoDetectEx.SomeDto dto = objectMapper.readValue(
+                plainMapper.writeValueAsString(new JsonAutoDetectEx.SomeDto("a", "b", "c", "d")),
+                JsonAutoDetectEx.SomeDto.class);
+        assertThat(objectMapper.writeValueAsString(dto))
+                .isEqualTo("{\"privateValue\":\"a\",\"packagePrivateValue\":\"b\",\"protectedValue\":\"c\",\"publicValue\":\"d\"}");
+    }
+
+    @Test
+    void whenModuleRegistered_thenPropertiesAndInstantiatorAreReplaced() throws Exception {
+        JsonSerializer<Object> serializer = objectMapper.getSerializerProviderInstance()
+                .findValueSerializer(JsonAutoDetectEx.SomeDto.class);
+        List<PropertyWriter> writers = new ArrayList<>();
+        ((BeanSerializer) serializer).properties().forEachRemaining(writers::add);
+
+        assertThat(writers).hasSize(4).allMatch(writer -> writer instanceof AccessorPropertyWriter);
+
+        BeanDeserializerBase deserializer = (BeanDeserializerBase) ((DefaultDeserializationContext) objectMapper.getDeserializationContext())
+                .createInstance(objectMapper.getDeserializationConfig(), objectMapper.getFactory().createParser("{}"),
+                        objectMapper.getInjectableValues())
+                .findRootValueDeserializer(objectMapper.constructType(Ex4.MyBean.class));
+
+        assertThat(deserializer.getValueInstantiator()).isInstanceOf(AccessorValueInstantiator.class);
+        assertThat(deserializer.findProperty("id")).isInstanceOf(AccessorSettableProperty.IntProperty.class);
+        assertThat(deserializer.findProperty("name")).isInstanceOf(AccessorSettableProperty.ObjectProperty.class);
+    }
+
+    @Test
+    void whenFormatOrInclusionChangesSerializer_thenFallsBackToJacksonPath() throws Exception {
+        Formatted bean = new Formatted(0, 5, "");
+
+        String result = objectMapper.writeValueAsString(bean);
+
+        log.info(result);
+        assertThat(result).isEqualTo(plainMapper.writeValueAsString(bean)).isEqualTo("{\"asString\":\"5\"}");
+
+        Formatted read = objectMapper.readValue("{\"id\":\"12\",\"asString\":\"34\",\"name\":\"x\"}", Formatted.class);
+        assertThat(read.id).isEqualTo(12);
+        assertThat(read.asString).isEqualTo(34);
+    }
+
+    @Test
+    void whenNullForPrimitive_thenSameAsReflection() throws Exception {
+        Primitives read = objectMapper.readValue("{\"intValue\":null,\"longValue\":null}", Primitives.class);
+        assertThat(read.intValue).isZero();
+        assertThat(read.longValue).isZero();
+
+        ObjectMapper strict = objectMapper.copy().enable(DeserializationFeature.FAIL_ON_NULL_FOR_PRIMITIVES);
+        assertThatThrownBy(() -> strict.readValue("{\"intValue\":null}", Primitives.class))
+                .isInstanceOf(MismatchedInputException.class);
+    }
+
+    @Test
+    void whenSetterThrows_thenWrappedLikeReflection() {
+        assertThatThrownBy(() -> objectMapper.readValue("{\"value\":-1}", Validated.class))
+                .isInstanceOf(JsonMappingException.class)
+                .hasMessageContaining("negative")
+                .hasRootCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Primitives {
+        public int intValue;
+        public long longValue;
+        public boolean booleanValue;
+        public double doubleValue;
+        public int[] array;
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    public static class Formatted {
+        public int id;
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
+        public int asString;
+        @JsonInclude(JsonInclude.Include.NON_EMPTY)
+        public String name;
+    }
+
+    public static class Validated {
+        private int value;
+
+        public int getValue() {
+            return value;
+        }
+
+        public void setValue(int value) {
+            if (value < 0) {
+                throw new IllegalArgumentException("negative value");
+            }
+            this.value = value;
+        }
+    }
+}
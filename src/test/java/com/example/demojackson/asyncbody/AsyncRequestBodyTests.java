@@ -0,0 +1,242 @@
+package com.example.demojackson.asyncbody;
+
+import com.example.demojackson.ex.Ex2.MultiplePropertyBeanWithCreator;
+import com.example.demojackson.ex.JsonTypeEx.Animal;
+import com.example.demojackson.ex.JsonTypeEx.Cat;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+    @AsyncRequestBody 테스트
+    Tomcat 스레드를 4개로 줄이고, body 를 절반만 보내고 멈춘 느린 클라이언트를 스레드 수보다 많이 붙여 본다
+    - @RequestBody: 모든 스레드가 body 를 기다리며 묶여서 다른 요청이 처리되지 않는다
+    - @AsyncRequestBody: 기다리는 동안 스레드를 반납하므로 다른 요청이 바로 처리된다
+ */
+@Log4j2
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.tomcat.threads.max=4",
+        "server.tomcat.threads.min-spare=4"
+})
+@Import(AsyncRequestBodyTests.SlowClientController.class)
+public class AsyncRequestBodyTests {
+    static final int SLOW_CLIENTS = 32;
+    static final String CAT = "{\"type\":\"cat\",\"name\":\"고양이\",\"likesCream\":true,\"lives\":7}";
+
+    @LocalServerPort
+    int port;
+
+    final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @Test
+    void whenBodyArrivesInPieces_thenSameAsRequestBody() throws Exception {
+        // 멀티바이트 문자 중간에서 나눠 보냄
+        int split = CAT.getBytes(StandardCharsets.UTF_8).length / 2 + 1;
+        SlowClient slow = new SlowClient(port, "/slow/async/animal", CAT, split);
+        Thread.sleep(100);
+
+        assertThat(slow.finish()).isEqualTo(send("/slow/blocking/animal", CAT).body())
+                .isEqualTo("cat: 고양이 7 true");
+        assertThat(send("/slow/async/bean", "{\"id\":1,\"theName\":\"My bean\"}").body())
+                .isEqualTo("{\"id\":1,\"theName\":\"My bean\"}");
+    }
+
+    @Test
+    void whenParameterIsGenericCollection_thenElementTypesLikeRequestBody() throws Exception {
+        String animals = "[" + CAT + "," + CAT.replace("고양이", "나비") + "]";
+        assertThat(send("/slow/async/animals", animals).body()).isEqualTo(send("/slow/blocking/animals", animals).body())
+                .isEqualTo("cat: 고양이 7 true, cat: 나비 7 true");
+        assertThat(send("/slow/async/beans", "{\"a\":{\"id\":1,\"theName\":\"My bean\"}}").body())
+                .isEqualTo("a=1 My bean");
+    }
+
+    @Test
+    void whenBodyIsInvalid_thenBadRequest() throws Exception {
+        assertThat(send("/slow/async/animal", "{\"type\":\"cat\",").statusCode()).isEqualTo(400);
+        assertThat(send("/slow/async/animal", "{\"type\":\"cat\"]").statusCode()).isEqualTo(400);
+        assertThat(send("/slow/async/animal", "{\"type\":\"bird\"}").statusCode()).isEqualTo(400);
+        assertThat(send("/slow/async/animal", "").statusCode()).isEqualTo(400);
+        assertThat(send("/slow/async/optional", "").body()).isEqualTo("none");
+        assertThat(send("/slow/async/optional", CAT + " trailing").body()).isEqualTo("cat: 고양이 7 true");
+    }
+
+    @Test
+    void whenSlowClientsExceedThreads_thenAsyncBodyStillServesOtherRequests() throws Exception {
+        List<SlowClient> slowClients = openSlowClients("/slow/async/animal");
+        try {
+            long start = System.nanoTime();
+            HttpResponse<String> response = send("/slow/async/animal", CAT);
+            log.info("{} slow clients, async body: {} ms", SLOW_CLIENTS, (System.nanoTime() - start) / 1_000_000);
+
+            assertThat(response.statusCode()).isEqualTo(200);
+        } finally {
+            finishAll(slowClients);
+        }
+    }
+
+    @Test
+    void whenSlowClientsExceedThreads_thenRequestBodyStalls() throws Exception {
+        List<SlowClient> slowClients = openSlowClients("/slow/blocking/animal");
+        try {
+            assertThatThrownBy(() -> send("/slow/blocking/animal", CAT, Duration.ofSeconds(2)))
+                    .isInstanceOf(HttpTimeoutException.class);
+            log.info("{} slow clients, request body: timed out", SLOW_CLIENTS);
+        } finally {
+            finishAll(slowClients);
+        }
+    }
+
+    private List<SlowClient> openSlowClients(String path) throws Exception {
+        List<SlowClient> slowClients = new ArrayList<>();
+        for (int i = 0; i < SLOW_CLIENTS; i++) {
+            slowClients.add(new SlowClient(port, path, CAT, 10));
+        }
+        // 서버가 모든 연결의 헤더를 읽을 시간
+        Thread.sleep(500);
+        return slowClients;
+    }
+
+    /**
+     * 스레드가 어느 연결의 body 를 기다리고 있는지 모르므로 나머지 body 를 모두 보낸 뒤 응답을 읽는다
+     */
+    private static void finishAll(List<SlowClient> slowClients) throws IOException {
+        for (SlowClient slow : slowClients) {
+            slow.sendRest();
+        }
+        for (SlowClient slow : slowClients) {
+            assertThat(slow.readResponse()).isEqualTo("cat: 고양이 7 true");
+        }
+    }
+
+    private HttpResponse<String> send(String path, String json) throws Exception {
+        return send(path, json, Duration.ofSeconds(10));
+    }
+
+    private HttpResponse<String> send(String path, String json, Duration timeout) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * 헤더와 body 앞부분만 보내고 멈춘 클라이언트, finish() 에서 나머지를 보내고 응답 body 를 돌려준다
+     * 응답은 Connection: close 라서 연결이 닫힐 때까지 읽는다
+     */
+    static class SlowClient {
+        final Socket socket;
+        final byte[] body;
+        final int sent;
+
+        SlowClient(int port, String path, String json, int sent) throws IOException {
+            this.socket = new Socket("localhost", port);
+            this.body = json.getBytes(StandardCharsets.UTF_8);
+            this.sent = sent;
+            OutputStream out = socket.getOutputStream();
+            out.write(("POST " + path + " HTTP/1.1\r\n"
+                    + "Host: localhost\r\n"
+                    + "Content-Type: application/json\r\n"
+                    + "Content-Length: " + body.length + "\r\n"
+                    + "Connection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.write(body, 0, sent);
+            out.flush();
+        }
+
+        String finish() throws IOException {
+            sendRest();
+            return readResponse();
+        }
+
+        void sendRest() throws IOException {
+            OutputStream out = socket.getOutputStream();
+            out.write(body, sent, body.length - sent);
+            out.flush();
+        }
+
+        String readResponse() throws IOException {
+            try (socket) {
+                InputStream in = socket.getInputStream();
+                String response = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                assertThat(response).startsWith("HTTP/1.1 200");
+                return response.substring(response.indexOf("\r\n\r\n") + 4);
+            }
+        }
+    }
+
+    /**
+     * component scan 에 잡히지 않도록 @Controller 없이 @RequestMapping 으로만 핸들러로 등록
+     */
+    @ResponseBody
+    @RequestMapping("/slow")
+    static class SlowClientController {
+
+        @PostMapping("/async/animal")
+        public String asyncAnimal(@AsyncRequestBody Animal animal) {
+            return describe(animal);
+        }
+
+        @PostMapping("/blocking/animal")
+        public String blockingAnimal(@RequestBody Animal animal) {
+            return describe(animal);
+        }
+
+        @PostMapping("/async/bean")
+        public MultiplePropertyBeanWithCreator asyncBean(@AsyncRequestBody MultiplePropertyBeanWithCreator bean) {
+            return bean;
+        }
+
+        @PostMapping("/async/animals")
+        public String asyncAnimals(@AsyncRequestBody List<Animal> animals) {
+            return animals.stream().map(SlowClientController::describe).collect(Collectors.joining(", "));
+        }
+
+        @PostMapping("/blocking/animals")
+        public String blockingAnimals(@RequestBody List<Animal> animals) {
+            return animals.stream().map(SlowClientController::describe).collect(Collectors.joining(", "));
+        }
+
+        @PostMapping("/async/beans")
+        public String asyncBeans(@AsyncRequestBody Map<String, MultiplePropertyBeanWithCreator> beans) {
+            return beans.entrySet().stream()
+                    .map(e -> e.getKey() + "=" + e.getValue().id + " " + e.getValue().name)
+                    .collect(Collectors.joining(", "));
+        }
+
+        @PostMapping("/async/optional")
+        public String asyncOptional(@AsyncRequestBody(required = false) Animal animal) {
+            return animal == null ? "none" : describe(animal);
+        }
+
+        private static String describe(Animal animal) {
+            Cat cat = (Cat) animal;
+            return cat.getName() + " " + cat.lives + " " + cat.likesCream;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.demojackson.buffer;
+
+import com.example.demojackson.ex.Ex2.MultiplePropertyBeanWithCreator;
+import com.example.demojackson.ex.JsonTypeEx.Animal;
+import com.example.demojackson.ex.JsonTypeEx.Cat;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+    PooledJsonWriter / PooledJsonHttpMessageConverter 테스트
+    결과는 항상 writeValueAsBytes 와 같아야 하고, 사용한 buffer 는 pool 로 돌아가야 한다
+ */
+@Log4j2
+public class PooledJsonWriterTests {
+    final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void whenWritingSmallAndLargeValues_thenSameAsWriteValueAsBytes() throws Exception {
+        for (boolean direct : new boolean[]{false, true}) {
+            ByteBufferPool pool = new ByteBufferPool(direct, 4);
+            PooledJsonWriter writer = new PooledJsonWriter(pool);
+
+            for (int count : new int[]{1, 100, 10_000}) {
+                List<MultiplePropertyBeanWithCreator> beans = beans(count);
+                byte[] expected = objectMapper.writeValueAsBytes(beans);
+
+                PooledOutputStream json = writer.write(objectMapper.writerFor(List.class), beans);
+                try {
+                    assertThat(json.size()).isEqualTo(expected.length);
+                    assertThat(json.toByteArray()).isEqualTo(expected);
+
+                    ByteArrayOutputStream channelOut = new ByteArrayOutputStream();
+                    json.writeTo(Channels.newChannel(channelOut));
+                    assertThat(channelOut.toByteArray()).isEqualTo(expected);
+                } finally {
+                    json.release();
+                }
+            }
+        }
+    }
+
+    @Test
+    void whenReleased_thenBuffersAreReused() throws Exception {
+        ByteBufferPool pool = new ByteBufferPool(false, 4);
+        PooledJsonWriter writer = new PooledJsonWriter(pool);
+        ObjectWriter objectWriter = objectMapper.writerFor(List.class);
+        List<MultiplePropertyBeanWithCreator> beans = beans(2_000);
+
+        writer.writeTo(objectWriter, beans, new ByteArrayOutputStream());
+        ByteBufferPool.Stats first = pool.getStats();
+        for (int i = 0; i < 100; i++) {
+            writer.writeTo(objectWriter, beans, new ByteArrayOutputStream());
+        }
+        ByteBufferPool.Stats after = pool.getStats();
+
+        log.info("first: {}, after 100 writes: {}", first, after);
+        // 약 60 KB -> 4 + 16 + 64 KB segment 3개
+        assertThat(first.getMisses()).isEqualTo(3);
+        assertThat(after.getMisses()).isEqualTo(first.getMisses());
+        assertThat(after.getHits()).isEqualTo(300);
+        assertThat(after.getPooled()).isEqualTo(3);
+    }
+
+    @Test
+    void whenPoolIsFull_thenExtraBuffersAreDropped() throws Exception {
+        ByteBufferPool pool = new ByteBufferPool(false, 2);
+        PooledJsonWriter writer = new PooledJsonWriter(pool);
+        List<PooledOutputStream> outstanding = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            outstanding.add(writer.write(objectMapper.writer(), "small"));
+        }
+
+        outstanding.forEach(PooledOutputStream::release);
+
+        assertThat(pool.getStats().getPooled()).isEqualTo(2);
+        assertThatThrownBy(() -> outstanding.get(0).toByteArray()).hasMessageContaining("released");
+    }
+
+    @Test
+    void whenSerializationFails_thenNothingIsWrittenAndBuffersReturn() {
+        ByteBufferPool pool = new ByteBufferPool(false, 4);
+        PooledJsonHttpMessageConverter converter = new PooledJsonHttpMessageConverter(objectMapper, pool, 1 << 20);
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        List<Object> values = new ArrayList<>(beans(500));
+        values.add(new Failing());
+
+        assertThatThrownBy(() -> converter.write(values, MediaType.APPLICATION_JSON, output))
+                .isInstanceOf(HttpMessageNotWritableException.class)
+                .hasCauseInstanceOf(JsonMappingException.class);
+
+        assertThat(output.getBodyAsBytes()).isEmpty();
+        assertThat(pool.getStats().getPooled()).isEqualTo(pool.getStats().getMisses());
+    }
+
+    @Test
+    void whenConverterWrites_thenContentLengthUntilLimit() throws Exception {
+        ByteBufferPool pool = new ByteBufferPool(false, 4);
+        PooledJsonHttpMessageConverter converter = new PooledJsonHttpMessageConverter(objectMapper, pool, 16 * 1024);
+        Cat cat = new Cat();
+        cat.name = "lacy";
+        cat.lives = 7;
+
+        MockHttpOutputMessage small = new MockHttpOutputMessage();
+        converter.write(cat, Animal.class, MediaType.APPLICATION_JSON, small);
+
+        byte[] expected = objectMapper.writerFor(Animal.class).writeValueAsBytes(cat);
+        assertThat(small.getBodyAsBytes()).isEqualTo(expected);
+        assertThat(small.getHeaders().getContentLength()).isEqualTo(expected.length);
+
+        // 16 KB 를 넘으면 Content-Length 없이 그대로 내보냄
+        List<MultiplePropertyBeanWithCreator> beans = beans(2_000);
+        MockHttpOutputMessage large = new MockHttpOutputMessage();
+        converter.write(beans, MediaType.APPLICATION_JSON, large);
+
+        assertThat(large.getBodyAsBytes()).isEqualTo(objectMapper.writeValueAsBytes(beans));
+        assertThat(large.getHeaders().getContentLength()).isEqualTo(-1);
+        assertThat(pool.getStats().getPooled()).isEqualTo(pool.getStats().getMisses());
+    }
+
+    private static List<MultiplePropertyBeanWithCreator> beans(int count) {
+        List<MultiplePropertyBeanWithCreator> beans = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            beans.add(new MultiplePropertyBeanWithCreator(i, "bean" + i));
+        }
+        return beans;
+    }
+
+    public static class Failing {
+        public String getValue() {
+            throw new IllegalStateException("broken getter");
+        }
+    }
+}
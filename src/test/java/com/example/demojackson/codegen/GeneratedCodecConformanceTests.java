@@ -0,0 +1,579 @@
+package com.example.demojackson.codegen;
+
+import com.example.demojackson.ex.Ex1;
+import com.example.demojackson.ex.Ex2;
+import com.example.demojackson.ex.Ex3;
+import com.example.demojackson.ex.Ex4;
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+    GeneratedCodecModule (codegen-processor 가 만든 serializer / deserializer) 테스트
+    등록 여부와 관계없이 serialize 결과 bytes 와 deserialize 결과가 Jackson (reflection) 과 같아야 하고
+    생성 대상 타입은 실제로 생성 코드로 처리해야 함
+    fixture: ex 패키지 전체 + 이 클래스의 nested 클래스 (지원하는 annotation 조합, 오류 경로)
+ */
+@Log4j2
+public class GeneratedCodecConformanceTests {
+
+    /**
+     * 생성 codec 이 있어야 하는 ex fixture
+     */
+    static final Set<Class<?>> EX_CODECS = Set.of(
+            Ex1.JsonPropertyOrderObject.class, Ex1.JsonRootNameObject.class,
+            Ex2.SinglePropertyBeanWithCreator.class, Ex2.MultiplePropertyBeanWithCreator.class, Ex2.AliasBean.class,
+            Ex3.BeanWithIgnoreProperties.class, Ex3.BeanWithIgnore.class, Ex3.User.class, Ex3.MyBean.class,
+            Ex4.MyBean.class, Ex4.Money.class);
+
+    final GeneratedCodecModule module = new GeneratedCodecModule();
+
+    @Test
+    void whenCompiled_thenCodecsForSupportedTypes() {
+        Map<Class<?>, GeneratedCodec> codecs = module.getCodecs().stream()
+                .collect(Collectors.toMap(GeneratedCodec::type, codec -> codec));
+        log.info(codecs.keySet());
+
+        assertThat(codecs.keySet().stream().filter(type -> type.getName().startsWith("com.example.demojackson.ex.")))
+                .containsExactlyInAnyOrderElementsOf(EX_CODECS);
+        assertThat(codecs).containsKeys(Scalars.class, Composite.class, Accessors.class, Included.class,
+                Defaults.class, Created.class, Factory.class, Ignored.class, Ordered.class, ReadOnly.class);
+        // @JsonUnwrapped / @JsonFormat, getter 만 있는 프로퍼티 둘 (순서가 JVM 마다 다름) 은 Jackson 기본 처리
+        assertThat(codecs).doesNotContainKeys(Wrapper.class, Formatted.class, GetterOnly.class);
+
+        assertThat(codecs.get(Ex2.AliasBean.class).deserializer()).isNull();
+        assertThat(codecs.get(ReadOnly.class).serializer()).isNotNull();
+        assertThat(codecs.get(ReadOnly.class).deserializer()).isNull();
+        // 매번 새 인스턴스 (ObjectMapper 마다 상태를 따로 가짐)
+        assertThat(codecs.get(Scalars.class).serializer()).isNotSameAs(codecs.get(Scalars.class).serializer());
+    }
+
+    @Test
+    void whenSerializingAndDeserializing_thenSameAsJackson() throws Exception {
+        List<UnaryOperator<ObjectMapper>> configurations = List.of(
+                mapper -> mapper,
+                mapper -> mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL),
+                mapper -> mapper.setSerializationInclusion(JsonInclude.Include.NON_EMPTY),
+                mapper -> mapper.enable(SerializationFeature.WRAP_ROOT_VALUE, SerializationFeature.INDENT_OUTPUT)
+                        .enable(DeserializationFeature.UNWRAP_ROOT_VALUE),
+                mapper -> mapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance,
+                        ObjectMapper.DefaultTyping.NON_FINAL));
+
+        for (UnaryOperator<ObjectMapper> configuration : configurations) {
+            ObjectMapper plainMapper = configuration.apply(new ObjectMapper());
+            ObjectMapper objectMapper = configuration.apply(new ObjectMapper()).registerModule(module);
+
+            for (Object value : samples()) {
+                assertSameAsJackson(plainMapper, objectMapper, value);
+            }
+        }
+    }
+
+    @Test
+    void whenEveryCodecType_thenSampled() {
+        Set<Class<?>> sampled = samples().stream().map(Object::getClass).collect(Collectors.toSet());
+
+        assertThat(sampled).containsAll(module.getCodecs().stream().map(GeneratedCodec::type)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void whenRegistered_thenGeneratedCodecUsed() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(module);
+
+        for (GeneratedCodec codec : module.getCodecs()) {
+            assertThat(objectMapper.getSerializerProviderInstance().findValueSerializer(codec.type()) instanceof GeneratedSerializer)
+                    .as(codec.type().getName()).isEqualTo(codec.serializer() != null);
+            assertThat(deserializer(objectMapper, codec.type()) instanceof GeneratedDeserializer)
+                    .as(codec.type().getName()).isEqualTo(codec.deserializer() != null);
+        }
+    }
+
+    @Test
+    void whenMapperSettingsChangeProperties_thenNothingRegistered() throws Exception {
+        List<ObjectMapper> mappers = List.of(
+                new ObjectMapper().enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY),
+                new ObjectMapper().disable(MapperFeature.AUTO_DETECT_GETTERS),
+                new ObjectMapper().setPropertyNamingStrategy(com.fasterxml.jackson.databind.PropertyNamingStrategies.SNAKE_CASE),
+                new ObjectMapper().addMixIn(Ex4.Money.class, RenamedMoneyMixIn.class),
+                new ObjectMapper().setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY));
+
+        for (ObjectMapper mapper : mappers) {
+            mapper.registerModule(module);
+            assertThat(mapper.getSerializerProviderInstance().findValueSerializer(Scalars.class))
+                    .isNotInstanceOf(GeneratedSerializer.class);
+            assertThat(deserializer(mapper, Scalars.class)).isNotInstanceOf(GeneratedDeserializer.class);
+        }
+        // mix-in 으로 바꾼 이름은 생성 코드가 모른다
+        Ex4.Money money = new Ex4.Money();
+        money.money = 5;
+        assertThat(mappers.get(3).writeValueAsString(money)).isEqualTo("{\"amount\":5}");
+    }
+
+    abstract static class RenamedMoneyMixIn {
+        @JsonProperty("amount")
+        public long money;
+    }
+
+    @Test
+    void whenInputIsInvalid_thenSameErrorAsJackson() {
+        List<String> accessors = List.of(
+                "{\"count\":\"x\"}",
+                "{\"count\":-1}",
+                "{\"count\":1,\"unknown\":{\"a\":[1]}}",
+                "[1]",
+                "\"text\"",
+                "{\"full_name\":[1]}");
+        List<String> created = List.of(
+                "{\"size\":1}",
+                "{\"id\":\"a\",\"size\":-1}",
+                "{\"id\":\"a\",\"size\":\"big\"}",
+                "{\"id\":\"a\",\"size\":1,\"unknown\":1,\"note\":\"n\"}",
+                "{\"note\":\"n\",\"id\":\"a\",\"size\":1,\"tags\":{}}",
+                "{\"id\":\"a\",\"size\":1,\"key\":\"b\",\"note\":\"n\"}",
+                "{\"key\":\"a\",\"size\":1,\"tags\":[\"t\"],\"size\":2}",
+                "[{\"id\":\"a\",\"size\":1}]",
+                "\"text\"");
+
+        List<UnaryOperator<ObjectMapper>> configurations = List.of(
+                mapper -> mapper,
+                mapper -> mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES),
+                mapper -> mapper.disable(DeserializationFeature.WRAP_EXCEPTIONS),
+                mapper -> mapper.enable(DeserializationFeature.FAIL_ON_NULL_FOR_PRIMITIVES,
+                        DeserializationFeature.FAIL_ON_MISSING_CREATOR_PROPERTIES,
+                        DeserializationFeature.FAIL_ON_NULL_CREATOR_PROPERTIES,
+                        DeserializationFeature.FAIL_ON_IGNORED_PROPERTIES));
+        for (UnaryOperator<ObjectMapper> configuration : configurations) {
+            ObjectMapper plainMapper = configuration.apply(new ObjectMapper());
+            ObjectMapper objectMapper = configuration.apply(new ObjectMapper()).registerModule(module);
+
+            for (String json : accessors) {
+                assertThat(read(objectMapper, json, Accessors.class)).isEqualTo(read(plainMapper, json, Accessors.class));
+            }
+            for (String json : created) {
+                assertThat(read(objectMapper, json, Created.class)).isEqualTo(read(plainMapper, json, Created.class));
+            }
+            String ignored = "{\"name\":\"n\",\"secret\":1,\"hidden\":[2],\"other\":3}";
+            assertThat(read(objectMapper, ignored, Ignored.class)).isEqualTo(read(plainMapper, ignored, Ignored.class));
+            String primitiveNull = "{\"i\":null,\"b\":null,\"boxedInt\":null,\"text\":null}";
+            assertThat(read(objectMapper, primitiveNull, Scalars.class)).isEqualTo(read(plainMapper, primitiveNull, Scalars.class));
+        }
+    }
+
+    @Test
+    void whenSerializerThrows_thenSamePathAsJackson() {
+        ObjectMapper plainMapper = new ObjectMapper();
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(module);
+
+        Accessors accessors = new Accessors();
+        accessors.setName("fail");
+
+        assertThat(write(objectMapper, accessors)).isEqualTo(write(plainMapper, accessors)).startsWith("error");
+    }
+
+    @Test
+    void whenUpdatingAndUnwrapping_thenSameAsJackson() throws Exception {
+        ObjectMapper plainMapper = new ObjectMapper();
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(module);
+
+        String json = "{\"id\":\"w\",\"inner_count\":3,\"inner_full_name\":\"n\",\"inner_active\":true,\"count\":9}";
+        assertThat(read(objectMapper, json, Wrapper.class)).isEqualTo(read(plainMapper, json, Wrapper.class));
+        Wrapper wrapper = objectMapper.readValue(json, Wrapper.class);
+        assertThat(objectMapper.writeValueAsString(wrapper)).isEqualTo(plainMapper.writeValueAsString(wrapper));
+
+        Accessors expected = accessors(1);
+        Accessors updated = accessors(1);
+        String patch = "{\"active\":false,\"full_name\":\"patched\"}";
+        plainMapper.readerForUpdating(expected).readValue(patch);
+        objectMapper.readerForUpdating(updated).readValue(patch);
+        assertThat(plainMapper.writeValueAsString(updated)).isEqualTo(plainMapper.writeValueAsString(expected));
+
+        // creator 로 만드는 타입도 Jackson 처럼 fallback setter (필드) 로 갱신한다
+        Created created = new Created("id", 2);
+        Created createdUpdated = new Created("id", 2);
+        String createdPatch = "{\"note\":\"n\",\"size\":5,\"tags\":[\"t\"]}";
+        plainMapper.readerForUpdating(created).readValue(createdPatch);
+        objectMapper.readerForUpdating(createdUpdated).readValue(createdPatch);
+        assertThat(plainMapper.writeValueAsString(createdUpdated)).isEqualTo(plainMapper.writeValueAsString(created));
+    }
+
+    private static void assertSameAsJackson(ObjectMapper plainMapper, ObjectMapper objectMapper, Object value) {
+        String expected = write(plainMapper, value);
+        assertThat(write(objectMapper, value)).as(value.getClass().getName()).isEqualTo(expected);
+        if (!expected.startsWith("error")) {
+            assertThat(read(objectMapper, expected, value.getClass())).as(value.getClass().getName())
+                    .isEqualTo(read(plainMapper, expected, value.getClass()));
+        }
+    }
+
+    /**
+     * serialize 결과 또는 예외 (타입과 메시지)
+     */
+    private static String write(ObjectMapper objectMapper, Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (Exception e) {
+            return "error " + e.getClass().getName() + ": " + e.getMessage();
+        }
+    }
+
+    /**
+     * deserialize 한 값을 Jackson 으로 다시 serialize 한 결과 또는 예외 (타입과 메시지)
+     */
+    private static String read(ObjectMapper objectMapper, String json, Class<?> type) {
+        try {
+            return new ObjectMapper().writeValueAsString(objectMapper.readValue(json, type));
+        } catch (Exception e) {
+            return "error " + e.getClass().getName() + ": " + e.getMessage();
+        }
+    }
+
+    private static JsonDeserializer<Object> deserializer(ObjectMapper objectMapper, Class<?> type) throws Exception {
+        DefaultDeserializationContext context = ((DefaultDeserializationContext) objectMapper.getDeserializationContext())
+                .createInstance(objectMapper.getDeserializationConfig(), objectMapper.getFactory().createParser("{}"),
+                        objectMapper.getInjectableValues());
+        return context.findRootValueDeserializer(objectMapper.constructType(type));
+    }
+
+    static List<Object> samples() {
+        List<Object> samples = new ArrayList<>();
+
+        Ex1.JsonPropertyOrderObject order = new Ex1.JsonPropertyOrderObject();
+        order.firstName = "first";
+        order.lastName = "last";
+        Ex1.JsonRootNameObject root = new Ex1.JsonRootNameObject();
+        root.id = 1;
+        root.name = "name";
+        samples.add(order);
+        samples.add(new Ex1.JsonPropertyOrderObject());
+        samples.add(root);
+        samples.add(new Ex1.JsonRootNameObject());
+        samples.add(new Ex2.SinglePropertyBeanWithCreator("name"));
+        samples.add(new Ex2.MultiplePropertyBeanWithCreator(1, "name"));
+        samples.add(new Ex2.MultiplePropertyBeanWithCreator(0, null));
+        samples.add(new Ex2.AliasBean());
+        samples.add(new Ex3.BeanWithIgnoreProperties(1, "name"));
+        Ex3.BeanWithIgnore beanWithIgnore = new Ex3.BeanWithIgnore();
+        beanWithIgnore.id = 1;
+        beanWithIgnore.name = "name";
+        samples.add(beanWithIgnore);
+        samples.add(new Ex3.User(1, new Ex3.User.Name("first", "last")));
+        samples.add(new Ex3.MyBean(1, null));
+        samples.add(new Ex3.MyBean(2, ""));
+        samples.add(new Ex4.MyBean(1, "name"));
+        samples.add(new Ex4.Money(1000));
+
+        samples.add(scalars());
+        samples.add(new Scalars());
+        Composite composite = new Composite();
+        composite.tags = List.of("a", "b");
+        composite.counts = new LinkedHashMap<>(Map.of("x", 1));
+        composite.counts.put("nothing", null);
+        composite.scalars = scalars();
+        composite.mode = RoundingMode.HALF_UP;
+        composite.numbers = new int[]{1, 2};
+        composite.children = List.of(new Scalars(), scalars());
+        composite.any = accessors(2);
+        composite.names = new String[]{"n", null};
+        samples.add(composite);
+        samples.add(new Composite());
+        samples.add(accessors(3));
+        samples.add(new Accessors());
+        Included included = new Included();
+        included.emptyText = "";
+        included.list = List.of();
+        included.map = Map.of();
+        included.array = new int[0];
+        samples.add(included);
+        samples.add(new Included());
+        Included full = new Included();
+        full.emptyText = "t";
+        full.always = "a";
+        full.nonNull = "n";
+        full.list = List.of("l");
+        full.map = Map.of("k", "v");
+        full.number = 0;
+        full.primitive = 1;
+        full.array = new int[]{1};
+        samples.add(full);
+        Defaults defaults = new Defaults();
+        defaults.text = "";
+        defaults.list = List.of();
+        samples.add(defaults);
+        samples.add(new Defaults());
+        Created created = new Created("id", 2);
+        created.note = "note";
+        created.setTags(List.of("t"));
+        samples.add(created);
+        samples.add(new Created(null, 0));
+        samples.add(Factory.of("id", 3));
+        Ignored ignored = new Ignored();
+        ignored.name = "name";
+        ignored.secret = "secret";
+        ignored.hidden = "hidden";
+        samples.add(ignored);
+        Ordered ordered = new Ordered();
+        ordered.a = 1;
+        ordered.b = 2;
+        ordered.c = 3;
+        samples.add(ordered);
+        ReadOnly readOnly = new ReadOnly();
+        readOnly.name = "name";
+        samples.add(readOnly);
+        Wrapper wrapper = new Wrapper();
+        wrapper.id = "w";
+        wrapper.inner = accessors(4);
+        samples.add(wrapper);
+        Formatted formatted = new Formatted();
+        formatted.number = 7;
+        samples.add(formatted);
+        return samples;
+    }
+
+    static Scalars scalars() {
+        Scalars scalars = new Scalars();
+        scalars.i = Integer.MIN_VALUE;
+        scalars.l = Long.MAX_VALUE;
+        scalars.d = 0.1;
+        scalars.f = 1.5f;
+        scalars.s = (short) 7;
+        scalars.b = true;
+        scalars.c = 'c';
+        scalars.by = (byte) -1;
+        scalars.boxedInt = 1;
+        scalars.boxedLong = 2L;
+        scalars.boxedDouble = Double.NaN;
+        scalars.boxedFloat = 3.25f;
+        scalars.boxedShort = (short) 4;
+        scalars.boxedBoolean = false;
+        scalars.text = "\"quoted\" é\n";
+        scalars.decimal = new BigDecimal("12.340");
+        return scalars;
+    }
+
+    static Accessors accessors(int i) {
+        Accessors accessors = new Accessors();
+        accessors.setCount(i);
+        accessors.setName("name" + i);
+        accessors.setActive(i % 2 == 0);
+        return accessors;
+    }
+
+    public static class Scalars {
+        public int i;
+        public long l;
+        public double d;
+        public float f;
+        public short s;
+        public boolean b;
+        public char c;
+        public byte by;
+        public Integer boxedInt;
+        public Long boxedLong;
+        public Double boxedDouble;
+        public Float boxedFloat;
+        public Short boxedShort;
+        public Boolean boxedBoolean;
+        public String text;
+        public BigDecimal decimal;
+    }
+
+    public static class Composite {
+        public List<String> tags;
+        public Map<String, Integer> counts;
+        public Scalars scalars;
+        public RoundingMode mode;
+        public int[] numbers;
+        public List<Scalars> children;
+        public Object any;
+        public String[] names;
+    }
+
+    /**
+     * private 필드 + getter / setter, 이름을 바꾼 프로퍼티는 뒤로 감
+     */
+    public static class Accessors {
+        private int count;
+        private String name;
+        private boolean active;
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            if (count < 0) {
+                throw new IllegalArgumentException("negative count " + count);
+            }
+            this.count = count;
+        }
+
+        @JsonProperty("full_name")
+        public String getName() {
+            if ("fail".equals(name)) {
+                throw new IllegalStateException("cannot read name");
+            }
+            return name;
+        }
+
+        @JsonProperty("full_name")
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public static class Included {
+        public String emptyText;
+        @JsonInclude(JsonInclude.Include.ALWAYS)
+        public String always;
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        public String nonNull;
+        public List<String> list;
+        public Map<String, String> map;
+        public Integer number;
+        public int primitive;
+        public int[] array;
+    }
+
+    /**
+     * @JsonInclude 가 없어서 ObjectMapper 설정을 따름
+     */
+    public static class Defaults {
+        public String text;
+        public List<String> list;
+        public Integer number;
+        public int primitive;
+    }
+
+    public static class Created {
+        private final String id;
+        private final int size;
+        public String note;
+        private List<String> tags;
+
+        @JsonCreator
+        public Created(@JsonProperty("id") @JsonAlias("key") String id, @JsonProperty("size") int size) {
+            if (size < 0) {
+                throw new IllegalArgumentException("negative size " + size);
+            }
+            this.id = id;
+            this.size = size;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+    }
+
+    public static class Factory {
+        public final String id;
+        public final int size;
+
+        private Factory(String id, int size) {
+            this.id = id;
+            this.size = size;
+        }
+
+        @JsonCreator
+        static Factory of(@JsonProperty("id") String id, @JsonProperty("size") int size) {
+            return new Factory(id, size);
+        }
+    }
+
+    @JsonIgnoreProperties(value = {"secret"}, ignoreUnknown = true)
+    public static class Ignored {
+        public String name;
+        public String secret;
+        @JsonIgnore
+        public String hidden;
+    }
+
+    @JsonPropertyOrder({"c", "a"})
+    public static class Ordered {
+        public int a;
+        public int b;
+        public int c;
+    }
+
+    /**
+     * getter 만 있는 프로퍼티가 있어서 serializer 만 생성
+     */
+    public static class ReadOnly {
+        public String name;
+
+        public int getLength() {
+            return name == null ? 0 : name.length();
+        }
+    }
+
+    public static class Wrapper {
+        public String id;
+        @JsonUnwrapped(prefix = "inner_")
+        public Accessors inner;
+    }
+
+    public static class Formatted {
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
+        public int number;
+    }
+
+    public static class GetterOnly {
+        public int getFirst() {
+            return 1;
+        }
+
+        public int getSecond() {
+            return 2;
+        }
+    }
+}
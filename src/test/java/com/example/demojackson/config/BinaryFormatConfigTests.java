@@ -0,0 +1,188 @@
+package com.example.demojackson.config;
+
+import com.example.demojackson.ex.Ex1.JsonAnyGetterObject;
+import com.example.demojackson.ex.Ex4.ItemWithIdentity;
+import com.example.demojackson.ex.Ex4.Money;
+import com.example.demojackson.ex.Ex4.UnwrapObject;
+import com.example.demojackson.ex.Ex4.UserWithIdentity;
+import com.example.demojackson.ex.JsonTypeEx.Animal;
+import com.example.demojackson.ex.JsonTypeEx.Cat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+    BinaryFormatConfig 테스트
+    spring.jackson.* 설정 (non_null) 과 @JsonTypeInfo / @JsonIdentityInfo / @JsonUnwrapped / @JsonAnyGetter 가
+    JSON, Smile, CBOR 에서 같게 동작하는지 확인
+ */
+@Log4j2
+@SpringBootTest(properties = "spring.jackson.default-property-inclusion=non_null")
+@AutoConfigureMockMvc
+@Import(BinaryFormatConfigTests.FormatController.class)
+class BinaryFormatConfigTests {
+    static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    HttpMessageConverters httpMessageConverters;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void whenApplicationStarted_thenBinaryConvertersUseBootConfiguration() {
+        // 같은 타입의 converter 중 먼저 나오는 것이 사용된다
+        for (ObjectMapper binary : List.of(smileMapper(), cborMapper())) {
+            assertThat(binary.getSerializationConfig().getDefaultPropertyInclusion().getValueInclusion())
+                    .isEqualTo(JsonInclude.Include.NON_NULL);
+            assertThat(binary.getRegisteredModuleIds()).isEqualTo(objectMapper.getRegisteredModuleIds());
+        }
+    }
+
+    @Test
+    void whenWritingFixtures_thenBinaryFormatsCarrySameContentAsJson() throws Exception {
+        Cat cat = cat("lacy");
+        Cat unnamed = cat(null);
+        ItemWithIdentity item = item();
+        UnwrapObject unwrapped = new UnwrapObject(new Money(1000));
+        JsonAnyGetterObject anyGetter = new JsonAnyGetterObject();
+        anyGetter.name = "name";
+        anyGetter.add("key1", "value1");
+
+        for (ObjectMapper binary : List.of(smileMapper(), cborMapper())) {
+            String format = binary.getFactory().getFormatName();
+            for (Object value : List.of(cat, unnamed, item, unwrapped, anyGetter)) {
+                String json = objectMapper.writeValueAsString(value);
+                byte[] encoded = binary.writeValueAsBytes(value);
+
+                log.info("{}: JSON {} bytes, {} {} bytes", value.getClass().getSimpleName(), json.length(),
+                        format, encoded.length);
+                // 숫자 노드 타입 (int / long) 은 format 마다 다를 수 있어 JSON 문자열로 비교
+                assertThat(objectMapper.writeValueAsString(binary.readTree(encoded))).isEqualTo(json);
+            }
+        }
+    }
+
+    @Test
+    void whenReadingFixtures_thenSameObjectsAsJson() throws Exception {
+        for (ObjectMapper binary : List.of(smileMapper(), cborMapper())) {
+            // Cat.getName() 은 "cat: " 을 붙여서 쓰므로 읽은 name 필드에도 붙어 있다 (JSON 과 같음)
+            Animal animal = binary.readValue(binary.writeValueAsBytes(cat("lacy")), Animal.class);
+            Animal fromJson = objectMapper.readValue(objectMapper.writeValueAsBytes(cat("lacy")), Animal.class);
+            assertThat(animal).isInstanceOf(Cat.class);
+            assertThat(animal.name).isEqualTo(fromJson.name).isEqualTo("cat: lacy");
+            assertThat(((Cat) animal).lives).isEqualTo(7);
+
+            ItemWithIdentity item = binary.readValue(binary.writeValueAsBytes(item()), ItemWithIdentity.class);
+            assertThat(item.getOwner().getId()).isEqualTo(1);
+            assertThat(item).isSameAs(item.getOwner().getUserItems().get(0));
+
+            UnwrapObject unwrapped = binary.readValue(binary.writeValueAsBytes(new UnwrapObject(new Money(1000))),
+                    UnwrapObject.class);
+            assertThat(unwrapped.getFee().getMoney()).isEqualTo(1000);
+        }
+    }
+
+    @Test
+    void whenNegotiating_thenResponseInAcceptedFormat() throws Exception {
+        byte[] smile = smileMapper().writeValueAsBytes(cat("lacy"));
+
+        MvcResult cbor = mockMvc.perform(post("/formats/animal").contentType(SMILE).content(smile)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+        Animal animal = cborMapper().readValue(cbor.getResponse().getContentAsByteArray(), Animal.class);
+        assertThat(animal.name).isEqualTo("cat: cat: lacy");
+
+        // Accept 가 없으면 JSON
+        mockMvc.perform(post("/formats/animal").contentType(SMILE).content(smile))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("{\"type\":\"cat\",\"name\":\"cat: cat: lacy\",\"likesCream\":true,\"lives\":7}"));
+
+        byte[] item = cborMapper().writeValueAsBytes(item());
+        MvcResult smileItem = mockMvc.perform(post("/formats/item").contentType(MediaType.APPLICATION_CBOR).content(item)
+                        .accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn();
+        assertThat(objectMapper.writeValueAsString(smileMapper().readTree(smileItem.getResponse().getContentAsByteArray())))
+                .isEqualTo(objectMapper.writeValueAsString(item()));
+    }
+
+    private ObjectMapper smileMapper() {
+        return converters(MappingJackson2SmileHttpMessageConverter.class).get(0).getObjectMapper();
+    }
+
+    private ObjectMapper cborMapper() {
+        return converters(MappingJackson2CborHttpMessageConverter.class).get(0).getObjectMapper();
+    }
+
+    private <T extends AbstractJackson2HttpMessageConverter> List<T> converters(Class<T> type) {
+        return httpMessageConverters.getConverters().stream()
+                .filter(type::isInstance)
+                .map(type::cast)
+                .collect(Collectors.toList());
+    }
+
+    private static Cat cat(String name) {
+        Cat cat = new Cat();
+        cat.name = name;
+        cat.likesCream = true;
+        cat.lives = 7;
+        return cat;
+    }
+
+    private static ItemWithIdentity item() {
+        UserWithIdentity user = new UserWithIdentity(1, "John");
+        ItemWithIdentity item = new ItemWithIdentity(2, "book", user);
+        user.addItem(item);
+        return item;
+    }
+
+    /**
+     * component scan 에 잡히지 않도록 @Controller 없이 @RequestMapping 으로만 핸들러로 등록
+     */
+    @ResponseBody
+    @RequestMapping("/formats")
+    static class FormatController {
+
+        @PostMapping("/animal")
+        public Animal animal(@RequestBody Animal animal) {
+            return animal;
+        }
+
+        @PostMapping("/item")
+        public ItemWithIdentity item(@RequestBody ItemWithIdentity item) {
+            return item;
+        }
+    }
+}
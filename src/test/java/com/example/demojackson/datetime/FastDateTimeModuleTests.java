@@ -0,0 +1,264 @@
+package com.example.demojackson.datetime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.Test;
+
+import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+    FastDateTimeModule / FastDateDeserializer 테스트
+    Ex2.CustomDateDeserializer, Ex4.EventWithFormat 과 같은 pattern 을 사용
+ */
+@Log4j2
+public class FastDateTimeModuleTests {
+    static final String SEOUL = "Asia/Seoul";
+
+    final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .registerModule(new FastDateTimeModule());
+
+    @Test
+    void whenDeserializingUsingFastDateDeserializer_thenSameAsSimpleDateFormat() throws Exception {
+        String json = "{\"name\":\"party\",\"eventDate\":\"2021-11-02 02:30:00\"}";
+
+        EventWithFastDeserializer event = new ObjectMapper().readerFor(EventWithFastDeserializer.class)
+                .readValue(json);
+
+        SimpleDateFormat df = new SimpleDateFormat("yyyy-MM-dd hh:mm:ss");
+        df.setTimeZone(TimeZone.getTimeZone(SEOUL));
+        assertThat(event.eventDate).isEqualTo(df.parse("2021-11-02 02:30:00"));
+        assertThat(df.format(event.eventDate)).isEqualTo("2021-11-02 02:30:00");
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class EventWithFastDeserializer {
+        public String name;
+
+        @JsonFormat(pattern = "yyyy-MM-dd hh:mm:ss", timezone = SEOUL)
+        @JsonDeserialize(using = FastDateDeserializer.class)
+        public Date eventDate;
+    }
+
+    @Test
+    void whenRandomDates_thenSameAsSimpleDateFormat() throws Exception {
+        SimpleDateFormat df = new SimpleDateFormat("dd-MM-yyyy hh:mm:ss");
+        df.setTimeZone(TimeZone.getTimeZone(SEOUL));
+        ObjectReader reader = objectMapper.readerFor(EventWithDayFirst.class);
+        Random random = new Random(42);
+
+        for (int i = 0; i < 1_000; i++) {
+            // java.util.TimeZone 과 java.time 의 1908년 이전 Asia/Seoul 데이터가 달라 1970년 이후만 비교
+            String text = df.format(new Date(Math.abs(random.nextLong() % 4_000_000_000_000L)));
+
+            EventWithDayFirst event = reader.readValue("{\"eventDate\":\"" + text + "\"}");
+
+            assertThat(event.eventDate).isEqualTo(df.parse(text));
+            assertThat(objectMapper.writeValueAsString(event)).contains(text);
+        }
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class EventWithDayFirst {
+        @JsonFormat(pattern = "dd-MM-yyyy hh:mm:ss", timezone = SEOUL)
+        public Date eventDate;
+    }
+
+    @Test
+    void whenSerializingLocalDateTimeWithTwelveHourPattern_thenCorrect() throws Exception {
+        EventWithFormat event = new EventWithFormat("party", LocalDateTime.of(2021, 11, 5, 14, 30, 0));
+
+        String result = objectMapper.writeValueAsString(event);
+
+        log.info(result);
+        assertThat(result).isEqualTo("{\"name\":\"party\",\"eventDate\":\"05-11-2021 02:30:00\"}");
+
+        // JavaTimeModule 만으로는 "hh" pattern 을 LocalDateTime 으로 읽지 못함
+        EventWithFormat read = objectMapper.readerFor(EventWithFormat.class)
+                .readValue("{\"name\":\"party\",\"eventDate\":\"05-11-2021 12:15:00\"}");
+        assertThat(read.eventDate).isEqualTo(LocalDateTime.of(2021, 11, 5, 0, 15, 0));
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class EventWithFormat {
+        public String name;
+
+        @JsonFormat(pattern = "dd-MM-yyyy hh:mm:ss")
+        public LocalDateTime eventDate;
+    }
+
+    @Test
+    void whenUsingIso_thenCorrect() throws Exception {
+        ObjectMapper isoMapper = objectMapper.copy()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        String text = "2021-11-02T02:30:00.123+09:00";
+
+        IsoEvent event = isoMapper.readerFor(IsoEvent.class)
+                .readValue("{\"date\":\"" + text + "\",\"localDateTime\":\"2021-11-02T02:30:00.000456\"}");
+
+        assertThat(event.date.toInstant()).isEqualTo(OffsetDateTime.parse(text).toInstant());
+        assertThat(event.localDateTime).isEqualTo(LocalDateTime.of(2021, 11, 2, 2, 30, 0, 456_000));
+
+        String result = isoMapper.writeValueAsString(event);
+
+        log.info(result);
+        assertThat(result).isEqualTo("{\"date\":\"2021-11-01T17:30:00.123+00:00\","
+                + "\"localDateTime\":\"2021-11-02T02:30:00.000456\"}");
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class IsoEvent {
+        public Date date;
+        public LocalDateTime localDateTime;
+    }
+
+    @Test
+    void whenYearOutOfFourDigitsOrFractionTrimmed_thenSameBytesAsStock() throws Exception {
+        ObjectMapper stock = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        ObjectMapper fast = objectMapper.copy().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        // year 0~9999 밖은 기본 serializer, 소수점 초는 LocalDateTime 은 끝의 0 을 빼고 Date 는 항상 .SSS
+        List<LocalDateTime> localDateTimes = List.of(LocalDateTime.of(12021, 1, 1, 0, 0),
+                LocalDateTime.of(-5, 1, 1, 0, 0), LocalDateTime.of(10000, 1, 1, 0, 0), LocalDateTime.of(0, 1, 1, 0, 0),
+                LocalDateTime.of(9999, 12, 31, 23, 59, 59, 999_999_999), LocalDateTime.of(2021, 1, 1, 0, 0, 0, 500_000_000),
+                LocalDateTime.of(2021, 1, 1, 0, 0, 0, 123_450_000), LocalDateTime.of(2021, 1, 1, 0, 0, 0, 1));
+        List<Date> dates = List.of(Date.from(OffsetDateTime.parse("+10000-01-01T00:00:00Z").toInstant()),
+                Date.from(OffsetDateTime.parse("-0005-06-01T00:00:00Z").toInstant()),
+                Date.from(OffsetDateTime.parse("9999-12-31T23:59:59.999Z").toInstant()),
+                Date.from(OffsetDateTime.parse("1582-10-01T00:00:00Z").toInstant()),
+                new Date(0L), new Date(500L), new Date(1020L));
+        for (LocalDateTime localDateTime : localDateTimes) {
+            IsoEvent event = new IsoEvent(null, localDateTime);
+            assertThat(fast.writeValueAsBytes(event)).as(localDateTime.toString()).isEqualTo(stock.writeValueAsBytes(event));
+            EventWithFormat withFormat = new EventWithFormat("party", localDateTime);
+            assertThat(fast.writeValueAsBytes(withFormat)).isEqualTo(stock.writeValueAsBytes(withFormat));
+        }
+        for (Date date : dates) {
+            IsoEvent event = new IsoEvent(date, null);
+            assertThat(fast.writeValueAsBytes(event)).as(date.toInstant().toString()).isEqualTo(stock.writeValueAsBytes(event));
+            EventWithDayFirst withFormat = new EventWithDayFirst(date);
+            assertThat(fast.writeValueAsBytes(withFormat)).isEqualTo(stock.writeValueAsBytes(withFormat));
+        }
+    }
+
+    @Test
+    void whenNotAnnotated_thenJacksonDefaultsArePreserved() throws Exception {
+        IsoEvent event = new IsoEvent(new Date(1000L), LocalDateTime.of(2021, 11, 2, 2, 30));
+
+        String result = objectMapper.writeValueAsString(event);
+
+        assertThat(result).isEqualTo(new ObjectMapper().registerModule(new JavaTimeModule()).writeValueAsString(event));
+
+        IsoEvent read = objectMapper.readerFor(IsoEvent.class).readValue(result);
+        assertThat(read.date).isEqualTo(event.date);
+        assertThat(read.localDateTime).isEqualTo(event.localDateTime);
+    }
+
+    @Test
+    void whenMalformed_thenInvalidFormatException() {
+        ObjectReader reader = objectMapper.readerFor(EventWithDayFirst.class);
+
+        assertThatThrownBy(() -> reader.readValue("{\"eventDate\":\"2021-11-02 02:30:00\"}"))
+                .isInstanceOf(InvalidFormatException.class)
+                .hasMessageContaining("dd-MM-yyyy hh:mm:ss");
+        assertThatThrownBy(() -> reader.readValue("{\"eventDate\":\"02-13-2021 02:30:00\"}"))
+                .isInstanceOf(InvalidFormatException.class);
+    }
+
+    @Test
+    void whenLocalDateTimeIsNotValidInJavaTime_thenRejectedLikeJavaTimeModule() throws Exception {
+        ObjectReader stock = new ObjectMapper().registerModule(new JavaTimeModule()).readerFor(IsoEvent.class);
+        ObjectReader fast = objectMapper.readerFor(IsoEvent.class);
+
+        // 다음 달로 넘기지 않고, 숫자 offset 을 빼지 않는다
+        for (String text : new String[]{"2021-02-31T10:00:00", "2021-02-29T10:00:00", "2021-04-31T10:00:00",
+                "2021-06-01T10:00:00+09:00", "2021-06-01T10:00:00.5-0130", "2021-06-01T10:00:00+00:00"}) {
+            String json = "{\"localDateTime\":\"" + text + "\"}";
+            assertThatThrownBy(() -> stock.readValue(json)).isInstanceOf(InvalidFormatException.class);
+            assertThatThrownBy(() -> fast.readValue(json)).as(text).isInstanceOf(InvalidFormatException.class);
+        }
+        for (String text : new String[]{"2020-02-29T10:00:00", "2000-02-29T23:59:59", "2021-12-31T00:00:00Z"}) {
+            String json = "{\"localDateTime\":\"" + text + "\"}";
+            assertThat(fast.<IsoEvent>readValue(json).localDateTime).isEqualTo(stock.<IsoEvent>readValue(json).localDateTime);
+        }
+        // pattern 이 있어도 같다
+        assertThatThrownBy(() -> objectMapper.readerFor(EventWithFormat.class)
+                .readValue("{\"eventDate\":\"31-02-2021 10:00:00\"}"))
+                .isInstanceOf(InvalidFormatException.class);
+        // java.util.Date 는 SimpleDateFormat 처럼 그대로 lenient
+        assertThat(objectMapper.readerFor(IsoEvent.class).<IsoEvent>readValue("{\"date\":\"2021-02-31T10:00:00Z\"}").date)
+                .isEqualTo(Date.from(OffsetDateTime.parse("2021-03-03T10:00:00Z").toInstant()));
+    }
+
+    /**
+     * 공유 static SimpleDateFormat 을 쓰는 CustomDateDeserializer 는 동시에 호출되면 날짜가 섞인다
+     * 같은 reader 를 여러 스레드에서 사용해도 모든 결과가 입력과 일치해야 한다
+     */
+    @Test
+    void whenDeserializingConcurrently_thenEveryDateIsCorrect() throws Exception {
+        ObjectReader reader = new ObjectMapper().readerFor(EventWithFastDeserializer.class);
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+        ZoneId zone = ZoneId.of(SEOUL);
+        int threads = 8;
+        int iterations = 20_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long seed = t;
+                Callable<Integer> task = () -> {
+                    Random random = new Random(seed);
+                    int checked = 0;
+                    for (int i = 0; i < iterations; i++) {
+                        // hh 로 읽으므로 오전 시각만 사용
+                        LocalDateTime expected = LocalDateTime.of(1970 + random.nextInt(100), 1 + random.nextInt(12),
+                                1 + random.nextInt(28), random.nextInt(12), random.nextInt(60), random.nextInt(60));
+
+                        EventWithFastDeserializer event = reader.readValue(
+                                "{\"eventDate\":\"" + formatter.format(expected) + "\"}");
+
+                        assertThat(event.eventDate.toInstant()).isEqualTo(expected.atZone(zone).toInstant());
+                        checked++;
+                    }
+                    return checked;
+                };
+                results.add(executor.submit(task));
+            }
+            for (Future<Integer> result : results) {
+                assertThat(result.get()).isEqualTo(iterations);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.demojackson.enumcodec;
+
+import com.example.demojackson.ex.Ex1.TypeEnumWithValue;
+import com.example.demojackson.ex.Ex2.MultiplePropertyEnumWithCreator;
+import com.example.demojackson.ex.Ex2.SinglePropertyEnumWithCreator;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.json.JsonWriteFeature;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+    EnumCodecModule 테스트
+    모듈을 등록한 mapper 는 Jackson 과 같은 JSON 을 쓰고, 같은 입력에 같은 값 / 오류를 내야 함
+ */
+public class EnumCodecModuleTests {
+    final ObjectMapper plainMapper = new ObjectMapper();
+    final ObjectMapper codecMapper = new ObjectMapper().registerModule(new EnumCodecModule(16));
+
+    @Test
+    void whenSerializingJsonValueEnum_thenSameAsJackson() throws Exception {
+        assertThat(codecMapper.getSerializerProviderInstance().findValueSerializer(TypeEnumWithValue.class))
+                .isInstanceOf(PrecomputedEnumSerializer.class);
+
+        Holder holder = new Holder();
+        holder.type = TypeEnumWithValue.TYPE1;
+        holder.labels = List.of(Label.values());
+        holder.byType = Map.of(TypeEnumWithValue.TYPE2, Label.QUOTED);
+        assertSameJson(holder, plainMapper, codecMapper);
+        JsonGenerator.Feature escapeNonAscii = JsonWriteFeature.ESCAPE_NON_ASCII.mappedFeature();
+        assertSameJson(List.of(Label.values()), plainMapper.writer().with(escapeNonAscii),
+                codecMapper.writer().with(escapeNonAscii));
+
+        // 타입 정보는 Jackson 의 serializer 가 쓴다
+        ObjectMapper typedPlain = plainMapper.copy().activateDefaultTyping(plainMapper.getPolymorphicTypeValidator(),
+                ObjectMapper.DefaultTyping.NON_FINAL);
+        ObjectMapper typedCodec = codecMapper.copy().activateDefaultTyping(codecMapper.getPolymorphicTypeValidator(),
+                ObjectMapper.DefaultTyping.NON_FINAL);
+        assertSameJson(holder, typedPlain, typedCodec);
+    }
+
+    @Test
+    void whenStringHasCustomSerializer_thenJacksonSerializer() throws Exception {
+        SimpleModule upperCase = new SimpleModule().addSerializer(String.class, new StdSerializer<String>(String.class) {
+            @Override
+            public void serialize(String value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+                gen.writeString(value.toUpperCase());
+            }
+        });
+        ObjectMapper plain = new ObjectMapper().registerModule(upperCase);
+        ObjectMapper codec = new ObjectMapper().registerModule(upperCase).registerModule(new EnumCodecModule());
+
+        Holder holder = new Holder();
+        holder.type = TypeEnumWithValue.TYPE1;
+        assertThat(codec.writeValueAsString(holder)).isEqualTo(plain.writeValueAsString(holder)).contains("TYPE A");
+    }
+
+    @Test
+    void whenDeserializingStringEnum_thenSameAsJackson() throws Exception {
+        DeserializationContext ctxt = ((DefaultDeserializationContext) codecMapper.getDeserializationContext())
+                .createDummyInstance(codecMapper.getDeserializationConfig());
+        assertThat(ctxt.findRootValueDeserializer(ctxt.constructType(TypeEnumWithValue.class)))
+                .isInstanceOf(TableEnumDeserializer.class);
+        assertThat(ctxt.findRootValueDeserializer(ctxt.constructType(MultiplePropertyEnumWithCreator.class)))
+                .isInstanceOf(MemoizingEnumDeserializer.class);
+        String json = "{\"type\":\"Type 2\",\"labels\":[\"한글\",\"a\\\"b\",\"\\ud55c\\uae00\",\"\"],"
+                + "\"byType\":{\"Type A\":\"a\\\"b\"}}";
+        assertSameValue(json, new TypeReference<Holder>() {
+        }, plainMapper, codecMapper);
+
+        // 표에 없는 값은 EnumDeserializer 가 처리한다
+        for (String unknown : List.of("\"Type B\"", "\"type a\"", "1", "\" Type A \"", "{\"x\":1}")) {
+            assertSameError("[" + unknown + "]", plainMapper, codecMapper);
+        }
+        ObjectMapper lenientPlain = JsonMapper.builder().enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS)
+                .enable(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_AS_NULL).build();
+        ObjectMapper lenientCodec = lenientPlain.copy().registerModule(new EnumCodecModule());
+        assertSameValue("[\"type a\",\"Type B\",\"TYPE 2\",1,null]", new TypeReference<List<TypeEnumWithValue>>() {
+        }, lenientPlain, lenientCodec);
+
+        ObjectMapper toStringPlain = new ObjectMapper().enable(DeserializationFeature.READ_ENUMS_USING_TO_STRING);
+        ObjectMapper toStringCodec = toStringPlain.copy().registerModule(new EnumCodecModule());
+        assertSameValue("[\"TYPE1\"]", new TypeReference<List<TypeEnumWithValue>>() {
+        }, toStringPlain, toStringCodec);
+        assertSameError("[\"Type A\"]", toStringPlain, toStringCodec);
+    }
+
+    @Test
+    void whenDeserializingCreatorEnum_thenMemoized() throws Exception {
+        assertSameValue("[{\"theName\":\"a\"},{\"theName\":\"b\"},{\"theName\":\"a\"}]",
+                new TypeReference<List<SinglePropertyEnumWithCreator>>() {
+                }, plainMapper, codecMapper);
+        assertSameValue("[{\"id\":1,\"theName\":\"name\"},{\"theName\":\"name\",\"id\":1},{}]",
+                new TypeReference<List<MultiplePropertyEnumWithCreator>>() {
+                }, plainMapper, codecMapper);
+        for (String json : List.of("[\"TYPE1\"]", "[{\"id\":\"x\"}]", "[{\"id\":1,\"theName\":[]}]")) {
+            assertSameError(json, plainMapper, codecMapper);
+        }
+
+        // 같은 인자는 factory 를 한 번만 부른다, 캐시가 차면 매번 부른다
+        Counted.calls.set(0);
+        ObjectMapper codec = new ObjectMapper().registerModule(new EnumCodecModule(2));
+        List<Counted> values = codec.readValue("[{\"code\":1},{\"code\":2},{\"code\":1},{\"code\":2},"
+                + "{\"code\":3},{\"code\":3},{\"code\":1}]", new TypeReference<List<Counted>>() {
+        });
+        assertThat(values).containsExactly(Counted.ONE, Counted.TWO, Counted.ONE, Counted.TWO,
+                Counted.THREE, Counted.THREE, Counted.ONE);
+        assertThat(Counted.calls.get()).isEqualTo(4);
+
+        // 기본값은 기억하지 않는다
+        Counted.calls.set(0);
+        new ObjectMapper().registerModule(new EnumCodecModule()).readValue("[{\"code\":1},{\"code\":1}]",
+                new TypeReference<List<Counted>>() {
+                });
+        assertThat(Counted.calls.get()).isEqualTo(2);
+
+        assertThatThrownBy(() -> new EnumCodecModule(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void assertSameJson(Object value, ObjectMapper plain, ObjectMapper codec) throws Exception {
+        assertThat(codec.writeValueAsString(value)).isEqualTo(plain.writeValueAsString(value));
+        assertThat(codec.writeValueAsBytes(value)).isEqualTo(plain.writeValueAsBytes(value));
+    }
+
+    private static void assertSameJson(Object value, ObjectWriter plain, ObjectWriter codec) throws Exception {
+        assertThat(codec.writeValueAsString(value)).isEqualTo(plain.writeValueAsString(value));
+        assertThat(codec.writeValueAsBytes(value)).isEqualTo(plain.writeValueAsBytes(value));
+    }
+
+    private static <T> void assertSameValue(String json, TypeReference<T> type, ObjectMapper plain,
+                                            ObjectMapper codec) throws Exception {
+        T expected = plain.readValue(json, type);
+        assertThat(plain.writeValueAsString(codec.readValue(json, type))).isEqualTo(plain.writeValueAsString(expected));
+        assertThat(plain.writeValueAsString(codec.readValue(json.getBytes(StandardCharsets.UTF_8), type)))
+                .isEqualTo(plain.writeValueAsString(expected));
+    }
+
+    private static void assertSameError(String json, ObjectMapper plain, ObjectMapper codec) {
+        TypeReference<List<Holder>> holders = new TypeReference<>() {
+        };
+        List<TypeReference<?>> types = new ArrayList<>(List.of(new TypeReference<List<TypeEnumWithValue>>() {
+        }, new TypeReference<List<MultiplePropertyEnumWithCreator>>() {
+        }));
+        types.add(holders);
+        for (TypeReference<?> type : types) {
+            Throwable expected = catchError(() -> plain.readValue(json, type));
+            Throwable actual = catchError(() -> codec.readValue(json, type));
+            assertThat(actual == null).as(json).isEqualTo(expected == null);
+            if (expected != null) {
+                assertThat(actual).as(json).isExactlyInstanceOf(expected.getClass())
+                        .hasMessage(expected.getMessage());
+            }
+        }
+    }
+
+    private static Throwable catchError(ThrowingCall call) {
+        try {
+            call.run();
+            return null;
+        } catch (Exception e) {
+            return e;
+        }
+    }
+
+    interface ThrowingCall {
+        void run() throws Exception;
+    }
+
+    public static class Holder {
+        public TypeEnumWithValue type;
+        public List<Label> labels;
+        public Map<TypeEnumWithValue, Label> byType;
+    }
+
+    public enum Label {
+        KOREAN("한글"), QUOTED("a\"b"), EMPTY(""), NONE(null);
+
+        private final String label;
+
+        Label(String label) {
+            this.label = label;
+        }
+
+        @JsonValue
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    public enum Counted {
+        ONE, TWO, THREE;
+
+        static final AtomicInteger calls = new AtomicInteger();
+
+        @JsonCreator(mode = JsonCreator.Mode.PROPERTIES)
+        public static Counted of(@JsonProperty("code") int code) {
+            calls.incrementAndGet();
+            return values()[code - 1];
+        }
+    }
+}
@@ -1,12 +1,13 @@
 package com.example.demojackson.ex;
 
 
+import com.example.demojackson.fieldname.PreEncodedSerializer;
 import com.fasterxml.jackson.annotation.*;
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
-import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import lombok.AllArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.junit.jupiter.api.Test;
@@ -149,7 +150,10 @@ public class Ex1 {
         public String name;
     }
 
-    public static class ObjectSerializer extends StdSerializer<JsonSerializeObject> {
+    public static class ObjectSerializer extends PreEncodedSerializer<JsonSerializeObject> {
+        private static final SerializableString ID = fieldName("id");
+        private static final SerializableString NAME = fieldName("name");
+
         public ObjectSerializer() {
             super(JsonSerializeObject.class);
         }
@@ -158,8 +162,8 @@ public class Ex1 {
         public void serialize(JsonSerializeObject value, JsonGenerator gen, SerializerProvider provider) throws IOException {
             gen.writeStartObject();
 
-            gen.writeNumberField("id", value.id);
-            gen.writeStringField("name", value.name);
+            writeNumberField(gen, ID, value.id);
+            writeStringField(gen, NAME, value.name);
 
             gen.writeEndObject();
         }
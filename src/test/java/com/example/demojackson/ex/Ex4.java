@@ -33,7 +33,7 @@ public class Ex4 {
     public void whenUsingJsonProperty_thenCorrect() throws Exception {
         MyBean bean = new MyBean(1, "My bean");
 
-        String result = new ObjectMapper().writeValueAsString(bean);
+        String result = objectMapper.writeValueAsString(bean);
 
         log.info(result);
 
@@ -0,0 +1,138 @@
+package com.example.demojackson.ex;
+
+import com.example.demojackson.ex.Ex1.JsonAnyGetterObject;
+import com.example.demojackson.ex.Ex1.JsonGetterObject;
+import com.example.demojackson.ex.Ex1.JsonPropertyOrderObject;
+import com.example.demojackson.ex.Ex1.JsonRootNameObject;
+import com.example.demojackson.ex.Ex1.JsonSerializeObject;
+import com.example.demojackson.ex.Ex1.TypeEnumWithValue;
+import com.example.demojackson.ex.Ex2.AliasBean;
+import com.example.demojackson.ex.Ex2.BeanWithInject;
+import com.example.demojackson.ex.Ex2.EventWithSerializer;
+import com.example.demojackson.ex.Ex2.ExtendableBean;
+import com.example.demojackson.ex.Ex2.JsonSetterBean;
+import com.example.demojackson.ex.Ex2.MultiplePropertyBeanWithCreator;
+import com.example.demojackson.ex.Ex2.MultiplePropertyEnumWithCreator;
+import com.example.demojackson.ex.Ex2.SinglePropertyBeanWithCreator;
+import com.example.demojackson.ex.Ex2.SinglePropertyEnumWithCreator;
+import com.example.demojackson.ex.Ex3.BeanWithIgnore;
+import com.example.demojackson.ex.Ex3.BeanWithIgnoreProperties;
+import com.example.demojackson.ex.Ex3.User;
+import com.example.demojackson.ex.Ex4.EventWithFormat;
+import com.example.demojackson.ex.Ex4.ItemWithIdentity;
+import com.example.demojackson.ex.Ex4.ItemWithRef;
+import com.example.demojackson.ex.Ex4.UnwrapObject;
+import com.example.demojackson.ex.Ex4.UserWithRef;
+import com.example.demojackson.ex.JsonAutoDetectEx.SomeDto;
+import com.example.demojackson.ex.JsonTypeEx.Animal;
+import com.example.demojackson.perf.PerformanceGuard;
+import com.example.demojackson.perf.PerformanceRegressionExtension;
+import com.fasterxml.jackson.databind.InjectableValues;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.DynamicTest.dynamicTest;
+
+/*
+    ex 패키지 fixture 의 할당량 / 시간 회귀 테스트 (PerformanceRegressionExtension)
+    fixture 마다 serialize / deserialize 를 따로 재서 src/test/resources/perf-baseline.properties 와 비교
+    DTO annotation, ObjectMapper 설정을 바꿔서 할당이 10% 넘게 늘면 실패 (시간은 -Pperf.time.tolerance=2.0 을 줄 때만)
+    의도한 변경이면 ./gradlew test -Pperf.baseline.update=true 로 기준값을 갱신해서 같이 커밋
+ */
+@ExtendWith(PerformanceRegressionExtension.class)
+public class ExPerformanceTests {
+    final ObjectMapper objectMapper = new ObjectMapper();
+    final ObjectMapper javaTimeMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @TestFactory
+    Stream<DynamicTest> ex1(PerformanceGuard guard) {
+        JsonAnyGetterObject anyGetter = new JsonAnyGetterObject();
+        anyGetter.name = "name";
+        anyGetter.add("key1", "value1");
+        anyGetter.add("key2", "value2");
+        return Stream.of(
+                dynamicTest("JsonAnyGetter", () -> guard.serialize("Ex1.JsonAnyGetterObject", objectMapper, anyGetter)),
+                dynamicTest("JsonGetter", () -> guard.roundTrip("Ex1.JsonGetterObject", objectMapper,
+                        JsonGetterObject.class, "{\"firstName\":\"first\",\"lastName\":\"last\"}")),
+                dynamicTest("JsonPropertyOrder", () -> guard.roundTrip("Ex1.JsonPropertyOrderObject", objectMapper,
+                        JsonPropertyOrderObject.class, "{\"lastName\":\"last\",\"firstName\":\"first\"}")),
+                dynamicTest("JsonValue", () -> guard.roundTrip("Ex1.TypeEnumWithValue", objectMapper,
+                        TypeEnumWithValue.class, "\"Type A\"")),
+                dynamicTest("JsonRootName", () -> guard.roundTrip("Ex1.JsonRootNameObject", objectMapper,
+                        JsonRootNameObject.class, "{\"id\":1,\"name\":\"name\"}")),
+                dynamicTest("JsonSerialize", () -> guard.roundTrip("Ex1.JsonSerializeObject", objectMapper,
+                        JsonSerializeObject.class, "{\"id\":1,\"name\":\"name\"}")));
+    }
+
+    @TestFactory
+    Stream<DynamicTest> ex2(PerformanceGuard guard) {
+        return Stream.of(
+                dynamicTest("SinglePropertyCreator", () -> guard.roundTrip("Ex2.SinglePropertyBeanWithCreator",
+                        objectMapper, SinglePropertyBeanWithCreator.class, "{\"theName\":\"bean\"}")),
+                dynamicTest("MultiplePropertyCreator", () -> guard.roundTrip("Ex2.MultiplePropertyBeanWithCreator",
+                        objectMapper, MultiplePropertyBeanWithCreator.class, "{\"id\":1,\"theName\":\"bean\"}")),
+                dynamicTest("SinglePropertyEnumCreator", () -> guard.roundTrip("Ex2.SinglePropertyEnumWithCreator",
+                        objectMapper, SinglePropertyEnumWithCreator.class, "{\"theName\":\"name\"}")),
+                dynamicTest("MultiplePropertyEnumCreator", () -> guard.roundTrip("Ex2.MultiplePropertyEnumWithCreator",
+                        objectMapper, MultiplePropertyEnumWithCreator.class, "{\"id\":1,\"theName\":\"name\"}")),
+                dynamicTest("JacksonInject", () -> guard.roundTrip("Ex2.BeanWithInject",
+                        objectMapper.readerFor(BeanWithInject.class)
+                                .with(new InjectableValues.Std().addValue(int.class, 1)),
+                        objectMapper.writerFor(BeanWithInject.class), "{\"name\":\"bean\"}")),
+                dynamicTest("JsonAnySetter", () -> guard.roundTrip("Ex2.ExtendableBean", objectMapper,
+                        ExtendableBean.class, "{\"name\":\"bean\",\"attr1\":\"val1\",\"attr2\":\"val2\"}")),
+                dynamicTest("JsonSetter", () -> guard.roundTrip("Ex2.JsonSetterBean", objectMapper,
+                        JsonSetterBean.class, "{\"id\":1,\"name\":\"bean\"}")),
+                dynamicTest("JsonDeserialize", () -> guard.roundTrip("Ex2.EventWithSerializer", objectMapper,
+                        EventWithSerializer.class, "{\"name\":\"party\",\"eventDate\":\"2021-11-02 02:30:10\"}")),
+                dynamicTest("JsonAlias", () -> guard.roundTrip("Ex2.AliasBean", objectMapper,
+                        AliasBean.class, "{\"fName\":\"John\",\"lastName\":\"Green\"}")));
+    }
+
+    @TestFactory
+    Stream<DynamicTest> ex3(PerformanceGuard guard) {
+        return Stream.of(
+                dynamicTest("JsonIgnoreProperties", () -> guard.roundTrip("Ex3.BeanWithIgnoreProperties",
+                        objectMapper, BeanWithIgnoreProperties.class, "{\"name\":\"bean\",\"id\":\"1\"}")),
+                dynamicTest("JsonIgnore", () -> guard.roundTrip("Ex3.BeanWithIgnore", objectMapper,
+                        BeanWithIgnore.class, "{\"name\":\"bean\",\"id\":\"1\"}")),
+                dynamicTest("JsonIgnoreType", () -> guard.roundTrip("Ex3.User", objectMapper, User.class,
+                        "{\"name\":{\"firstName\":\"first\",\"lastName\":\"last\"},\"id\":1}")),
+                dynamicTest("JsonInclude", () -> guard.roundTrip("Ex3.MyBean", objectMapper, Ex3.MyBean.class,
+                        "{\"name\":\"bean\",\"id\":\"1\"}")));
+    }
+
+    @TestFactory
+    Stream<DynamicTest> ex4(PerformanceGuard guard) {
+        UserWithRef user = new UserWithRef(1, "John");
+        ItemWithRef item = new ItemWithRef(2, "book", user);
+        user.addItem(item);
+        return Stream.of(
+                dynamicTest("JsonProperty", () -> guard.roundTrip("Ex4.MyBean", javaTimeMapper, Ex4.MyBean.class,
+                        "{\"id\":1,\"name\":\"bean\"}")),
+                dynamicTest("JsonFormat", () -> guard.serialize("Ex4.EventWithFormat", javaTimeMapper,
+                        new EventWithFormat("party", LocalDateTime.of(2021, 11, 5, 2, 30, 10)))),
+                dynamicTest("JsonUnwrapped", () -> guard.roundTrip("Ex4.UnwrapObject", javaTimeMapper,
+                        UnwrapObject.class, "{\"money\":1000}")),
+                dynamicTest("JsonManagedReference", () -> guard.serialize("Ex4.ItemWithRef", javaTimeMapper, item)),
+                dynamicTest("JsonIdentityInfo", () -> guard.roundTrip("Ex4.ItemWithIdentity", javaTimeMapper,
+                        ItemWithIdentity.class,
+                        "{\"id\":2,\"itemName\":\"book\",\"owner\":{\"id\":1,\"name\":\"John\",\"userItems\":[2]}}")));
+    }
+
+    @TestFactory
+    Stream<DynamicTest> annotations(PerformanceGuard guard) {
+        return Stream.of(
+                dynamicTest("JsonAutoDetect", () -> guard.roundTrip("JsonAutoDetectEx.SomeDto", objectMapper,
+                        SomeDto.class, "{\"privateValue\":\"value1\",\"packagePrivateValue\":\"value2\","
+                                + "\"protectedValue\":\"value3\",\"publicValue\":\"value4\"}")),
+                dynamicTest("JsonTypeInfo", () -> guard.roundTrip("JsonTypeEx.Animal", objectMapper, Animal.class,
+                        "{\"type\":\"cat\",\"name\":\"lacy\",\"likesCream\":false,\"lives\":9}")));
+    }
+}
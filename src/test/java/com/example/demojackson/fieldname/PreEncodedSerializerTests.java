@@ -0,0 +1,230 @@
+package com.example.demojackson.fieldname;
+
+import com.example.demojackson.ex.Ex1.JsonSerializeObject;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.json.JsonWriteFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+    PreEncodedSerializer 테스트
+    미리 encode 한 필드명으로 쓴 결과는 String 필드명으로 쓴 결과와 같아야 함
+ */
+public class PreEncodedSerializerTests {
+    final ObjectMapper objectMapper = new ObjectMapper();
+    // @JsonSerialize 를 mix-in 으로 바꿔서 String 필드명 serializer 를 쓴다
+    final ObjectMapper plainMapper = new ObjectMapper()
+            .addMixIn(JsonSerializeObject.class, PlainObjectMixIn.class)
+            .addMixIn(WideObject.class, PlainWideMixIn.class);
+
+    @Test
+    void whenMigratedObjectSerializer_thenSameAsStringFieldNames() throws Exception {
+        JsonSerializeObject o = new JsonSerializeObject();
+        o.id = 123;
+        o.name = "na\"me 이름";
+        assertSameJson(o);
+        o.name = null;
+        assertSameJson(o);
+    }
+
+    @Test
+    void whenWideObject_thenSameAsStringFieldNames() throws Exception {
+        assertSameJson(WideObject.of(7));
+        assertSameJson(List.of(WideObject.of(1), new WideObject()));
+    }
+
+    private void assertSameJson(Object value) throws Exception {
+        assertSameJson(value, objectMapper.writer(), plainMapper.writer());
+        assertSameJson(value, objectMapper.writer(SerializationFeature.INDENT_OUTPUT),
+                plainMapper.writer(SerializationFeature.INDENT_OUTPUT));
+        assertSameJson(value, objectMapper.writer().with(JsonWriteFeature.ESCAPE_NON_ASCII.mappedFeature()),
+                plainMapper.writer().with(JsonWriteFeature.ESCAPE_NON_ASCII.mappedFeature()));
+    }
+
+    private static void assertSameJson(Object value, ObjectWriter writer, ObjectWriter plainWriter) throws Exception {
+        String expected = plainWriter.writeValueAsString(value);
+        assertThat(writer.writeValueAsString(value)).isEqualTo(expected);
+        assertThat(new String(writer.writeValueAsBytes(value), StandardCharsets.UTF_8)).isEqualTo(expected);
+    }
+
+    @JsonSerialize(using = PlainObjectSerializer.class)
+    abstract static class PlainObjectMixIn {
+    }
+
+    @JsonSerialize(using = PlainWideSerializer.class)
+    abstract static class PlainWideMixIn {
+    }
+
+    /**
+     * 바꾸기 전 Ex1.ObjectSerializer
+     */
+    public static class PlainObjectSerializer extends StdSerializer<JsonSerializeObject> {
+        public PlainObjectSerializer() {
+            super(JsonSerializeObject.class);
+        }
+
+        @Override
+        public void serialize(JsonSerializeObject value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+
+            gen.writeNumberField("id", value.id);
+            gen.writeStringField("name", value.name);
+
+            gen.writeEndObject();
+        }
+    }
+
+    /**
+     * 필드가 많은 DTO (주문 목록 행 같은 것)
+     */
+    @JsonSerialize(using = WideSerializer.class)
+    public static class WideObject {
+        public long orderId;
+        public long customerId;
+        public String customerName;
+        public String customerEmail;
+        public String shippingStreet;
+        public String shippingCity;
+        public String shippingZipCode;
+        public String currency;
+        public BigDecimal totalAmount;
+        public double discountRate;
+        public int itemCount;
+        public boolean giftWrapped;
+        public boolean expressDelivery;
+        public String status;
+        public String createdAt;
+        public List<String> tags;
+
+        public static WideObject of(int i) {
+            WideObject o = new WideObject();
+            o.orderId = 100_000L + i;
+            o.customerId = i;
+            o.customerName = "customer" + i;
+            o.customerEmail = "c" + i + "@example.com";
+            o.shippingStreet = "Teheran-ro " + i;
+            o.shippingCity = "Seoul";
+            o.shippingZipCode = "06236";
+            o.currency = "KRW";
+            o.totalAmount = BigDecimal.valueOf(12_900L + i, 2);
+            o.discountRate = 0.15;
+            o.itemCount = i % 7;
+            o.giftWrapped = i % 2 == 0;
+            o.expressDelivery = i % 3 == 0;
+            o.status = "PAID";
+            o.createdAt = "2021-09-10T10:15:30Z";
+            o.tags = List.of("web", "promo");
+            return o;
+        }
+    }
+
+    public static class WideSerializer extends PreEncodedSerializer<WideObject> {
+        private static final SerializableString ORDER_ID = fieldName("orderId");
+        private static final SerializableString CUSTOMER_ID = fieldName("customerId");
+        private static final SerializableString CUSTOMER_NAME = fieldName("customerName");
+        private static final SerializableString CUSTOMER_EMAIL = fieldName("customerEmail");
+        private static final SerializableString SHIPPING = fieldName("shipping");
+        private static final SerializableString STREET = fieldName("street");
+        private static final SerializableString CITY = fieldName("city");
+        private static final SerializableString ZIP_CODE = fieldName("zipCode");
+        private static final SerializableString CURRENCY = fieldName("currency");
+        private static final SerializableString TOTAL_AMOUNT = fieldName("totalAmount");
+        private static final SerializableString DISCOUNT_RATE = fieldName("discountRate");
+        private static final SerializableString ITEM_COUNT = fieldName("itemCount");
+        private static final SerializableString GIFT_WRAPPED = fieldName("giftWrapped");
+        private static final SerializableString EXPRESS_DELIVERY = fieldName("expressDelivery");
+        private static final SerializableString STATUS = fieldName("status");
+        private static final SerializableString CREATED_AT = fieldName("createdAt");
+        private static final SerializableString TAGS = fieldName("tags");
+
+        public WideSerializer() {
+            super(WideObject.class);
+        }
+
+        @Override
+        public void serialize(WideObject value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            writeNumberField(gen, ORDER_ID, value.orderId);
+            writeNumberField(gen, CUSTOMER_ID, value.customerId);
+            writeStringField(gen, CUSTOMER_NAME, value.customerName);
+            writeStringField(gen, CUSTOMER_EMAIL, value.customerEmail);
+            writeObjectFieldStart(gen, SHIPPING);
+            writeStringField(gen, STREET, value.shippingStreet);
+            writeStringField(gen, CITY, value.shippingCity);
+            writeStringField(gen, ZIP_CODE, value.shippingZipCode);
+            gen.writeEndObject();
+            writeStringField(gen, CURRENCY, value.currency);
+            writeNumberField(gen, TOTAL_AMOUNT, value.totalAmount);
+            writeNumberField(gen, DISCOUNT_RATE, value.discountRate);
+            writeNumberField(gen, ITEM_COUNT, value.itemCount);
+            writeBooleanField(gen, GIFT_WRAPPED, value.giftWrapped);
+            writeBooleanField(gen, EXPRESS_DELIVERY, value.expressDelivery);
+            writeStringField(gen, STATUS, value.status);
+            writeStringField(gen, CREATED_AT, value.createdAt);
+            if (value.tags == null) {
+                writeNullField(gen, TAGS);
+            } else {
+                writeArrayFieldStart(gen, TAGS);
+                for (String tag : value.tags) {
+                    gen.writeString(tag);
+                }
+                gen.writeEndArray();
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    /**
+     * WideSerializer 와 같은 JSON 을 String 필드명으로 쓴다
+     */
+    public static class PlainWideSerializer extends StdSerializer<WideObject> {
+        public PlainWideSerializer() {
+            super(WideObject.class);
+        }
+
+        @Override
+        public void serialize(WideObject value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            gen.writeNumberField("orderId", value.orderId);
+            gen.writeNumberField("customerId", value.customerId);
+            gen.writeStringField("customerName", value.customerName);
+            gen.writeStringField("customerEmail", value.customerEmail);
+            gen.writeObjectFieldStart("shipping");
+            gen.writeStringField("street", value.shippingStreet);
+            gen.writeStringField("city", value.shippingCity);
+            gen.writeStringField("zipCode", value.shippingZipCode);
+            gen.writeEndObject();
+            gen.writeStringField("currency", value.currency);
+            gen.writeNumberField("totalAmount", value.totalAmount);
+            gen.writeNumberField("discountRate", value.discountRate);
+            gen.writeNumberField("itemCount", value.itemCount);
+            gen.writeBooleanField("giftWrapped", value.giftWrapped);
+            gen.writeBooleanField("expressDelivery", value.expressDelivery);
+            gen.writeStringField("status", value.status);
+            gen.writeStringField("createdAt", value.createdAt);
+            if (value.tags == null) {
+                gen.writeNullField("tags");
+            } else {
+                gen.writeArrayFieldStart("tags");
+                for (String tag : value.tags) {
+                    gen.writeString(tag);
+                }
+                gen.writeEndArray();
+            }
+            gen.writeEndObject();
+        }
+    }
+}
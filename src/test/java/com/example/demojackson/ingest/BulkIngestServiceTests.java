@@ -0,0 +1,202 @@
+package com.example.demojackson.ingest;
+
+import com.example.demojackson.ex.JsonTypeEx.Animal;
+import com.example.demojackson.ex.JsonTypeEx.Cat;
+import com.example.demojackson.registry.JsonCodecRegistry;
+import com.example.demojackson.registry.RegistryProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+    BulkIngestService / IngestController 테스트
+    입력은 JsonTypeEx.Animal (Cat) NDJSON 을 필요할 때마다 만들어내는 InputStream 을 사용 (전체를 메모리에 만들지 않음)
+ */
+@Log4j2
+public class BulkIngestServiceTests {
+    final JsonCodecRegistry registry = new JsonCodecRegistry(new ObjectMapper(), new RegistryProperties());
+
+    @Test
+    void whenIngestingStream_thenAllRecordsAreDeliveredInBatches() throws Exception {
+        List<List<?>> batches = Collections.synchronizedList(new ArrayList<>());
+        BulkIngestService service = service(100, 2, 1, batches::add);
+
+        IngestResult result = service.ingest(new CatStream(10_050), Animal.class);
+
+        log.info(result);
+        assertThat(result.getRecords()).isEqualTo(10_050);
+        assertThat(result.getBatches()).isEqualTo(101);
+        assertThat(batches).hasSize(101);
+        assertThat(batches.get(0)).hasSize(100);
+        assertThat(batches.get(100)).hasSize(50);
+        Cat last = (Cat) batches.get(100).get(49);
+        assertThat(last.getName()).isEqualTo("cat: lacy10049");
+        assertThat(last.lives).isEqualTo(10049 % 9);
+    }
+
+    @Test
+    void whenHandlerIsSlow_thenReadingIsBoundedByQueue() throws Exception {
+        int batchSize = 50;
+        int queueCapacity = 2;
+        CatStream stream = new CatStream(5_000);
+        AtomicLong handled = new AtomicLong();
+        AtomicLong maxAhead = new AtomicLong();
+        BulkIngestService service = service(batchSize, queueCapacity, 1, batch -> {
+            maxAhead.accumulateAndGet(stream.generated - handled.get(), Math::max);
+            Thread.sleep(2);
+            handled.addAndGet(batch.size());
+        });
+
+        service.ingest(stream, Animal.class);
+
+        log.info("max records read ahead of handler: {}", maxAhead.get());
+        // queue + 처리 중 batch + 채우는 중 batch + parser 입력 버퍼 (8000 byte, 한 줄 60 byte 이상)
+        assertThat(maxAhead.get()).isLessThanOrEqualTo(batchSize * (queueCapacity + 2) + 8_000 / 60);
+    }
+
+    @Test
+    void whenHandlerFails_thenIngestStops() {
+        CatStream stream = new CatStream(1_000_000);
+        BulkIngestService service = service(100, 2, 2, batch -> {
+            throw new IllegalStateException("storage unavailable");
+        });
+
+        assertThatThrownBy(() -> service.ingest(stream, Animal.class))
+                .isInstanceOf(IngestException.class)
+                .hasRootCauseMessage("storage unavailable");
+        assertThat(stream.generated).isLessThan(10_000);
+    }
+
+    @Test
+    void whenUploadsAreConcurrent_thenWorkerThreadsAreShared() throws Exception {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        AtomicLong handled = new AtomicLong();
+        BulkIngestService service = service(100, 1, 2, batch -> {
+            threads.add(Thread.currentThread().getName());
+            handled.addAndGet(batch.size());
+        });
+        ExecutorService uploads = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<IngestResult>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(uploads.submit(() -> service.ingest(new CatStream(2_000), Animal.class)));
+            }
+            for (Future<IngestResult> result : results) {
+                assertThat(result.get().getRecords()).isEqualTo(2_000);
+            }
+        } finally {
+            uploads.shutdownNow();
+        }
+
+        assertThat(handled).hasValue(16_000);
+        assertThat(threads).hasSizeLessThanOrEqualTo(2);
+
+        service.destroy();
+        assertThatThrownBy(() -> service.ingest(new CatStream(1_000), Animal.class))
+                .isInstanceOf(IngestException.class)
+                .hasMessageContaining("shut down");
+
+        // 0 이면 업로드 전체가 batch 하나에 쌓인다
+        assertThatThrownBy(() -> service(0, 1, 2, batch -> {
+        })).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("batchSize");
+        assertThatThrownBy(() -> service(-1, 1, 2, batch -> {
+        })).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void whenPostingNdjson_thenIngestResult() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new IngestController(service(10, 2, 1, batch -> {
+        }))).build();
+
+        mockMvc.perform(post("/ingest").contentType(IngestController.APPLICATION_NDJSON_VALUE)
+                        .content("{\"a\":1}\n{\"b\":2}\n\n{\"c\":3}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.records").value(3))
+                .andExpect(jsonPath("$.batches").value(1));
+
+        mockMvc.perform(post("/ingest").contentType(IngestController.APPLICATION_NDJSON_VALUE)
+                        .content("{\"a\":1}\n{\"b\":2\n{\"c\":3}\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.line").value(3));
+    }
+
+    @Test
+    void whenRecordIsInvalid_thenJsonProcessingException() {
+        BulkIngestService service = service(10, 2, 1, batch -> {
+        });
+        InputStream in = new ByteArrayInputStream(
+                "{\"type\":\"cat\",\"lives\":1}\n{\"type\":\"bird\"}\n".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> service.ingest(in, Animal.class))
+                .isInstanceOf(JsonProcessingException.class)
+                .hasMessageContaining("bird");
+    }
+
+    private BulkIngestService service(int batchSize, int queueCapacity, int workers, RecordBatchHandler handler) {
+        IngestProperties properties = new IngestProperties();
+        properties.setBatchSize(batchSize);
+        properties.setQueueCapacity(queueCapacity);
+        properties.setWorkers(workers);
+        return new BulkIngestService(registry, properties, handler);
+    }
+
+    /**
+     * Cat 레코드를 한 줄씩 만들어내는 InputStream, generated 는 지금까지 만든 줄 수
+     */
+    static class CatStream extends InputStream {
+        final int records;
+        volatile long generated;
+        byte[] line = new byte[0];
+        int pos;
+
+        CatStream(int records) {
+            this.records = records;
+        }
+
+        @Override
+        public int read() {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (pos == line.length) {
+                if (generated == records) {
+                    return -1;
+                }
+                long i = generated;
+                line = ("{\"name\":\"lacy" + i + "\",\"likesCream\":false,\"lives\":" + i % 9 + ",\"type\":\"cat\"}\n")
+                        .getBytes(StandardCharsets.UTF_8);
+                pos = 0;
+                generated = i + 1;
+            }
+            int n = Math.min(len, line.length - pos);
+            System.arraycopy(line, pos, b, off, n);
+            pos += n;
+            return n;
+        }
+    }
+}
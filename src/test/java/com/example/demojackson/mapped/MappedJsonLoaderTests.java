@@ -0,0 +1,99 @@
+package com.example.demojackson.mapped;
+
+import com.example.demojackson.ex.Ex4.ItemWithIdentity;
+import com.example.demojackson.ex.Ex4.UserWithIdentity;
+import com.example.demojackson.ex.JsonTypeEx.Animal;
+import com.example.demojackson.stringpool.StringPoolTests;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+    MappedFileInputStream / MappedJsonLoader 테스트
+    window 경계가 값 중간에 걸리도록 아주 작은 window 로도 읽어서 InputStream 으로 읽은 결과와 비교
+ */
+public class MappedJsonLoaderTests {
+    final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void whenReadInWindows_thenSameBytes(@TempDir Path dir) throws Exception {
+        byte[] content = new byte[10_000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 31);
+        }
+        Path file = Files.write(dir.resolve("bytes.bin"), content);
+
+        for (int windowSize : new int[]{1, 7, 4096, 1 << 20}) {
+            try (MappedFileInputStream in = new MappedFileInputStream(file, windowSize)) {
+                assertThat(in.size()).isEqualTo(content.length);
+                assertThat(in.read()).isEqualTo(content[0] & 0xFF);
+                assertThat(in.skip(99)).isEqualTo(99);
+                assertThat(in.position()).isEqualTo(100);
+                assertThat(in.available()).isEqualTo(content.length - 100);
+                assertThat(in.readAllBytes()).isEqualTo(Arrays.copyOfRange(content, 100, content.length));
+                assertThat(in.read()).isEqualTo(-1);
+                assertThat(in.skip(10)).isZero();
+            }
+        }
+        MappedFileInputStream closed = new MappedFileInputStream(file, 16);
+        closed.close();
+        closed.close();
+        assertThatThrownBy(closed::read).isInstanceOf(IOException.class);
+        try (MappedFileInputStream empty = new MappedFileInputStream(Files.write(dir.resolve("empty"), new byte[0]))) {
+            assertThat(empty.read()).isEqualTo(-1);
+        }
+    }
+
+    @Test
+    void whenSingleDocument_thenIdentityReferencesResolved(@TempDir Path dir) throws Exception {
+        List<UserWithIdentity> users = new ArrayList<>();
+        for (int u = 0; u < 50; u++) {
+            UserWithIdentity user = new UserWithIdentity(u, "user-" + u + " 한글");
+            for (int i = 0; i < 3; i++) {
+                user.addItem(new ItemWithIdentity(1000 + u * 3 + i, "item-" + i, user));
+            }
+            users.add(user);
+        }
+        Path file = Files.write(dir.resolve("users.json"), objectMapper.writeValueAsBytes(users));
+
+        for (int windowSize : new int[]{5, 1 << 20}) {
+            List<UserWithIdentity> loaded = new MappedJsonLoader(windowSize).read(file,
+                    objectMapper.readerFor(new TypeReference<List<UserWithIdentity>>() {
+                    }));
+            assertThat(objectMapper.writeValueAsString(loaded)).isEqualTo(objectMapper.writeValueAsString(users));
+            assertThat(loaded.get(49).getUserItems().get(2).getOwner()).isSameAs(loaded.get(49));
+        }
+    }
+
+    @Test
+    void whenNdjsonOrArray_thenValuesStreamed(@TempDir Path dir) throws Exception {
+        List<String> lines = IntStream.range(0, 2_000).mapToObj(StringPoolTests::animal).collect(Collectors.toList());
+        Path ndjson = Files.write(dir.resolve("animals.ndjson"), lines, StandardCharsets.UTF_8);
+        Path array = Files.writeString(dir.resolve("animals.json"), StringPoolTests.animalCorpus(2_000));
+        List<Animal> expected = objectMapper.readValue(Files.readAllBytes(array), new TypeReference<>() {
+        });
+
+        MappedJsonLoader loader = new MappedJsonLoader(64);
+        for (Path file : List.of(ndjson, array)) {
+            List<Animal> loaded = new ArrayList<>();
+            assertThat(loader.<Animal>readValues(file, objectMapper.readerFor(Animal.class), loaded::add))
+                    .isEqualTo(2_000);
+            assertThat(objectMapper.writeValueAsString(loaded)).isEqualTo(objectMapper.writeValueAsString(expected));
+        }
+        assertThatThrownBy(() -> new MappedJsonLoader(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
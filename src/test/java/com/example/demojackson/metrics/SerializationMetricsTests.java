@@ -0,0 +1,191 @@
+package com.example.demojackson.metrics;
+
+import com.example.demojackson.ex.Ex4.ItemWithIdentity;
+import com.example.demojackson.ex.Ex4.Money;
+import com.example.demojackson.ex.Ex4.UnwrapObject;
+import com.example.demojackson.ex.Ex4.UserWithIdentity;
+import com.example.demojackson.ex.JsonTypeEx.Animal;
+import com.example.demojackson.ex.JsonTypeEx.Cat;
+import com.example.demojackson.registry.WarmUpStats;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+    SerializationMetricsModule 테스트
+    결과는 모듈이 없을 때와 같아야 하고, 횟수 / bytes 는 타입별로 (중첩 포함), 시간은 가장 바깥 bean 만, endpoint 별로는 요청 하나에 한 번
+ */
+@Log4j2
+public class SerializationMetricsTests {
+    static final String ORDER = "{\"id\":1,\"customer\":{\"name\":\"김철수\"},"
+            + "\"lines\":[{\"sku\":\"A-1\",\"quantity\":2},{\"sku\":\"B-2\",\"quantity\":1}]}";
+
+    final ObjectMapper plainMapper = new ObjectMapper();
+
+    @Test
+    void whenReadingAndWriting_thenRecordedPerType() throws Exception {
+        SerializationMetrics metrics = new SerializationMetrics(false);
+        ObjectMapper objectMapper = new ObjectMapper(SerializationMetricsModule.countingFactory(new JsonFactory()))
+                .registerModule(new SerializationMetricsModule(metrics));
+
+        byte[] json = ORDER.getBytes(StandardCharsets.UTF_8);
+        Order order = objectMapper.readValue(json, Order.class);
+        byte[] written = objectMapper.writeValueAsBytes(order);
+        assertThat(written).isEqualTo(plainMapper.writeValueAsBytes(plainMapper.readValue(json, Order.class)));
+        String text = objectMapper.writeValueAsString(order);
+        assertThat(text).isEqualTo(ORDER);
+
+        MetricsSnapshot snapshot = metrics.snapshot();
+        OperationStats orderWrites = snapshot.getTypes().get(Order.class.getName()).getSerialization();
+        OperationStats lineWrites = snapshot.getTypes().get(Line.class.getName()).getSerialization();
+        OperationStats orderReads = snapshot.getTypes().get(Order.class.getName()).getDeserialization();
+        OperationStats lineReads = snapshot.getTypes().get(Line.class.getName()).getDeserialization();
+        log.info("order writes: {}, reads: {}", orderWrites, orderReads);
+
+        assertThat(orderWrites.getCount()).isEqualTo(2);
+        assertThat(lineWrites.getCount()).isEqualTo(4);
+        // 시간은 가장 바깥 bean 만
+        assertThat(orderWrites.getTimedCount()).isEqualTo(2);
+        assertThat(lineWrites.getTimedCount()).isZero();
+        assertThat(lineWrites.getTotalNanos()).isZero();
+        // byte 출력은 UTF-8 bytes, Writer 출력은 문자 수
+        assertThat(orderWrites.getBytes()).isEqualTo(written.length + ORDER.length());
+        // 두 번째 원소부터는 앞의 ',' 포함
+        assertThat(lineWrites.getBytes()).isEqualTo(4 * "{\"sku\":\"A-1\",\"quantity\":2}".length() + 2);
+        assertThat(orderWrites.getMaxNanos()).isPositive().isGreaterThanOrEqualTo(orderWrites.getP50Nanos());
+        assertThat(orderWrites.getAllocatedBytes()).isZero();
+
+        assertThat(orderReads.getCount()).isEqualTo(1);
+        assertThat(lineReads.getCount()).isEqualTo(2);
+        assertThat(lineReads.getTimedCount()).isZero();
+        // '{' 다음부터 '}' 까지
+        assertThat(orderReads.getBytes()).isEqualTo(json.length - 1);
+        assertThat(snapshot.getEndpoints()).isEmpty();
+
+        // 다른 format 의 factory 도 같은 타입으로 다시 만든다
+        JsonFactory counting = SerializationMetricsModule.countingFactory(new SmileFactory());
+        assertThat(counting).isInstanceOf(SmileFactory.class);
+        assertThat(SerializationMetricsModule.countingFactory(counting)).isSameAs(counting);
+    }
+
+    @Test
+    void whenTypedUnwrappedOrIdentity_thenSameAsPlain() throws Exception {
+        SerializationMetrics metrics = new SerializationMetrics(true);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new SerializationMetricsModule(metrics));
+
+        String cat = "{\"type\":\"cat\",\"name\":\"Max\",\"likesCream\":true,\"lives\":7}";
+        assertThat(objectMapper.writeValueAsString(objectMapper.readValue(cat, Animal.class)))
+                .isEqualTo(plainMapper.writeValueAsString(plainMapper.readValue(cat, Animal.class)));
+        String unwrapped = "{\"money\":1000}";
+        assertThat(objectMapper.writeValueAsString(objectMapper.readValue(unwrapped, UnwrapObject.class)))
+                .isEqualTo(plainMapper.writeValueAsString(new UnwrapObject(new Money(1000))))
+                .isEqualTo(unwrapped);
+        UserWithIdentity user = new UserWithIdentity(1, "John");
+        user.addItem(new ItemWithIdentity(2, "book", user));
+        String identity = objectMapper.writeValueAsString(user);
+        assertThat(identity).isEqualTo(plainMapper.writeValueAsString(user));
+        UserWithIdentity read = objectMapper.readValue(identity, UserWithIdentity.class);
+        assertThat(read.userItems.get(0).owner).isSameAs(read);
+
+        MetricsSnapshot snapshot = metrics.snapshot();
+        // 타입 id 를 읽은 뒤 하위 타입으로 한 번
+        assertThat(snapshot.getTypes().get(Cat.class.getName()).getSerialization().getCount()).isEqualTo(1);
+        assertThat(snapshot.getTypes().get(Cat.class.getName()).getDeserialization().getCount()).isEqualTo(1);
+        assertThat(snapshot.getTypes().get(Cat.class.getName()).getDeserialization().getAllocatedBytes()).isPositive();
+        // unwrapped 는 바깥 bean 에 포함
+        assertThat(snapshot.getTypes().get(Money.class.getName()).getSerialization().getCount()).isZero();
+        assertThat(snapshot.getTypes().get(UnwrapObject.class.getName()).getSerialization().getCount()).isEqualTo(1);
+
+        assertThatThrownBy(() -> new SerializationMetricsModule(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void whenRecordingLatency_thenPercentilesFromBuckets() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertThat(histogram.percentile(0.99)).isZero();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(1_000);
+        }
+        histogram.record(5_000_000);
+        // 1000 은 [512, 1024) bucket
+        assertThat(histogram.percentile(0.5)).isEqualTo(1024);
+        assertThat(histogram.percentile(0.99)).isEqualTo(1024);
+        assertThat(histogram.percentile(1.0)).isEqualTo(5_000_000);
+        assertThat(histogram.max()).isEqualTo(5_000_000);
+        histogram.record(Long.MAX_VALUE);
+        assertThat(histogram.percentile(1.0)).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+    class Endpoints {
+        @LocalServerPort
+        int port;
+
+        @Autowired
+        ObjectMapper objectMapper;
+
+        final HttpClient client = HttpClient.newHttpClient();
+
+        @Test
+        void whenEndpointCalled_thenRecordedOncePerRequest() throws Exception {
+            get("/jackson/registry");
+            get("/jackson/registry");
+            JsonNode metrics = objectMapper.readTree(get("/jackson/metrics"));
+            log.info("metrics: {}", metrics);
+
+            JsonNode registry = metrics.path("endpoints").path("GET /jackson/registry").path("serialization");
+            assertThat(registry.path("count").asLong()).isEqualTo(2);
+            assertThat(registry.path("bytes").asLong()).isEqualTo(2L * get("/jackson/registry").length());
+            assertThat(metrics.path("types").path(WarmUpStats.class.getName()).path("serialization").path("count")
+                    .asLong()).isGreaterThanOrEqualTo(2);
+        }
+
+        String get(String path) throws Exception {
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            assertThat(response.statusCode()).isEqualTo(200);
+            return response.body();
+        }
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Order {
+        public long id;
+        public Customer customer;
+        public List<Line> lines;
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Customer {
+        public String name;
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Line {
+        public String sku;
+        public int quantity;
+    }
+}
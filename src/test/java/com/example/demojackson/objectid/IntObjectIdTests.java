@@ -0,0 +1,202 @@
+package com.example.demojackson.objectid;
+
+import com.example.demojackson.ex.Ex4.ItemWithIdentity;
+import com.example.demojackson.ex.Ex4.UserWithIdentity;
+import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.ObjectIdGenerators;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.UnresolvedForwardReference;
+import com.fasterxml.jackson.databind.deser.UnresolvedId;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+/*
+    IntObjectIdModule / IntObjectIdDeserializationContext 테스트
+    결과 그래프 (identity 포함) 와 예외가 Jackson 기본 처리와 같아야 한다
+ */
+@Log4j2
+public class IntObjectIdTests {
+    final ObjectMapper jackson = new ObjectMapper();
+    final ObjectMapper resolverOnly = new ObjectMapper().registerModule(new IntObjectIdModule());
+    final ObjectMapper primitive = new ObjectMapper(null, null, new IntObjectIdDeserializationContext())
+            .registerModule(new IntObjectIdModule());
+
+    @Test
+    void whenReadingItemWithIdentity_thenOwnerPointsBackToSameItem() throws Exception {
+        UserWithIdentity user = new UserWithIdentity(1, "John");
+        ItemWithIdentity item = new ItemWithIdentity(2, "book", user);
+        user.addItem(item);
+        String json = jackson.writeValueAsString(item);
+
+        for (ObjectMapper objectMapper : List.of(resolverOnly, primitive)) {
+            assertThat(objectMapper.writeValueAsString(item)).isEqualTo(json);
+
+            ItemWithIdentity read = objectMapper.readValue(json, ItemWithIdentity.class);
+            assertThat(read.getId()).isEqualTo(2);
+            assertThat(read.getOwner().getId()).isEqualTo(1);
+            assertThat(read).isSameAs(read.getOwner().getUserItems().get(0));
+        }
+    }
+
+    @Test
+    void whenReadingForwardReferences_thenSameGraphAsJackson() throws Exception {
+        String json = catalogJson(5_000);
+        String expected = jackson.writeValueAsString(jackson.readValue(json, Catalog.class));
+
+        for (ObjectMapper objectMapper : List.of(resolverOnly, primitive)) {
+            Catalog catalog = objectMapper.readValue(json, Catalog.class);
+
+            assertThat(objectMapper.writeValueAsString(catalog)).isEqualTo(expected);
+            for (int i = 0; i < catalog.users.size(); i++) {
+                UserWithIdentity user = catalog.users.get(i);
+                // users 의 userItems 는 뒤에 나오는 item 을 가리키는 forward reference
+                assertThat(user.getUserItems()).containsExactly(catalog.items.get(i));
+                assertThat(catalog.items.get(i).getOwner()).isSameAs(user);
+            }
+        }
+    }
+
+    @Test
+    void whenIdIsNeverDefined_thenSameUnresolvedIdsAsJackson() throws Exception {
+        String json = "{\"users\":[{\"id\":1,\"name\":\"John\",\"userItems\":[2,4]}],"
+                + "\"items\":[{\"id\":2,\"itemName\":\"book\",\"owner\":1}]}";
+
+        UnresolvedForwardReference expected = (UnresolvedForwardReference) catchThrowable(
+                () -> jackson.readValue(json, Catalog.class));
+        for (ObjectMapper objectMapper : List.of(resolverOnly, primitive)) {
+            Throwable thrown = catchThrowable(() -> objectMapper.readValue(json, Catalog.class));
+
+            assertThat(thrown).isInstanceOf(UnresolvedForwardReference.class);
+            assertThat(unresolvedIds((UnresolvedForwardReference) thrown)).isEqualTo(unresolvedIds(expected))
+                    .containsExactly(4);
+        }
+
+        // 받아 줄 collection / property 가 없는 forward reference 는 그대로 밖으로 나간다
+        Throwable root = catchThrowable(() -> jackson.readValue("5", ItemWithIdentity.class));
+        assertThat(catchThrowable(() -> primitive.readValue("5", ItemWithIdentity.class)))
+                .isInstanceOf(UnresolvedForwardReference.class)
+                .hasMessage(root.getMessage());
+
+        // FAIL_ON_UNRESOLVED_OBJECT_IDS 를 끄면 풀리지 않은 참조는 빠진다
+        for (ObjectMapper objectMapper : List.of(jackson, primitive)) {
+            Catalog lenient = objectMapper.readerFor(Catalog.class)
+                    .without(DeserializationFeature.FAIL_ON_UNRESOLVED_OBJECT_IDS)
+                    .readValue(json);
+            assertThat(lenient.users.get(0).getUserItems()).containsExactly(lenient.items.get(0));
+        }
+    }
+
+    @Test
+    void whenIdIsDuplicated_thenSameErrorAsJackson() {
+        String json = "[{\"id\":2,\"itemName\":\"book\",\"owner\":{\"id\":1,\"name\":\"John\"}},"
+                + "{\"id\":2,\"itemName\":\"pen\",\"owner\":1}]";
+
+        Throwable expected = catchThrowable(() -> jackson.readValue(json, ItemWithIdentity[].class));
+        for (ObjectMapper objectMapper : List.of(resolverOnly, primitive)) {
+            Throwable thrown = catchThrowable(() -> objectMapper.readValue(json, ItemWithIdentity[].class));
+
+            log.info("{}", thrown.getMessage());
+            assertThat(thrown).isInstanceOf(JsonMappingException.class)
+                    .hasMessageContaining("Already had POJO for id (java.lang.Integer)");
+            assertThat(thrown.getClass()).isEqualTo(expected.getClass());
+        }
+    }
+
+    @Test
+    void whenIntAndLongIdsShareScope_thenTheyAreDifferentIds() throws Exception {
+        // IdKey 처럼 Integer 1 과 Long 1 은 다른 id
+        String json = "{\"node\":{\"id\":1,\"next\":1},\"counter\":{\"id\":1,\"next\":1}}";
+
+        for (ObjectMapper objectMapper : List.of(jackson, resolverOnly, primitive)) {
+            Pair pair = objectMapper.readValue(json, Pair.class);
+
+            assertThat(pair.node.next).isSameAs(pair.node);
+            assertThat(pair.counter.next).isSameAs(pair.counter);
+        }
+    }
+
+    @Test
+    void whenTableGrows_thenAllKeysAreFound() {
+        LongObjectTable<Long> table = new LongObjectTable<>();
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(11);
+        List<Long> keys = new ArrayList<>(List.of(0L, -1L, Long.MIN_VALUE, Long.MAX_VALUE));
+        for (int i = 0; i < 100_000; i++) {
+            keys.add(i % 2 == 0 ? (long) i : random.nextLong());
+        }
+
+        for (Long key : keys) {
+            Long value = key ^ 0x5555;
+            assertThat(table.putIfAbsent(key, value)).isEqualTo(expected.putIfAbsent(key, value));
+        }
+
+        assertThat(table.size()).isEqualTo(expected.size());
+        for (Long key : keys) {
+            assertThat(table.get(key)).isEqualTo(expected.get(key));
+        }
+        assertThat(table.get(-2L)).isNull();
+    }
+
+    /**
+     * users 가 먼저 나오고 userItems 는 뒤의 items 를 id 로만 가리킨다 (forward reference)
+     * items 의 owner 는 앞에서 읽은 user id (backward reference)
+     * user id 는 홀수, item id 는 짝수 (같은 scope)
+     */
+    public static String catalogJson(int users) {
+        StringBuilder json = new StringBuilder(users * 100).append("{\"users\":[");
+        for (int i = 0; i < users; i++) {
+            json.append(i == 0 ? "" : ",")
+                    .append("{\"id\":").append(2 * i + 1).append(",\"name\":\"user").append(i)
+                    .append("\",\"userItems\":[").append(2 * i + 2).append("]}");
+        }
+        json.append("],\"items\":[");
+        for (int i = 0; i < users; i++) {
+            json.append(i == 0 ? "" : ",")
+                    .append("{\"id\":").append(2 * i + 2).append(",\"itemName\":\"item").append(i)
+                    .append("\",\"owner\":").append(2 * i + 1).append("}");
+        }
+        return json.append("]}").toString();
+    }
+
+    private static List<Object> unresolvedIds(UnresolvedForwardReference reference) {
+        return reference.getUnresolvedIds().stream().map(UnresolvedId::getId).collect(Collectors.toList());
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Catalog {
+        public List<UserWithIdentity> users;
+        public List<ItemWithIdentity> items;
+    }
+
+    public static class Pair {
+        public IntNode node;
+        public LongNode counter;
+    }
+
+    @JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "id")
+    public static class IntNode {
+        public int id;
+        public IntNode next;
+    }
+
+    @JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "id")
+    public static class LongNode {
+        public long id;
+        public LongNode next;
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.demojackson.parallel;
+
+import com.example.demojackson.ex.Ex4.ItemWithIdentity;
+import com.example.demojackson.ex.Ex4.UserWithIdentity;
+import com.example.demojackson.ex.JsonTypeEx.Animal;
+import com.example.demojackson.mapped.MappedFileInputStream;
+import com.example.demojackson.stringpool.StringPoolTests;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+    ParallelArrayReader 테스트
+    chunk 크기, 스레드 수, 입력 window 크기와 관계없이 결과는 ObjectMapper.readValue(List) 와 같은 순서 / 값이어야 함
+ */
+public class ParallelArrayReaderTests {
+    final ObjectMapper objectMapper = new ObjectMapper();
+    final ForkJoinPool pool = new ForkJoinPool(4);
+
+    // 문자열 안의 괄호 / 쉼표 / escape 된 따옴표, 역슬래시로 끝나는 문자열, 중첩 배열, null, 공백
+    static final String TRICKY = "\uFEFF [ {\"a\":\"],[{\\\"\"} , \"\\\\\",[[1,2],[]],null, -1.5e3 ,true,"
+            + "\"\\u005d\\\"]\",{},\"한글\\\\\\\"x\"\n,{\"b\":[\"}\"]}\t]\r\n";
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void whenLargeArray_thenSameAsSequentialRead() throws Exception {
+        byte[] json = StringPoolTests.animalCorpus(20_000).getBytes(StandardCharsets.UTF_8);
+        List<Animal> expected = objectMapper.readValue(json, new TypeReference<>() {
+        });
+
+        for (int chunkBytes : new int[]{1, 1000, 64 * 1024, json.length}) {
+            ParallelArrayReader<Animal> reader = new ParallelArrayReader<>(objectMapper.readerFor(Animal.class),
+                    pool, chunkBytes);
+            assertThat(objectMapper.writeValueAsString(reader.read(json)))
+                    .isEqualTo(objectMapper.writeValueAsString(expected));
+
+            List<Animal> streamed = new ArrayList<>();
+            assertThat(reader.read(json, 0, json.length, streamed::add)).isEqualTo(20_000);
+            assertThat(objectMapper.writeValueAsString(streamed)).isEqualTo(objectMapper.writeValueAsString(expected));
+        }
+    }
+
+    @Test
+    void whenStringsContainBrackets_thenElementBoundariesFound() throws Exception {
+        byte[] json = TRICKY.getBytes(StandardCharsets.UTF_8);
+        List<JsonNode> expected = objectMapper.readValue(TRICKY.substring(1), new TypeReference<>() {
+        });
+
+        for (int chunkBytes : new int[]{1, 5, 1000}) {
+            List<JsonNode> values = new ParallelArrayReader<JsonNode>(objectMapper.readerFor(JsonNode.class), pool,
+                    chunkBytes).read(json);
+            assertThat(values).hasSize(10).isEqualTo(expected);
+        }
+        // offset / length 로 준 구간만 읽는다
+        byte[] padded = ("xx[1, 2]yy").getBytes(StandardCharsets.UTF_8);
+        assertThat(new ParallelArrayReader<>(objectMapper, Integer.class).read(padded, 2, 6)).containsExactly(1, 2);
+        assertThat(new ParallelArrayReader<>(objectMapper, Integer.class).read(" [ ] ".getBytes())).isEmpty();
+    }
+
+    @Test
+    void whenReadingStreamInWindows_thenSameAsByteArray(@TempDir Path dir) throws Exception {
+        byte[] json = StringPoolTests.animalCorpus(5_000).getBytes(StandardCharsets.UTF_8);
+        String expected = objectMapper.writeValueAsString(objectMapper.readValue(json, new TypeReference<List<Animal>>() {
+        }));
+
+        // window 는 chunkBytes * 8 (parallelism 4), 1 이면 원소마다 window 를 넘는다
+        for (int chunkBytes : new int[]{1, 100, 64 * 1024}) {
+            ParallelArrayReader<Animal> reader = new ParallelArrayReader<>(objectMapper.readerFor(Animal.class),
+                    pool, chunkBytes);
+            List<Animal> streamed = new ArrayList<>();
+            assertThat(reader.read(new ByteArrayInputStream(json), streamed::add)).isEqualTo(5_000);
+            assertThat(objectMapper.writeValueAsString(streamed)).isEqualTo(expected);
+        }
+
+        // 2 GB 가 넘는 파일은 매핑한 window 로
+        Path file = Files.write(dir.resolve("animals.json"), json);
+        List<Animal> mapped = new ArrayList<>();
+        try (MappedFileInputStream in = new MappedFileInputStream(file, 4096)) {
+            new ParallelArrayReader<>(objectMapper, Animal.class).read(in, mapped::add);
+        }
+        assertThat(objectMapper.writeValueAsString(mapped)).isEqualTo(expected);
+
+        // window 끝에서 끊긴 문자열 / escape / BOM
+        List<JsonNode> tricky = objectMapper.readValue(TRICKY.substring(1), new TypeReference<>() {
+        });
+        for (int chunkBytes : new int[]{1, 2, 5}) {
+            List<JsonNode> values = new ArrayList<>();
+            new ParallelArrayReader<JsonNode>(objectMapper.readerFor(JsonNode.class), pool, chunkBytes)
+                    .read(new ByteArrayInputStream(TRICKY.getBytes(StandardCharsets.UTF_8)), values::add);
+            assertThat(values).isEqualTo(tricky);
+        }
+    }
+
+    @Test
+    void whenElementsUseIdentityInfo_thenReadSequentially() throws Exception {
+        UserWithIdentity owner = new UserWithIdentity(10_000, "John");
+        List<ItemWithIdentity> items = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            ItemWithIdentity item = new ItemWithIdentity(i, "item " + i, owner);
+            owner.addItem(item);
+            items.add(item);
+        }
+        // 두 번째 원소부터는 앞 원소 안에서 이미 쓴 객체의 id
+        byte[] json = objectMapper.writeValueAsBytes(items);
+        assertThat(new String(json, StandardCharsets.UTF_8)).endsWith(",98,99]");
+
+        for (ParallelArrayReader<ItemWithIdentity> reader : List.of(
+                new ParallelArrayReader<ItemWithIdentity>(objectMapper.readerFor(ItemWithIdentity.class), pool, 1),
+                new ParallelArrayReader<>(objectMapper, ItemWithIdentity.class))) {
+            List<ItemWithIdentity> read = reader.read(json);
+            assertThat(read).hasSize(100);
+            assertThat(read.get(99).owner).isSameAs(read.get(0).owner);
+            assertThat(read.get(0).owner.userItems).containsExactlyElementsOf(read);
+
+            List<ItemWithIdentity> streamed = new ArrayList<>();
+            assertThat(reader.read(new ByteArrayInputStream(json), streamed::add)).isEqualTo(100);
+            assertThat(streamed.get(99).owner).isSameAs(streamed.get(0).owner);
+        }
+        // 프로퍼티 안에 있어도 찾는다
+        byte[] wrapped = objectMapper.writeValueAsBytes(List.of(new ItemHolder(items.get(0)), new ItemHolder(items.get(1))));
+        List<ItemHolder> holders = new ParallelArrayReader<ItemHolder>(objectMapper.readerFor(ItemHolder.class), pool, 1)
+                .read(wrapped);
+        assertThat(holders.get(1).item.owner).isSameAs(holders.get(0).item.owner);
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemHolder {
+        public ItemWithIdentity item;
+    }
+
+    @Test
+    void whenMalformed_thenFails() {
+        ParallelArrayReader<JsonNode> reader = new ParallelArrayReader<>(objectMapper.readerFor(JsonNode.class),
+                pool, 1);
+        assertThatThrownBy(() -> reader.read("{\"a\":1}".getBytes())).isInstanceOf(JsonParseException.class)
+                .hasMessageContaining("expected '[' (top-level array)");
+        assertThatThrownBy(() -> reader.read("[1,\"a\\\"]".getBytes())).isInstanceOf(JsonParseException.class)
+                .hasMessageContaining("end-of-input in string");
+        assertThatThrownBy(() -> reader.read("[1,]".getBytes())).isInstanceOf(JsonParseException.class)
+                .hasMessageContaining("expected value");
+        assertThatThrownBy(() -> reader.read("[1] 2".getBytes())).isInstanceOf(JsonParseException.class)
+                .hasMessageContaining("end-of-input after top-level array");
+        assertThatThrownBy(() -> reader.read("[1 2]".getBytes())).isInstanceOf(JsonParseException.class)
+                .hasMessageContaining("expected ',' or ']'");
+
+        // 원소 내용 오류는 Jackson 이 보고하고 원소 index 를 붙인다
+        ParallelArrayReader<Animal> animals = new ParallelArrayReader<>(objectMapper.readerFor(Animal.class),
+                pool, 1);
+        byte[] json = ("[" + StringPoolTests.animal(0) + "," + StringPoolTests.animal(1)
+                + ",{\"type\":\"cat\",\"lives\":\"many\"}," + StringPoolTests.animal(3) + "]").getBytes();
+        assertThatThrownBy(() -> animals.read(json)).isInstanceOf(JsonMappingException.class)
+                .hasMessageContaining("Failed to read array element 2");
+        assertThatThrownBy(() -> animals.read(json, 0, json.length, animal -> {
+        })).isInstanceOf(JsonMappingException.class).hasMessageContaining("Failed to read array element 2");
+        // chunk 하나에 여러 원소가 있어도 원래 배열의 index
+        assertThatThrownBy(() -> new ParallelArrayReader<>(objectMapper, Animal.class).read(json))
+                .isInstanceOf(JsonMappingException.class).hasMessageContaining("Failed to read array element 2");
+        assertThatThrownBy(() -> new ParallelArrayReader<>(objectMapper.readerFor(Animal.class), pool, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        // window 로 읽어도 같은 오류, 위치는 입력 전체 기준
+        String late = "[" + "1,".repeat(50) + "1 2]";
+        assertThatThrownBy(() -> reader.read(late.getBytes())).hasMessageContaining("at byte offset 103");
+        assertThatThrownBy(() -> reader.read(new ByteArrayInputStream(late.getBytes()), value -> {
+        })).isInstanceOf(JsonParseException.class).hasMessageContaining("expected ',' or ']' at byte offset 103");
+        assertThatThrownBy(() -> reader.read(new ByteArrayInputStream(("[1]" + " ".repeat(20) + "2").getBytes()),
+                value -> {
+                })).isInstanceOf(JsonParseException.class).hasMessageContaining("end-of-input after top-level array");
+        assertThatThrownBy(() -> reader.read(new ByteArrayInputStream("[1,\"abc".getBytes()), value -> {
+        })).isInstanceOf(JsonParseException.class).hasMessageContaining("end-of-input in string");
+        assertThatThrownBy(() -> animals.read(new ByteArrayInputStream(json), animal -> {
+        })).isInstanceOf(JsonMappingException.class).hasMessageContaining("Failed to read array element 2");
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.demojackson.parallel;
+
+import com.example.demojackson.buffer.ByteBufferPool;
+import com.example.demojackson.ex.Ex3.MyBean;
+import com.example.demojackson.ex.Ex4.ItemWithIdentity;
+import com.example.demojackson.ex.Ex4.UserWithIdentity;
+import com.example.demojackson.ex.JsonTypeEx.Animal;
+import com.example.demojackson.ex.JsonTypeEx.Dog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+    ParallelCollectionWriter 테스트
+    chunk 크기와 관계없이 결과는 순차 writeValueAsBytes 와 byte 단위로 같아야 하고,
+    @JsonIdentityInfo 가 닿는 타입 / pretty print 는 순차로 돌아가야 함
+ */
+public class ParallelCollectionWriterTests {
+    final ObjectMapper objectMapper = new ObjectMapper();
+    final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void whenLargeList_thenSameBytesAsSequential() throws Exception {
+        // null 원소는 @JsonInclude(NON_NULL) 인 name 이 빠지는 경우
+        List<MyBean> beans = IntStream.range(0, 10_000)
+                .mapToObj(i -> new MyBean(i, i % 3 == 0 ? null : "bean \"" + i + "\" 한글"))
+                .collect(Collectors.toList());
+        beans.set(17, null);
+        List<Dog> dogs = IntStream.range(0, 5_000).mapToObj(i -> new Dog("dog-" + i, i / 10.0))
+                .collect(Collectors.toList());
+        ObjectWriter animals = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, Animal.class));
+
+        for (ByteBufferPool bufferPool : List.of(new ByteBufferPool(false, 1024), new ByteBufferPool(true, 1024))) {
+            for (int chunkSize : new int[]{1, 7, 1000, 4096}) {
+                ParallelCollectionWriter writer = new ParallelCollectionWriter(bufferPool, pool, chunkSize);
+                assertThat(writer.canSplit(objectMapper.writer(), beans)).isTrue();
+                assertThat(writer.writeValueAsBytes(objectMapper.writer(), beans))
+                        .isEqualTo(objectMapper.writeValueAsBytes(beans));
+                // 타입이 없는 List 는 type id 를 쓰지 않고, List<Animal> 로 쓰면 쓴다
+                assertThat(writer.writeValueAsBytes(objectMapper.writer(), dogs))
+                        .isEqualTo(objectMapper.writeValueAsBytes(dogs));
+                assertThat(writer.writeValueAsBytes(animals, dogs)).isEqualTo(animals.writeValueAsBytes(dogs));
+
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                assertThat(writer.writeTo(objectMapper.writer(), beans, out)).isEqualTo(out.size());
+            }
+            assertThat(bufferPool.getStats().getPooled()).isEqualTo(bufferPool.getStats().getMisses());
+        }
+    }
+
+    @Test
+    void whenIdentityInfoOrPrettyPrint_thenSequential() throws Exception {
+        ParallelCollectionWriter writer = new ParallelCollectionWriter(new ByteBufferPool(false, 4), pool, 10);
+
+        List<ItemWithIdentity> items = new ArrayList<>();
+        UserWithIdentity owner = new UserWithIdentity(1, "John");
+        for (int i = 0; i < 100; i++) {
+            ItemWithIdentity item = new ItemWithIdentity(i + 2, "book-" + i, owner);
+            owner.addItem(item);
+            items.add(item);
+        }
+        assertThat(writer.canSplit(objectMapper.writer(), items)).isFalse();
+        assertThat(writer.writeValueAsBytes(objectMapper.writer(), items))
+                .isEqualTo(objectMapper.writeValueAsBytes(items));
+        // 프로퍼티, Map / List 원소를 거쳐 닿는 경우
+        assertThat(writer.canSplit(objectMapper.writer(), IntStream.range(0, 100)
+                .mapToObj(i -> new Holder()).collect(Collectors.toList()))).isFalse();
+
+        List<MyBean> beans = IntStream.range(0, 100).mapToObj(i -> new MyBean(i, "bean"))
+                .collect(Collectors.toList());
+        ObjectWriter pretty = objectMapper.writerWithDefaultPrettyPrinter();
+        assertThat(writer.canSplit(pretty, beans)).isFalse();
+        assertThat(writer.canSplit(objectMapper.writer(SerializationFeature.INDENT_OUTPUT), beans)).isFalse();
+        assertThat(writer.canSplit(objectMapper.writer(SerializationFeature.WRITE_SINGLE_ELEM_ARRAYS_UNWRAPPED),
+                beans)).isFalse();
+        assertThat(writer.canSplit(objectMapper.writer(), beans.subList(0, 19))).isFalse();
+        assertThat(writer.writeValueAsBytes(pretty, beans)).isEqualTo(pretty.writeValueAsBytes(beans));
+    }
+
+    @Test
+    void whenChunkFails_thenBuffersReturned() {
+        ByteBufferPool bufferPool = new ByteBufferPool(false, 1024);
+        ParallelCollectionWriter writer = new ParallelCollectionWriter(bufferPool, pool, 10);
+        List<Object> values = new ArrayList<>(IntStream.range(0, 1000).mapToObj(i -> new MyBean(i, "bean"))
+                .collect(Collectors.toList()));
+        values.set(555, new Object());
+
+        assertThatThrownBy(() -> writer.writeTo(objectMapper.writer(), values, OutputStream.nullOutputStream()))
+                .isInstanceOf(IOException.class);
+        // 실행 중이던 chunk 가 끝난 뒤 돌려준 buffer 까지
+        assertThat(pool.awaitQuiescence(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(bufferPool.getStats().getPooled()).isEqualTo(bufferPool.getStats().getMisses());
+        assertThatThrownBy(() -> new ParallelCollectionWriter(bufferPool, pool, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    public static class Holder {
+        public Map<String, List<UserWithIdentity>> users = Map.of();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.demojackson.perf;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * 작업 한 번의 할당 bytes 와 시간
+ *
+ * WARMUP 번 돌려서 JIT 가 끝난 뒤 BATCH 번씩 BATCHES 묶음을 잰다
+ * 할당과 시간 모두 묶음 중 최소값 (GC, deopt, 다른 프로세스 때문에 튀는 묶음 제외)
+ * 할당은 현재 thread 의 할당 카운터 (com.sun.management.ThreadMXBean) 로 잰다
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+class Measurement {
+    static final int WARMUP = 5_000;
+    static final int BATCHES = 10;
+    static final int BATCH = 500;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * 결과를 버리지 않도록 (dead code 제거 방지)
+     */
+    static volatile Object sink;
+
+    private final long bytesPerOp;
+    private final double nanosPerOp;
+
+    interface Operation {
+        Object run() throws Exception;
+    }
+
+    static Measurement of(Operation operation) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            sink = operation.run();
+        }
+        long minBytes = Long.MAX_VALUE;
+        long minNanos = Long.MAX_VALUE;
+        for (int b = 0; b < BATCHES; b++) {
+            long allocated = allocatedBytes();
+            long start = System.nanoTime();
+            for (int i = 0; i < BATCH; i++) {
+                sink = operation.run();
+            }
+            minNanos = Math.min(minNanos, System.nanoTime() - start);
+            minBytes = Math.min(minBytes, allocatedBytes() - allocated);
+        }
+        return new Measurement(Math.round(minBytes / (double) BATCH), minNanos / (double) BATCH);
+    }
+
+    private static long allocatedBytes() {
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
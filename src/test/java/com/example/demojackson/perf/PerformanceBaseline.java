@@ -0,0 +1,104 @@
+package com.example.demojackson.perf;
+
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * fixture 별 기준값 파일 (properties, key 순으로 정렬해서 저장)
+ *
+ * <pre>
+ * java.version=17
+ * Ex1.JsonPropertyOrderObject.deserialize.bytes=1864
+ * Ex1.JsonPropertyOrderObject.deserialize.time=0.42
+ * </pre>
+ *
+ * bytes 는 한 번에 할당한 bytes, time 은 같은 JVM 에서 잰 기준 작업 대비 비율이라 기계가 달라도 비교할 수 있다
+ * 파일 위치는 perf.baseline.file (기본 src/test/resources/perf-baseline.properties)
+ * perf.baseline.update=true 면 비교하지 않고, 테스트가 모두 끝난 뒤 잰 값으로 파일을 갱신한다
+ */
+@Log4j2
+final class PerformanceBaseline implements ExtensionContext.Store.CloseableResource {
+    static final String FILE_PROPERTY = "perf.baseline.file";
+    static final String UPDATE_PROPERTY = "perf.baseline.update";
+    static final String DEFAULT_FILE = "src/test/resources/perf-baseline.properties";
+    private static final String JAVA_VERSION = "java.version";
+
+    private final Path file;
+    private final boolean update;
+    private final Map<String, String> values;
+    private final Map<String, String> measured = new TreeMap<>();
+
+    PerformanceBaseline(Path file, boolean update, Map<String, String> values) {
+        this.file = file;
+        this.update = update;
+        this.values = values;
+    }
+
+    static PerformanceBaseline load() throws IOException {
+        Path file = Paths.get(System.getProperty(FILE_PROPERTY, DEFAULT_FILE));
+        Map<String, String> values = new TreeMap<>();
+        if (Files.exists(file)) {
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+            properties.stringPropertyNames().forEach(key -> values.put(key, properties.getProperty(key)));
+        }
+        return new PerformanceBaseline(file, Boolean.getBoolean(UPDATE_PROPERTY), values);
+    }
+
+    boolean isUpdate() {
+        return update;
+    }
+
+    /**
+     * 기준값을 잰 JVM 과 major 버전이 같은지 (다르면 할당량이 달라서 비교하지 않는다)
+     */
+    boolean isSameJava() {
+        return javaVersion().equals(values.get(JAVA_VERSION));
+    }
+
+    Double get(String key) {
+        String value = values.get(key);
+        return value == null ? null : Double.valueOf(value);
+    }
+
+    synchronized void put(String key, String value) {
+        measured.put(key, value);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!update || measured.isEmpty()) {
+            return;
+        }
+        Map<String, String> merged = new TreeMap<>(values);
+        merged.putAll(measured);
+        merged.put(JAVA_VERSION, javaVersion());
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("# ./gradlew test -Pperf.baseline.update=true 로 갱신 (PerformanceRegressionExtension)\n");
+            for (Map.Entry<String, String> entry : merged.entrySet()) {
+                writer.write(entry.getKey() + "=" + entry.getValue() + "\n");
+            }
+        }
+        log.info("updated {} performance baselines in {}", measured.size(), file.toAbsolutePath());
+    }
+
+    private static String javaVersion() {
+        return System.getProperty("java.specification.version");
+    }
+}
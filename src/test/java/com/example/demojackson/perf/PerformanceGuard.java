@@ -0,0 +1,126 @@
+package com.example.demojackson.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * fixture 하나의 serialize / deserialize 할당량과 시간을 재서 기준값 파일과 비교한다
+ * {@link PerformanceRegressionExtension} 이 테스트 메서드 인자로 넣어 준다
+ *
+ * <pre>
+ * guard.roundTrip("Ex1.JsonPropertyOrderObject", objectMapper, JsonPropertyOrderObject.class, json);
+ * guard.serialize("Ex4.ItemWithRef", objectMapper, item);
+ * </pre>
+ *
+ * 할당이 기준값의 perf.allocation.tolerance (기본 10%) + 16 bytes 를 넘으면 실패
+ * 기준값을 잰 Java 버전과 다르면 할당량이 달라지므로 비교하지 않는다
+ * 시간은 기록과 로그만 하고, perf.time.tolerance (예: 2.0 배) 를 주면 비교한다
+ * (100 ns 단위 작업은 JIT 시점에 따라 같은 기계에서도 실행마다 2 ~ 4 배씩 달라져서 공용 CI 에서는 쓸 수 없다)
+ */
+@Log4j2
+public class PerformanceGuard {
+    static final String ALLOCATION_TOLERANCE_PROPERTY = "perf.allocation.tolerance";
+    static final String TIME_TOLERANCE_PROPERTY = "perf.time.tolerance";
+    private static final long ALLOCATION_SLACK = 16;
+
+    private final PerformanceBaseline baseline;
+    private final double allocationTolerance;
+    /**
+     * null 이면 시간은 비교하지 않음
+     */
+    private final Double timeTolerance;
+
+    PerformanceGuard(PerformanceBaseline baseline) {
+        this(baseline, Double.parseDouble(System.getProperty(ALLOCATION_TOLERANCE_PROPERTY, "0.1")),
+                System.getProperty(TIME_TOLERANCE_PROPERTY) == null
+                        ? null : Double.valueOf(System.getProperty(TIME_TOLERANCE_PROPERTY)));
+    }
+
+    PerformanceGuard(PerformanceBaseline baseline, double allocationTolerance, Double timeTolerance) {
+        this.baseline = baseline;
+        this.allocationTolerance = allocationTolerance;
+        this.timeTolerance = timeTolerance;
+    }
+
+    /**
+     * json 을 읽고 (deserialize) 읽은 값을 다시 쓴다 (serialize)
+     */
+    public void roundTrip(String fixture, ObjectMapper objectMapper, Class<?> type, String json) throws Exception {
+        roundTrip(fixture, objectMapper.readerFor(type), objectMapper.writerFor(type), json);
+    }
+
+    public void roundTrip(String fixture, ObjectReader reader, ObjectWriter writer, String json) throws Exception {
+        Object value = reader.readValue(json);
+        check(fixture + ".deserialize", Measurement.of(() -> reader.readValue(json)));
+        check(fixture + ".serialize", Measurement.of(() -> writer.writeValueAsBytes(value)));
+    }
+
+    /**
+     * 읽을 수 없는 fixture (@JsonBackReference Collection, AM/PM 없는 시간 형식 등) 용
+     */
+    public void serialize(String fixture, ObjectMapper objectMapper, Object value) throws Exception {
+        ObjectWriter writer = objectMapper.writerFor(value.getClass());
+        check(fixture + ".serialize", Measurement.of(() -> writer.writeValueAsBytes(value)));
+    }
+
+    void check(String key, Measurement measurement) throws Exception {
+        // 바로 이어서 잰 기준 작업과의 비율 (그 사이 기계 부하가 바뀌어도 같이 바뀐다)
+        double time = measurement.getNanosPerOp() / Measurement.of(Reference.OPERATION).getNanosPerOp();
+        log.info("{}: {} B/op, {} ns/op ({} x reference)", key, measurement.getBytesPerOp(),
+                Math.round(measurement.getNanosPerOp()), format(time));
+        if (baseline.isUpdate()) {
+            baseline.put(key + ".bytes", Long.toString(measurement.getBytesPerOp()));
+            baseline.put(key + ".time", format(time));
+            return;
+        }
+        Double baselineBytes = baseline.get(key + ".bytes");
+        Double baselineTime = baseline.get(key + ".time");
+        assertThat(baselineBytes != null && baselineTime != null)
+                .as("no performance baseline for %s, record it with ./gradlew test -P%s=true", key,
+                        PerformanceBaseline.UPDATE_PROPERTY)
+                .isTrue();
+
+        List<String> regressions = new ArrayList<>();
+        if (!baseline.isSameJava()) {
+            log.warn("{}: baseline was recorded on another Java version, allocation not compared", key);
+        } else if (measurement.getBytesPerOp() > baselineBytes * (1 + allocationTolerance) + ALLOCATION_SLACK) {
+            regressions.add(String.format(Locale.ROOT, "allocates %d B/op, baseline %.0f B/op",
+                    measurement.getBytesPerOp(), baselineBytes));
+        }
+        if (timeTolerance != null && time > baselineTime * timeTolerance) {
+            regressions.add(String.format(Locale.ROOT, "takes %s x reference, baseline %s x", format(time),
+                    format(baselineTime)));
+        }
+        assertThat(regressions)
+                .as("%s regressed (update the baseline with -P%s=true if intended)", key,
+                        PerformanceBaseline.UPDATE_PROPERTY)
+                .isEmpty();
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    /**
+     * 시간의 기준 작업: 기본 ObjectMapper 로 작은 bean 하나를 읽고 쓴다
+     * 테스트하는 설정 (모듈, annotation) 과 관계없으므로 기계 / JVM 의 속도만 반영한다
+     */
+    static class Reference {
+        static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+        static final String JSON = "{\"id\":1,\"name\":\"reference\",\"tags\":[\"a\",\"b\",\"c\"]}";
+        static final Measurement.Operation OPERATION = () -> OBJECT_MAPPER.writeValueAsBytes(
+                OBJECT_MAPPER.readValue(JSON, Reference.class));
+
+        public int id;
+        public String name;
+        public List<String> tags;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.demojackson.perf;
+
+import com.example.demojackson.ex.Ex3.MyBean;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+    PerformanceGuard 테스트
+    기준값보다 많이 할당하거나 기준값이 없으면 실패, 갱신 모드면 비교 없이 파일을 다시 쓴다
+ */
+public class PerformanceGuardTests {
+    static final String JSON = "{\"id\":1,\"name\":\"bean\"}";
+
+    final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void whenAllocationExceedsBaseline_thenFails(@TempDir Path dir) throws Exception {
+        Map<String, String> values = new TreeMap<>();
+        values.put("java.version", System.getProperty("java.specification.version"));
+        values.put("MyBean.serialize.bytes", "1000000");
+        values.put("MyBean.serialize.time", "100");
+        values.put("MyBean.deserialize.bytes", "1");
+        values.put("MyBean.deserialize.time", "100");
+        PerformanceGuard guard = new PerformanceGuard(
+                new PerformanceBaseline(dir.resolve("baseline.properties"), false, values), 0.1, 2.0);
+
+        assertThatThrownBy(() -> guard.roundTrip("MyBean", objectMapper, MyBean.class, JSON))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("MyBean.deserialize regressed")
+                .hasMessageContaining("baseline 1 B/op");
+        guard.serialize("MyBean", objectMapper, new MyBean(1, "bean"));
+        assertThatThrownBy(() -> guard.serialize("Other", objectMapper, new MyBean(1, "bean")))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("no performance baseline for Other.serialize");
+
+        // 다른 Java 버전에서 잰 기준값이면 할당은 비교하지 않는다
+        values.put("java.version", "1.8");
+        new PerformanceGuard(new PerformanceBaseline(dir.resolve("baseline.properties"), false, values), 0.1, null)
+                .roundTrip("MyBean", objectMapper, MyBean.class, JSON);
+    }
+
+    @Test
+    void whenUpdating_thenBaselineWrittenSorted(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("baseline.properties");
+        Map<String, String> values = new TreeMap<>();
+        values.put("Kept.serialize.bytes", "10");
+        PerformanceBaseline baseline = new PerformanceBaseline(file, true, values);
+        new PerformanceGuard(baseline, 0.1, 2.0).roundTrip("MyBean", objectMapper, MyBean.class, JSON);
+        baseline.close();
+
+        assertThat(Files.readAllLines(file)).filteredOn(line -> !line.startsWith("#"))
+                .extracting(line -> line.substring(0, line.indexOf('=')))
+                .containsExactly("Kept.serialize.bytes", "MyBean.deserialize.bytes", "MyBean.deserialize.time",
+                        "MyBean.serialize.bytes", "MyBean.serialize.time", "java.version");
+    }
+}
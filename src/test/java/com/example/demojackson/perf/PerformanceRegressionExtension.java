@@ -0,0 +1,51 @@
+package com.example.demojackson.perf;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * 테스트 메서드에 {@link PerformanceGuard} 를 넣어 주는 JUnit 5 extension
+ *
+ * <pre>
+ * &#64;ExtendWith(PerformanceRegressionExtension.class)
+ * class SomePerformanceTests {
+ *     &#64;Test
+ *     void fixture(PerformanceGuard guard) throws Exception {
+ *         guard.roundTrip("Some.Dto", objectMapper, Dto.class, json);
+ *     }
+ * }
+ * </pre>
+ *
+ * 기준값 파일은 테스트 실행 전체에서 한 번 읽고, 갱신 모드면 모든 테스트가 끝난 뒤 한 번 쓴다
+ * ./gradlew test -Pperf.baseline.update=true 로 갱신, -Pperf.allocation.tolerance / -Pperf.time.tolerance 로 허용치 조정
+ */
+public class PerformanceRegressionExtension implements ParameterResolver {
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(PerformanceRegressionExtension.class);
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext)
+            throws ParameterResolutionException {
+        return parameterContext.getParameter().getType() == PerformanceGuard.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext)
+            throws ParameterResolutionException {
+        // root store 는 테스트 실행이 끝날 때 close (갱신 모드면 파일 쓰기)
+        PerformanceBaseline baseline = extensionContext.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(PerformanceBaseline.class, key -> {
+                    try {
+                        return PerformanceBaseline.load();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, PerformanceBaseline.class);
+        return new PerformanceGuard(baseline);
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.demojackson.polymorphic;
+
+import com.example.demojackson.ex.JsonTypeEx;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.InvalidTypeIdException;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+    PolymorphicTypeModule 테스트
+    type 위치 / 입력 종류 (byte[], String, InputStream) 와 관계없이 Jackson 기본 처리와 같은 결과여야 함
+ */
+@Log4j2
+public class PolymorphicTypeModuleTests {
+    final ObjectMapper plainMapper = new ObjectMapper();
+    final ObjectMapper objectMapper = new ObjectMapper().registerModule(new PolymorphicTypeModule());
+
+    @Test
+    void whenModuleRegistered_thenPrescanTypeDeserializerIsUsed() throws Exception {
+        TypeDeserializer typeDeserializer = objectMapper.getDeserializationConfig()
+                .findTypeDeserializer(objectMapper.constructType(JsonTypeEx.Animal.class));
+
+        assertThat(typeDeserializer).isInstanceOf(PrescanTypeDeserializer.class);
+    }
+
+    @Test
+    void whenTypeIsAnywhere_thenSameAsTokenBuffer() throws Exception {
+        List<String> inputs = List.of(
+                "{\"type\":\"cat\",\"name\":\"lacy\",\"likesCream\":true,\"lives\":9}",
+                "{\"name\":\"lacy\",\"type\":\"cat\",\"likesCream\":true,\"lives\":9}",
+                "{\"name\":\"lacy\",\"likesCream\":true,\"lives\":9,\"type\":\"cat\"}",
+                "{ \"name\" : \"la\\\"cy}\" ,\n\t\"likesCream\" : true , \"lives\" : 9 , \"type\" : \"cat\" }");
+
+        for (String json : inputs) {
+            JsonTypeEx.Cat expected = (JsonTypeEx.Cat) plainMapper.readValue(json, JsonTypeEx.Animal.class);
+
+            for (JsonTypeEx.Animal animal : readAll(JsonTypeEx.Animal.class, json)) {
+                assertThat(animal).isInstanceOf(JsonTypeEx.Cat.class).usingRecursiveComparison().isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void whenNestedAndInArrays_thenEachObjectUsesItsOwnType() throws Exception {
+        String json = "{\"zoo\":[{\"name\":\"a\",\"inner\":{\"label\":\"x\",\"kind\":\"leaf\"},\"kind\":\"node\"},"
+                + "{\"kind\":\"leaf\",\"label\":\"b\"},"
+                + "{\"children\":[{\"label\":\"c\",\"kind\":\"leaf\"}],\"name\":\"d\",\"kind\":\"node\","
+                + "\"tags\":{\"kind\":\"not a type\"}}]}";
+
+        Zoo expected = plainMapper.readValue(json, Zoo.class);
+
+        for (Zoo zoo : readAll(Zoo.class, json)) {
+            assertThat(zoo).usingRecursiveComparison().isEqualTo(expected);
+            assertThat(zoo.zoo.get(0)).isInstanceOf(Node.class);
+            assertThat(((Node) zoo.zoo.get(0)).inner).isInstanceOf(Leaf.class);
+            assertThat(((Node) zoo.zoo.get(2)).tags).containsEntry("kind", "not a type");
+        }
+    }
+
+    @Test
+    void whenTypeIdVisible_thenPropertyIsSet() throws Exception {
+        String json = "{\"value\":1,\"kind\":\"visible\"}";
+
+        Visible visible = objectMapper.readValue(json, Visible.class);
+
+        assertThat(visible.kind).isEqualTo("visible");
+        assertThat(visible.value).isEqualTo(1);
+    }
+
+    @Test
+    void whenTypeMissingOrUnknown_thenSameErrorAsJackson() {
+        ObjectReader reader = objectMapper.readerFor(JsonTypeEx.Animal.class);
+
+        assertThatThrownBy(() -> reader.readValue("{\"name\":\"lacy\",\"type\":\"bird\"}"))
+                .isInstanceOf(InvalidTypeIdException.class)
+                .hasMessageContaining("bird");
+        assertThatThrownBy(() -> reader.readValue("{\"name\":\"lacy\"}"))
+                .isInstanceOf(InvalidTypeIdException.class)
+                .hasMessageContaining("missing type id");
+        // 두 번째 type 은 일반 프로퍼티로 취급 (Jackson 과 같음)
+        assertThatThrownBy(() -> reader.readValue("{\"name\":\"lacy\",\"type\":\"cat\",\"type\":\"cat\"}"))
+                .isInstanceOf(UnrecognizedPropertyException.class);
+    }
+
+    @Test
+    void whenStreamIsLongerThanParserBuffer_thenStillCorrect() throws Exception {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 2_000; i++) {
+            json.append(i == 0 ? "" : ",")
+                    .append("{\"name\":\"lacy").append(i).append("\",\"likesCream\":true,\"lives\":").append(i)
+                    .append(",\"type\":\"cat\"}");
+        }
+        json.append("]");
+        byte[] bytes = json.toString().getBytes(StandardCharsets.UTF_8);
+
+        List<JsonTypeEx.Animal> animals = objectMapper.readValue(new ByteArrayInputStream(bytes),
+                new TypeReference<List<JsonTypeEx.Animal>>() {
+                });
+
+        assertThat(animals).hasSize(2_000);
+        for (int i = 0; i < animals.size(); i++) {
+            assertThat(((JsonTypeEx.Cat) animals.get(i)).lives).isEqualTo(i);
+        }
+    }
+
+    @Test
+    void whenScanning_thenFirstFlagAndIndex() {
+        TypeIdScanner scanner = new TypeIdScanner("type", TypeIdTable.of(List.of("dog", "cat")));
+
+        assertThat(scan(scanner, "\"type\":\"cat\",\"a\":1}")).isEqualTo(1 << 1 | 1);
+        assertThat(scan(scanner, "\"a\":[1,{\"type\":\"dog\"}],\"type\":\"dog\"}")).isEqualTo(0);
+        assertThat(scan(scanner, "\"a\":\"\\\"type\\\"\",\"type\":\"cat\"}")).isEqualTo(1 << 1);
+        assertThat(scan(scanner, "\"a\":1}")).isEqualTo(TypeIdScanner.UNKNOWN);
+        assertThat(scan(scanner, "\"a\":1,\"type\":\"bird\"}")).isEqualTo(TypeIdScanner.UNKNOWN);
+        assertThat(scan(scanner, "\"a\":1,\"ty")).isEqualTo(TypeIdScanner.UNKNOWN);
+        assertThat(scan(scanner, "\"t\\u0079pe\":\"cat\"}")).isEqualTo(TypeIdScanner.UNKNOWN);
+    }
+
+    @Test
+    void whenParserIsAtStartObject_thenScansParserBufferWithoutMovingIt() throws Exception {
+        TypeIdScanner scanner = new TypeIdScanner("type", TypeIdTable.of(List.of("dog", "cat")));
+        String json = "{\"name\":\"lacy\",\"type\":\"cat\"}";
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+
+        for (JsonParser p : List.of(objectMapper.createParser(bytes), objectMapper.createParser(json),
+                objectMapper.createParser(new ByteArrayInputStream(bytes)))) {
+            assertThat(p.nextToken()).isEqualTo(JsonToken.START_OBJECT);
+
+            assertThat(scanner.scan(p)).isEqualTo(1 << 1);
+            assertThat(p.nextFieldName()).isEqualTo("name");
+        }
+    }
+
+    private int scan(TypeIdScanner scanner, String input) {
+        byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+        int result = scanner.scan(bytes, 0, bytes.length);
+        assertThat(scanner.scan(input.toCharArray(), 0, input.length())).isEqualTo(result);
+        return result;
+    }
+
+    private <T> List<T> readAll(Class<T> type, String json) throws Exception {
+        ObjectReader reader = objectMapper.readerFor(type);
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return List.of(reader.readValue(bytes), reader.readValue(json), reader.readValue(new ByteArrayInputStream(bytes)));
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Zoo {
+        public List<Tree> zoo;
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "kind")
+    @JsonSubTypes({
+            @JsonSubTypes.Type(value = Node.class, name = "node"),
+            @JsonSubTypes.Type(value = Leaf.class, name = "leaf")
+    })
+    public static abstract class Tree {
+    }
+
+    public static class Node extends Tree {
+        public String name;
+        public Tree inner;
+        public List<Tree> children;
+        public Map<String, String> tags;
+    }
+
+    public static class Leaf extends Tree {
+        public String label;
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.EXISTING_PROPERTY, property = "kind",
+            visible = true)
+    @JsonSubTypes(@JsonSubTypes.Type(value = Visible.class, name = "visible"))
+    public static class Visible {
+        public String kind;
+        public int value;
+    }
+}
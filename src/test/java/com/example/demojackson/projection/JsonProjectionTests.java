@@ -0,0 +1,164 @@
+package com.example.demojackson.projection;
+
+import com.example.demojackson.ex.Ex3.User;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+    JsonProjection / ProjectionReader 테스트
+    선택한 경로만 원래 bytes 그대로 남아야 하고, 대상 타입으로 읽은 결과는 전체 문서를 읽은 결과와 같아야 함
+ */
+@Log4j2
+public class JsonProjectionTests {
+    final ObjectMapper plainMapper = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    static final String ORDER = "{\"id\":7,\"note\":\"}{][\\\"\",\"customer\":{\"name\":\"Kim\",\"tags\":[\"a\",{\"b\":1}],"
+            + "\"address\":{\"city\":\"Seoul\"}},\"items\":[{\"sku\":\"s1\",\"qty\":1},{\"qty\":2},{\"sku\":\"s3\","
+            + "\"extra\":[[1],[2]]},5],\"a/b\":1,\"m~n\":true,\"x\":null}";
+
+    @Test
+    void whenFieldMask_thenOnlySelectedPathsRemain() throws Exception {
+        assertThat(project(JsonProjection.fieldMask("id,customer.name,items.sku"), ORDER))
+                .isEqualTo("{\"id\":7,\"customer\":{\"name\":\"Kim\"},\"items\":[{\"sku\":\"s1\"},{},{\"sku\":\"s3\"}]}");
+        // 하위 전체를 고른 경로가 있으면 더 긴 경로는 의미가 없다
+        assertThat(project(JsonProjection.fieldMask("customer.address.city, customer"), ORDER))
+                .isEqualTo("{\"customer\":{\"name\":\"Kim\",\"tags\":[\"a\",{\"b\":1}],\"address\":{\"city\":\"Seoul\"}}}");
+        // 경로 중간에 객체 / 배열이 아닌 값은 버린다
+        assertThat(project(JsonProjection.fieldMask("note.length,x.y,id"), ORDER)).isEqualTo("{\"id\":7}");
+        assertThat(project(JsonProjection.fieldMask("unknown"), ORDER)).isEqualTo("{}");
+        // 최상위 배열도 투명하다
+        assertThat(project(JsonProjection.fieldMask("id"), "[" + ORDER + "," + ORDER + "]"))
+                .isEqualTo("[{\"id\":7},{\"id\":7}]");
+    }
+
+    @Test
+    void whenPointers_thenRfc6901Paths() throws Exception {
+        assertThat(project(JsonProjection.pointers("/customer/name", "/items/2/sku", "/a~1b", "/m~0n"), ORDER))
+                .isEqualTo("{\"customer\":{\"name\":\"Kim\"},\"items\":[{\"sku\":\"s3\"}],\"a/b\":1,\"m~n\":true}");
+        assertThat(project(JsonProjection.pointers("/items/3", "/items/0"), ORDER))
+                .isEqualTo("{\"items\":[{\"sku\":\"s1\",\"qty\":1},5]}");
+        assertThat(project(JsonProjection.pointers("/1/id"), "[" + ORDER + "," + ORDER + "]"))
+                .isEqualTo("[{\"id\":7}]");
+        // "" 는 문서 전체
+        assertThat(project(JsonProjection.pointers(""), ORDER)).isEqualTo(ORDER);
+        assertThatThrownBy(() -> JsonProjection.pointers("id")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> JsonProjection.fieldMask("a,,b")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> JsonProjection.fieldMask("a..b")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void whenInputIsFormattedOrEscaped_thenSameTreeAsJackson() throws Exception {
+        String pretty = plainMapper.writer(SerializationFeature.INDENT_OUTPUT)
+                .writeValueAsString(plainMapper.readTree(ORDER));
+        JsonProjection projection = JsonProjection.fieldMask("id,customer.name,items.sku");
+        assertThat(plainMapper.readTree(project(projection, pretty)))
+                .isEqualTo(plainMapper.readTree(project(projection, ORDER)));
+
+        // escape 된 필드명, 멀티바이트 문자, 긴 문자열 (8 bytes 단위 검사 경계)
+        String escaped = "{\"\\u0069d\":1,\"na\\\"me\":\"\\\\\\\"" + "x".repeat(37) + "\",\"이름\":\"값\\n\","
+                + "\"skip\":\"" + "\\\"".repeat(9) + "{\\\\\"}";
+        assertThat(project(JsonProjection.pointers("/id", "/na\"me", "/이름"), escaped))
+                .isEqualTo("{\"\\u0069d\":1,\"na\\\"me\":\"\\\\\\\"" + "x".repeat(37) + "\",\"이름\":\"값\\n\"}");
+        assertThat(project(JsonProjection.fieldMask("id"), "\uFEFF {\"id\" : 1 , \"b\" : [ ] }"))
+                .isEqualTo("{\"id\":1}");
+    }
+
+    @Test
+    void whenInputIsMalformed_thenJsonParseException() {
+        JsonProjection projection = JsonProjection.fieldMask("id");
+        for (String json : List.of("", "{\"id\":1", "{\"id\" 1}", "{\"skip\":\"abc", "{\"skip\":{\"a\":[1,2}",
+                "{\"id\":1 \"b\":2}", "{id:1}", "[1,2", "{\"skip\":}")) {
+            assertThatThrownBy(() -> project(projection, json)).as(json).isInstanceOf(JsonParseException.class);
+        }
+        String deep = "[".repeat(2000) + "]".repeat(2000);
+        assertThatThrownBy(() -> project(projection, deep)).isInstanceOf(JsonParseException.class)
+                .hasMessageContaining("depth");
+    }
+
+    @Test
+    void whenReadingProjection_thenSameAsFullRead() throws Exception {
+        ProjectionReader<Summary> reader = new ProjectionReader<>(plainMapper, Summary.class,
+                JsonProjection.fieldMask("id,customer.name,items.sku,items.qty"));
+        for (int i = 0; i < 20; i++) {
+            byte[] json = largeRecord(i).getBytes(StandardCharsets.UTF_8);
+            Summary expected = plainMapper.readValue(json, Summary.class);
+
+            assertThat(plainMapper.writeValueAsString(reader.read(json)))
+                    .isEqualTo(plainMapper.writeValueAsString(expected));
+            assertThat(plainMapper.writeValueAsString(reader.read(new ByteArrayInputStream(json))))
+                    .isEqualTo(plainMapper.writeValueAsString(expected));
+        }
+
+        // 필요한 부분은 10% 미만
+        byte[] json = largeRecord(1).getBytes(StandardCharsets.UTF_8);
+        byte[] projected = reader.getProjection().project(json);
+        log.info("{} -> {} bytes", json.length, projected.length);
+        assertThat(projected.length * 10).isLessThan(json.length);
+
+        // @JsonIgnoreType 인 Ex3.User.Name 은 고르지 않으면 parser 에도 오지 않는다
+        User user = new ProjectionReader<>(plainMapper, User.class, JsonProjection.fieldMask("id"))
+                .read("{\"name\":{\"firstName\":\"a\",\"lastName\":\"b\"},\"id\":3}".getBytes(StandardCharsets.UTF_8));
+        assertThat(user.id).isEqualTo(3);
+        assertThat(user.name).isNull();
+    }
+
+    private static String project(JsonProjection projection, String json) throws IOException {
+        return new String(projection.project(json.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 대부분이 버려지는 주문 문서 (id, customer.name, items 의 sku / qty 만 필요)
+     */
+    public static String largeRecord(int i) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"id\":").append(i)
+                .append(",\"description\":\"").append("Lorem ipsum \\\"dolor\\\" sit amet, {consectetur} [adipiscing] ".repeat(8))
+                .append("\",\"customer\":{\"name\":\"customer").append(i)
+                .append("\",\"email\":\"c").append(i).append("@example.com\",\"address\":{\"street\":\"")
+                .append("Teheran-ro ").append(i).append("\",\"city\":\"Seoul\",\"zip\":\"06236\",\"geo\":[37.5,127.03]},")
+                .append("\"preferences\":{\"newsletter\":true,\"language\":\"ko-KR\",\"categories\":[\"books\",\"music\",\"games\"]}},")
+                .append("\"items\":[");
+        for (int k = 0; k < 3; k++) {
+            sb.append(k == 0 ? "" : ",").append("{\"sku\":\"SKU-").append(i).append('-').append(k)
+                    .append("\",\"qty\":").append(k + 1).append(",\"title\":\"item title ").append(k)
+                    .append("\",\"attributes\":{\"color\":\"red\",\"size\":\"L\",\"weight\":1.25}}");
+        }
+        sb.append("],\"history\":[");
+        for (int k = 0; k < 20; k++) {
+            sb.append(k == 0 ? "" : ",").append("{\"at\":\"2021-09-").append(10 + k % 20)
+                    .append("T10:15:30Z\",\"status\":\"STATUS_").append(k).append("\",\"by\":{\"user\":\"op").append(k)
+                    .append("\",\"roles\":[\"admin\",\"ops\"]},\"comment\":\"status changed \\u00e9 \\\"").append(k)
+                    .append("\\\"\"}");
+        }
+        return sb.append("],\"metadata\":{\"source\":\"upstream\",\"version\":3,\"trace\":\"")
+                .append("0123456789abcdef".repeat(4)).append("\"}}").toString();
+    }
+
+    public static class Summary {
+        public long id;
+        public Customer customer;
+        public List<Item> items;
+    }
+
+    public static class Customer {
+        public String name;
+    }
+
+    public static class Item {
+        public String sku;
+        public int qty;
+    }
+}
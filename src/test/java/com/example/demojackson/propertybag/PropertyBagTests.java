@@ -0,0 +1,202 @@
+package com.example.demojackson.propertybag;
+
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.core.util.InternCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.demojackson.ex.Ex2;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+    PropertyBag 테스트
+    Ex1.JsonAnyGetterObject, Ex2.ExtendableBean 의 HashMap 을 PropertyBag 으로 바꾼 bean 사용
+ */
+@Log4j2
+public class PropertyBagTests {
+    final ObjectMapper objectMapper = new ObjectMapper().registerModule(new PropertyBagModule());
+
+    @Test
+    void whenRandomOperations_thenSameAsHashMap() {
+        Random random = new Random(42);
+        PropertyBag bag = new PropertyBag();
+        Map<String, String> expected = new HashMap<>();
+
+        for (int i = 0; i < 20_000; i++) {
+            String key = "attr" + random.nextInt(40);
+            int op = random.nextInt(10);
+            if (op < 6) {
+                assertThat(bag.put(key, "v" + i)).isEqualTo(expected.put(key, "v" + i));
+            } else if (op < 8) {
+                assertThat(bag.remove(key)).isEqualTo(expected.remove(key));
+            } else {
+                assertThat(bag.get(key)).isEqualTo(expected.get(key));
+            }
+            assertThat(bag.size()).isEqualTo(expected.size());
+        }
+        assertThat(bag).isEqualTo(expected);
+        assertThat(bag.hashCode()).isEqualTo(expected.hashCode());
+    }
+
+    @Test
+    void whenPutting_thenKeysAreCanonicalAndOrderIsKept() {
+        PropertyBag first = new PropertyBag();
+        PropertyBag second = new PropertyBag();
+
+        first.put(new String("attr2"), "a");
+        first.put(new String("attr1"), "b");
+        second.put(new String("attr2"), "c");
+
+        assertThat(first.keyAt(0)).isSameAs(second.keyAt(0));
+        assertThat(first.keyAt(1)).isEqualTo("attr1");
+        assertThat(first.valueAt(1)).isEqualTo("b");
+
+        // 임의의 key 는 Jackson 전역 InternCache 에 들어가지 않는다
+        int interned = InternCache.instance.size();
+        PropertyBag dynamic = new PropertyBag();
+        for (int i = 0; i < 10_000; i++) {
+            dynamic.put("dynamic-" + i, "v");
+        }
+        assertThat(InternCache.instance.size()).isEqualTo(interned);
+        assertThat(dynamic.get("dynamic-9999")).isEqualTo("v");
+    }
+
+    @Test
+    void whenSerializingUsingJsonAnyGetter_thenFieldsInInsertionOrder() throws Exception {
+        CompactAnyGetterObject o = new CompactAnyGetterObject();
+        o.name = "name";
+        o.add("key2", "value2");
+        o.add("key1", "value1");
+
+        String result = objectMapper.writeValueAsString(o);
+
+        log.info(result);
+        assertThat(result).isEqualTo("{\"name\":\"name\",\"key2\":\"value2\",\"key1\":\"value1\"}");
+        // 모듈 없이도 Map 으로 동작
+        assertThat(new ObjectMapper().writeValueAsString(o)).isEqualTo(result);
+    }
+
+    @Test
+    void whenDeserializingUsingJsonAnySetter_thenCorrect() throws Exception {
+        String json = "{\"name\":\"My bean\",\"attr2\":\"val2\",\"attr1\":\"val1\"}";
+
+        CompactExtendableBean bean = objectMapper.readerFor(CompactExtendableBean.class)
+                .readValue(json);
+
+        assertThat(bean.name).isEqualTo("My bean");
+        assertThat(bean.getProperties().get("attr1")).isEqualTo("val1");
+        assertThat(bean.getProperties().get("attr2")).isEqualTo("val2");
+        assertThat(bean.getProperties().keyAt(0)).isEqualTo("attr2");
+    }
+
+    @Test
+    void whenPropertyBagIsPropertyOrUnwrapped_thenRoundTrip() throws Exception {
+        Holder holder = new Holder();
+        holder.attributes.put("a", "1");
+        holder.attributes.put("b", null);
+        holder.extra.put("c", "3");
+
+        String result = objectMapper.writeValueAsString(holder);
+
+        log.info(result);
+        assertThat(result).isEqualTo("{\"attributes\":{\"a\":\"1\",\"b\":null},\"c\":\"3\"}");
+
+        Holder read = objectMapper.readValue("{\"attributes\":{\"a\":1,\"b\":null,\"c\":true}}", Holder.class);
+        assertThat(read.attributes.keySet()).containsExactly("a", "b", "c");
+        assertThat(read.attributes.values()).containsExactly("1", null, "true");
+    }
+
+    /**
+     * 속성 개수별 객체 하나의 heap 사용량 (bean + 속성 컨테이너, key / value String 제외) 비교
+     * Ex2.ExtendableBean (HashMap) 과 CompactExtendableBean (PropertyBag)
+     */
+    @Test
+    void whenHoldingManyBeans_thenPropertyBagUsesLessHeap() {
+        int count = 200_000;
+        for (int attributes : new int[]{3, 5, 10}) {
+            String[] keys = new String[attributes];
+            for (int j = 0; j < attributes; j++) {
+                keys[j] = ("attr" + j).intern();
+            }
+
+            long hashMap = bytesPerObject(count, () -> {
+                Ex2.ExtendableBean bean = new Ex2.ExtendableBean();
+                for (String key : keys) {
+                    bean.add(key, "value");
+                }
+                return bean;
+            });
+            long propertyBag = bytesPerObject(count, () -> {
+                CompactExtendableBean bean = new CompactExtendableBean();
+                for (String key : keys) {
+                    bean.add(key, "value");
+                }
+                return bean;
+            });
+
+            log.info("{} attributes: HashMap {} bytes/object, PropertyBag {} bytes/object",
+                    attributes, hashMap, propertyBag);
+            assertThat(propertyBag).isLessThan(hashMap * 2 / 3);
+        }
+    }
+
+    private static long bytesPerObject(int count, Supplier<Object> factory) {
+        long before = usedHeap();
+        Object[] objects = new Object[count];
+        for (int i = 0; i < count; i++) {
+            objects[i] = factory.get();
+        }
+        long after = usedHeap();
+        long bytes = (after - before) / count - 4;
+        assertThat(objects[count - 1]).isNotNull();
+        return bytes;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    public static class CompactAnyGetterObject {
+        public String name;
+        private final PropertyBag properties = new PropertyBag();
+
+        public void add(String key, String value) {
+            this.properties.put(key, value);
+        }
+
+        @JsonAnyGetter
+        public PropertyBag getProperties() {
+            return properties;
+        }
+    }
+
+    @Getter
+    public static class CompactExtendableBean {
+        public String name;
+        private final PropertyBag properties = new PropertyBag();
+
+        @JsonAnySetter
+        public void add(String key, String value) {
+            properties.put(key, value);
+        }
+    }
+
+    public static class Holder {
+        public PropertyBag attributes = new PropertyBag();
+        @JsonUnwrapped
+        public PropertyBag extra = new PropertyBag();
+    }
+}
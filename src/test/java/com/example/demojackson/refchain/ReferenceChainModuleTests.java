@@ -0,0 +1,268 @@
+package com.example.demojackson.refchain;
+
+import com.example.demojackson.ex.Ex4.ItemWithRef;
+import com.example.demojackson.ex.Ex4.UserWithRef;
+import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.NoArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+/*
+    ReferenceChainModule 테스트
+    결과는 Jackson 기본 처리와 같아야 하고, 10만 단계 이상도 작은 thread stack (256 KB) 에서 읽고 쓸 수 있어야 한다
+ */
+@Log4j2
+public class ReferenceChainModuleTests {
+    static final int DEPTH = 200_000;
+    static final long SMALL_STACK = 256 * 1024;
+
+    final ObjectMapper jackson = new ObjectMapper();
+    final ObjectMapper chain = new ObjectMapper().registerModule(new ReferenceChainModule(DEPTH + 1));
+
+    @Test
+    void whenWritingShallowModels_thenSameJsonAsJackson() throws Exception {
+        UserWithRef user = new UserWithRef(2, "John");
+        ItemWithRef item = new ItemWithRef(1, "book", user);
+        user.addItem(item);
+        Reply reply = replies(20);
+        OrgUnit org = org(4, 3);
+
+        // Ex4.ItemWithRef 는 back reference 타입이 List 라서 Jackson 도 deserialize 할 수 없다
+        assertThat(chain.writeValueAsString(item)).isEqualTo(jackson.writeValueAsString(item));
+
+        for (Object value : List.of(reply, org)) {
+            String json = jackson.writeValueAsString(value);
+            assertThat(chain.writeValueAsString(value)).isEqualTo(json);
+
+            Object read = chain.readValue(json, value.getClass());
+            assertThat(chain.writeValueAsString(read)).isEqualTo(json);
+        }
+
+        OrgUnit readOrg = chain.readValue(jackson.writeValueAsString(org), OrgUnit.class);
+        assertThat(readOrg.children.get(2).children.get(1).parent).isSameAs(readOrg.children.get(2));
+    }
+
+    @Test
+    void whenChainIsDeep_thenReadAndWriteOnSmallStack() throws Exception {
+        Reply root = replies(DEPTH);
+
+        String json = onSmallStack(() -> chain.writeValueAsString(root));
+        log.info("{} replies: {} chars", DEPTH, json.length());
+        assertThat(json).startsWith("{\"id\":0,\"text\":\"reply 0\",\"reply\":{\"id\":1,");
+
+        Reply read = onSmallStack(() -> chain.readValue(json, Reply.class));
+        int depth = 0;
+        for (Reply reply = read; reply != null; reply = reply.reply) {
+            assertThat(reply.id).isEqualTo(depth++);
+            if (reply.reply != null) {
+                assertThat(reply.reply.parent).isSameAs(reply);
+            }
+        }
+        assertThat(depth).isEqualTo(DEPTH);
+    }
+
+    @Test
+    void whenTreeIsDeepAndWide_thenSameStructure() throws Exception {
+        // 100_000 단계 + 단계마다 형제 노드 2개 (자식 없음)
+        OrgUnit root = new OrgUnit("unit 0");
+        OrgUnit unit = root;
+        for (int i = 1; i < 100_000; i++) {
+            unit.add(new OrgUnit("leaf " + i + "a"));
+            OrgUnit next = unit.add(new OrgUnit("unit " + i));
+            unit.add(new OrgUnit("leaf " + i + "b"));
+            unit = next;
+        }
+
+        String json = onSmallStack(() -> chain.writeValueAsString(root));
+        OrgUnit read = onSmallStack(() -> chain.readValue(json, OrgUnit.class));
+
+        int depth = 0;
+        for (OrgUnit unitRead = read; unitRead != null; depth++) {
+            assertThat(unitRead.name).isEqualTo("unit " + depth);
+            OrgUnit next = null;
+            if (!unitRead.children.isEmpty()) {
+                assertThat(unitRead.children).hasSize(3);
+                for (OrgUnit child : unitRead.children) {
+                    assertThat(child.parent).isSameAs(unitRead);
+                }
+                assertThat(unitRead.children.get(2).name).isEqualTo("leaf " + (depth + 1) + "b");
+                next = unitRead.children.get(1);
+            }
+            unitRead = next;
+        }
+        assertThat(depth).isEqualTo(100_000);
+        assertThat(onSmallStack(() -> chain.writeValueAsString(read))).isEqualTo(json);
+    }
+
+    @Test
+    void whenFirstUsedConcurrently_thenEveryThreadWritesTheSameJson() throws Exception {
+        OrgUnit org = org(4, 3);
+        String expected = jackson.writeValueAsString(org);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            // 라운드마다 새 ObjectMapper 라서 serializer 의 첫 사용이 동시에 일어난다
+            for (int round = 0; round < 50; round++) {
+                ObjectMapper fresh = new ObjectMapper().registerModule(new ReferenceChainModule(100));
+                CyclicBarrier barrier = new CyclicBarrier(threads);
+                List<Future<String>> results = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    results.add(executor.submit(() -> {
+                        barrier.await();
+                        return fresh.writeValueAsString(org);
+                    }));
+                }
+                for (Future<String> result : results) {
+                    assertThat(result.get()).isEqualTo(expected);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void whenDeeperThanMaxDepth_thenFails() throws Exception {
+        ObjectMapper limited = new ObjectMapper().registerModule(new ReferenceChainModule(1_000));
+        String allowed = limited.writeValueAsString(replies(1_000));
+        limited.readValue(allowed, Reply.class);
+
+        assertThatThrownBy(() -> limited.writeValueAsString(replies(1_001)))
+                .isInstanceOf(JsonMappingException.class)
+                .hasMessageContaining("maxDepth (1000)");
+        String tooDeep = chain.writeValueAsString(replies(1_001));
+        assertThatThrownBy(() -> limited.readValue(tooDeep, Reply.class))
+                .isInstanceOf(JsonMappingException.class)
+                .hasMessageContaining("maxDepth (1000)");
+
+        // 순환 참조도 maxDepth 에서 멈춘다
+        Reply cyclic = replies(3);
+        cyclic.reply.reply.reply = cyclic;
+        assertThatThrownBy(() -> limited.writeValueAsString(cyclic))
+                .isInstanceOf(JsonMappingException.class)
+                .hasMessageContaining("cyclic reference");
+    }
+
+    @Test
+    void whenValueIsInvalid_thenSamePathAsJackson() throws Exception {
+        String json = chain.writeValueAsString(org(3, 2))
+                .replace("\"name\":\"unit 1.0.1\"", "\"name\":\"unit 1.0.1\",\"size\":[1]");
+
+        Throwable expected = catchThrowable(() -> jackson.readValue(json, OrgUnit.class));
+        Throwable thrown = catchThrowable(() -> chain.readValue(json, OrgUnit.class));
+
+        log.info("{}", thrown.getMessage());
+        assertThat(thrown).isInstanceOf(expected.getClass());
+        assertThat(((JsonMappingException) thrown).getPathReference())
+                .isEqualTo(((JsonMappingException) expected).getPathReference());
+    }
+
+    static <T> T onSmallStack(Callable<T> task) throws Exception {
+        AtomicReference<T> result = new AtomicReference<>();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread thread = new Thread(null, () -> {
+            try {
+                result.set(task.call());
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        }, "small-stack", SMALL_STACK);
+        thread.start();
+        thread.join();
+        if (failure.get() instanceof Exception) {
+            throw (Exception) failure.get();
+        }
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+        return result.get();
+    }
+
+    static Reply replies(int depth) {
+        Reply root = new Reply(0, "reply 0");
+        Reply reply = root;
+        for (int i = 1; i < depth; i++) {
+            Reply next = new Reply(i, "reply " + i);
+            next.parent = reply;
+            reply.reply = next;
+            reply = next;
+        }
+        return root;
+    }
+
+    static OrgUnit org(int depth, int width) {
+        OrgUnit root = new OrgUnit("root");
+        addChildren(root, "unit ", depth - 1, width);
+        return root;
+    }
+
+    private static void addChildren(OrgUnit parent, String prefix, int depth, int width) {
+        if (depth == 0) {
+            return;
+        }
+        for (int i = 0; i < width; i++) {
+            String name = prefix + (prefix.endsWith(" ") ? "" : ".") + i;
+            addChildren(parent.add(new OrgUnit(name.replace("unit ", "unit " + depth + "."))), name, depth - 1, width);
+        }
+    }
+
+    /**
+     * 댓글 스레드: 답글 하나씩 이어지는 chain
+     */
+    @NoArgsConstructor
+    public static class Reply {
+        public int id;
+        public String text;
+
+        @JsonManagedReference
+        public Reply reply;
+
+        @JsonBackReference
+        public Reply parent;
+
+        Reply(int id, String text) {
+            this.id = id;
+            this.text = text;
+        }
+    }
+
+    /**
+     * 조직도: 자식 목록이 있는 tree
+     */
+    @NoArgsConstructor
+    public static class OrgUnit {
+        public String name;
+
+        @JsonManagedReference
+        public List<OrgUnit> children = new ArrayList<>();
+
+        @JsonBackReference
+        public OrgUnit parent;
+
+        OrgUnit(String name) {
+            this.name = name;
+        }
+
+        OrgUnit add(OrgUnit child) {
+            child.parent = this;
+            children.add(child);
+            return child;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.demojackson.registry;
+
+import com.example.demojackson.ex.Ex2.MultiplePropertyBeanWithCreator;
+import com.example.demojackson.ex.JsonTypeEx.Animal;
+import com.example.demojackson.ex.JsonTypeEx.Cat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Log4j2
+@SpringBootTest(properties = {
+        "demo.jackson.registry.types="
+                + "com.example.demojackson.ex.Ex2$MultiplePropertyBeanWithCreator,"
+                + "com.example.demojackson.ex.JsonTypeEx$Animal,"
+                + "com.example.demojackson.ex.Ex1$TypeEnumWithValue,"
+                + "com.example.demojackson.ex.Ex4$ItemWithIdentity"
+})
+class JsonCodecRegistryTests {
+    @Autowired
+    JsonCodecRegistry registry;
+
+    @Test
+    void whenApplicationStarted_thenRegisteredTypesAreWarmedUp() {
+        WarmUpStats stats = registry.getStats();
+
+        log.info(stats);
+
+        assertThat(stats.getRegisteredTypes()).isEqualTo(4);
+        // Animal 의 하위 타입 Dog, Cat 포함
+        assertThat(stats.getWarmedTypes()).isEqualTo(6);
+        // Dog 는 기본 생성자가 없어서 제외
+        assertThat(stats.getExercisedTypes()).isEqualTo(5);
+        assertThat(stats.getWarmUpTime()).isPositive();
+        assertThat(stats.getCachedSerializers()).isPositive();
+        assertThat(registry.size()).isGreaterThanOrEqualTo(6);
+    }
+
+    @Test
+    void whenUsingRegisteredReaderAndWriter_thenSharedAndCorrect() throws Exception {
+        assertThat(registry.reader(Animal.class)).isSameAs(registry.reader(Animal.class));
+        assertThat(registry.writer(Animal.class)).isSameAs(registry.writer(Animal.class));
+
+        Animal animal = registry.reader(Animal.class)
+                .readValue("{\"type\":\"cat\",\"name\":\"lacy\",\"likesCream\":false, \"lives\":10 }");
+        assertThat(animal).isInstanceOf(Cat.class);
+
+        String result = registry.writer(MultiplePropertyBeanWithCreator.class)
+                .writeValueAsString(new MultiplePropertyBeanWithCreator(1, "My bean"));
+        assertThat(result).contains("My bean");
+    }
+
+    @Test
+    void whenTypeIsNotRegistered_thenCreatedOnDemand() throws Exception {
+        int before = registry.size();
+
+        String result = registry.writer(RegistryProperties.class).writeValueAsString(new RegistryProperties());
+
+        assertThat(result).contains("exercise");
+        assertThat(registry.size()).isEqualTo(before + 1);
+    }
+
+    @Test
+    void whenCacheIsFull_thenNotCached() throws Exception {
+        RegistryProperties properties = new RegistryProperties();
+        properties.setMaxCachedTypes(1);
+        JsonCodecRegistry bounded = new JsonCodecRegistry(new ObjectMapper(), properties);
+
+        assertThat(bounded.writer(Animal.class)).isSameAs(bounded.writer(Animal.class));
+        assertThat(bounded.writer(RegistryProperties.class)).isNotSameAs(bounded.writer(RegistryProperties.class));
+        assertThat(bounded.writer(RegistryProperties.class).writeValueAsString(properties)).contains("exercise");
+        assertThat(bounded.size()).isEqualTo(1);
+    }
+}
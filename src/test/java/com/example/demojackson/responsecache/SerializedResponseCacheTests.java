@@ -0,0 +1,281 @@
+package com.example.demojackson.responsecache;
+
+import com.example.demojackson.ex.Ex1.TypeEnumWithValue;
+import com.example.demojackson.ex.Ex4.ItemWithIdentity;
+import com.example.demojackson.ex.Ex4.UserWithIdentity;
+import com.example.demojackson.registry.JsonCodecRegistry;
+import com.example.demojackson.registry.RegistryProperties;
+import com.fasterxml.jackson.annotation.JsonView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+    SerializedResponseCache 테스트
+    - 같은 key 는 한 번만 serialize, 크기 예산 (캐시 전체) 을 넘으면 오래 쓰지 않은 것부터 내보낸다
+    - 내보낸 응답도 ETag 가 맞으면 supplier 를 부르지 않고 304
+    - Ex1.TypeEnumWithValue 목록, Ex4.ItemWithIdentity 그래프 응답의 ETag / 304 / gzip
+ */
+@SpringBootTest(properties = "demo.jackson.response-cache.gzip-min-size=64B")
+@AutoConfigureMockMvc
+@Import(SerializedResponseCacheTests.CatalogController.class)
+public class SerializedResponseCacheTests {
+    final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    CatalogController catalogController;
+
+    @Test
+    void whenSameKey_thenSerializedOnceAndEvictedBySize() throws Exception {
+        JsonCodecRegistry registry = new JsonCodecRegistry(objectMapper, new RegistryProperties());
+        // segment 하나, 항목 3 개 정도
+        SerializedResponseCache cache = new SerializedResponseCache(registry, 3 * (CachedResponse.ENTRY_OVERHEAD + 40), 1,
+                true, 1024);
+        AtomicInteger loads = new AtomicInteger();
+
+        CachedResponse first = cache.get(ResponseCacheKey.of(Named.class, "a"), () -> named(loads, "a"));
+        assertThat(cache.get(ResponseCacheKey.of(Named.class, "a"), () -> named(loads, "a"))).isSameAs(first);
+        assertThat(loads).hasValue(1);
+        assertThat(new String(first.getBody())).isEqualTo(objectMapper.writeValueAsString(new Named("a", "secret")));
+        assertThat(first.getEtag()).matches("\"[0-9a-f]{32}\"");
+        assertThat(first.getGzipBody()).isNull();
+
+        // JsonView 가 다르면 다른 응답
+        CachedResponse publicView = cache.get(ResponseCacheKey.of(Named.class, "a", Public.class), () -> named(loads, "a"));
+        assertThat(new String(publicView.getBody())).isEqualTo("{\"name\":\"a\"}");
+        assertThat(publicView.getEtag()).isNotEqualTo(first.getEtag());
+
+        cache.get(ResponseCacheKey.of(Named.class, "b"), () -> named(loads, "b"));
+        cache.get(ResponseCacheKey.of(Named.class, "a"), () -> named(loads, "a"));
+        cache.get(ResponseCacheKey.of(Named.class, "c"), () -> named(loads, "c"));
+        // a 는 방금 썼으므로 남고, 가장 오래된 public view 가 나간다
+        assertThat(cache.getIfPresent(ResponseCacheKey.of(Named.class, "a"))).isSameAs(first);
+        assertThat(cache.getIfPresent(ResponseCacheKey.of(Named.class, "a", Public.class))).isNull();
+
+        ResponseCacheStats stats = cache.stats();
+        assertThat(stats.getHits()).isEqualTo(2);
+        assertThat(stats.getMisses()).isEqualTo(4);
+        assertThat(stats.getHitRatio()).isEqualTo(2 / 6.0);
+        assertThat(stats.getEvictions()).isEqualTo(1);
+        assertThat(stats.getEntries()).isEqualTo(3);
+        assertThat(stats.getBytes()).isLessThanOrEqualTo(stats.getMaxBytes());
+
+        // 예산보다 큰 응답은 보관하지 않는다
+        cache.get(ResponseCacheKey.of(Named.class, "big"), () -> named(loads, "x".repeat(1000)));
+        assertThat(cache.getIfPresent(ResponseCacheKey.of(Named.class, "big"))).isNull();
+        assertThat(cache.stats().getUncacheable()).isEqualTo(1);
+
+        cache.invalidate(ResponseCacheKey.of(Named.class, "a"));
+        assertThat(cache.getIfPresent(ResponseCacheKey.of(Named.class, "a"))).isNull();
+        cache.invalidateAll();
+        assertThat(cache.stats().getBytes()).isZero();
+        assertThatThrownBy(() -> new SerializedResponseCache(registry, 0, 1, false, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void whenEntryIsLargerThanOneSegment_thenStillCachedWithinTotalBudget() throws Exception {
+        JsonCodecRegistry registry = new JsonCodecRegistry(objectMapper, new RegistryProperties());
+        String name = "x".repeat(1000);
+        long weight = cacheWeight(registry, name);
+        // segment 16 개, 전체 예산은 항목 2 개 정도 (segment 하나 몫보다 훨씬 큼)
+        SerializedResponseCache cache = new SerializedResponseCache(registry, 2 * weight + weight / 2, 16, false, 0);
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            cache.get(ResponseCacheKey.of(Named.class, "v" + i), () -> named(loads, name));
+        }
+        // 예산을 넘으면 어느 segment 에 있든 가장 오래된 0 부터 나간다
+        assertThat(cache.getIfPresent(ResponseCacheKey.of(Named.class, "v0"))).isNull();
+        assertThat(cache.getIfPresent(ResponseCacheKey.of(Named.class, "v1"))).isNotNull();
+        assertThat(cache.getIfPresent(ResponseCacheKey.of(Named.class, "v2"))).isNotNull();
+        ResponseCacheStats stats = cache.stats();
+        assertThat(stats.getUncacheable()).isZero();
+        assertThat(stats.getEvictions()).isEqualTo(1);
+        assertThat(stats.getBytes()).isEqualTo(2 * weight);
+    }
+
+    @Test
+    void whenBodyIsNotCachedButEtagIsKnown_thenNotModifiedWithoutLoading() throws Exception {
+        JsonCodecRegistry registry = new JsonCodecRegistry(objectMapper, new RegistryProperties());
+        SerializedResponseCache cache = new SerializedResponseCache(registry, CachedResponse.ENTRY_OVERHEAD + 40, 1,
+                false, 0);
+        AtomicInteger loads = new AtomicInteger();
+
+        String etag = cache.respond(request(null), ResponseCacheKey.of(Named.class, "a"), () -> named(loads, "a"))
+                .getHeaders().getETag();
+        // b 가 a 를 내보낸다
+        cache.get(ResponseCacheKey.of(Named.class, "b"), () -> named(loads, "b"));
+        assertThat(cache.getIfPresent(ResponseCacheKey.of(Named.class, "a"))).isNull();
+        ResponseEntity<byte[]> notModified = cache.respond(request(etag), ResponseCacheKey.of(Named.class, "a"),
+                () -> named(loads, "a"));
+        assertThat(notModified.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(notModified.getHeaders().getETag()).isEqualTo(etag);
+        // 예산보다 커서 보관하지 않은 응답도
+        String bigEtag = cache.respond(request(null), ResponseCacheKey.of(Named.class, "big"),
+                () -> named(loads, "x".repeat(1000))).getHeaders().getETag();
+        assertThat(cache.respond(request(bigEtag), ResponseCacheKey.of(Named.class, "big"), () -> named(loads, "big"))
+                .getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(loads).hasValue(3);
+
+        // 다른 ETag 면 불러서 새 응답, invalidate 하면 ETag 도 잊는다
+        assertThat(cache.respond(request("\"other\""), ResponseCacheKey.of(Named.class, "a"), () -> named(loads, "a"))
+                .getStatusCode()).isEqualTo(HttpStatus.OK);
+        cache.invalidate(ResponseCacheKey.of(Named.class, "a"));
+        assertThat(cache.respond(request(etag), ResponseCacheKey.of(Named.class, "a"), () -> named(loads, "a"))
+                .getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(loads).hasValue(5);
+
+        // index 를 끄면 캐시에 없는 응답은 다시 serialize 해서 비교한다
+        SerializedResponseCache withoutIndex = new SerializedResponseCache(registry, CachedResponse.ENTRY_OVERHEAD + 40,
+                1, false, 0, 0);
+        withoutIndex.get(ResponseCacheKey.of(Named.class, "a"), () -> named(loads, "a"));
+        withoutIndex.get(ResponseCacheKey.of(Named.class, "b"), () -> named(loads, "b"));
+        assertThat(withoutIndex.respond(request(etag), ResponseCacheKey.of(Named.class, "a"), () -> named(loads, "a"))
+                .getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(loads).hasValue(8);
+    }
+
+    @Test
+    void whenEtagMatches_thenNotModifiedWithoutSerializing() throws Exception {
+        MvcResult first = mockMvc.perform(get("/cached/catalog"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn();
+        byte[] body = first.getResponse().getContentAsByteArray();
+        assertThat(body).isEqualTo(objectMapper.writeValueAsBytes(catalogController.catalog));
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("\"");
+
+        int loads = catalogController.loads.get();
+        mockMvc.perform(get("/cached/catalog").header(HttpHeaders.IF_NONE_MATCH, "\"other\", W/" + etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(result -> assertThat(result.getResponse().getContentAsByteArray()).isEmpty());
+
+        MvcResult gzipped = mockMvc.perform(get("/cached/catalog").header(HttpHeaders.ACCEPT_ENCODING, "br, gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+        String gzipEtag = gzipped.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(gzipEtag).isNotEqualTo(etag);
+        assertThat(gunzip(gzipped.getResponse().getContentAsByteArray())).isEqualTo(body);
+        mockMvc.perform(get("/cached/catalog").header(HttpHeaders.ACCEPT_ENCODING, "gzip").header(HttpHeaders.IF_NONE_MATCH, gzipEtag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/cached/catalog").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+        assertThat(catalogController.loads).hasValue(loads);
+
+        // 작은 응답 (enum 목록) 은 gzip 표현 없이
+        mockMvc.perform(get("/cached/types").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().doesNotExist(HttpHeaders.VARY))
+                .andExpect(result -> assertThat(result.getResponse().getContentAsString())
+                        .isEqualTo("[\"Type A\",\"Type 2\"]"));
+
+        MvcResult stats = mockMvc.perform(get("/jackson/response-cache")).andExpect(status().isOk()).andReturn();
+        assertThat(objectMapper.readTree(stats.getResponse().getContentAsByteArray()).get("notModified").asLong())
+                .isGreaterThanOrEqualTo(2);
+    }
+
+    static long cacheWeight(JsonCodecRegistry registry, String name) throws IOException {
+        return CachedResponse.ENTRY_OVERHEAD + registry.writer(Named.class).writeValueAsBytes(new Named(name, "secret")).length;
+    }
+
+    static WebRequest request(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request);
+    }
+
+    static byte[] gunzip(byte[] gzipped) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            return in.readAllBytes();
+        }
+    }
+
+    static Named named(AtomicInteger loads, String name) {
+        loads.incrementAndGet();
+        return new Named(name, "secret");
+    }
+
+    public interface Public {
+    }
+
+    @AllArgsConstructor
+    public static class Named {
+        @JsonView(Public.class)
+        public String name;
+        @JsonView(Internal.class)
+        public String secret;
+    }
+
+    public interface Internal extends Public {
+    }
+
+    @RestController
+    @RequestMapping("/cached")
+    static class CatalogController {
+        final AtomicInteger loads = new AtomicInteger();
+        final List<UserWithIdentity> catalog = new ArrayList<>();
+        final SerializedResponseCache cache;
+
+        CatalogController(SerializedResponseCache cache) {
+            this.cache = cache;
+            for (int u = 0; u < 20; u++) {
+                UserWithIdentity user = new UserWithIdentity(u, "user-" + u);
+                for (int i = 0; i < 3; i++) {
+                    user.addItem(new ItemWithIdentity(100 + u * 3 + i, "item-" + i, user));
+                }
+                catalog.add(user);
+            }
+        }
+
+        @GetMapping("/catalog")
+        ResponseEntity<byte[]> catalog(WebRequest request) throws IOException {
+            return cache.respond(request, ResponseCacheKey.of(List.class, "catalog-1"), () -> {
+                loads.incrementAndGet();
+                return catalog;
+            });
+        }
+
+        @GetMapping("/types")
+        ResponseEntity<byte[]> types(WebRequest request) throws IOException {
+            return cache.respond(request, ResponseCacheKey.of(TypeEnumWithValue[].class, "1"), TypeEnumWithValue::values);
+        }
+    }
+}
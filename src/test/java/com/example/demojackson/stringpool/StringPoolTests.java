@@ -0,0 +1,227 @@
+package com.example.demojackson.stringpool;
+
+import com.example.demojackson.config.StringPoolConfig;
+import com.example.demojackson.ex.Ex2.AliasBean;
+import com.example.demojackson.ex.JsonTypeEx.Animal;
+import com.example.demojackson.ex.JsonTypeEx.Cat;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+    StringPool / StringPoolModule 테스트
+    읽은 값은 모듈이 없을 때와 같아야 하고, 같은 내용의 값은 같은 instance 여야 함
+ */
+@Log4j2
+public class StringPoolTests {
+    final ObjectMapper plainMapper = new ObjectMapper();
+
+    @Test
+    void whenCanonicalizing_thenSameInstanceUntilEvicted() {
+        StringPool pool = new StringPool(1024, 8);
+        char[] buffer = "xxhelloxx".toCharArray();
+        String hello = pool.canonicalize(buffer, 2, 5);
+        assertThat(hello).isEqualTo("hello");
+        assertThat(pool.canonicalize(buffer, 2, 5)).isSameAs(hello);
+        assertThat(pool.canonicalize(new String("hello"))).isSameAs(hello);
+        assertThat(pool.canonicalize("".toCharArray(), 0, 0)).isSameAs(pool.canonicalize(""));
+
+        // 너무 긴 값은 모으지 않는다
+        String longValue = "123456789";
+        assertThat(pool.canonicalize(longValue.toCharArray(), 0, 9)).isNotSameAs(pool.canonicalize(longValue));
+
+        // 두 번 이상 나온 값은 한 번만 나오는 값들에 밀려나지 않는다
+        StringPool small = new StringPool(2, 64);
+        String hot = small.canonicalize(new String("hot"));
+        small.canonicalize(new String("hot"));
+        for (int i = 0; i < 1000; i++) {
+            small.canonicalize("id-" + i);
+        }
+        assertThat(small.canonicalize(new String("hot"))).isSameAs(hot);
+        assertThat(small.capacity()).isEqualTo(2);
+
+        assertThatThrownBy(() -> new StringPool(1, 8)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new StringPool(16, -1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void whenCanonicalizingConcurrently_thenValuesUnchanged() throws Exception {
+        StringPool pool = new StringPool(64, 64);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 100_000; i++) {
+                        String expected = "value-" + i % 300;
+                        char[] buffer = ("[" + expected + "]").toCharArray();
+                        assertThat(pool.canonicalize(buffer, 1, expected.length())).isEqualTo(expected);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void whenAnnotatedOrConfigured_thenPooled() throws Exception {
+        StringPool pool = new StringPool(1024, 64);
+        ObjectMapper pooledMapper = new ObjectMapper()
+                .registerModule(new StringPoolModule(pool, List.of(Animal.class, AliasBean.class)));
+
+        String json = "[{\"code\":\"KR\",\"city\":\"Seoul\",\"tags\":[\"a\",\"b\"],\"label\":\"x\",\"note\":\"n\","
+                + "\"raw\":\"r\"},{\"code\":\"KR\",\"city\":\"Seoul\",\"tags\":[\"b\",\"a\"],\"label\":\"x\",\"note\":\"n\","
+                + "\"raw\":\"r\"}]";
+        TypeReference<List<Address>> addresses = new TypeReference<>() {
+        };
+        List<Address> pooled = pooledMapper.readValue(json, addresses);
+        assertThat(pooledMapper.writeValueAsString(pooled))
+                .isEqualTo(plainMapper.writeValueAsString(plainMapper.readValue(json, addresses)));
+        Address first = pooled.get(0);
+        Address second = pooled.get(1);
+        // field, creator 인자, setter, collection 원소
+        assertThat(second.code).isSameAs(first.code);
+        assertThat(second.city).isSameAs(first.city);
+        assertThat(second.label).isSameAs(first.label);
+        assertThat(second.tags.get(1)).isSameAs(first.tags.get(0));
+        // 표시가 없거나 @JsonDeserialize 로 지정한 프로퍼티는 그대로
+        assertThat(second.note).isNotSameAs(first.note);
+        assertThat(second.raw).isNotSameAs(first.raw);
+
+        // 설정한 타입 (하위 타입, private field 포함)
+        List<Animal> animals = pooledMapper.readValue("[{\"type\":\"cat\",\"name\":\"Max\",\"lives\":7},"
+                + "{\"type\":\"cat\",\"name\":\"Max\",\"lives\":9}]", new TypeReference<>() {
+        });
+        assertThat(animals.get(0)).isInstanceOf(Cat.class);
+        assertThat(animals.get(1).name).isSameAs(animals.get(0).name);
+        List<AliasBean> aliases = pooledMapper.readValue("[{\"fName\":\"John\",\"lastName\":\"Green\"},"
+                + "{\"firstName\":\"John\",\"lastName\":\"Green\"}]", new TypeReference<>() {
+        });
+        assertThat(aliases.get(1).getFirstName()).isSameAs(aliases.get(0).getFirstName());
+        assertThat(aliases.get(1).getLastName()).isSameAs(aliases.get(0).getLastName());
+    }
+
+    @Test
+    void whenReadingCorpus_thenDuplicatesShareInstances() throws Exception {
+        String json = animalCorpus(20_000);
+        TypeReference<List<Animal>> animals = new TypeReference<>() {
+        };
+        ObjectMapper pooledMapper = new ObjectMapper()
+                .registerModule(new StringPoolModule(new StringPool(4096, 64), List.of(Animal.class)));
+
+        long plainBytes = retainedBytes(plainMapper.readValue(json, animals));
+        long pooledBytes = retainedBytes(pooledMapper.readValue(json, animals));
+        log.info("String heap for {} animals: {} -> {} bytes", 20_000, plainBytes, pooledBytes);
+        assertThat(pooledBytes * 10).isLessThan(plainBytes);
+    }
+
+    @Test
+    void whenEnabledByProperty_thenModuleBean() {
+        new ApplicationContextRunner().withUserConfiguration(StringPoolConfig.class).run(context ->
+                assertThat(context).doesNotHaveBean(StringPoolModule.class));
+        new ApplicationContextRunner().withUserConfiguration(StringPoolConfig.class)
+                .withPropertyValues("demo.jackson.string-pool.enabled=true",
+                        "demo.jackson.string-pool.capacity=100",
+                        "demo.jackson.string-pool.types=" + AliasBean.class.getName())
+                .run(context -> {
+                    assertThat(context).hasSingleBean(StringPoolModule.class);
+                    assertThat(context.getBean(StringPool.class).capacity()).isEqualTo(128);
+                    ObjectMapper objectMapper = new ObjectMapper().registerModule(context.getBean(StringPoolModule.class));
+                    List<AliasBean> aliases = objectMapper.readValue("[{\"lastName\":\"Green\"},{\"lastName\":\"Green\"}]",
+                            new TypeReference<List<AliasBean>>() {
+                            });
+                    assertThat(aliases.get(1).getLastName()).isSameAs(aliases.get(0).getLastName());
+                });
+    }
+
+    /**
+     * 이름 497 (7 x 71) 가지가 반복되는 Animal 목록
+     */
+    public static String animalCorpus(int count) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            sb.append(i == 0 ? "" : ",").append(animal(i));
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * i 번째 Animal JSON (Dog 는 기본 생성자가 없어서 읽을 수 없으므로 Cat 만)
+     */
+    public static String animal(int i) {
+        String name = NAMES.get(i % NAMES.size()) + "-" + (i * 31 % 71);
+        return "{\"type\":\"cat\",\"name\":\"" + name + "\",\"likesCream\":" + (i % 2 == 0)
+                + ",\"lives\":" + i % 10 + "}";
+    }
+
+    private static final List<String> NAMES = List.of("max", "bella", "charlie", "luna", "lucy", "cooper", "daisy");
+
+    /**
+     * 서로 다른 String instance 가 차지하는 heap 추정치 (compact string, 64-bit compressed oops 기준)
+     */
+    public static long retainedBytes(List<Animal> animals) {
+        Set<String> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Animal animal : animals) {
+            distinct.add(animal.name);
+        }
+        long bytes = 0;
+        for (String value : distinct) {
+            bytes += 24 + ((16 + value.length() + 7) & ~7);
+        }
+        return bytes;
+    }
+
+    public static class Address {
+        @Canonicalized
+        public String code;
+        public final String city;
+        public List<String> tags;
+        private String label;
+        public String note;
+        @Canonicalized
+        @JsonDeserialize(using = StringDeserializer.class)
+        public String raw;
+
+        @JsonCreator
+        public Address(@Canonicalized @JsonProperty("city") String city) {
+            this.city = city;
+        }
+
+        @Canonicalized
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        @Canonicalized
+        public void setLabel(String label) {
+            this.label = label;
+        }
+    }
+}
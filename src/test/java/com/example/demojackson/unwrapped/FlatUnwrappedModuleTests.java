@@ -0,0 +1,202 @@
+package com.example.demojackson.unwrapped;
+
+import com.example.demojackson.ex.Ex4.Money;
+import com.example.demojackson.ex.Ex4.UnwrapObject;
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+/*
+    FlatUnwrappedModule 테스트
+    등록 여부와 관계없이 읽은 결과가 같아야 하고, 대상 타입은 실제로 표 (UnwrappedRoutes) 로 읽어야 함
+ */
+@Log4j2
+public class FlatUnwrappedModuleTests {
+    final ObjectMapper plainMapper = new ObjectMapper();
+    final ObjectMapper objectMapper = new ObjectMapper().registerModule(new FlatUnwrappedModule());
+
+    @Test
+    void whenDeserializingUnwrapped_thenSameAsJackson() throws Exception {
+        List<String> orders = List.of(
+                orderJson(1),
+                "{\"id\":2,\"status\":\"NEW\"}",
+                "{\"city\":\"Seoul\",\"tax_money\":7,\"id\":3,\"unknown\":{\"a\":[1,2]},\"price_money\":100}",
+                "{\"id\":4,\"price_money\":null,\"street\":null,\"status\":null}");
+
+        for (String json : orders) {
+            Order expected = plainMapper.readValue(json, Order.class);
+            Order order = objectMapper.readValue(json, Order.class);
+
+            log.info(plainMapper.writeValueAsString(order));
+            assertThat(plainMapper.writeValueAsString(order)).isEqualTo(plainMapper.writeValueAsString(expected));
+            assertThat(order.price).isNotNull();
+            assertThat(order.address).isNotNull();
+        }
+
+        UnwrapObject object = objectMapper.readValue("{\"money\":1000}", UnwrapObject.class);
+        assertThat(object.getFee().getMoney()).isEqualTo(1000);
+
+        assertThat(deserializer(objectMapper, Order.class)).isInstanceOf(FlatUnwrappedBeanDeserializer.class)
+                .matches(d -> ((FlatUnwrappedBeanDeserializer) d).isFlattened());
+        assertThat(deserializer(objectMapper, UnwrapObject.class))
+                .matches(d -> ((FlatUnwrappedBeanDeserializer) d).isFlattened());
+    }
+
+    @Test
+    void whenUnwrappedTypeIsUnwrappedAgain_thenStillUnwrapped() throws Exception {
+        String json = "{\"no\":9," + orderJson(1).substring(1);
+
+        Shipment expected = plainMapper.readValue(json, Shipment.class);
+        Shipment shipment = objectMapper.readValue(json, Shipment.class);
+
+        assertThat(shipment.order.price.money).isEqualTo(101);
+        assertThat(plainMapper.writeValueAsString(shipment)).isEqualTo(plainMapper.writeValueAsString(expected));
+        // Order 가 중첩 unwrapped 를 가지므로 Shipment 는 Jackson 기본 처리
+        assertThat(deserializer(objectMapper, Shipment.class))
+                .matches(d -> !((FlatUnwrappedBeanDeserializer) d).isFlattened());
+    }
+
+    @Test
+    void whenRoutesCannotBeBuilt_thenJacksonProcessing() throws Exception {
+        // 이름이 겹치면 Jackson 은 양쪽 모두에 값을 넣는다
+        String json = "{\"money\":5,\"note\":\"x\",\"extra\":1}";
+
+        SameNames sameNames = objectMapper.readValue(json, SameNames.class);
+        assertThat(sameNames.first.money).isEqualTo(5);
+        assertThat(sameNames.second.money).isEqualTo(5);
+
+        WithAnySetter withAnySetter = objectMapper.readValue(json, WithAnySetter.class);
+        assertThat(withAnySetter.note.values).isEqualTo(plainMapper.readValue(json, WithAnySetter.class).note.values);
+
+        assertThat(deserializer(objectMapper, SameNames.class))
+                .matches(d -> !((FlatUnwrappedBeanDeserializer) d).isFlattened());
+        assertThat(deserializer(objectMapper, WithAnySetter.class))
+                .matches(d -> !((FlatUnwrappedBeanDeserializer) d).isFlattened());
+    }
+
+    @Test
+    void whenIgnoredProperties_thenSameAsJackson() throws Exception {
+        String json = "{\"id\":1,\"internal\":\"x\",\"money\":3}";
+
+        IgnoringOrder order = objectMapper.readValue(json, IgnoringOrder.class);
+
+        assertThat(order.id).isEqualTo(1);
+        assertThat(order.total.money).isEqualTo(3);
+    }
+
+    @Test
+    void whenValueIsInvalid_thenSamePathAsJackson() throws Exception {
+        String json = orderJson(1).replace("\"shipping_money\":102", "\"shipping_money\":\"x\"");
+
+        Throwable expected = catchThrowable(() -> plainMapper.readValue(json, Order.class));
+        Throwable thrown = catchThrowable(() -> objectMapper.readValue(json, Order.class));
+
+        log.info("{}", thrown.getMessage());
+        assertThat(thrown).isInstanceOf(expected.getClass());
+        assertThat(((JsonMappingException) thrown).getPathReference())
+                .isEqualTo(((JsonMappingException) expected).getPathReference());
+    }
+
+    static JsonDeserializer<Object> deserializer(ObjectMapper mapper, Class<?> type) throws Exception {
+        return ((DefaultDeserializationContext) mapper.getDeserializationContext())
+                .createInstance(mapper.getDeserializationConfig(), mapper.getFactory().createParser("{}"),
+                        mapper.getInjectableValues())
+                .findRootValueDeserializer(mapper.constructType(type));
+    }
+
+    public static String orderJson(int i) {
+        return "{\"id\":" + i + ",\"status\":\"PAID\",\"price_money\":" + (100 + i)
+                + ",\"shipping_money\":" + (101 + i) + ",\"tax_money\":" + (i % 10)
+                + ",\"street\":\"Teheran-ro " + i + "\",\"city\":\"Seoul\",\"zip\":\"06" + (100 + i % 900) + "\"}";
+    }
+
+    /**
+     * unwrapped 값 객체 4개를 가진 주문 DTO
+     */
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Order {
+        public long id;
+        public String status;
+
+        @JsonUnwrapped(prefix = "price_")
+        public Money price;
+
+        @JsonUnwrapped(prefix = "shipping_")
+        public Money shipping;
+
+        @JsonUnwrapped(prefix = "tax_")
+        public Money tax;
+
+        @JsonUnwrapped
+        public Address address;
+    }
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Address {
+        public String street;
+        public String city;
+        public String zip;
+    }
+
+    @NoArgsConstructor
+    public static class Shipment {
+        public int no;
+
+        @JsonUnwrapped
+        public Order order;
+    }
+
+    @NoArgsConstructor
+    public static class SameNames {
+        @JsonUnwrapped
+        public Money first;
+
+        @JsonUnwrapped
+        public Money second;
+    }
+
+    @NoArgsConstructor
+    public static class WithAnySetter {
+        @JsonUnwrapped
+        public Money money;
+
+        @JsonUnwrapped
+        public Note note;
+    }
+
+    @NoArgsConstructor
+    public static class Note {
+        public final Map<String, Object> values = new HashMap<>();
+
+        @JsonAnySetter
+        public void set(String name, Object value) {
+            values.put(name, value);
+        }
+    }
+
+    @NoArgsConstructor
+    @JsonIgnoreProperties("internal")
+    public static class IgnoringOrder {
+        public long id;
+
+        @JsonUnwrapped
+        public Money total;
+    }
+}
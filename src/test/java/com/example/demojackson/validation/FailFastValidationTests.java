@@ -0,0 +1,308 @@
+package com.example.demojackson.validation;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import javax.validation.Valid;
+import javax.validation.Validator;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+import javax.validation.groups.Default;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+    FailFastValidationModule / FailFastValidationArgumentResolver 테스트
+    - Ex3.MyBean, Ex2.MultiplePropertyBeanWithCreator 에 제약을 붙인 DTO 로 첫 위반에서 멈추는지
+    - @Valid @RequestBody 가 Bean Validation 으로 걸렸을 때와 같은 MethodArgumentNotValidException 이 되는지
+    - 켠 읽기 (@Valid / @Validated Default body, reader attribute) 와 @Valid 중첩 프로퍼티만 검사하는지
+ */
+@SpringBootTest(properties = "demo.jackson.fail-fast-validation.enabled=true")
+@AutoConfigureMockMvc
+@Import(FailFastValidationTests.OrderController.class)
+public class FailFastValidationTests {
+    final ObjectMapper objectMapper = new ObjectMapper().registerModule(new FailFastValidationModule());
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    Validator validator;
+
+    @Autowired
+    ObjectMapper bootObjectMapper;
+
+    @Test
+    void whenValid_thenSameAsWithoutModule() throws Exception {
+        String json = order(1, "\"bean-one\"", 3);
+
+        Order order = validating(Order.class).readValue(json);
+        assertThat(objectMapper.writeValueAsString(order))
+                .isEqualTo(new ObjectMapper().writeValueAsString(new ObjectMapper().readValue(json, Order.class)));
+        assertThat(validator.validate(order)).isEmpty();
+
+        Bean bean = validating(Bean.class).readValue("{\"id\":1,\"theName\":\"My bean\"}");
+        assertThat(bean.id).isEqualTo(1);
+        assertThat(bean.name).isEqualTo("My bean");
+        // Default 그룹이 아닌 제약은 검사하지 않는다
+        assertThat(validating(Order.class).<Order>readValue("{\"id\":1,\"name\":\"x\",\"note\":null}").note).isNull();
+    }
+
+    @Test
+    void whenViolation_thenStopsAtFirst() throws Exception {
+        String json = order(0, "\"bean-one\"", 100_000);
+        assertThatThrownBy(() -> validating(Order.class).readValue(json))
+                .isInstanceOfSatisfying(ConstraintViolationMappingException.class, e -> {
+                    assertThat(e.getPropertyName()).isEqualTo("id");
+                    assertThat(e.getErrorCode()).isEqualTo("Min");
+                    assertThat(e.getInvalidValue()).isEqualTo(0);
+                    assertThat(e.getConstraintMessage()).isEqualTo("must be greater than or equal to 1");
+                    // 뒤의 lines 는 읽지 않았다
+                    assertThat(e.getLocation().getByteOffset()).isLessThan(16);
+                });
+
+        assertViolation(Order.class, order(1, "\"Bean\"", 1), "name", "Pattern");
+        assertViolation(Order.class, order(1, "null", 1), "name", "NotNull");
+        assertViolation(Order.class, order(1001, "\"bean\"", 1), "id", "Max");
+        assertViolation(Order.class, order(1, "\"bean\"", 4).replace("\"sku-2\"", "\"sku-too-long\""),
+                "lines[2].sku", "Size");
+        assertViolation(Order.class, order(1, "\"bean\"", 1).replace("\"quantity\":1", "\"quantity\":-1"),
+                "lines[0].quantity", "Min");
+        assertViolation(Order.class, "{\"id\":1,\"name\":\"bean\",\"lines\":[],\"tags\":[\"a\",\"b\",\"c\",\"d\"]}",
+                "tags", "Size");
+
+        // creator 인자: 빠진 값 (getNullValue) 과 creator 로 넘기기 전의 값
+        assertViolation(Bean.class, "{\"id\":1}", "theName", "NotNull");
+        assertViolation(Bean.class, "{\"theName\":\"My bean\",\"id\":0}", "id", "Min");
+        assertViolation(Bean.class, "{\"id\":1,\"theName\":\"My bean is too long\"}", "theName", "Size");
+    }
+
+    @Test
+    void whenRequestBodyViolatesConstraint_thenMethodArgumentNotValid() throws Exception {
+        mockMvc.perform(post("/fail-fast/order").contentType(MediaType.APPLICATION_JSON).content(order(7, "\"bean\"", 2)))
+                .andExpect(status().isOk())
+                .andExpect(content().string("7 bean 2"));
+
+        FieldError idError = fieldError(order(0, "\"bean\"", 100));
+        assertThat(idError.getObjectName()).isEqualTo("order");
+        assertThat(idError.getField()).isEqualTo("id");
+        assertThat(idError.getRejectedValue()).isEqualTo(0);
+        assertThat(idError.getCodes()).containsExactly("Min.order.id", "Min.id", "Min.int", "Min");
+        assertThat(idError.getDefaultMessage()).isEqualTo("must be greater than or equal to 1");
+        assertThat(idError.getArguments()).hasSize(2).endsWith(1L);
+
+        // 읽는 중에 멈춘 경우와 Bean Validation 이 다 읽고 걸러낸 경우가 같은 모양이다
+        FieldError skuError = fieldError(order(1, "\"bean\"", 4).replace("\"sku-2\"", "\"sku-too-long\""));
+        assertThat(skuError.getField()).isEqualTo("lines[2].sku");
+        assertThat(skuError.getCode()).isEqualTo("Size");
+        assertThat(skuError.getDefaultMessage()).isEqualTo("size must be between 0 and 8");
+        FieldError missingName = fieldError("{\"id\":1,\"lines\":[]}");
+        assertThat(missingName.getField()).isEqualTo("name");
+        assertThat(missingName.getCode()).isEqualTo("NotNull");
+        assertThat(missingName.getDefaultMessage()).isEqualTo("must not be null");
+
+        // 제약과 무관한 잘못된 JSON 은 그대로 HttpMessageNotReadableException
+        mockMvc.perform(post("/fail-fast/order").contentType(MediaType.APPLICATION_JSON).content("{\"id\":"))
+                .andExpect(status().isBadRequest())
+                .andExpect(result -> assertThat(result.getResolvedException())
+                        .isNotInstanceOf(MethodArgumentNotValidException.class));
+    }
+
+    @Test
+    void whenNotRequestedOrNotCascaded_thenNotChecked() throws Exception {
+        String invalid = order(0, "\"Bean\"", 1);
+        // 켜지 않은 읽기 (ingest, 다른 format 변환 등) 는 모듈이 없을 때와 같다
+        assertThat(objectMapper.readValue(invalid, Order.class).id).isZero();
+        assertThat(bootObjectMapper.readValue(invalid, Order.class).id).isZero();
+
+        // 중첩 객체는 @Valid 프로퍼티를 따라갈 때만
+        String tooLong = "{\"sku\":\"sku-too-long\",\"quantity\":1}";
+        Shipment shipment = validating(Shipment.class).readValue(
+                "{\"line\":" + tooLong + ",\"lines\":[" + tooLong + "],\"byId\":{\"a\":" + tooLong + "}}");
+        assertThat(shipment.line.sku).isEqualTo("sku-too-long");
+        assertThat(shipment.lines.get(0).sku).isEqualTo("sku-too-long");
+        assertViolation(Shipment.class, "{\"valid\":[" + tooLong + "]}", "valid[0].sku", "Size");
+        assertViolation(Shipment.class, "{\"line\":" + tooLong + ",\"typeUse\":{\"a\":" + tooLong + "}}",
+                "typeUse[a].sku", "Size");
+        assertThat(validator.validate(new Shipment(shipment.line, shipment.lines, null, null, null))).isEmpty();
+    }
+
+    @Test
+    void whenBodyIsNotValidatedForDefaultGroup_thenBeanValidationFlowOnly() throws Exception {
+        String invalid = order(0, "\"Bean\"", 1);
+        // @Valid 없는 @RequestBody 는 검사하지 않는다
+        mockMvc.perform(post("/fail-fast/unvalidated").contentType(MediaType.APPLICATION_JSON).content(invalid))
+                .andExpect(status().isOk())
+                .andExpect(content().string("0 Bean 1"));
+        // 다른 그룹만 검사하는 @Validated 는 그 그룹 (Bean Validation) 만
+        mockMvc.perform(post("/fail-fast/strict").contentType(MediaType.APPLICATION_JSON)
+                        .content(invalid.replace("{", "{\"note\":\"n\",")))
+                .andExpect(status().isOk());
+        MvcResult strict = mockMvc.perform(post("/fail-fast/strict").contentType(MediaType.APPLICATION_JSON).content(invalid))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+        assertThat(((MethodArgumentNotValidException) strict.getResolvedException()).getFieldErrors())
+                .extracting(FieldError::getField).containsExactly("note");
+        // @Validated(Default) 는 @Valid 와 같다
+        assertThat(fieldError("/fail-fast/default-group", invalid).getField()).isEqualTo("id");
+    }
+
+    FieldError fieldError(String json) throws Exception {
+        return fieldError("/fail-fast/order", json);
+    }
+
+    FieldError fieldError(String path, String json) throws Exception {
+        MvcResult result = mockMvc.perform(post(path).contentType(MediaType.APPLICATION_JSON).content(json))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+        assertThat(result.getResolvedException()).isInstanceOf(MethodArgumentNotValidException.class);
+        List<FieldError> errors = ((MethodArgumentNotValidException) result.getResolvedException()).getFieldErrors();
+        assertThat(errors).hasSize(1);
+        return errors.get(0);
+    }
+
+    ObjectReader validating(Class<?> type) {
+        return objectMapper.readerFor(type).withAttribute(FailFastValidationModule.ATTRIBUTE, Boolean.TRUE);
+    }
+
+    void assertViolation(Class<?> type, String json, String path, String code) {
+        assertThatThrownBy(() -> validating(type).readValue(json))
+                .isInstanceOfSatisfying(ConstraintViolationMappingException.class, e -> {
+                    assertThat(e.getPropertyPath()).isEqualTo(path);
+                    assertThat(e.getErrorCode()).isEqualTo(code);
+                });
+    }
+
+    static String order(int id, String name, int lines) {
+        return "{\"id\":" + id + ",\"name\":" + name + ",\"lines\":["
+                + IntStream.range(0, lines)
+                .mapToObj(i -> "{\"sku\":\"sku-" + i + "\",\"quantity\":" + (i % 10 + 1) + "}")
+                .collect(Collectors.joining(","))
+                + "]}";
+    }
+
+    /**
+     * Ex3.MyBean 에 제약을 붙인 것
+     */
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Order {
+        @Min(1)
+        @Max(1000)
+        public int id;
+
+        @NotNull
+        @Size(max = 16)
+        @Pattern(regexp = "[a-z-]+")
+        public String name;
+
+        @Valid
+        public List<Line> lines;
+
+        @Size(max = 3)
+        public List<String> tags;
+
+        @NotNull(groups = Strict.class)
+        public String note;
+    }
+
+    public static class Line {
+        @Size(max = 8)
+        public String sku;
+
+        @Min(0)
+        public int quantity;
+    }
+
+    public interface Strict {
+    }
+
+    /**
+     * @Valid 가 붙은 곳 (프로퍼티, 타입 인자) 만 Line 을 검사한다
+     */
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Shipment {
+        public Line line;
+        public List<Line> lines;
+        public Map<String, Line> byId;
+
+        @Valid
+        public List<Line> valid;
+
+        public Map<String, @Valid Line> typeUse;
+    }
+
+    /**
+     * Ex2.MultiplePropertyBeanWithCreator 에 제약을 붙인 것
+     */
+    public static class Bean {
+        public int id;
+        public String name;
+
+        @JsonCreator(mode = JsonCreator.Mode.PROPERTIES)
+        public Bean(@JsonProperty("id") @Min(1) int id,
+                    @JsonProperty("theName") @NotNull @Size(max = 10) String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    @RequestMapping("/fail-fast")
+    static class OrderController {
+
+        @PostMapping("/order")
+        @ResponseBody
+        String order(@Valid @RequestBody Order order) {
+            return order.id + " " + order.name + " " + order.lines.size();
+        }
+
+        @PostMapping("/unvalidated")
+        @ResponseBody
+        String unvalidated(@RequestBody Order order) {
+            return order(order);
+        }
+
+        @PostMapping("/strict")
+        @ResponseBody
+        String strict(@Validated(Strict.class) @RequestBody Order order) {
+            return order(order);
+        }
+
+        @PostMapping("/default-group")
+        @ResponseBody
+        String defaultGroup(@Validated(Default.class) @RequestBody Order order) {
+            return order(order);
+        }
+    }
+}